@@ -0,0 +1,159 @@
+package com.project.stockexchangeappbackend.scheduler;
+
+import com.project.stockexchangeappbackend.dto.SettlementStatisticsDTO;
+import com.project.stockexchangeappbackend.entity.*;
+import com.project.stockexchangeappbackend.service.OrderBookServiceImpl;
+import com.project.stockexchangeappbackend.service.SettlementService;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.orderbook.Fill;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class StockExchangeAlgorithmBenchmark {
+
+    private static final BigDecimal BASE_PRICE = BigDecimal.valueOf(100);
+    private static final Long STOCK_ID = 1L;
+
+    @Param({"100", "1000", "10000"})
+    private int ordersPerSide;
+
+    @Param({"0.01", "0.1"})
+    private double priceSpread;
+
+    @Param({"EQUAL", "MIXED", "OPEN"})
+    private String priceTypes;
+
+    private StockExchangeAlgorithmScheduler stockExchangeAlgorithmScheduler;
+    private List<User> users;
+    private Order[] orders;
+    private Random random;
+    private long nextOrderId;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class FillCounter {
+
+        public long fills;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            fills = 0;
+        }
+
+    }
+
+    @Setup(Level.Trial)
+    public void setUpTrial(FillCounter fillCounter) {
+        random = new Random(42);
+        users = LongStream.rangeClosed(1, 50)
+                .mapToObj(id -> User.builder().id(id).money(BigDecimal.valueOf(1000000)).build())
+                .collect(Collectors.toList());
+        Stock stock = Stock.builder().id(STOCK_ID).abbreviation("S" + STOCK_ID).amount(1000000)
+                .currentPrice(BASE_PRICE).build();
+        OrderBookServiceImpl orderBookService = new RetainingOrderBookService();
+        OffsetDateTime expiration = OffsetDateTime.now().plusDays(1);
+        orders = new Order[ordersPerSide * 2];
+        for (int i = 0; i < ordersPerSide; i++) {
+            orders[2 * i] = createOrder(stock, OrderType.BUYING_ORDER, expiration);
+            orders[2 * i + 1] = createOrder(stock, OrderType.SELLING_ORDER, expiration);
+        }
+        for (Order order : orders) {
+            orderBookService.addOrder(order);
+        }
+        stockExchangeAlgorithmScheduler = new StockExchangeAlgorithmScheduler(orderBookService,
+                new CountingSettlementService(fillCounter), null, null, null);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        for (Order order : orders) {
+            order.setRemainingAmount(order.getAmount());
+            order.setDateClosing(null);
+        }
+    }
+
+    @Benchmark
+    public void matchStock() {
+        stockExchangeAlgorithmScheduler.executeStockAlgorithm(STOCK_ID);
+    }
+
+    private Order createOrder(Stock stock, OrderType orderType, OffsetDateTime expiration) {
+        double deviation = (random.nextDouble() * 2 - 1) * priceSpread;
+        BigDecimal price = BASE_PRICE.multiply(BigDecimal.valueOf(1 + deviation))
+                .setScale(2, RoundingMode.HALF_UP);
+        int amount = 1 + random.nextInt(100);
+        return Order.builder()
+                .id(++nextOrderId)
+                .user(users.get(random.nextInt(users.size())))
+                .stock(stock)
+                .amount(amount)
+                .remainingAmount(amount)
+                .orderType(orderType)
+                .priceType(getPriceType(orderType))
+                .price(price)
+                .dateCreation(OffsetDateTime.now())
+                .dateExpiration(expiration)
+                .build();
+    }
+
+    private PriceType getPriceType(OrderType orderType) {
+        PriceType openPriceType = orderType == OrderType.BUYING_ORDER ?
+                PriceType.LESS_OR_EQUAL : PriceType.GREATER_OR_EQUAL;
+        switch (priceTypes) {
+            case "EQUAL":
+                return PriceType.EQUAL;
+            case "OPEN":
+                return openPriceType;
+            default:
+                return random.nextBoolean() ? PriceType.EQUAL : openPriceType;
+        }
+    }
+
+    // Filled orders stay in the book, so the invocation setup restores it without allocating.
+    private static class RetainingOrderBookService extends OrderBookServiceImpl {
+
+        private RetainingOrderBookService() {
+            super(null, new StockIndexTimeProperties());
+        }
+
+        @Override
+        public void removeOrder(Order order) {
+        }
+
+    }
+
+    private static class CountingSettlementService implements SettlementService {
+
+        private final FillCounter fillCounter;
+
+        private CountingSettlementService(FillCounter fillCounter) {
+            this.fillCounter = fillCounter;
+        }
+
+        @Override
+        public void settle(Long stockId, List<Fill> fills) {
+            fillCounter.fills += fills.size();
+        }
+
+        @Override
+        public SettlementStatisticsDTO getStatistics() {
+            return new SettlementStatisticsDTO();
+        }
+
+    }
+
+}
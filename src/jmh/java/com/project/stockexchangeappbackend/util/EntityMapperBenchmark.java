@@ -0,0 +1,130 @@
+package com.project.stockexchangeappbackend.util;
+
+import com.project.stockexchangeappbackend.configuration.ModelMapperConfiguration;
+import com.project.stockexchangeappbackend.dto.ResourceDTO;
+import com.project.stockexchangeappbackend.dto.StockDTO;
+import com.project.stockexchangeappbackend.dto.TransactionDTO;
+import com.project.stockexchangeappbackend.dto.UserDTO;
+import com.project.stockexchangeappbackend.entity.*;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class EntityMapperBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ModelMapper modelMapper;
+    private List<Stock> stocks;
+    private List<Resource> resources;
+    private List<User> users;
+    private List<Order> orders;
+    private List<Transaction> transactions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        modelMapper = new ModelMapperConfiguration().modelMapper();
+        modelMapper.createTypeMap(Resource.class, ResourceDTO.class)
+                .addMappings(mapper -> {
+                    mapper.map(source -> source.getStock().getName(), ResourceDTO::setName);
+                    mapper.map(source -> source.getStock().getAbbreviation(), ResourceDTO::setAbbreviation);
+                    mapper.map(source -> source.getStock().getCurrentPrice(), ResourceDTO::setCurrentPrice);
+                });
+        Tag tag = Tag.builder().id(1L).name("DEFAULT").build();
+        users = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> User.builder().id(id).firstName("John").lastName("Kowal").email("user" + id + "@test")
+                        .role(Role.USER).money(BigDecimal.valueOf(1000)).isActive(true).tag(tag).build())
+                .collect(Collectors.toList());
+        stocks = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> Stock.builder().id(id).name("Stock " + id).abbreviation("S" + id)
+                        .currentPrice(BigDecimal.TEN).amount(1000000).priceChangeRatio(0.01).tag(tag).build())
+                .collect(Collectors.toList());
+        resources = LongStream.range(0, pageSize)
+                .mapToObj(id -> Resource.builder().id(id).user(users.get((int) id)).stock(stocks.get((int) id))
+                        .amount(100).reservedAmount(10).build())
+                .collect(Collectors.toList());
+        OffsetDateTime now = OffsetDateTime.now();
+        orders = LongStream.range(0, pageSize)
+                .mapToObj(id -> Order.builder().id(id).user(users.get((int) id)).stock(stocks.get((int) id))
+                        .amount(100).remainingAmount(0).orderType(OrderType.SELLING_ORDER)
+                        .priceType(PriceType.EQUAL).price(BigDecimal.TEN).dateCreation(now)
+                        .dateExpiration(now.plusDays(1)).dateClosing(now).build())
+                .collect(Collectors.toList());
+        transactions = LongStream.range(0, pageSize)
+                .mapToObj(id -> Transaction.builder().id(id).date(now).amount(100).unitPrice(BigDecimal.TEN)
+                        .buyingOrder(EntityMapper.toArchivedOrder(orders.get((int) id)))
+                        .sellingOrder(EntityMapper.toArchivedOrder(orders.get((int) (pageSize - 1 - id))))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void stocksModelMapper(Blackhole blackhole) {
+        stocks.forEach(stock -> blackhole.consume(modelMapper.map(stock, StockDTO.class)));
+    }
+
+    @Benchmark
+    public void stocksEntityMapper(Blackhole blackhole) {
+        stocks.forEach(stock -> blackhole.consume(EntityMapper.toStockDTO(stock)));
+    }
+
+    @Benchmark
+    public void resourcesModelMapper(Blackhole blackhole) {
+        resources.forEach(resource -> {
+            ResourceDTO resourceDTO = modelMapper.map(resource, ResourceDTO.class);
+            resourceDTO.setId(resource.getStock().getId());
+            resourceDTO.setAmountAvailableForSale(resourceDTO.getAmount() - resource.getReservedAmount());
+            blackhole.consume(resourceDTO);
+        });
+    }
+
+    @Benchmark
+    public void resourcesEntityMapper(Blackhole blackhole) {
+        resources.forEach(resource -> blackhole.consume(EntityMapper.toResourceDTO(resource)));
+    }
+
+    @Benchmark
+    public void usersModelMapper(Blackhole blackhole) {
+        users.forEach(user -> blackhole.consume(modelMapper.map(user, UserDTO.class)));
+    }
+
+    @Benchmark
+    public void usersEntityMapper(Blackhole blackhole) {
+        users.forEach(user -> blackhole.consume(EntityMapper.toUserDTO(user)));
+    }
+
+    @Benchmark
+    public void archivedOrdersModelMapper(Blackhole blackhole) {
+        orders.forEach(order -> blackhole.consume(modelMapper.map(order, ArchivedOrder.class)));
+    }
+
+    @Benchmark
+    public void archivedOrdersEntityMapper(Blackhole blackhole) {
+        orders.forEach(order -> blackhole.consume(EntityMapper.toArchivedOrder(order)));
+    }
+
+    @Benchmark
+    public void transactionsModelMapper(Blackhole blackhole) {
+        transactions.forEach(transaction -> blackhole.consume(modelMapper.map(transaction, TransactionDTO.class)));
+    }
+
+    @Benchmark
+    public void transactionsEntityMapper(Blackhole blackhole) {
+        transactions.forEach(transaction -> blackhole.consume(EntityMapper.toTransactionDTO(transaction)));
+    }
+
+}
@@ -2,6 +2,7 @@ package com.project.stockexchangeappbackend.configuration;
 
 import com.project.stockexchangeappbackend.security.BannedAccessTokens;
 import com.project.stockexchangeappbackend.util.timemeasuring.ProcessingTime;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.context.annotation.RequestScope;
@@ -23,8 +24,9 @@ public class CustomBeansConfiguration {
     }
 
     @Bean
-    public BannedAccessTokens bannedAccessToken() {
-        return new BannedAccessTokens();
+    public BannedAccessTokens bannedAccessToken(
+            @Value("${security.oauth2.client.access-token-validity-seconds}") long accessTokenValidity) {
+        return new BannedAccessTokens(accessTokenValidity);
     }
 
 }
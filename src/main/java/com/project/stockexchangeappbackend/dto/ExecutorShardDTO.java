@@ -0,0 +1,32 @@
+package com.project.stockexchangeappbackend.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+@Data
+@ApiModel(description = "Stock task executor's shard statistics object.")
+public class ExecutorShardDTO {
+
+    @ApiModelProperty(notes = "The shard's index.")
+    private Integer shard;
+
+    @ApiModelProperty(notes = "The number of tasks waiting in the shard's queue.")
+    private Integer queueDepth;
+
+    @ApiModelProperty(notes = "The number of tasks completed by the shard's worker.")
+    private Long completedTasks;
+
+    @ApiModelProperty(notes = "The number of tasks stolen by the shard's worker from other shards.")
+    private Long stolenTasks;
+
+    @ApiModelProperty(notes = "The total time the shard's worker spent on tasks in milliseconds.")
+    private Long busyTime;
+
+}
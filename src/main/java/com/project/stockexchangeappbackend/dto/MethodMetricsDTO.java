@@ -0,0 +1,42 @@
+package com.project.stockexchangeappbackend.dto;
+
+import com.project.stockexchangeappbackend.util.timemeasuring.MeasureTimeType;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+@Data
+@ApiModel(description = "Measured method's execution time statistics object.")
+public class MethodMetricsDTO {
+
+    @ApiModelProperty(notes = "The kind of measured execution time.")
+    private MeasureTimeType type;
+
+    @ApiModelProperty(notes = "The measured method's name.")
+    private String method;
+
+    @ApiModelProperty(notes = "The number of the method's executions.")
+    private Long count;
+
+    @ApiModelProperty(notes = "The mean execution time in milliseconds.")
+    private Double mean;
+
+    @ApiModelProperty(notes = "The 50th percentile of execution time in milliseconds.")
+    private Double p50;
+
+    @ApiModelProperty(notes = "The 95th percentile of execution time in milliseconds.")
+    private Double p95;
+
+    @ApiModelProperty(notes = "The 99th percentile of execution time in milliseconds.")
+    private Double p99;
+
+    @ApiModelProperty(notes = "The maximum execution time in milliseconds.")
+    private Double max;
+
+}
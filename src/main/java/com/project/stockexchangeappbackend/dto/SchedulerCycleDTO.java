@@ -0,0 +1,47 @@
+package com.project.stockexchangeappbackend.dto;
+
+import com.project.stockexchangeappbackend.util.SchedulerType;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+@Data
+@ApiModel(description = "Scheduler's cycle sample object.")
+public class SchedulerCycleDTO {
+
+    @ApiModelProperty(notes = "The scheduler which executed the cycle.")
+    private SchedulerType scheduler;
+
+    @ApiModelProperty(notes = "The cycle's start timestamp.")
+    private OffsetDateTime timestamp;
+
+    @ApiModelProperty(notes = "The cycle's execution time in milliseconds.")
+    private Double executionTime;
+
+    @ApiModelProperty(notes = "The configured time in milliseconds between two next cycles of the scheduler.")
+    private Integer interval;
+
+    @ApiModelProperty(notes = "The number of processed stocks.")
+    private Integer stocks;
+
+    @ApiModelProperty(notes = "The number of scanned orders.")
+    private Long ordersScanned;
+
+    @ApiModelProperty(notes = "The number of settled fills.")
+    private Long fills;
+
+    @ApiModelProperty(notes = "The number of settlements retried after optimistic locking failure.")
+    private Long retries;
+
+    @ApiModelProperty(notes = "The time spent on database operations in milliseconds.")
+    private Double databaseTime;
+
+}
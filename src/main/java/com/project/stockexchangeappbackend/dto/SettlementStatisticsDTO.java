@@ -0,0 +1,32 @@
+package com.project.stockexchangeappbackend.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+@Data
+@ApiModel(description = "Settlement statistics object.")
+public class SettlementStatisticsDTO {
+
+    @ApiModelProperty(notes = "The number of settled batches.")
+    private Long batches;
+
+    @ApiModelProperty(notes = "The number of settled fills.")
+    private Long fills;
+
+    @ApiModelProperty(notes = "The number of failed batches.")
+    private Long failedBatches;
+
+    @ApiModelProperty(notes = "The total settlement time in milliseconds.")
+    private Long executionTime;
+
+    @ApiModelProperty(notes = "The average number of settled fills per second of settlement time.")
+    private Double fillsPerSecond;
+
+}
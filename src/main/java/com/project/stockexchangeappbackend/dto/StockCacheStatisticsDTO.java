@@ -0,0 +1,32 @@
+package com.project.stockexchangeappbackend.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+@Data
+@ApiModel(description = "Stock cache statistics object.")
+public class StockCacheStatisticsDTO {
+
+    @ApiModelProperty(notes = "The number of cached stocks.")
+    private Integer size;
+
+    @ApiModelProperty(notes = "The maximal number of cached stocks.")
+    private Integer capacity;
+
+    @ApiModelProperty(notes = "The number of lookups served from cache.")
+    private Long hits;
+
+    @ApiModelProperty(notes = "The number of lookups served from database.")
+    private Long misses;
+
+    @ApiModelProperty(notes = "The ratio of lookups served from cache.")
+    private Double hitRatio;
+
+}
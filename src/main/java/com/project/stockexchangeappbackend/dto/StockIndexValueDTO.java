@@ -1,19 +1,18 @@
 package com.project.stockexchangeappbackend.dto;
 
 
-import com.project.stockexchangeappbackend.entity.StockIndexValue;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
-import java.util.Comparator;
-import java.util.List;
 
 @Getter
 @Setter
+@AllArgsConstructor
 @ApiModel(description = "Stock's index object in database.")
 public class StockIndexValueDTO {
 
@@ -32,14 +31,4 @@ public class StockIndexValueDTO {
     @ApiModelProperty(notes = "The closing value.")
     private BigDecimal close;
 
-    public StockIndexValueDTO(List<StockIndexValue> group) {
-        if (group.size() > 0) {
-            this.timestamp = group.get(0).getTimestamp();
-            this.open = group.get(group.size() - 1).getValue();
-            this.close = group.get(0).getValue();
-            this.min = group.stream().min(Comparator.comparing(StockIndexValue::getValue)).get().getValue();
-            this.max = group.stream().max(Comparator.comparing(StockIndexValue::getValue)).get().getValue();
-        }
-    }
-
 }
@@ -31,4 +31,31 @@ public class SystemResourcesMonitorDTO {
     @ApiModelProperty(notes = "The system resources info's RAM used in bytes.")
     private Long memoryUsed;
 
+    @ApiModelProperty(notes = "The number of garbage collections since the previous info.")
+    private Long gcCount;
+
+    @ApiModelProperty(notes = "The time in milliseconds spent on garbage collections since the previous info.")
+    private Long gcTime;
+
+    @ApiModelProperty(notes = "The number of bytes allocated by live threads since the previous info.")
+    private Long allocatedBytes;
+
+    @ApiModelProperty(notes = "The number of live threads.")
+    private Integer threadCount;
+
+    @ApiModelProperty(notes = "The peak number of live threads since the application start.")
+    private Integer peakThreadCount;
+
+    @ApiModelProperty(notes = "The number of active database connections.")
+    private Integer dbActiveConnections;
+
+    @ApiModelProperty(notes = "The number of idle database connections.")
+    private Integer dbIdleConnections;
+
+    @ApiModelProperty(notes = "The number of threads waiting for a database connection.")
+    private Integer dbPendingThreads;
+
+    @ApiModelProperty(notes = "The number of busy request processing threads.")
+    private Integer serverBusyThreads;
+
 }
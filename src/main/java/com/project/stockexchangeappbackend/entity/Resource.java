@@ -28,4 +28,8 @@ public class Resource {
     @Column(name = "AMOUNT", nullable = false)
     private Integer amount;
 
+    @Builder.Default
+    @Column(name = "RESERVED_AMOUNT", nullable = false, insertable = false, updatable = false)
+    private Integer reservedAmount = 0;
+
 }
@@ -30,4 +30,31 @@ public class SystemResourcesMonitor {
     @JoinColumn(name = "MEMORY_USED", nullable = false, updatable = false, referencedColumnName = "ID")
     private Long memoryUsed;
 
+    @Column(name = "GC_COUNT", updatable = false)
+    private Long gcCount;
+
+    @Column(name = "GC_TIME", updatable = false)
+    private Long gcTime;
+
+    @Column(name = "ALLOCATED_BYTES", updatable = false)
+    private Long allocatedBytes;
+
+    @Column(name = "THREAD_COUNT", updatable = false)
+    private Integer threadCount;
+
+    @Column(name = "PEAK_THREAD_COUNT", updatable = false)
+    private Integer peakThreadCount;
+
+    @Column(name = "DB_ACTIVE_CONNECTIONS", updatable = false)
+    private Integer dbActiveConnections;
+
+    @Column(name = "DB_IDLE_CONNECTIONS", updatable = false)
+    private Integer dbIdleConnections;
+
+    @Column(name = "DB_PENDING_THREADS", updatable = false)
+    private Integer dbPendingThreads;
+
+    @Column(name = "SERVER_BUSY_THREADS", updatable = false)
+    private Integer serverBusyThreads;
+
 }
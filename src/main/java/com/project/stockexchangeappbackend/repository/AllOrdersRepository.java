@@ -25,6 +25,6 @@ public interface AllOrdersRepository extends JpaRepository<AllOrders, Long>, Jpa
     Optional<AllOrders> findById(Long id);
 
     @DBQueryMeasureTime
-    Long countByUser(User user);
+    boolean existsByUser(User user);
 
 }
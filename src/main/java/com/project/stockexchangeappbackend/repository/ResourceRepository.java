@@ -9,13 +9,24 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ResourceRepository extends JpaRepository<Resource, Long>, JpaSpecificationExecutor<Resource> {
+public interface ResourceRepository extends JpaRepository<Resource, Long>, JpaSpecificationExecutor<Resource>,
+                                            ResourceRepositoryCustom {
+
+    // Expired selling orders stay counted until they are archived, because archiving releases their amount.
+    String SELLING_ORDERS_AMOUNT = "(SELECT COALESCE(SUM(o.REMAINING_AMOUNT), 0) FROM ORDERS o " +
+            "WHERE o.USER_ID = r.USER_ID AND o.STOCK_ID = r.STOCK_ID AND o.TYPE = 'SELLING_ORDER' " +
+            "AND o.DATE_CLOSING IS NULL)";
 
     @Override
     @DBQueryMeasureTime
@@ -42,4 +53,28 @@ public interface ResourceRepository extends JpaRepository<Resource, Long>, JpaSp
     @DBQueryMeasureTime
     Long countByUser(User user);
 
+    @Modifying
+    @DBQueryMeasureTime
+    @Query(value = "UPDATE RESOURCES SET RESERVED_AMOUNT = RESERVED_AMOUNT + :amount " +
+            "WHERE USER_ID = :userId AND STOCK_ID = :stockId AND AMOUNT - RESERVED_AMOUNT >= :amount",
+            nativeQuery = true)
+    int reserveAmount(@Param("userId") Long userId, @Param("stockId") Long stockId, @Param("amount") int amount);
+
+    @Modifying
+    @DBQueryMeasureTime
+    @Query(value = "UPDATE RESOURCES SET RESERVED_AMOUNT = GREATEST(RESERVED_AMOUNT - :amount, 0) " +
+            "WHERE USER_ID = :userId AND STOCK_ID = :stockId", nativeQuery = true)
+    int releaseAmount(@Param("userId") Long userId, @Param("stockId") Long stockId, @Param("amount") int amount);
+
+    @DBQueryMeasureTime
+    @Query(value = "SELECT r.ID FROM RESOURCES r WHERE r.RESERVED_AMOUNT <> " + SELLING_ORDERS_AMOUNT +
+            " FOR UPDATE", nativeQuery = true)
+    List<Long> lockResourcesWithInvalidReservedAmount();
+
+    @Modifying
+    @DBQueryMeasureTime
+    @Query(value = "UPDATE RESOURCES r SET RESERVED_AMOUNT = " + SELLING_ORDERS_AMOUNT + " WHERE r.ID IN :ids",
+            nativeQuery = true)
+    int recalculateReservedAmounts(@Param("ids") Collection<Long> ids);
+
 }
@@ -0,0 +1,16 @@
+package com.project.stockexchangeappbackend.repository;
+
+import com.project.stockexchangeappbackend.dto.OwnerDTO;
+import com.project.stockexchangeappbackend.entity.Resource;
+import com.project.stockexchangeappbackend.util.timemeasuring.DBQueryMeasureTime;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+public interface ResourceRepositoryCustom {
+
+    @DBQueryMeasureTime
+    Page<OwnerDTO> findAllOwners(@Nullable Specification<Resource> specification, Pageable pageable);
+
+}
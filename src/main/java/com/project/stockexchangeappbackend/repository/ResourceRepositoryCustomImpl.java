@@ -0,0 +1,91 @@
+package com.project.stockexchangeappbackend.repository;
+
+import com.project.stockexchangeappbackend.dto.OwnerDTO;
+import com.project.stockexchangeappbackend.dto.UserDTO;
+import com.project.stockexchangeappbackend.entity.Resource;
+import com.project.stockexchangeappbackend.entity.Role;
+import com.project.stockexchangeappbackend.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+@RequiredArgsConstructor
+public class ResourceRepositoryCustomImpl implements ResourceRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<OwnerDTO> findAllOwners(Specification<Resource> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Resource> root = query.from(Resource.class);
+        applySpecification(specification, root, query, criteriaBuilder);
+        Join<Resource, User> user = root.join("user");
+        query.multiselect(
+                root.get("amount").alias("resource_amount"),
+                user.get("id").alias("user_id"),
+                user.get("firstName").alias("user_firstName"),
+                user.get("lastName").alias("user_lastName"),
+                user.get("email").alias("user_email"),
+                user.get("role").alias("user_role"),
+                user.get("money").alias("user_money"),
+                user.get("isActive").alias("user_isActive"),
+                user.join("tag", JoinType.LEFT).get("name").alias("user_tag"))
+                .orderBy(toOrders(pageable.getSort(), root, criteriaBuilder));
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<OwnerDTO> owners = typedQuery.getResultList().stream()
+                .map(tuple -> OwnerDTO.builder()
+                        .amount(tuple.get("resource_amount", Integer.class))
+                        .user(UserDTO.builder()
+                                .id(tuple.get("user_id", Long.class))
+                                .firstName(tuple.get("user_firstName", String.class))
+                                .lastName(tuple.get("user_lastName", String.class))
+                                .email(tuple.get("user_email", String.class))
+                                .role(tuple.get("user_role", Role.class))
+                                .money(tuple.get("user_money", BigDecimal.class))
+                                .isActive(tuple.get("user_isActive", Boolean.class))
+                                .tag(tuple.get("user_tag", String.class))
+                                .build())
+                        .build())
+                .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(owners, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<Resource> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Resource> root = query.from(Resource.class);
+        applySpecification(specification, root, query, criteriaBuilder);
+        query.select(criteriaBuilder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void applySpecification(Specification<Resource> specification, Root<Resource> root,
+                                    CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        // Only to-one associations are joined, so resources are never duplicated.
+        query.distinct(false);
+    }
+
+}
@@ -39,6 +39,9 @@ public interface StockIndexValueRepository extends JpaRepository<StockIndexValue
     @DBQueryMeasureTime
     List<StockIndexValue> findByStockIdInAndTimestampIsBeforeOrderByTimestampAsc(List<Long> stock, OffsetDateTime time);
 
+    @DBQueryMeasureTime
+    List<StockIndexValue> findByStockIdOrderByTimestampAsc(Long stockId);
+
     @DBQueryMeasureTime
     void deleteByStock(Stock stock);
 
@@ -2,23 +2,16 @@ package com.project.stockexchangeappbackend.repository;
 
 import com.project.stockexchangeappbackend.entity.SystemResourcesMonitor;
 import com.project.stockexchangeappbackend.util.timemeasuring.DBQueryMeasureTime;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Repository
-public interface SystemResourcesMonitorRepository extends JpaRepository<SystemResourcesMonitor, Long>,
-                                                          JpaSpecificationExecutor<SystemResourcesMonitor> {
+public interface SystemResourcesMonitorRepository extends JpaRepository<SystemResourcesMonitor, Long> {
 
-    SystemResourcesMonitor findFirstByOrderByTimestampAsc();
-
-    @Override
     @DBQueryMeasureTime
-    List<SystemResourcesMonitor> findAll(@Nullable Specification<SystemResourcesMonitor> specification, Sort sort);
+    List<SystemResourcesMonitor> findByTimestampGreaterThanEqualOrderByTimestampAsc(OffsetDateTime timestamp);
 
 }
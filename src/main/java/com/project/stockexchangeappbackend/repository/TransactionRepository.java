@@ -12,11 +12,14 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+                                               TransactionRepositoryCustom {
 
     @Override
     @DBQueryMeasureTime
@@ -31,7 +34,16 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
     Page<Transaction> findAll(@Nullable Specification<Transaction> specification, Pageable pageable);
 
     @DBQueryMeasureTime
-    @Query("SELECT t FROM Transaction t WHERE t.buyingOrder.stock.id = :stockId ORDER BY t.date desc")
-    List<Transaction> getTransactionsByStockId(@Param("stockId") Long stockId);
+    @Query("SELECT t.date AS date, t.unitPrice AS unitPrice, t.amount AS amount FROM Transaction t " +
+            "WHERE t.buyingOrder.stock.id = :stockId ORDER BY t.date desc, t.id desc")
+    List<TransactionPrice> getTransactionPricesByStockId(@Param("stockId") Long stockId, Pageable pageable);
+
+    interface TransactionPrice {
+
+        OffsetDateTime getDate();
+        BigDecimal getUnitPrice();
+        Integer getAmount();
+
+    }
 
 }
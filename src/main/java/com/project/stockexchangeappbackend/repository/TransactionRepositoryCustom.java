@@ -0,0 +1,24 @@
+package com.project.stockexchangeappbackend.repository;
+
+import com.project.stockexchangeappbackend.dto.TransactionDTO;
+import com.project.stockexchangeappbackend.entity.Transaction;
+import com.project.stockexchangeappbackend.util.timemeasuring.DBQueryMeasureTime;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+public interface TransactionRepositoryCustom {
+
+    @DBQueryMeasureTime
+    Page<TransactionDTO> findAllDTOs(@Nullable Specification<Transaction> specification, Pageable pageable,
+                                     boolean includeUsers);
+
+    @DBQueryMeasureTime
+    List<TransactionDTO> findAllDTOs(@Nullable Specification<Transaction> specification, Sort sort, int limit,
+                                     boolean includeUsers);
+
+}
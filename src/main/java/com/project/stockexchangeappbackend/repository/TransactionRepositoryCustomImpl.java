@@ -0,0 +1,172 @@
+package com.project.stockexchangeappbackend.repository;
+
+import com.project.stockexchangeappbackend.dto.OrderDTO;
+import com.project.stockexchangeappbackend.dto.StockDTO;
+import com.project.stockexchangeappbackend.dto.TransactionDTO;
+import com.project.stockexchangeappbackend.dto.UserDTO;
+import com.project.stockexchangeappbackend.entity.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+@RequiredArgsConstructor
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    private static final String TRANSACTION = "transaction_";
+    private static final String BUYING_ORDER = "buying_order_";
+    private static final String SELLING_ORDER = "selling_order_";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<TransactionDTO> findAllDTOs(Specification<Transaction> specification, Pageable pageable,
+                                            boolean includeUsers) {
+        TypedQuery<Tuple> query = createQuery(specification, pageable.getSort(), includeUsers);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(getTransactions(query, includeUsers), pageable,
+                () -> count(specification));
+    }
+
+    @Override
+    public List<TransactionDTO> findAllDTOs(Specification<Transaction> specification, Sort sort, int limit,
+                                            boolean includeUsers) {
+        TypedQuery<Tuple> query = createQuery(specification, sort, includeUsers);
+        query.setMaxResults(limit);
+        return getTransactions(query, includeUsers);
+    }
+
+    private TypedQuery<Tuple> createQuery(Specification<Transaction> specification, Sort sort,
+                                          boolean includeUsers) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Transaction> root = query.from(Transaction.class);
+        applySpecification(specification, root, query, criteriaBuilder);
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias(TRANSACTION + "id"));
+        selections.add(root.get("date").alias(TRANSACTION + "date"));
+        selections.add(root.get("amount").alias(TRANSACTION + "amount"));
+        selections.add(root.get("unitPrice").alias(TRANSACTION + "unitPrice"));
+        addOrderSelections(selections, root.join("buyingOrder"), BUYING_ORDER, includeUsers);
+        addOrderSelections(selections, root.join("sellingOrder"), SELLING_ORDER, includeUsers);
+        query.multiselect(selections).orderBy(toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Transaction> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        applySpecification(specification, root, query, criteriaBuilder);
+        query.select(criteriaBuilder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void applySpecification(Specification<Transaction> specification, Root<Transaction> root,
+                                    CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        // Only to-one associations are joined, so transactions are never duplicated.
+        query.distinct(false);
+    }
+
+    private void addOrderSelections(List<Selection<?>> selections, Join<Transaction, ArchivedOrder> order,
+                                    String prefix, boolean includeUsers) {
+        selections.add(order.get("id").alias(prefix + "id"));
+        selections.add(order.get("amount").alias(prefix + "amount"));
+        selections.add(order.get("remainingAmount").alias(prefix + "remainingAmount"));
+        selections.add(order.get("orderType").alias(prefix + "orderType"));
+        selections.add(order.get("priceType").alias(prefix + "priceType"));
+        selections.add(order.get("price").alias(prefix + "price"));
+        selections.add(order.get("dateCreation").alias(prefix + "dateCreation"));
+        selections.add(order.get("dateExpiration").alias(prefix + "dateExpiration"));
+        selections.add(order.get("dateClosing").alias(prefix + "dateClosing"));
+        Join<ArchivedOrder, Stock> stock = order.join("stock");
+        selections.add(stock.get("id").alias(prefix + "stock_id"));
+        selections.add(stock.get("name").alias(prefix + "stock_name"));
+        selections.add(stock.get("abbreviation").alias(prefix + "stock_abbreviation"));
+        selections.add(stock.get("currentPrice").alias(prefix + "stock_currentPrice"));
+        selections.add(stock.get("amount").alias(prefix + "stock_amount"));
+        selections.add(stock.get("priceChangeRatio").alias(prefix + "stock_priceChangeRatio"));
+        selections.add(stock.join("tag", JoinType.LEFT).get("name").alias(prefix + "stock_tag"));
+        if (includeUsers) {
+            Join<ArchivedOrder, User> user = order.join("user");
+            selections.add(user.get("id").alias(prefix + "user_id"));
+            selections.add(user.get("firstName").alias(prefix + "user_firstName"));
+            selections.add(user.get("lastName").alias(prefix + "user_lastName"));
+            selections.add(user.get("email").alias(prefix + "user_email"));
+            selections.add(user.get("role").alias(prefix + "user_role"));
+            selections.add(user.get("money").alias(prefix + "user_money"));
+            selections.add(user.get("isActive").alias(prefix + "user_isActive"));
+            selections.add(user.join("tag", JoinType.LEFT).get("name").alias(prefix + "user_tag"));
+        }
+    }
+
+    private List<TransactionDTO> getTransactions(TypedQuery<Tuple> query, boolean includeUsers) {
+        return query.getResultList().stream()
+                .map(tuple -> TransactionDTO.builder()
+                        .id(tuple.get(TRANSACTION + "id", Long.class))
+                        .date(tuple.get(TRANSACTION + "date", OffsetDateTime.class))
+                        .amount(tuple.get(TRANSACTION + "amount", Integer.class))
+                        .unitPrice(tuple.get(TRANSACTION + "unitPrice", BigDecimal.class))
+                        .buyingOrder(getOrder(tuple, BUYING_ORDER, includeUsers))
+                        .sellingOrder(getOrder(tuple, SELLING_ORDER, includeUsers))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private OrderDTO getOrder(Tuple tuple, String prefix, boolean includeUsers) {
+        return OrderDTO.builder()
+                .id(tuple.get(prefix + "id", Long.class))
+                .amount(tuple.get(prefix + "amount", Integer.class))
+                .remainingAmount(tuple.get(prefix + "remainingAmount", Integer.class))
+                .orderType(tuple.get(prefix + "orderType", OrderType.class))
+                .priceType(tuple.get(prefix + "priceType", PriceType.class))
+                .price(tuple.get(prefix + "price", BigDecimal.class))
+                .dateCreation(tuple.get(prefix + "dateCreation", OffsetDateTime.class))
+                .dateExpiration(tuple.get(prefix + "dateExpiration", OffsetDateTime.class))
+                .dateClosing(tuple.get(prefix + "dateClosing", OffsetDateTime.class))
+                .stock(StockDTO.builder()
+                        .id(tuple.get(prefix + "stock_id", Long.class))
+                        .name(tuple.get(prefix + "stock_name", String.class))
+                        .abbreviation(tuple.get(prefix + "stock_abbreviation", String.class))
+                        .currentPrice(tuple.get(prefix + "stock_currentPrice", BigDecimal.class))
+                        .amount(tuple.get(prefix + "stock_amount", Integer.class))
+                        .priceChangeRatio(tuple.get(prefix + "stock_priceChangeRatio", Double.class))
+                        .tag(tuple.get(prefix + "stock_tag", String.class))
+                        .build())
+                .user(!includeUsers ? null : UserDTO.builder()
+                        .id(tuple.get(prefix + "user_id", Long.class))
+                        .firstName(tuple.get(prefix + "user_firstName", String.class))
+                        .lastName(tuple.get(prefix + "user_lastName", String.class))
+                        .email(tuple.get(prefix + "user_email", String.class))
+                        .role(tuple.get(prefix + "user_role", Role.class))
+                        .money(tuple.get(prefix + "user_money", BigDecimal.class))
+                        .isActive(tuple.get(prefix + "user_isActive", Boolean.class))
+                        .tag(tuple.get(prefix + "user_tag", String.class))
+                        .build())
+                .build();
+    }
+
+}
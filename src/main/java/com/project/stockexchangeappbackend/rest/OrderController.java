@@ -151,8 +151,7 @@ public class OrderController {
                                                            @PathVariable(name = "id") Long orderId,
                                                        @ApiIgnore Pageable pageable,
                                                        TransactionSpecification transactionSpecification) {
-        return transactionService.getTransactionsByOrder(pageable, transactionSpecification, orderId)
-                .map(transaction -> mapper.map(transaction, TransactionDTO.class));
+        return transactionService.getTransactionsByOrder(pageable, transactionSpecification, orderId);
     }
 
     @PostMapping("/{id}/deactivation")
@@ -2,16 +2,16 @@ package com.project.stockexchangeappbackend.rest;
 
 import com.project.stockexchangeappbackend.dto.*;
 import com.project.stockexchangeappbackend.repository.specification.OwnerSpecification;
-import com.project.stockexchangeappbackend.repository.specification.StockIndexValueSpecification;
 import com.project.stockexchangeappbackend.repository.specification.StockSpecification;
 import com.project.stockexchangeappbackend.service.ResourceService;
 import com.project.stockexchangeappbackend.service.StockIndexValueService;
 import com.project.stockexchangeappbackend.service.StockService;
+import com.project.stockexchangeappbackend.util.EntityMapper;
 import io.swagger.annotations.*;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +19,7 @@ import springfox.documentation.annotations.ApiIgnore;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @RestController
@@ -33,7 +34,6 @@ public class StockController {
     private final StockService stockService;
     private final StockIndexValueService stockIndexValueService;
     private final ResourceService resourceService;
-    private final ModelMapper mapper;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -72,7 +72,7 @@ public class StockController {
     })
     public Page<StockDTO> getStocks(@ApiIgnore Pageable pageable, StockSpecification stockSpecification) {
         return stockService.getStocks(pageable, stockSpecification)
-                .map(stock -> mapper.map(stock, StockDTO.class));
+                .map(EntityMapper::toStockDTO);
     }
 
     @GetMapping("/{id}")
@@ -82,7 +82,7 @@ public class StockController {
             @ApiResponse(code = 404, message = "Given stock not found.", response = ErrorResponse.class)})
     public StockDTO getStock(@ApiParam(value = "Abbreviation or id of desired stock", required = true)
                              @PathVariable String id) {
-        return mapper.map(stockService.getStockByIdOrAbbreviation(id), StockDTO.class);
+        return EntityMapper.toStockDTO(stockService.getStockByIdOrAbbreviation(id));
     }
 
     @PatchMapping("/{id}")
@@ -107,18 +107,18 @@ public class StockController {
             @ApiResponse(code = 400, message = "The request could not be understood or was missing required parameters.",
                     response = ErrorResponse.class),
             @ApiResponse(code = 404, message = "Given stock not found.", response = ErrorResponse.class)})
-    @ApiImplicitParams({
-            @ApiImplicitParam(name = "datetime>", dataType = "integer", paramType = "query",
-                    value = "Filtering criteria for field `timestamp` (omitted if null)."),
-            @ApiImplicitParam(name = "datetime<", dataType = "integer", paramType = "query",
-                    value = "Filtering criteria for field `timestamp` (omitted if null).")
-    })
-    public List<StockIndexValueDTO> getIndexes(StockIndexValueSpecification specification,
+    public List<StockIndexValueDTO> getIndexes(
                @ApiParam(value = "The stock's id.", required = true) @PathVariable("id") Long stockId,
+               @ApiParam(value = "Filtering criteria for field `timestamp` (omitted if null).")
+                                                   @RequestParam(value = "datetime>", required = false)
+               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+               @ApiParam(value = "Filtering criteria for field `timestamp` (omitted if null).")
+                                                   @RequestParam(value = "datetime<", required = false)
+               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
                @ApiParam(value = "Interval. Minimal value 1.", defaultValue = "1")
                                                    @RequestParam(value = "interval", defaultValue = "1")
                @Min(value = 1, message = "Interval must be greater or equal {value}.") Integer interval) {
-        return stockIndexValueService.getStockIndexValues(stockId, specification, interval);
+        return stockIndexValueService.getStockIndexValues(stockId, from, to, interval);
     }
 
     @PostMapping
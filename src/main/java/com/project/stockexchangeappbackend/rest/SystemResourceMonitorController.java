@@ -1,18 +1,31 @@
 package com.project.stockexchangeappbackend.rest;
 
+import com.project.stockexchangeappbackend.dto.ExecutorShardDTO;
+import com.project.stockexchangeappbackend.dto.MethodMetricsDTO;
+import com.project.stockexchangeappbackend.dto.SchedulerCycleDTO;
+import com.project.stockexchangeappbackend.dto.SettlementStatisticsDTO;
+import com.project.stockexchangeappbackend.dto.StockCacheStatisticsDTO;
 import com.project.stockexchangeappbackend.dto.SystemResourcesMonitorDTO;
-import com.project.stockexchangeappbackend.repository.specification.SystemResourceMonitorSpecification;
+import com.project.stockexchangeappbackend.scheduler.StockTaskExecutor;
+import com.project.stockexchangeappbackend.service.MetricsService;
+import com.project.stockexchangeappbackend.service.SchedulerCycleService;
+import com.project.stockexchangeappbackend.service.SettlementService;
+import com.project.stockexchangeappbackend.service.StockCacheService;
 import com.project.stockexchangeappbackend.service.SystemResourcesMonitorService;
+import com.project.stockexchangeappbackend.util.SchedulerType;
 import io.swagger.annotations.*;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +39,11 @@ import java.util.stream.Collectors;
 public class SystemResourceMonitorController {
 
     private final SystemResourcesMonitorService systemResourcesMonitorService;
+    private final SettlementService settlementService;
+    private final StockTaskExecutor stockTaskExecutor;
+    private final StockCacheService stockCacheService;
+    private final MetricsService metricsService;
+    private final SchedulerCycleService schedulerCycleService;
     private final ModelMapper modelMapper;
 
     @GetMapping("/resources")
@@ -34,16 +52,68 @@ public class SystemResourceMonitorController {
     @ApiResponses({@ApiResponse(code = 200, message = "System resources' info was successfully retrieved."),
             @ApiResponse(code = 401, message = "Unauthorized."),
             @ApiResponse(code = 403, message = "Access Denied")})
-    @ApiImplicitParams({
-            @ApiImplicitParam(name = "datetime>", dataType = "integer", paramType = "query",
-                    value = "Filtering criteria for field `timestamp` (omitted if null)."),
-            @ApiImplicitParam(name = "datetime<", dataType = "integer", paramType = "query",
-                    value = "Filtering criteria for field `timestamp` (omitted if null).")
-    })
-    public List<SystemResourcesMonitorDTO> getInfo(SystemResourceMonitorSpecification specification) {
-        return systemResourcesMonitorService.getInfo(specification).stream()
+    public List<SystemResourcesMonitorDTO> getInfo(
+            @ApiParam(value = "Filtering criteria for field `timestamp` (omitted if null).")
+            @RequestParam(value = "datetime>", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @ApiParam(value = "Filtering criteria for field `timestamp` (omitted if null).")
+            @RequestParam(value = "datetime<", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        return systemResourcesMonitorService.getInfo(from, to).stream()
                 .map(info -> modelMapper.map(info, SystemResourcesMonitorDTO.class))
                 .collect(Collectors.toList());
     }
 
+    @GetMapping("/settlement")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @ApiOperation(value = "Retrieve settlement statistics.", notes = "Required role: ADMIN")
+    @ApiResponses({@ApiResponse(code = 200, message = "Settlement statistics were successfully retrieved."),
+            @ApiResponse(code = 401, message = "Unauthorized."),
+            @ApiResponse(code = 403, message = "Access Denied")})
+    public SettlementStatisticsDTO getSettlementStatistics() {
+        return settlementService.getStatistics();
+    }
+
+    @GetMapping("/executor")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @ApiOperation(value = "Retrieve stock task executor's shards statistics.", notes = "Required role: ADMIN")
+    @ApiResponses({@ApiResponse(code = 200, message = "Executor statistics were successfully retrieved."),
+            @ApiResponse(code = 401, message = "Unauthorized."),
+            @ApiResponse(code = 403, message = "Access Denied")})
+    public List<ExecutorShardDTO> getExecutorStatistics() {
+        return stockTaskExecutor.getStatistics();
+    }
+
+    @GetMapping("/stock-cache")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @ApiOperation(value = "Retrieve stock cache statistics.", notes = "Required role: ADMIN")
+    @ApiResponses({@ApiResponse(code = 200, message = "Stock cache statistics were successfully retrieved."),
+            @ApiResponse(code = 401, message = "Unauthorized."),
+            @ApiResponse(code = 403, message = "Access Denied")})
+    public StockCacheStatisticsDTO getStockCacheStatistics() {
+        return stockCacheService.getStatistics();
+    }
+
+    @GetMapping("/metrics")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @ApiOperation(value = "Retrieve execution time statistics of measured methods.", notes = "Required role: ADMIN")
+    @ApiResponses({@ApiResponse(code = 200, message = "Execution time statistics were successfully retrieved."),
+            @ApiResponse(code = 401, message = "Unauthorized."),
+            @ApiResponse(code = 403, message = "Access Denied")})
+    public List<MethodMetricsDTO> getMetrics() {
+        return metricsService.getMetrics();
+    }
+
+    @GetMapping("/scheduler")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @ApiOperation(value = "Retrieve the latest schedulers' cycle samples.", notes = "Required role: ADMIN")
+    @ApiResponses({@ApiResponse(code = 200, message = "Schedulers' cycle samples were successfully retrieved."),
+            @ApiResponse(code = 401, message = "Unauthorized."),
+            @ApiResponse(code = 403, message = "Access Denied")})
+    public List<SchedulerCycleDTO> getSchedulerCycles(
+            @ApiParam(value = "Scheduler which cycles are retrieved (all schedulers if omitted).")
+            @RequestParam(value = "scheduler", required = false) SchedulerType scheduler) {
+        return schedulerCycleService.getCycles(scheduler);
+    }
+
 }
@@ -3,18 +3,34 @@ package com.project.stockexchangeappbackend.rest;
 import com.project.stockexchangeappbackend.dto.ErrorResponse;
 import com.project.stockexchangeappbackend.dto.TransactionDTO;
 import com.project.stockexchangeappbackend.repository.specification.TransactionSpecification;
+import com.project.stockexchangeappbackend.service.TransactionExportService;
 import com.project.stockexchangeappbackend.service.TransactionService;
+import com.project.stockexchangeappbackend.util.EntityMapper;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.TransactionExportFormat;
 import io.swagger.annotations.*;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import springfox.documentation.annotations.ApiIgnore;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.time.OffsetDateTime;
+
 @RestController
 @RequestMapping("/api/transaction")
+@Validated
 @CrossOrigin("*")
 @AllArgsConstructor
 @Api(value = "Transaction", description = "REST API for transactions' management", tags = "Transaction")
@@ -24,7 +40,8 @@ import springfox.documentation.annotations.ApiIgnore;
 public class TransactionController {
 
     private final TransactionService transactionService;
-    private final ModelMapper mapper;
+    private final TransactionExportService transactionExportService;
+    private final StockIndexTimeProperties stockIndexTimeProperties;
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -34,7 +51,7 @@ public class TransactionController {
             @ApiResponse(code = 404, message = "Given transaction not found.", response = ErrorResponse.class)})
     public TransactionDTO getTransactionDetails(@ApiParam(value = "The transaction's id.", required = true)
                                                 @PathVariable Long id) {
-        return mapper.map(transactionService.findTransactionById(id), TransactionDTO.class);
+        return EntityMapper.toTransactionDTO(transactionService.findTransactionById(id));
     }
 
     @GetMapping
@@ -73,8 +90,84 @@ public class TransactionController {
                     value = "Filtering criteria for field `abbreviation`. (omitted if null)"),
     })
     public Page<TransactionDTO> getTransactions(@ApiIgnore Pageable pageable, TransactionSpecification specification) {
-        return transactionService.findAllTransactions(pageable, specification)
-                .map(transaction -> mapper.map(transaction, TransactionDTO.class));
+        return transactionService.findAllTransactions(pageable, specification);
+    }
+
+    @GetMapping("/seek")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @ApiOperation(value = "Slice and filter transactions using keyset pagination",
+            notes = "Required one role of: ADMIN, USER \n" +
+            "Transactions are ordered by date and id. Pass `date` and `id` of the last retrieved transaction as " +
+            "`afterDate` and `afterId` to retrieve the next slice. \n" +
+            "Given date must be in one format of: \n - yyyy-MM-ddThh:mm:ss.SSSZ (Z means Greenwich zone), " +
+            "\n - yyyy-MM-ddThh:mm:ss.SSS-hh:mm \n - yyyy-MM-ddThh:mm:ss.SSS%2Bhh:mm (%2B means +)")
+    @ApiResponses({@ApiResponse(code = 200, message = "Successfully sliced and filtered transactions."),
+            @ApiResponse(code = 400, message = "The request could not be understood or was missing required parameters.",
+                    response = ErrorResponse.class)})
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "date>", dataType = "date", paramType = "query",
+                    value = "Filtering criteria for field `date`. (omitted if null)"),
+            @ApiImplicitParam(name = "date<", dataType = "date", paramType = "query",
+                    value = "Filtering criteria for field `date`. (omitted if null)"),
+            @ApiImplicitParam(name = "amount>", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `amount`. (omitted if null)"),
+            @ApiImplicitParam(name = "amount<", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `amount`. (omitted if null)"),
+            @ApiImplicitParam(name = "amount", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `amount`. Param is exact value. (omitted if null)"),
+            @ApiImplicitParam(name = "unitPrice>", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `unitPrice`. (omitted if null)"),
+            @ApiImplicitParam(name = "unitPrice<", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `unitPrice`. (omitted if null)"),
+            @ApiImplicitParam(name = "unitPrice", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `unitPrice`. Param is exact value. (omitted if null)"),
+            @ApiImplicitParam(name = "name", dataType = "string", paramType = "query",
+                    value = "Filtering criteria for field `name` (omitted if null)"),
+            @ApiImplicitParam(name = "abbreviation", dataType = "string", paramType = "query",
+                    value = "Filtering criteria for field `abbreviation`. (omitted if null)"),
+    })
+    public Slice<TransactionDTO> getTransactionsAfter(@ApiIgnore TransactionSpecification specification,
+            @ApiParam(value = "Date of the last retrieved transaction.")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime afterDate,
+            @ApiParam(value = "Id of the last retrieved transaction.") @RequestParam(required = false) Long afterId,
+            @ApiParam(value = "Number of records per slice.", defaultValue = "20")
+            @RequestParam(defaultValue = "20") @Min(value = 1, message = "Size must be greater or equal {value}.")
+            @Max(value = 1000, message = "Size must be less or equal {value}.") Integer size) {
+        return transactionService.findAllTransactionsAfter(specification, afterDate, afterId, size);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Stream transactions as NDJSON or CSV", notes = "Required role of: ADMIN \n" +
+            "Transactions are ordered by date and id and streamed from a database cursor. \n" +
+            "Given date must be in one format of: \n - yyyy-MM-ddThh:mm:ss.SSSZ (Z means Greenwich zone), " +
+            "\n - yyyy-MM-ddThh:mm:ss.SSS-hh:mm \n - yyyy-MM-ddThh:mm:ss.SSS%2Bhh:mm (%2B means +)")
+    @ApiResponses({@ApiResponse(code = 200, message = "Transactions are being streamed."),
+            @ApiResponse(code = 403, message = "Access Denied."),
+            @ApiResponse(code = 400, message = "The request could not be understood or was missing required parameters.",
+                    response = ErrorResponse.class)})
+    public WebAsyncTask<Void> exportTransactions(
+            @ApiParam(value = "Filtering criteria for field `date`. (omitted if null)")
+            @RequestParam(value = "date>", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @ApiParam(value = "Filtering criteria for field `date`. (omitted if null)")
+            @RequestParam(value = "date<", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @ApiParam(value = "Include only transactions where given user is buying or selling. (omitted if null)")
+            @RequestParam(required = false) Long userId,
+            @ApiParam(value = "Export format.", defaultValue = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") TransactionExportFormat format,
+            @ApiIgnore HttpServletResponse response) {
+        return new WebAsyncTask<>(stockIndexTimeProperties.getExportRequestTimeout(), () -> {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(format.getMediaType().toString());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+                    .filename("transactions." + format.name().toLowerCase())
+                    .build()
+                    .toString());
+            transactionExportService.exportTransactions(from, to, userId, format, response.getOutputStream());
+            return null;
+        });
     }
 
 }
@@ -9,20 +9,28 @@ import com.project.stockexchangeappbackend.service.OrderService;
 import com.project.stockexchangeappbackend.service.ResourceService;
 import com.project.stockexchangeappbackend.service.TransactionService;
 import com.project.stockexchangeappbackend.service.UserService;
+import com.project.stockexchangeappbackend.util.EntityMapper;
 import io.swagger.annotations.*;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import springfox.documentation.annotations.ApiIgnore;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import java.security.Principal;
+import java.time.OffsetDateTime;
 
 @RestController
 @RequestMapping("/api/user")
+@Validated
 @CrossOrigin("*")
 @AllArgsConstructor
 @Api(value = "Users", description = "REST API for users' management", tags = "Users")
@@ -42,7 +50,7 @@ public class    UsersController {
             @ApiResponse(code = 403, message = "Access Denied."),
             @ApiResponse(code = 404, message = "Given user not found.", response = ErrorResponse.class)})
     public UserDTO getUser(@ApiParam(value = "Id of desired user.", required = true) @PathVariable Long id) {
-        return mapper.map(userService.findUserById(id), UserDTO.class);
+        return EntityMapper.toUserDTO(userService.findUserById(id));
     }
 
     @GetMapping
@@ -81,7 +89,7 @@ public class    UsersController {
     })
     public Page<UserDTO> getUsers(@ApiIgnore Pageable pageable, UserSpecification specification) {
         return userService.getUsers(pageable, specification)
-                .map(user -> mapper.map(user, UserDTO.class));
+                .map(EntityMapper::toUserDTO);
     }
 
     @GetMapping("/config/user-data")
@@ -90,7 +98,7 @@ public class    UsersController {
     @ApiResponses({@ApiResponse(code = 200, message = "User was successfully retrieved."),
             @ApiResponse(code = 404, message = "Given user not found.", response = ErrorResponse.class)})
     public UserDTO getUser(Principal principal) {
-        return mapper.map(userService.findUserByEmail(principal.getName()), UserDTO.class);
+        return EntityMapper.toUserDTO(userService.findUserByEmail(principal.getName()));
     }
 
     @PostMapping("/config/change-password")
@@ -252,8 +260,59 @@ public class    UsersController {
     public Page<TransactionDTO> getOwnedTransactions(@ApiIgnore Pageable pageable, TransactionSpecification specification,
                                                      @RequestParam(required = false, defaultValue = "true") boolean isSeller,
                                                      @RequestParam(required = false, defaultValue = "true") boolean isBuyer) {
-        return transactionService.getOwnedTransactions(pageable, specification, isSeller, isBuyer)
-                .map(transaction -> mapper.map(transaction, TransactionDTO.class));
+        return transactionService.getOwnedTransactions(pageable, specification, isSeller, isBuyer);
+    }
+
+    @GetMapping("/transaction/owned/seek")
+    @PreAuthorize("hasRole('USER')")
+    @ApiOperation(value = "Slice and filter logged in user's owned transactions using keyset pagination",
+            notes = "Required role of: USER \n" +
+            "Transactions are ordered by date and id. Pass `date` and `id` of the last retrieved transaction as " +
+            "`afterDate` and `afterId` to retrieve the next slice. \n" +
+            "Given date must be in one format of: \n - yyyy-MM-ddThh:mm:ss.SSSZ (Z means Greenwich zone), " +
+            "\n - yyyy-MM-ddThh:mm:ss.SSS-hh:mm \n - yyyy-MM-ddThh:mm:ss.SSS%2Bhh:mm (%2B means +)")
+    @ApiResponses({@ApiResponse(code = 200, message = "Successfully sliced and filtered user's owned transactions."),
+            @ApiResponse(code = 403, message = "Access Denied."),
+            @ApiResponse(code = 400, message = "The request could not be understood or was missing required parameters.",
+                    response = ErrorResponse.class)})
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "date>", dataType = "date", paramType = "query",
+                    value = "Filtering criteria for field `date`. (omitted if null)"),
+            @ApiImplicitParam(name = "date<", dataType = "date", paramType = "query",
+                    value = "Filtering criteria for field `date`. (omitted if null)"),
+            @ApiImplicitParam(name = "amount>", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `amount`. (omitted if null)"),
+            @ApiImplicitParam(name = "amount<", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `amount`. (omitted if null)"),
+            @ApiImplicitParam(name = "amount", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `amount`. Param is exact value. (omitted if null)"),
+            @ApiImplicitParam(name = "unitPrice>", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `unitPrice`. (omitted if null)"),
+            @ApiImplicitParam(name = "unitPrice<", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `unitPrice`. (omitted if null)"),
+            @ApiImplicitParam(name = "unitPrice", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `unitPrice`. Param is exact value. (omitted if null)"),
+            @ApiImplicitParam(name = "name", dataType = "string", paramType = "query",
+                    value = "Filtering criteria for field `name` (omitted if null)"),
+            @ApiImplicitParam(name = "abbreviation", dataType = "string", paramType = "query",
+                    value = "Filtering criteria for field `abbreviation`. (omitted if null)"),
+            @ApiImplicitParam(name = "isSeller", dataType = "boolean", paramType = "query",
+                    value = "Filtering criteria for field sellingOrder. " +
+                            "Include transactions where user is selling (not required, default true"),
+            @ApiImplicitParam(name = "isBuyer", dataType = "boolean", paramType = "query",
+                    value = "Filtering criteria for field buyingOrder. " +
+                            "Include transactions where user is buying. (not required, default true)"),
+    })
+    public Slice<TransactionDTO> getOwnedTransactionsAfter(@ApiIgnore TransactionSpecification specification,
+            @RequestParam(required = false, defaultValue = "true") boolean isSeller,
+            @RequestParam(required = false, defaultValue = "true") boolean isBuyer,
+            @ApiParam(value = "Date of the last retrieved transaction.")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime afterDate,
+            @ApiParam(value = "Id of the last retrieved transaction.") @RequestParam(required = false) Long afterId,
+            @ApiParam(value = "Number of records per slice.", defaultValue = "20")
+            @RequestParam(defaultValue = "20") @Min(value = 1, message = "Size must be greater or equal {value}.")
+            @Max(value = 1000, message = "Size must be less or equal {value}.") Integer size) {
+        return transactionService.getOwnedTransactionsAfter(specification, isSeller, isBuyer, afterDate, afterId, size);
     }
 
     @GetMapping("/{id}/order")
@@ -406,8 +465,62 @@ public class    UsersController {
                                                      @RequestParam(required = false, defaultValue = "true") boolean isSeller,
                                                      @RequestParam(required = false, defaultValue = "true") boolean isBuyer,
                                                      @ApiParam("The user's id") @PathVariable Long id) {
-        return transactionService.getUserTransactions(pageable, specification, id, isSeller, isBuyer)
-                .map(transaction -> mapper.map(transaction, TransactionDTO.class));
+        return transactionService.getUserTransactions(pageable, specification, id, isSeller, isBuyer);
+    }
+
+    @GetMapping("/{id}/transaction/seek")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ApiOperation(value = "Slice and filter user's transactions using keyset pagination",
+            notes = "Required role of: ADMIN \n" +
+            "Transactions are ordered by date and id. Pass `date` and `id` of the last retrieved transaction as " +
+            "`afterDate` and `afterId` to retrieve the next slice. \n" +
+            "Given date must be in one format of: \n - yyyy-MM-ddThh:mm:ss.SSSZ (Z means Greenwich zone), " +
+            "\n - yyyy-MM-ddThh:mm:ss.SSS-hh:mm \n - yyyy-MM-ddThh:mm:ss.SSS%2Bhh:mm (%2B means +)")
+    @ApiResponses({@ApiResponse(code = 200, message = "Successfully sliced and filtered user's transactions."),
+            @ApiResponse(code = 403, message = "Access Denied."),
+            @ApiResponse(code = 400, message = "The request could not be understood or was missing required parameters.",
+                    response = ErrorResponse.class),
+            @ApiResponse(code = 404, message = "Given user not found", response = ErrorResponse.class)})
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "date>", dataType = "date", paramType = "query",
+                    value = "Filtering criteria for field `date`. (omitted if null)"),
+            @ApiImplicitParam(name = "date<", dataType = "date", paramType = "query",
+                    value = "Filtering criteria for field `date`. (omitted if null)"),
+            @ApiImplicitParam(name = "amount>", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `amount`. (omitted if null)"),
+            @ApiImplicitParam(name = "amount<", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `amount`. (omitted if null)"),
+            @ApiImplicitParam(name = "amount", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `amount`. Param is exact value. (omitted if null)"),
+            @ApiImplicitParam(name = "unitPrice>", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `unitPrice`. (omitted if null)"),
+            @ApiImplicitParam(name = "unitPrice<", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `unitPrice`. (omitted if null)"),
+            @ApiImplicitParam(name = "unitPrice", dataType = "integer", paramType = "query",
+                    value = "Filtering criteria for field `unitPrice`. Param is exact value. (omitted if null)"),
+            @ApiImplicitParam(name = "name", dataType = "string", paramType = "query",
+                    value = "Filtering criteria for field `name` (omitted if null)"),
+            @ApiImplicitParam(name = "abbreviation", dataType = "string", paramType = "query",
+                    value = "Filtering criteria for field `abbreviation`. (omitted if null)"),
+            @ApiImplicitParam(name = "isSeller", dataType = "boolean", paramType = "query",
+                    value = "Filtering criteria for field sellingOrder. " +
+                            "Include transactions where specified user is selling (not required, default true"),
+            @ApiImplicitParam(name = "isBuyer", dataType = "boolean", paramType = "query",
+                    value = "Filtering criteria for field buyingOrder. " +
+                            "Include transactions where specified user is buying. (not required, default true)"),
+    })
+    public Slice<TransactionDTO> getUsersTransactionsAfter(@ApiIgnore TransactionSpecification specification,
+            @RequestParam(required = false, defaultValue = "true") boolean isSeller,
+            @RequestParam(required = false, defaultValue = "true") boolean isBuyer,
+            @ApiParam("The user's id") @PathVariable Long id,
+            @ApiParam(value = "Date of the last retrieved transaction.")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime afterDate,
+            @ApiParam(value = "Id of the last retrieved transaction.") @RequestParam(required = false) Long afterId,
+            @ApiParam(value = "Number of records per slice.", defaultValue = "20")
+            @RequestParam(defaultValue = "20") @Min(value = 1, message = "Size must be greater or equal {value}.")
+            @Max(value = 1000, message = "Size must be less or equal {value}.") Integer size) {
+        return transactionService.getUserTransactionsAfter(specification, id, isSeller, isBuyer, afterDate, afterId,
+                size);
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,19 @@
+package com.project.stockexchangeappbackend.scheduler;
+
+import com.project.stockexchangeappbackend.service.BannedUserService;
+import lombok.AllArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class BanSynchronizationScheduler {
+
+    private final BannedUserService bannedUserService;
+
+    @Scheduled(fixedDelayString = "${application.stock.banSynchronizationInterval}")
+    public void run() {
+        bannedUserService.synchronizeBans();
+    }
+
+}
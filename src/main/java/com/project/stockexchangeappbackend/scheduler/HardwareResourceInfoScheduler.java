@@ -19,4 +19,10 @@ public class HardwareResourceInfoScheduler {
         systemResourcesMonitorService.addSystemResources();
     }
 
+    @Scheduled(initialDelayString = "${application.stock.systemResourcesMonitorFlushInterval}",
+            fixedDelayString = "${application.stock.systemResourcesMonitorFlushInterval}")
+    public void flush() {
+        systemResourcesMonitorService.flushSystemResources();
+    }
+
 }
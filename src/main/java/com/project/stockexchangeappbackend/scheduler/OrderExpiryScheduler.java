@@ -0,0 +1,43 @@
+package com.project.stockexchangeappbackend.scheduler;
+
+import com.project.stockexchangeappbackend.entity.Order;
+import com.project.stockexchangeappbackend.service.OrderBookService;
+import com.project.stockexchangeappbackend.service.OrderService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+@AllArgsConstructor
+public class OrderExpiryScheduler {
+
+    private final OrderService orderService;
+    private final OrderBookService orderBookService;
+
+    @Scheduled(fixedRateString = "${application.stock.orderExpiryTick}")
+    public void expireOrders() {
+        List<Order> orders = orderBookService.removeExpiredOrders(OffsetDateTime.now(ZoneId.systemDefault()));
+        if (!orders.isEmpty()) {
+            orderService.archiveExpiredOrders(orders.stream()
+                    .map(Order::getId)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.stock.inactiveOrdersSweepInterval}")
+    public void removeInactiveOrders() {
+        log.info("Movement inactive orders started.");
+        long start = System.nanoTime();
+        orderService.moveInactiveOrders();
+        long stop = (System.nanoTime() - start) / 1000000;
+        log.info("Movement inactive orders finished. Execution time: " + stop + " ms.");
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.project.stockexchangeappbackend.scheduler;
+
+import com.project.stockexchangeappbackend.service.PartitionService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@AllArgsConstructor
+public class PartitionMaintenanceScheduler {
+
+    private final PartitionService partitionService;
+
+    @Scheduled(fixedDelayString = "${application.stock.partitionMaintenanceInterval}")
+    public void run() {
+        log.info("Partition maintenance started.");
+        long start = System.nanoTime();
+        partitionService.createPartitions();
+        long stop = (System.nanoTime() - start) / 1000000;
+        log.info("Partition maintenance finished. Execution time: " + stop + " ms.");
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.project.stockexchangeappbackend.scheduler;
+
+import com.project.stockexchangeappbackend.service.ResourceService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@AllArgsConstructor
+public class ReservedAmountVerificationScheduler {
+
+    private final ResourceService resourceService;
+
+    @Scheduled(initialDelayString = "${application.stock.reservedAmountVerificationInterval}",
+            fixedDelayString = "${application.stock.reservedAmountVerificationInterval}")
+    public void run() {
+        log.info("Verification of resources' reserved amounts started.");
+        long start = System.nanoTime();
+        resourceService.verifyReservedAmounts();
+        long stop = (System.nanoTime() - start) / 1000000;
+        log.info("Verification of resources' reserved amounts finished. Execution time: " + stop + " ms.");
+    }
+
+}
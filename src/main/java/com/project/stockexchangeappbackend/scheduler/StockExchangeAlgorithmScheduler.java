@@ -2,153 +2,212 @@ package com.project.stockexchangeappbackend.scheduler;
 
 import com.project.stockexchangeappbackend.entity.Order;
 import com.project.stockexchangeappbackend.entity.PriceType;
-import com.project.stockexchangeappbackend.entity.Stock;
 import com.project.stockexchangeappbackend.entity.User;
-import com.project.stockexchangeappbackend.service.OrderService;
-import com.project.stockexchangeappbackend.service.TransactionService;
+import com.project.stockexchangeappbackend.service.OrderBookService;
+import com.project.stockexchangeappbackend.service.SchedulerCycleService;
+import com.project.stockexchangeappbackend.service.SettlementService;
+import com.project.stockexchangeappbackend.util.MatchingMode;
+import com.project.stockexchangeappbackend.util.PriceTicks;
+import com.project.stockexchangeappbackend.util.SchedulerCycle;
+import com.project.stockexchangeappbackend.util.SchedulerType;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.orderbook.Fill;
+import com.project.stockexchangeappbackend.util.orderbook.OrderBookEntry;
+import com.project.stockexchangeappbackend.util.orderbook.OrderCreatedEvent;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import javax.persistence.EntityNotFoundException;
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ForkJoinPool;
-import java.util.stream.Collectors;
 
 @Component
 @Slf4j
 @AllArgsConstructor
 public class StockExchangeAlgorithmScheduler {
 
-    private final OrderService orderService;
-    private final TransactionService transactionService;
+    private final OrderBookService orderBookService;
+    private final SettlementService settlementService;
+    private final StockTaskExecutor stockTaskExecutor;
+    private final StockIndexTimeProperties stockIndexTimeProperties;
+    private final SchedulerCycleService schedulerCycleService;
 
     @Scheduled(fixedDelayString = "${application.stock.algorithm-cycle}")
     public void run() {
-        removeInactiveOrders();
-        executeStockAlgorithm();
+        if (stockIndexTimeProperties.getMatchingMode() == MatchingMode.CONTINUOUS) {
+            return;
+        }
+        SchedulerCycle cycle = SchedulerCycle.start(SchedulerType.STOCK_EXCHANGE_ALGORITHM);
+        try {
+            executeStockAlgorithm();
+        } finally {
+            schedulerCycleService.record(cycle.finish());
+        }
     }
 
-    private void removeInactiveOrders() {
-        log.info("Movement inactive orders started.");
-        long start = System.nanoTime();
-        orderService.moveInactiveOrders();
-        long stop = (System.nanoTime() - start) / 1000000;
-        log.info("Movement inactive orders finished. Execution time: " + stop + " ms.");
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleOrderCreated(OrderCreatedEvent event) {
+        if (stockIndexTimeProperties.getMatchingMode() == MatchingMode.CONTINUOUS) {
+            Long stockId = event.getOrder().getStock().getId();
+            stockTaskExecutor.submit(stockId, () -> matchStock(stockId));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void matchLoadedOrderBooks() {
+        if (stockIndexTimeProperties.getMatchingMode() == MatchingMode.CONTINUOUS) {
+            orderBookService.getStockIds()
+                    .forEach(stockId -> stockTaskExecutor.submit(stockId, () -> matchStock(stockId)));
+        }
+    }
+
+    private void matchStock(Long stockId) {
+        SchedulerCycle cycle = SchedulerCycle.start(SchedulerType.STOCK_EXCHANGE_ALGORITHM);
+        try {
+            executeStockAlgorithm(stockId);
+        } finally {
+            schedulerCycleService.record(cycle.finish());
+        }
     }
 
     private void executeStockAlgorithm() {
         log.info("Stock exchange algorithm started.");
         long start = System.nanoTime();
-        List<Order> activeBuyingOrder = orderService.getActiveBuyingOrders();
-        ConcurrentMap<Stock, List<Order>> groupedBuyingOrdersByStock = activeBuyingOrder.parallelStream()
-                .collect(Collectors.groupingByConcurrent(Order::getStock));
-        groupedBuyingOrdersByStock.forEach((k,v) ->
-                groupedBuyingOrdersByStock.put(k, v.stream()
-                        .sorted(Comparator.comparing(Order::getPrice))
-                        .collect(Collectors.toList())));
-
-        ForkJoinPool threadPool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
-        threadPool.submit( () ->
-            groupedBuyingOrdersByStock.entrySet().parallelStream()
-                .forEach(entry -> {
-                    List<Order> buyingOrders = entry.getValue();
-                    List<Order> sellingOrders = orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(
-                            entry.getKey(), buyingOrders.get(buyingOrders.size() - 1).getPrice());
-                    int index = 0;
-                    while (!(buyingOrders.isEmpty() || sellingOrders.isEmpty())) {
-                        Order buyingOrder = buyingOrders.get(index);
-                        Order sellingOrder = sellingOrders.get(0);
-                        if (checkOrderCompatibility(buyingOrder, sellingOrder)) {
-                            BigDecimal transactionPrice;
-                            if (buyingOrder.getPriceType() == PriceType.EQUAL) {
-                                transactionPrice = buyingOrder.getPrice();
-                            } else if (sellingOrder.getPriceType() == PriceType.EQUAL) {
-                                transactionPrice = sellingOrder.getPrice();
-                            } else {
-                                transactionPrice = BigDecimal.valueOf(buyingOrder.getPrice().doubleValue())
-                                        .add(sellingOrder.getPrice()).divide(BigDecimal.valueOf(2.));
-                            }
-                            OffsetDateTime transactionTime = OffsetDateTime.now(ZoneId.systemDefault());
-                            int transactionAmount = Math.min(buyingOrder.getRemainingAmount(), sellingOrder.getRemainingAmount());
-                            buyingOrder.setRemainingAmount(buyingOrder.getRemainingAmount() - transactionAmount);
-                            sellingOrder.setRemainingAmount(sellingOrder.getRemainingAmount() - transactionAmount);
-                            if (buyingOrder.getRemainingAmount() == 0) {
-                                buyingOrder.setDateClosing(transactionTime);
-                            }
-                            if (sellingOrder.getRemainingAmount() == 0) {
-                                sellingOrder.setDateClosing(transactionTime);
-                            }
-                            index = 0;
-                            try {
-                                transactionService.makeTransaction(buyingOrder, sellingOrder, transactionAmount, transactionPrice);
-                                if (buyingOrder.getRemainingAmount() == 0) {
-                                    buyingOrders.remove(buyingOrder);
-                                }
-                                if (sellingOrder.getRemainingAmount() == 0) {
-                                    sellingOrders.remove(sellingOrder);
-                                }
-                            } catch (EntityNotFoundException | DataIntegrityViolationException |
-                                    ObjectOptimisticLockingFailureException e) {
-                                sellingOrder.setRemainingAmount(sellingOrder.getRemainingAmount() + transactionAmount);
-                                sellingOrder.setDateClosing(null);
-                                buyingOrder.setRemainingAmount(buyingOrder.getRemainingAmount() + transactionAmount);
-                                buyingOrder.setDateClosing(null);
-                                Optional<Order> refreshedBuyingOrder = orderService.refreshObjectById(buyingOrder.getId());
-                                Optional<Order> refreshedSellingOrder = orderService.refreshObjectById(sellingOrder.getId());
-                                if (refreshedBuyingOrder.isEmpty()) {
-                                    buyingOrders.remove(buyingOrder);
-                                } else {
-                                    buyingOrder.setUser(refreshedBuyingOrder.get().getUser());
-                                }
-                                if (refreshedSellingOrder.isEmpty()) {
-                                    sellingOrders.remove(sellingOrder);
-                                } else {
-                                    sellingOrder.setUser(refreshedSellingOrder.get().getUser());
-                                }
-                            }
-                        } else {
-                            if (index == buyingOrders.size() - 1) {
-                                sellingOrders.remove(sellingOrder);
-                                index = 0;
-                            } else if (!checkDifferentUsersRule(buyingOrder.getUser(), sellingOrder.getUser())
-                                    || !checkEqualPriceTypeRule(buyingOrder, sellingOrder)) {
-                                index++;
-                            } else {
-                                buyingOrders.remove(buyingOrder);
-                                index = 0;
-                            }
-                        }
-                    }
-                })).join();
-        threadPool.shutdown();
+        stockTaskExecutor.invokeAll(orderBookService.getStockIds(), this::executeStockAlgorithm);
         long stop = (System.nanoTime() - start) / 1000000;
         log.info("Stock exchange algorithm stopped. Execution time: " + stop + " ms.");
     }
 
-    private boolean checkOrderCompatibility(Order buyingOrder, Order sellingOrder) {
-        return buyingOrder.getPrice().compareTo(sellingOrder.getPrice()) >= 0
-                && checkDifferentUsersRule(buyingOrder.getUser(), sellingOrder.getUser())
-                && checkEqualPriceTypeRule(buyingOrder, sellingOrder);
+    void executeStockAlgorithm(Long stockId) {
+        SchedulerCycle.recordStocks(1);
+        if (!executeStockAlgorithm(stockId, true)) {
+            SchedulerCycle.recordRetry();
+            log.warn("Batched settlement of stock with id " + stockId + " failed. Fills are settled one by one.");
+            orderBookService.reloadStock(stockId);
+            executeStockAlgorithm(stockId, false);
+        }
+    }
+
+    private boolean executeStockAlgorithm(Long stockId, boolean batched) {
+        List<OrderBookEntry> buyingOrders = orderBookService.getActiveBuyingOrders(stockId);
+        if (buyingOrders.isEmpty()) {
+            return true;
+        }
+        List<OrderBookEntry> sellingOrders = orderBookService.getActiveSellingOrdersByPriceLessThanEqual(
+                stockId, buyingOrders.get(buyingOrders.size() - 1).getPriceTicks());
+        SchedulerCycle.recordOrdersScanned(buyingOrders.size() + sellingOrders.size());
+        List<Fill> fills = new ArrayList<>();
+        int index = 0;
+        while (!(buyingOrders.isEmpty() || sellingOrders.isEmpty())) {
+            OrderBookEntry buyingEntry = buyingOrders.get(index);
+            OrderBookEntry sellingEntry = sellingOrders.get(0);
+            Order buyingOrder = buyingEntry.getOrder();
+            Order sellingOrder = sellingEntry.getOrder();
+            OffsetDateTime transactionTime = OffsetDateTime.now(ZoneId.systemDefault());
+            if (!buyingOrder.getDateExpiration().isAfter(transactionTime)) {
+                buyingOrders.remove(buyingEntry);
+                index = 0;
+                continue;
+            }
+            if (!sellingOrder.getDateExpiration().isAfter(transactionTime)) {
+                sellingOrders.remove(sellingEntry);
+                continue;
+            }
+            if (checkOrderCompatibility(buyingEntry, sellingEntry)) {
+                long transactionPrice;
+                if (buyingOrder.getPriceType() == PriceType.EQUAL) {
+                    transactionPrice = buyingEntry.getPriceTicks();
+                } else if (sellingOrder.getPriceType() == PriceType.EQUAL) {
+                    transactionPrice = sellingEntry.getPriceTicks();
+                } else {
+                    transactionPrice = PriceTicks.midpoint(buyingEntry.getPriceTicks(), sellingEntry.getPriceTicks());
+                }
+                int transactionAmount = Math.min(buyingOrder.getRemainingAmount(), sellingOrder.getRemainingAmount());
+                buyingOrder.setRemainingAmount(buyingOrder.getRemainingAmount() - transactionAmount);
+                sellingOrder.setRemainingAmount(sellingOrder.getRemainingAmount() - transactionAmount);
+                if (buyingOrder.getRemainingAmount() == 0) {
+                    buyingOrder.setDateClosing(transactionTime);
+                }
+                if (sellingOrder.getRemainingAmount() == 0) {
+                    sellingOrder.setDateClosing(transactionTime);
+                }
+                index = 0;
+                Fill fill = new Fill(buyingOrder, sellingOrder, transactionAmount, transactionPrice, transactionTime);
+                if (batched) {
+                    fills.add(fill);
+                } else if (!settle(stockId, List.of(fill))) {
+                    SchedulerCycle.recordRetry();
+                    sellingOrder.setRemainingAmount(sellingOrder.getRemainingAmount() + transactionAmount);
+                    sellingOrder.setDateClosing(null);
+                    buyingOrder.setRemainingAmount(buyingOrder.getRemainingAmount() + transactionAmount);
+                    buyingOrder.setDateClosing(null);
+                    buyingOrders.remove(buyingEntry);
+                    sellingOrders.remove(sellingEntry);
+                    continue;
+                }
+                if (buyingOrder.getRemainingAmount() == 0) {
+                    buyingOrders.remove(buyingEntry);
+                }
+                if (sellingOrder.getRemainingAmount() == 0) {
+                    sellingOrders.remove(sellingEntry);
+                }
+            } else {
+                if (index == buyingOrders.size() - 1) {
+                    sellingOrders.remove(sellingEntry);
+                    index = 0;
+                } else if (!checkDifferentUsersRule(buyingOrder.getUser(), sellingOrder.getUser())
+                        || !checkEqualPriceTypeRule(buyingEntry, sellingEntry)) {
+                    index++;
+                } else {
+                    buyingOrders.remove(buyingEntry);
+                    index = 0;
+                }
+            }
+        }
+        return fills.isEmpty() || settle(stockId, fills);
+    }
+
+    private boolean settle(Long stockId, List<Fill> fills) {
+        try {
+            settlementService.settle(stockId, fills);
+            SchedulerCycle.recordFills(fills.size());
+            fills.forEach(fill -> {
+                if (fill.getBuyingOrder().getRemainingAmount() == 0) {
+                    orderBookService.removeOrder(fill.getBuyingOrder());
+                }
+                if (fill.getSellingOrder().getRemainingAmount() == 0) {
+                    orderBookService.removeOrder(fill.getSellingOrder());
+                }
+            });
+            return true;
+        } catch (DataAccessException | EntityNotFoundException | UnexpectedRollbackException e) {
+            return false;
+        }
+    }
+
+    private boolean checkOrderCompatibility(OrderBookEntry buyingEntry, OrderBookEntry sellingEntry) {
+        return buyingEntry.getPriceTicks() >= sellingEntry.getPriceTicks()
+                && checkDifferentUsersRule(buyingEntry.getOrder().getUser(), sellingEntry.getOrder().getUser())
+                && checkEqualPriceTypeRule(buyingEntry, sellingEntry);
     }
 
     private boolean checkDifferentUsersRule(User buyer, User seller) {
         return !buyer.getId().equals(seller.getId());
     }
 
-    private boolean checkEqualPriceTypeRule(Order buyingOrder, Order sellingOrder) {
-        return ((buyingOrder.getPriceType() != PriceType.EQUAL || sellingOrder.getPriceType() != PriceType.EQUAL)
-                || buyingOrder.getPrice().equals(sellingOrder.getPrice()));
+    private boolean checkEqualPriceTypeRule(OrderBookEntry buyingEntry, OrderBookEntry sellingEntry) {
+        return ((buyingEntry.getOrder().getPriceType() != PriceType.EQUAL
+                || sellingEntry.getOrder().getPriceType() != PriceType.EQUAL)
+                || buyingEntry.getPriceTicks() == sellingEntry.getPriceTicks());
     }
 
 }
@@ -1,8 +1,12 @@
 package com.project.stockexchangeappbackend.scheduler;
 
+import com.project.stockexchangeappbackend.entity.Stock;
 import com.project.stockexchangeappbackend.entity.StockIndexValue;
+import com.project.stockexchangeappbackend.service.SchedulerCycleService;
 import com.project.stockexchangeappbackend.service.StockIndexValueService;
 import com.project.stockexchangeappbackend.service.StockService;
+import com.project.stockexchangeappbackend.util.SchedulerCycle;
+import com.project.stockexchangeappbackend.util.SchedulerType;
 import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,9 +17,6 @@ import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
-import java.util.stream.Collectors;
 
 @Component
 @Slf4j
@@ -25,33 +26,36 @@ public class StockPriceChangeRatioScheduler {
     private final StockService stockService;
     private final StockIndexValueService stockIndexValueService;
     private final StockIndexTimeProperties stockIndexTimeProperties;
+    private final StockTaskExecutor stockTaskExecutor;
+    private final SchedulerCycleService schedulerCycleService;
 
     @Scheduled(initialDelayString = "${application.stock.fixingPriceCycle}",
             fixedRateString = "${application.stock.stockPriceChangeRatioPeriod}")
-    public void run() throws ExecutionException, InterruptedException {
+    public void run() {
         log.info("Stocks' price change ratio fixing started.");
-        long start = System.nanoTime();
-        ForkJoinPool threadPool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors()/2));
+        SchedulerCycle cycle = SchedulerCycle.start(SchedulerType.STOCK_PRICE_CHANGE_RATIO);
         try {
-            stockService.updateStocks(threadPool.submit(() ->
-                    stockService.getAllStocks().parallelStream()
-                            .peek(stock -> {
-                                Optional<StockIndexValue> stockIndexValue =
-                                        stockIndexValueService.getFirstStockIndexValueBeforeMinutesAgo(stock,
-                                                stockIndexTimeProperties.getStockPriceChangeRatioPeriod() / 60000);
-                                if (stockIndexValue.isPresent() && !stockIndexValue.get().getValue().equals(BigDecimal.ZERO)) {
-                                    double priceChangeRatio = stock.getCurrentPrice().subtract(stockIndexValue.get().getValue())
-                                            .divide(stockIndexValue.get().getValue(), RoundingMode.CEILING)
-                                            .doubleValue();
-                                    stock.setPriceChangeRatio(priceChangeRatio);
-                                }
-                            }).collect(Collectors.toList())).get());
+            stockService.updateStocks(stockTaskExecutor.invokeAll(stockService.getAllStocks(), Stock::getId,
+                    stock -> {
+                        SchedulerCycle.recordStocks(1);
+                        Optional<StockIndexValue> stockIndexValue =
+                                stockIndexValueService.getFirstStockIndexValueBeforeMinutesAgo(stock,
+                                        stockIndexTimeProperties.getStockPriceChangeRatioPeriod() / 60000);
+                        if (stockIndexValue.isPresent() && !stockIndexValue.get().getValue().equals(BigDecimal.ZERO)) {
+                            double priceChangeRatio = stock.getCurrentPrice().subtract(stockIndexValue.get().getValue())
+                                    .divide(stockIndexValue.get().getValue(), RoundingMode.CEILING)
+                                    .doubleValue();
+                            stock.setPriceChangeRatio(priceChangeRatio);
+                        }
+                        return stock;
+                    }));
         } catch (DataIntegrityViolationException exc) {
             log.error("Cannot update stocks' price change ratio - non-existing tag");
+        } finally {
+            schedulerCycleService.record(cycle.finish());
         }
-        threadPool.shutdown();
-        long stop = (System.nanoTime() - start) / 1000000;
-        log.info("Stocks' price change ratio fixing fixing stopped. Execution time: " + stop + " ms.");
+        log.info("Stocks' price change ratio fixing fixing stopped. Execution time: "
+                + cycle.getExecutionTime() / 1000000 + " ms.");
     }
 
 }
@@ -2,9 +2,12 @@ package com.project.stockexchangeappbackend.scheduler;
 
 import com.project.stockexchangeappbackend.entity.Stock;
 import com.project.stockexchangeappbackend.entity.StockIndexValue;
+import com.project.stockexchangeappbackend.service.PriceWindowService;
+import com.project.stockexchangeappbackend.service.SchedulerCycleService;
 import com.project.stockexchangeappbackend.service.StockIndexValueService;
 import com.project.stockexchangeappbackend.service.StockService;
-import com.project.stockexchangeappbackend.service.TransactionService;
+import com.project.stockexchangeappbackend.util.SchedulerCycle;
+import com.project.stockexchangeappbackend.util.SchedulerType;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -16,9 +19,6 @@ import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
-import java.util.stream.Collectors;
 
 @Component
 @Slf4j
@@ -26,41 +26,38 @@ import java.util.stream.Collectors;
 public class StockPriceFixingScheduler {
 
     private final StockService stockService;
-    private final TransactionService transactionService;
+    private final PriceWindowService priceWindowService;
     private final StockIndexValueService stockIndexValueService;
+    private final StockTaskExecutor stockTaskExecutor;
+    private final SchedulerCycleService schedulerCycleService;
 
     @Scheduled(fixedDelayString = "${application.stock.fixingPriceCycle}")
-    public void run() throws ExecutionException, InterruptedException {
+    public void run() {
         log.info("Stocks' price fixing started.");
-        long start = System.nanoTime();
+        SchedulerCycle cycle = SchedulerCycle.start(SchedulerType.STOCK_PRICE_FIXING);
 
-        OffsetDateTime timestamp = OffsetDateTime.now(ZoneId.systemDefault());
-        List<Stock> stocks = stockService.getAllStocks();
-        ForkJoinPool threadPool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors()/2));
-        Collection<StockIndexValue> stockIndexValues = threadPool.submit(() -> stocks.parallelStream()
-                .map(stock -> {
-                    BigDecimal newPrice = BigDecimal.valueOf(
-                            transactionService.getTransactionsByStockIdForPricing(stock.getId(), stock.getAmount())
-                                    .stream()
-                                    .mapToDouble(transaction -> transaction.getUnitPrice().doubleValue())
-                                    .average()
-                                    .orElseGet(() -> stock.getCurrentPrice().doubleValue()));
-                    stock.setCurrentPrice(newPrice);
-                    return StockIndexValue.builder()
-                            .timestamp(timestamp)
-                            .value(newPrice)
-                            .stock(stock)
-                            .build();
-                }).collect(Collectors.toList())).get();
         try {
+            OffsetDateTime timestamp = OffsetDateTime.now(ZoneId.systemDefault());
+            List<Stock> stocks = stockService.getAllStocks();
+            SchedulerCycle.recordStocks(stocks.size());
+            Collection<StockIndexValue> stockIndexValues = stockTaskExecutor.invokeAll(stocks, Stock::getId,
+                    stock -> {
+                        BigDecimal newPrice = priceWindowService.getPrice(stock).orElseGet(stock::getCurrentPrice);
+                        stock.setCurrentPrice(newPrice);
+                        return StockIndexValue.builder()
+                                .timestamp(timestamp)
+                                .value(newPrice)
+                                .stock(stock)
+                                .build();
+                    });
             stockService.updateStocks(stocks);
             stockIndexValueService.appendValues(stockIndexValues);
         } catch (DataIntegrityViolationException exc) {
             log.error("Cannot update stocks' price - non-existing tag");
+        } finally {
+            schedulerCycleService.record(cycle.finish());
         }
-        threadPool.shutdown();
-        long stop = (System.nanoTime() - start) / 1000000;
-        log.info("Stocks' price fixing stopped. Execution time: " + stop + " ms.");
+        log.info("Stocks' price fixing stopped. Execution time: " + cycle.getExecutionTime() / 1000000 + " ms.");
     }
 
 }
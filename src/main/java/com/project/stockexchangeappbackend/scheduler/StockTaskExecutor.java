@@ -0,0 +1,261 @@
+package com.project.stockexchangeappbackend.scheduler;
+
+import com.project.stockexchangeappbackend.dto.ExecutorShardDTO;
+import com.project.stockexchangeappbackend.util.SchedulerCycle;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Component
+@Slf4j
+public class StockTaskExecutor implements DisposableBean {
+
+    private final Shard[] shards;
+    private final Semaphore queuedTasks = new Semaphore(0);
+    private final ConcurrentMap<Long, StockState> stockStates = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    public StockTaskExecutor(StockIndexTimeProperties stockIndexTimeProperties) {
+        int threads = Optional.ofNullable(stockIndexTimeProperties.getExecutorThreads())
+                .filter(value -> value > 0)
+                .orElseGet(() -> Runtime.getRuntime().availableProcessors());
+        this.shards = IntStream.range(0, threads)
+                .mapToObj(Shard::new)
+                .toArray(Shard[]::new);
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    public void submit(Long stockId, Runnable task) {
+        schedule(stockId, state -> state.task = task);
+    }
+
+    public void invokeAll(Collection<Long> stockIds, Consumer<Long> task) {
+        invokeAll(stockIds, Function.identity(), stockId -> {
+            task.accept(stockId);
+            return null;
+        });
+    }
+
+    public <T, R> List<R> invokeAll(Collection<T> items, Function<T, Long> stockIdMapper, Function<T, R> task) {
+        SchedulerCycle cycle = SchedulerCycle.current();
+        List<FutureTask<R>> futures = items.stream()
+                .map(item -> {
+                    FutureTask<R> future = new FutureTask<>(() -> {
+                        SchedulerCycle previous = SchedulerCycle.bind(cycle);
+                        try {
+                            return task.apply(item);
+                        } finally {
+                            SchedulerCycle.bind(previous);
+                        }
+                    });
+                    schedule(stockIdMapper.apply(item), state -> state.pendingTasks.offer(future));
+                    return future;
+                })
+                .collect(Collectors.toList());
+        List<R> results = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        for (FutureTask<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Waiting for stock tasks was interrupted.", exc);
+            } catch (ExecutionException exc) {
+                if (failure == null) {
+                    failure = exc.getCause() instanceof RuntimeException ?
+                            (RuntimeException) exc.getCause() : new IllegalStateException(exc.getCause());
+                }
+            } catch (CancellationException exc) {
+                if (failure == null) {
+                    failure = exc;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    public List<ExecutorShardDTO> getStatistics() {
+        return IntStream.range(0, shards.length)
+                .mapToObj(index -> ExecutorShardDTO.builder()
+                        .shard(index)
+                        .queueDepth(shards[index].queueDepth.get())
+                        .completedTasks(shards[index].completedTasks.get())
+                        .stolenTasks(shards[index].stolenTasks.get())
+                        .busyTime(shards[index].busyTime.get() / 1000000)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        for (Shard shard : shards) {
+            shard.thread.interrupt();
+            cancelQueuedTasks(shard);
+        }
+        cancelPendingTasks();
+    }
+
+    private void schedule(Long stockId, Consumer<StockState> update) {
+        boolean[] enqueue = {false};
+        stockStates.compute(stockId, (id, state) -> {
+            if (state == null) {
+                state = new StockState();
+                enqueue[0] = true;
+            }
+            update.accept(state);
+            return state;
+        });
+        if (enqueue[0]) {
+            enqueue(stockId, () -> runExclusively(stockId));
+        }
+    }
+
+    private void enqueue(Long stockId, Runnable task) {
+        Shard shard = shards[Math.floorMod(stockId.hashCode(), shards.length)];
+        shard.queue.offerLast(task);
+        shard.queueDepth.incrementAndGet();
+        queuedTasks.release();
+        if (!running) {
+            cancelQueuedTasks(shard);
+            cancelPendingTasks();
+        }
+    }
+
+    private void cancelQueuedTasks(Shard shard) {
+        Runnable task;
+        while ((task = shard.queue.pollFirst()) != null) {
+            shard.queueDepth.decrementAndGet();
+            if (task instanceof Future) {
+                ((Future<?>) task).cancel(false);
+            }
+        }
+    }
+
+    private void cancelPendingTasks() {
+        stockStates.keySet().forEach(stockId -> stockStates.computeIfPresent(stockId, (id, state) -> {
+            state.pendingTasks.forEach(task -> task.cancel(false));
+            state.pendingTasks.clear();
+            state.task = null;
+            return state;
+        }));
+    }
+
+    private void runExclusively(Long stockId) {
+        List<Runnable> tasks = new ArrayList<>();
+        stockStates.computeIfPresent(stockId, (id, state) -> {
+            tasks.addAll(state.pendingTasks);
+            state.pendingTasks.clear();
+            if (state.task != null) {
+                tasks.add(state.task);
+                state.task = null;
+            }
+            return state;
+        });
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (RuntimeException exc) {
+                log.error("Task of stock with id " + stockId + " failed.", exc);
+            }
+        }
+        boolean[] reschedule = {false};
+        stockStates.computeIfPresent(stockId, (id, state) -> {
+            if (state.task != null || !state.pendingTasks.isEmpty()) {
+                reschedule[0] = true;
+                return state;
+            }
+            return null;
+        });
+        if (reschedule[0]) {
+            enqueue(stockId, () -> runExclusively(stockId));
+        }
+    }
+
+    private Runnable take(Shard shard) {
+        Runnable task = shard.queue.pollFirst();
+        if (task != null) {
+            shard.queueDepth.decrementAndGet();
+            return task;
+        }
+        for (int offset = 1; offset < shards.length; offset++) {
+            Shard victim = shards[(shard.index + offset) % shards.length];
+            task = victim.queue.pollLast();
+            if (task != null) {
+                victim.queueDepth.decrementAndGet();
+                shard.stolenTasks.incrementAndGet();
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private void work(Shard shard) {
+        while (running) {
+            try {
+                queuedTasks.acquire();
+            } catch (InterruptedException exc) {
+                return;
+            }
+            Runnable task = take(shard);
+            if (task == null) {
+                queuedTasks.release();
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (RuntimeException exc) {
+                log.error("Stock task failed.", exc);
+            }
+            shard.busyTime.addAndGet(System.nanoTime() - start);
+            shard.completedTasks.incrementAndGet();
+        }
+    }
+
+    private static class StockState {
+
+        private final Queue<FutureTask<?>> pendingTasks = new ArrayDeque<>();
+        private Runnable task;
+
+    }
+
+    private class Shard {
+
+        private final int index;
+        private final Thread thread;
+        private final ConcurrentLinkedDeque<Runnable> queue = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger queueDepth = new AtomicInteger();
+        private final AtomicLong busyTime = new AtomicLong();
+        private final AtomicLong completedTasks = new AtomicLong();
+        private final AtomicLong stolenTasks = new AtomicLong();
+
+        private Shard(int index) {
+            this.index = index;
+            this.thread = new Thread(() -> work(this), "stock-task-executor-" + index);
+            this.thread.setDaemon(true);
+        }
+
+    }
+
+}
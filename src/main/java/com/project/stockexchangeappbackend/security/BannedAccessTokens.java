@@ -3,22 +3,63 @@ package com.project.stockexchangeappbackend.security;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BannedAccessTokens {
 
     private final Map<String, OffsetDateTime> users;
+    private final long accessTokenValidity;
 
-    public BannedAccessTokens() {
-        users = new TreeMap<>();
+    public BannedAccessTokens(long accessTokenValidity) {
+        this.users = new ConcurrentHashMap<>();
+        this.accessTokenValidity = accessTokenValidity;
+    }
+
+    public boolean contains(String username) {
+        OffsetDateTime bannedAt = users.get(username);
+        if (bannedAt == null) {
+            return false;
+        }
+        if (isExpired(bannedAt)) {
+            users.remove(username, bannedAt);
+            return false;
+        }
+        return true;
     }
 
     public boolean isBanned(String username, OffsetDateTime tokenIssuedAt) {
-        return users.containsKey(username) && tokenIssuedAt.isBefore(users.get(username));
+        OffsetDateTime bannedAt = users.get(username);
+        return bannedAt != null && tokenIssuedAt.isBefore(bannedAt);
+    }
+
+    public OffsetDateTime addUser(String username) {
+        OffsetDateTime bannedAt = OffsetDateTime.now(ZoneId.systemDefault());
+        addUser(username, bannedAt);
+        return bannedAt;
+    }
+
+    public boolean addUser(String username, OffsetDateTime bannedAt) {
+        if (isExpired(bannedAt)) {
+            return false;
+        }
+        return users.merge(username, bannedAt, (current, added) -> added.isAfter(current) ? added : current)
+                == bannedAt;
+    }
+
+    public void removeExpired() {
+        users.values().removeIf(this::isExpired);
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    public OffsetDateTime getExpirationStart() {
+        return OffsetDateTime.now(ZoneId.systemDefault()).minusSeconds(accessTokenValidity);
     }
 
-    public void addUser(String username) {
-        users.put(username, OffsetDateTime.now(ZoneId.systemDefault()));
+    private boolean isExpired(OffsetDateTime bannedAt) {
+        return !bannedAt.isAfter(getExpirationStart());
     }
 
 }
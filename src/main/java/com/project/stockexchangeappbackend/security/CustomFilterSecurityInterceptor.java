@@ -1,10 +1,9 @@
 package com.project.stockexchangeappbackend.security;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.AllArgsConstructor;
-import org.springframework.core.env.Environment;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationDetails;
 
@@ -14,38 +13,80 @@ import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-@AllArgsConstructor
 public class CustomFilterSecurityInterceptor implements Filter {
 
+    private static final int ISSUED_AT_CACHE_SIZE = 1024;
+
     private final BannedAccessTokens bannedAccessTokens;
     private final ObjectMapper objectMapper;
-    private final Environment env;
+    private final long accessTokenValidity;
+    private final Map<String, OffsetDateTime> issuedAtByToken;
+
+    public CustomFilterSecurityInterceptor(BannedAccessTokens bannedAccessTokens, ObjectMapper objectMapper,
+                                           long accessTokenValidity) {
+        this.bannedAccessTokens = bannedAccessTokens;
+        this.objectMapper = objectMapper;
+        this.accessTokenValidity = accessTokenValidity;
+        this.issuedAtByToken = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, OffsetDateTime> eldest) {
+                return size() > ISSUED_AT_CACHE_SIZE;
+            }
+        };
+    }
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
             throws IOException, ServletException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getDetails() instanceof OAuth2AuthenticationDetails
+                && authentication.getPrincipal() instanceof String) {
+            String username = (String) authentication.getPrincipal();
+            if (bannedAccessTokens.contains(username)) {
+                String accessToken = ((OAuth2AuthenticationDetails) authentication.getDetails()).getTokenValue();
+                if (bannedAccessTokens.isBanned(username, getIssuedAt(accessToken))) {
+                    throw new AccessDeniedException("Re-login is required.");
+                }
+            }
+        }
+        filterChain.doFilter(servletRequest, servletResponse);
+    }
+
+    private OffsetDateTime getIssuedAt(String accessToken) {
+        synchronized (issuedAtByToken) {
+            OffsetDateTime issuedAt = issuedAtByToken.get(accessToken);
+            if (issuedAt != null) {
+                return issuedAt;
+            }
+        }
+        OffsetDateTime issuedAt = OffsetDateTime.ofInstant(
+                Instant.ofEpochSecond(getExpiration(accessToken)), ZoneId.systemDefault())
+                .minusSeconds(accessTokenValidity);
+        synchronized (issuedAtByToken) {
+            issuedAtByToken.put(accessToken, issuedAt);
+        }
+        return issuedAt;
+    }
+
+    private long getExpiration(String accessToken) {
+        int payloadStart = accessToken.indexOf('.') + 1;
+        int payloadEnd = accessToken.indexOf('.', payloadStart);
+        if (payloadStart == 0 || payloadEnd < 0) {
+            throw new AccessDeniedException("Re-login is required.");
+        }
         try {
-            String accessToken = ((OAuth2AuthenticationDetails)SecurityContextHolder.getContext().getAuthentication()
-                    .getDetails()).getTokenValue();
-            String username = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-            Base64.Decoder decoder = Base64.getUrlDecoder();
-            Map<String, Object> payload =
-                    objectMapper.readValue(new String(decoder.decode(accessToken.split("\\.")[1])), Map.class);
-            int accessTokenValidity = Integer.parseInt(
-                    env.getProperty("security.oauth2.client.access-token-validity-seconds"));
-            OffsetDateTime offsetDateTime = OffsetDateTime.ofInstant(
-                    Instant.ofEpochSecond((Integer)payload.get("exp")), ZoneId.systemDefault())
-                    .minusSeconds(accessTokenValidity);
-            if (bannedAccessTokens.isBanned(username, offsetDateTime)) {
+            JsonNode expiration = objectMapper.readTree(Base64.getUrlDecoder()
+                    .decode(accessToken.substring(payloadStart, payloadEnd))).get("exp");
+            if (expiration == null || !expiration.canConvertToLong()) {
                 throw new AccessDeniedException("Re-login is required.");
             }
-        } catch (JsonProcessingException e) {
+            return expiration.asLong();
+        } catch (IOException | IllegalArgumentException e) {
             throw new AccessDeniedException("Re-login is required.");
-        } catch (ClassCastException e) {
         }
-        filterChain.doFilter(servletRequest, servletResponse);
     }
 
 }
@@ -30,7 +30,8 @@ public class ResourceServerConfiguration extends ResourceServerConfigurerAdapter
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS);
 
         http.addFilterAfter(
-                new CustomFilterSecurityInterceptor(bannedAccessTokens, objectMapper, env),
+                new CustomFilterSecurityInterceptor(bannedAccessTokens, objectMapper,
+                        Long.parseLong(env.getRequiredProperty("security.oauth2.client.access-token-validity-seconds"))),
                 FilterSecurityInterceptor.class);
     }
 
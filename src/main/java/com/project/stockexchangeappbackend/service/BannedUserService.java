@@ -0,0 +1,8 @@
+package com.project.stockexchangeappbackend.service;
+
+public interface BannedUserService {
+
+    void banUser(String username);
+    void synchronizeBans();
+
+}
@@ -0,0 +1,60 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.security.BannedAccessTokens;
+import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BannedUserServiceImpl implements BannedUserService {
+
+    private static final String UPSERT_BANNED_USER =
+            "INSERT INTO BANNED_USERS (EMAIL, DATE_BANNED) VALUES (?, ?) " +
+            "ON CONFLICT (EMAIL) DO UPDATE SET DATE_BANNED = GREATEST(BANNED_USERS.DATE_BANNED, EXCLUDED.DATE_BANNED)";
+    private static final String SELECT_ACTIVE_BANNED_USERS =
+            "SELECT EMAIL, DATE_BANNED FROM BANNED_USERS WHERE DATE_BANNED > ?";
+    private static final String DELETE_EXPIRED_BANNED_USERS = "DELETE FROM BANNED_USERS WHERE DATE_BANNED <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BannedAccessTokens bannedAccessTokens;
+    private final PrincipalCacheService principalCacheService;
+
+    @Override
+    @LogicBusinessMeasureTime
+    public void banUser(String username) {
+        OffsetDateTime bannedAt = bannedAccessTokens.addUser(username);
+        principalCacheService.evict(username);
+        jdbcTemplate.update(UPSERT_BANNED_USER, username, toUtc(bannedAt));
+    }
+
+    @Override
+    @LogicBusinessMeasureTime
+    public void synchronizeBans() {
+        OffsetDateTime expirationStart = toUtc(bannedAccessTokens.getExpirationStart());
+        jdbcTemplate.query(SELECT_ACTIVE_BANNED_USERS, resultSet -> {
+            String username = resultSet.getString("EMAIL");
+            if (bannedAccessTokens.addUser(username, resultSet.getObject("DATE_BANNED", OffsetDateTime.class)
+                    .atZoneSameInstant(ZoneId.systemDefault()).toOffsetDateTime())) {
+                principalCacheService.evict(username);
+            }
+        }, expirationStart);
+        bannedAccessTokens.removeExpired();
+        int deleted = jdbcTemplate.update(DELETE_EXPIRED_BANNED_USERS, expirationStart);
+        if (deleted > 0) {
+            log.info("Removed " + deleted + " expired bans.");
+        }
+    }
+
+    private OffsetDateTime toUtc(OffsetDateTime dateTime) {
+        return dateTime.withOffsetSameInstant(ZoneOffset.UTC);
+    }
+
+}
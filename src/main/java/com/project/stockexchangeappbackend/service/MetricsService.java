@@ -0,0 +1,14 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.MethodMetricsDTO;
+import com.project.stockexchangeappbackend.util.timemeasuring.MeasureTimeType;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+public interface MetricsService {
+
+    void record(MeasureTimeType type, Method method, long executionTime);
+    List<MethodMetricsDTO> getMetrics();
+
+}
@@ -0,0 +1,56 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.MethodMetricsDTO;
+import com.project.stockexchangeappbackend.util.timemeasuring.LatencyHistogram;
+import com.project.stockexchangeappbackend.util.timemeasuring.MeasureTimeType;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+@Service
+public class MetricsServiceImpl implements MetricsService {
+
+    private static final double NANOS_PER_MILLI = 1000000.;
+
+    private final Map<MeasureTimeType, ConcurrentMap<Method, LatencyHistogram>> histograms =
+            new EnumMap<>(MeasureTimeType.class);
+
+    public MetricsServiceImpl() {
+        Arrays.stream(MeasureTimeType.values())
+                .forEach(type -> histograms.put(type, new ConcurrentHashMap<>()));
+    }
+
+    @Override
+    public void record(MeasureTimeType type, Method method, long executionTime) {
+        ConcurrentMap<Method, LatencyHistogram> methodHistograms = histograms.get(type);
+        LatencyHistogram histogram = methodHistograms.get(method);
+        if (histogram == null) {
+            histogram = methodHistograms.computeIfAbsent(method, key -> new LatencyHistogram());
+        }
+        histogram.record(executionTime);
+    }
+
+    @Override
+    public List<MethodMetricsDTO> getMetrics() {
+        return histograms.entrySet().stream()
+                .flatMap(types -> types.getValue().entrySet().stream()
+                        .map(methods -> MethodMetricsDTO.builder()
+                                .type(types.getKey())
+                                .method(methods.getKey().getDeclaringClass().getSimpleName() + "."
+                                        + methods.getKey().getName())
+                                .count(methods.getValue().getTotalCount())
+                                .mean(methods.getValue().getMean() / NANOS_PER_MILLI)
+                                .p50(methods.getValue().getValueAtPercentile(50) / NANOS_PER_MILLI)
+                                .p95(methods.getValue().getValueAtPercentile(95) / NANOS_PER_MILLI)
+                                .p99(methods.getValue().getValueAtPercentile(99) / NANOS_PER_MILLI)
+                                .max(methods.getValue().getMaxValue() / NANOS_PER_MILLI)
+                                .build()))
+                .sorted(Comparator.comparing(MethodMetricsDTO::getType).thenComparing(MethodMetricsDTO::getMethod))
+                .collect(Collectors.toList());
+    }
+
+}
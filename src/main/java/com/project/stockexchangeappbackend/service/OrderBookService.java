@@ -0,0 +1,24 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.entity.Order;
+import com.project.stockexchangeappbackend.util.orderbook.OrderBookEntry;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface OrderBookService {
+
+    void loadOrderBooks();
+    void reloadStock(Long stockId);
+    void addOrder(Order order);
+    void removeOrder(Order order);
+    void removeOrders(Collection<Order> orders);
+    List<Order> removeExpiredOrders(OffsetDateTime now);
+    void removeStock(Long stockId);
+    Set<Long> getStockIds();
+    List<OrderBookEntry> getActiveBuyingOrders(Long stockId);
+    List<OrderBookEntry> getActiveSellingOrdersByPriceLessThanEqual(Long stockId, long maximalPriceTicks);
+
+}
@@ -0,0 +1,127 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.entity.Order;
+import com.project.stockexchangeappbackend.repository.OrderRepository;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.orderbook.ExpiryTimingWheel;
+import com.project.stockexchangeappbackend.util.orderbook.OrderBook;
+import com.project.stockexchangeappbackend.util.orderbook.OrderBookEntry;
+import com.project.stockexchangeappbackend.util.orderbook.OrderCreatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class OrderBookServiceImpl implements OrderBookService {
+
+    private static final int DEFAULT_ORDER_EXPIRY_TICK = 1000;
+
+    private final OrderRepository orderRepository;
+    private final ConcurrentMap<Long, OrderBook> orderBooks = new ConcurrentHashMap<>();
+    private final ExpiryTimingWheel expiryTimingWheel;
+
+    public OrderBookServiceImpl(OrderRepository orderRepository, StockIndexTimeProperties stockIndexTimeProperties) {
+        this.orderRepository = orderRepository;
+        this.expiryTimingWheel = new ExpiryTimingWheel(Optional.ofNullable(stockIndexTimeProperties.getOrderExpiryTick())
+                .filter(tick -> tick > 0)
+                .orElse(DEFAULT_ORDER_EXPIRY_TICK), System.currentTimeMillis());
+    }
+
+    @Override
+    @PostConstruct
+    public void loadOrderBooks() {
+        long start = System.nanoTime();
+        List<Order> orders = orderRepository.findByDateExpirationIsAfterAndDateClosingIsNullAndRemainingAmountGreaterThan(
+                OffsetDateTime.now(ZoneId.systemDefault()), 0);
+        orderBooks.clear();
+        expiryTimingWheel.clear();
+        orders.forEach(this::addOrder);
+        long stop = (System.nanoTime() - start) / 1000000;
+        log.info("Order books loaded with " + orders.size() + " active orders of " + orderBooks.size() +
+                " stocks. Execution time: " + stop + " ms.");
+    }
+
+    @Override
+    public void reloadStock(Long stockId) {
+        List<Order> orders = orderRepository
+                .findByStockIdAndDateExpirationIsAfterAndDateClosingIsNullAndRemainingAmountGreaterThan(
+                        stockId, OffsetDateTime.now(ZoneId.systemDefault()), 0);
+        OrderBook orderBook = new OrderBook(stockId);
+        orders.forEach(orderBook::add);
+        orders.forEach(expiryTimingWheel::add);
+        orderBooks.put(stockId, orderBook);
+        log.info("Order book of stock with id " + stockId + " reloaded with " + orders.size() + " active orders.");
+    }
+
+    @Override
+    public void addOrder(Order order) {
+        orderBooks.computeIfAbsent(order.getStock().getId(), OrderBook::new).add(order);
+        expiryTimingWheel.add(order);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE)
+    public void handleOrderCreated(OrderCreatedEvent event) {
+        addOrder(event.getOrder());
+    }
+
+    @Override
+    public void removeOrder(Order order) {
+        OrderBook orderBook = orderBooks.get(order.getStock().getId());
+        if (orderBook != null) {
+            orderBook.remove(order.getId());
+        }
+        expiryTimingWheel.remove(order.getId());
+    }
+
+    @Override
+    public void removeOrders(Collection<Order> orders) {
+        orders.forEach(this::removeOrder);
+    }
+
+    @Override
+    public List<Order> removeExpiredOrders(OffsetDateTime now) {
+        return expiryTimingWheel.advance(now.toInstant().toEpochMilli()).stream()
+                .filter(order -> {
+                    OrderBook orderBook = orderBooks.get(order.getStock().getId());
+                    return orderBook != null && orderBook.remove(order.getId()).isPresent();
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void removeStock(Long stockId) {
+        orderBooks.remove(stockId);
+    }
+
+    @Override
+    public Set<Long> getStockIds() {
+        return new HashSet<>(orderBooks.keySet());
+    }
+
+    @Override
+    public List<OrderBookEntry> getActiveBuyingOrders(Long stockId) {
+        OrderBook orderBook = orderBooks.get(stockId);
+        return orderBook == null ? new ArrayList<>() :
+                orderBook.getActiveBuyingOrders(OffsetDateTime.now(ZoneId.systemDefault()));
+    }
+
+    @Override
+    public List<OrderBookEntry> getActiveSellingOrdersByPriceLessThanEqual(Long stockId, long maximalPriceTicks) {
+        OrderBook orderBook = orderBooks.get(stockId);
+        return orderBook == null ? new ArrayList<>() :
+                orderBook.getActiveSellingOrdersByPriceLessThanEqual(maximalPriceTicks,
+                        OffsetDateTime.now(ZoneId.systemDefault()));
+    }
+
+}
@@ -2,15 +2,11 @@ package com.project.stockexchangeappbackend.service;
 
 import com.project.stockexchangeappbackend.dto.CreateOrderDTO;
 import com.project.stockexchangeappbackend.entity.AllOrders;
-import com.project.stockexchangeappbackend.entity.Order;
-import com.project.stockexchangeappbackend.entity.Stock;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.math.BigDecimal;
-import java.util.List;
-import java.util.Optional;
+import java.util.Collection;
 
 
 public interface OrderService {
@@ -19,11 +15,8 @@ public interface OrderService {
 
     void createOrder(CreateOrderDTO orderDTO);
 
-    List<Order> getActiveBuyingOrders();
-
-    List<Order> getActiveSellingOrdersByStockAndPriceLessThanEqual(Stock stock, BigDecimal maximalPrice);
-
     void moveInactiveOrders();
+    void archiveExpiredOrders(Collection<Long> ids);
 
     Page<AllOrders> getOwnedOrders(Pageable pageable, Specification<AllOrders> specification);
 
@@ -33,6 +26,4 @@ public interface OrderService {
 
     Page<AllOrders> getOrdersByUser(Pageable pageable, Specification<AllOrders> specification, Long id);
 
-    Optional<Order> refreshObjectById(Long id);
-
 }
@@ -4,13 +4,18 @@ import com.project.stockexchangeappbackend.dto.CreateOrderDTO;
 import com.project.stockexchangeappbackend.entity.*;
 import com.project.stockexchangeappbackend.exception.InvalidInputDataException;
 import com.project.stockexchangeappbackend.repository.*;
+import com.project.stockexchangeappbackend.util.AuthenticatedUser;
+import com.project.stockexchangeappbackend.util.EntityMapper;
+import com.project.stockexchangeappbackend.util.orderbook.OrderCreatedEvent;
 import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -18,24 +23,47 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.criteria.Join;
-import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    private static final int ARCHIVE_BATCH_SIZE = 1000;
+    private static final String INACTIVE_ORDERS_CONDITION =
+            "DATE_EXPIRATION < ? OR REMAINING_AMOUNT = 0 OR DATE_CLOSING IS NOT NULL";
+    private static final String ARCHIVE_ORDERS =
+            "WITH INACTIVE_ORDERS AS (DELETE FROM ORDERS WHERE %s " +
+            "RETURNING ID, USER_ID, STOCK_ID, AMOUNT, REMAINING_AMOUNT, TYPE, PRICE_TYPE, PRICE, DATE_CREATION, " +
+            "DATE_EXPIRATION), " +
+            "ARCHIVED_INACTIVE_ORDERS AS (INSERT INTO ARCHIVED_ORDERS (ID, USER_ID, STOCK_ID, AMOUNT, " +
+            "REMAINING_AMOUNT, TYPE, PRICE_TYPE, PRICE, DATE_CREATION, DATE_EXPIRATION, DATE_CLOSING) " +
+            "SELECT ID, USER_ID, STOCK_ID, AMOUNT, REMAINING_AMOUNT, TYPE, PRICE_TYPE, PRICE, DATE_CREATION, " +
+            "DATE_EXPIRATION, ? FROM INACTIVE_ORDERS " +
+            "ON CONFLICT (ID) DO UPDATE SET REMAINING_AMOUNT = EXCLUDED.REMAINING_AMOUNT, " +
+            "DATE_CLOSING = EXCLUDED.DATE_CLOSING), " +
+            "RELEASED_RESOURCES AS (UPDATE RESOURCES r " +
+            "SET RESERVED_AMOUNT = GREATEST(r.RESERVED_AMOUNT - o.AMOUNT, 0) " +
+            "FROM (SELECT USER_ID, STOCK_ID, SUM(REMAINING_AMOUNT) AS AMOUNT FROM INACTIVE_ORDERS " +
+            "WHERE TYPE = 'SELLING_ORDER' GROUP BY USER_ID, STOCK_ID) o " +
+            "WHERE r.USER_ID = o.USER_ID AND r.STOCK_ID = o.STOCK_ID) " +
+            "SELECT ID, STOCK_ID FROM INACTIVE_ORDERS";
+
     private final OrderRepository orderRepository;
     private final ArchivedOrderRepository archivedOrderRepository;
-    private final StockRepository stockRepository;
+    private final StockCacheService stockCacheService;
+    private final PrincipalCacheService principalCacheService;
     private final UserRepository userRepository;
     private final ResourceRepository resourceRepository;
     private final ModelMapper modelMapper;
     private final AllOrdersRepository allOrdersRepository;
+    private final OrderBookService orderBookService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @LogicBusinessMeasureTime
@@ -54,15 +82,23 @@ public class OrderServiceImpl implements OrderService {
     @LogicBusinessMeasureTime
     @Transactional
     public void createOrder(CreateOrderDTO orderDTO) {
-        Stock stock = stockRepository.findByIdAndIsDeletedFalse(orderDTO.getStock().getId())
+        Stock stock = stockCacheService.getStockById(orderDTO.getStock().getId())
                 .orElseThrow(() -> new InvalidInputDataException("Validation error",
                         Map.of("stock", "Stock company not found.")));
         String username = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        User user = userRepository.findByEmailIgnoreCase(username)
+        AuthenticatedUser principal = principalCacheService.getPrincipal(username)
                 .orElseThrow(() -> new AccessDeniedException("Access Denied"));
-        Order order = orderRepository.save(validateOrder(orderDTO, stock, user));
+        User user = userRepository.getOne(principal.getId());
+        Order order = validateOrder(orderDTO, stock, principal, user);
+        if (order.getOrderType() == OrderType.SELLING_ORDER
+                && resourceRepository.reserveAmount(user.getId(), stock.getId(), order.getRemainingAmount()) == 0) {
+            throw new InvalidInputDataException("Data validation", Map.of("amount",
+                    List.of("The logged in user does not have enough available amount of stocks for sale.")));
+        }
+        order = orderRepository.save(order);
+        applicationEventPublisher.publishEvent(new OrderCreatedEvent(order));
         log.info(orderDTO.getOrderType().toString() + " with id " + order.getId() + " of user " +
-                user.getEmail() + " was successfully created.");
+                principal.getEmail() + " was successfully created.");
     }
 
     @Override
@@ -84,14 +120,16 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found"));
         String username = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        User user = userRepository.findByEmailIgnoreCase(username)
+        AuthenticatedUser principal = principalCacheService.getPrincipal(username)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        if (!order.getUser().getEmail().equals(username) && !user.getRole().equals(Role.ADMIN)) {
+        if (!order.getUser().getId().equals(principal.getId()) && !principal.getRole().equals(Role.ADMIN)) {
             throw new AccessDeniedException("Access Denied");
         }
         orderRepository.delete(order);
+        orderBookService.removeOrder(order);
+        releaseReservedAmount(order);
         ArchivedOrder archivedOrder = archivedOrderRepository.findById(id)
-                .orElseGet(() -> modelMapper.map(order, ArchivedOrder.class));
+                .orElseGet(() -> EntityMapper.toArchivedOrder(order));
         archivedOrder.setDateClosing(OffsetDateTime.now(ZoneId.systemDefault()));
         archivedOrderRepository.save(archivedOrder);
         log.info(archivedOrder.getOrderType().toString() + " with id " + order.getId() + " was successfully deactivated.");
@@ -111,44 +149,32 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @LogicBusinessMeasureTime
-    @Transactional(readOnly = true)
-    public Optional<Order> refreshObjectById(Long id) {
-        return orderRepository.findById(id);
-    }
-
-    @Override
-    @LogicBusinessMeasureTime
-    @Transactional(readOnly = true)
-    public List<Order> getActiveBuyingOrders() {
-        return orderRepository.findByOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                OrderType.BUYING_ORDER, OffsetDateTime.now(ZoneId.systemDefault()));
-    }
-
-    @Override
-    @LogicBusinessMeasureTime
-    @Transactional(readOnly = true)
-    public List<Order> getActiveSellingOrdersByStockAndPriceLessThanEqual(Stock stock, BigDecimal maximalPrice) {
-        return orderRepository.findByStockAndOrderTypeAndPriceIsLessThanEqualAndDateExpirationIsAfterAndDateClosingIsNullOrderByPrice(
-                stock, OrderType.SELLING_ORDER, maximalPrice, OffsetDateTime.now(ZoneId.systemDefault()));
+    @Transactional
+    public void moveInactiveOrders() {
+        Timestamp now = Timestamp.from(OffsetDateTime.now(ZoneId.systemDefault()).toInstant());
+        List<Order> orders = archiveOrders(INACTIVE_ORDERS_CONDITION, now, now);
+        orderBookService.removeOrders(orders);
+        if (!orders.isEmpty()) {
+            log.info(orders.size() + " inactive orders were successfully archived.");
+        }
     }
 
     @Override
     @LogicBusinessMeasureTime
     @Transactional
-    public void moveInactiveOrders() {
-        List<Order> orders = orderRepository.findByDateExpirationIsBeforeOrRemainingAmountOrDateClosingIsNotNull(
-                OffsetDateTime.now(ZoneId.systemDefault()), 0);
-        orderRepository.deleteAll(orders);
-        List<ArchivedOrder> archivedOrders = orders.stream()
-                .map(order -> {
-                    order.setDateClosing(OffsetDateTime.now(ZoneId.systemDefault()));
-                    return modelMapper.map(order, ArchivedOrder.class);
-                })
-                .collect(Collectors.toList());
-        archivedOrderRepository.saveAll(archivedOrders).forEach(order ->
-            log.info(order.getOrderType().toString() + " with id " + order.getId() + " was successfully archived.")
-        );
-
+    public void archiveExpiredOrders(Collection<Long> ids) {
+        Timestamp now = Timestamp.from(OffsetDateTime.now(ZoneId.systemDefault()).toInstant());
+        List<Long> orderIds = new ArrayList<>(ids);
+        int archivedOrders = 0;
+        for (int from = 0; from < orderIds.size(); from += ARCHIVE_BATCH_SIZE) {
+            List<Long> batch = orderIds.subList(from, Math.min(from + ARCHIVE_BATCH_SIZE, orderIds.size()));
+            List<Object> args = new ArrayList<>(batch);
+            args.add(now);
+            args.add(now);
+            archivedOrders += archiveOrders("ID IN (" + String.join(", ", Collections.nCopies(batch.size(), "?")) +
+                    ") AND DATE_EXPIRATION <= ?", args.toArray()).size();
+        }
+        log.info(archivedOrders + " expired orders were successfully archived.");
     }
 
     @Override
@@ -166,7 +192,7 @@ public class OrderServiceImpl implements OrderService {
         return orders;
     }
 
-    private Order validateOrder(CreateOrderDTO orderDTO, Stock stock, User user) {
+    private Order validateOrder(CreateOrderDTO orderDTO, Stock stock, AuthenticatedUser principal, User user) {
         Map<String, List<String>> errors = new HashMap<>();
         if (orderDTO.getOrderType() == OrderType.BUYING_ORDER) {
             if (orderDTO.getPriceType() == PriceType.GREATER_OR_EQUAL) {
@@ -183,19 +209,13 @@ public class OrderServiceImpl implements OrderService {
                 errors.get("priceType").add("The selling order price's type cannot be LESS_OR_EQUAL.");
             }
             Optional<Resource> resource = resourceRepository.findByUserAndStock(user, stock);
-            int sellingAmountOfStock =
-                    orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                            stock, user, OrderType.SELLING_ORDER, OffsetDateTime.now(ZoneId.systemDefault()))
-                            .stream()
-                            .mapToInt(Order::getRemainingAmount)
-                            .sum();
             if (resource.isEmpty() || resource.get().getAmount() < orderDTO.getAmount()
-                    || sellingAmountOfStock + orderDTO.getAmount() > resource.get().getAmount()) {
+                    || resource.get().getReservedAmount() + orderDTO.getAmount() > resource.get().getAmount()) {
                 errors.putIfAbsent("amount", new ArrayList<>());
                 errors.get("amount").add("The logged in user does not have enough available amount of stocks for sale.");
             }
         }
-        if (!stock.getTag().getName().equals(user.getTag().getName())) {
+        if (!stock.getTag().getName().equals(principal.getTagName())) {
             errors.putIfAbsent("stock", new ArrayList<>());
             errors.get("stock").add("The logged in user in given stock are tagged using others tags.");
         }
@@ -211,4 +231,19 @@ public class OrderServiceImpl implements OrderService {
         return order;
     }
 
+    private List<Order> archiveOrders(String condition, Object... args) {
+        return jdbcTemplate.query(String.format(ARCHIVE_ORDERS, condition), (resultSet, rowNum) -> Order.builder()
+                        .id(resultSet.getLong("ID"))
+                        .stock(Stock.builder().id(resultSet.getLong("STOCK_ID")).build())
+                        .build(),
+                args);
+    }
+
+    private void releaseReservedAmount(Order order) {
+        if (order.getOrderType() == OrderType.SELLING_ORDER && order.getRemainingAmount() > 0) {
+            resourceRepository.releaseAmount(order.getUser().getId(), order.getStock().getId(),
+                    order.getRemainingAmount());
+        }
+    }
+
 }
@@ -0,0 +1,7 @@
+package com.project.stockexchangeappbackend.service;
+
+public interface PartitionService {
+
+    void createPartitions();
+
+}
@@ -0,0 +1,43 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PartitionServiceImpl implements PartitionService {
+
+    private static final String CREATE_MONTHLY_PARTITIONS = "SELECT CREATE_MONTHLY_PARTITIONS(?, ?, ?, ?)";
+    private static final Map<String, String> PARTITIONED_TABLES =
+            Map.of("transactions", "date", "stock_index_values", "timestamp");
+    private static final int DEFAULT_PARTITIONS_AHEAD = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StockIndexTimeProperties stockIndexTimeProperties;
+
+    @Override
+    @LogicBusinessMeasureTime
+    public void createPartitions() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusMonths(Optional.ofNullable(stockIndexTimeProperties.getPartitionsAhead())
+                .filter(months -> months > 0)
+                .orElse(DEFAULT_PARTITIONS_AHEAD));
+        PARTITIONED_TABLES.forEach((table, column) -> {
+            Integer created = jdbcTemplate.queryForObject(CREATE_MONTHLY_PARTITIONS, Integer.class,
+                    table, column, from, to);
+            if (created != null && created > 0) {
+                log.info("Created " + created + " monthly partitions of table " + table + ".");
+            }
+        });
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.entity.Stock;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+public interface PriceWindowService {
+
+    void addTransaction(Long stockId, long unitPriceTicks, int amount, OffsetDateTime date);
+    Optional<BigDecimal> getPrice(Stock stock);
+    void removeStock(Long stockId);
+
+}
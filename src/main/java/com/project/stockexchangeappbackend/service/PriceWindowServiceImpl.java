@@ -0,0 +1,79 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.entity.Stock;
+import com.project.stockexchangeappbackend.repository.TransactionRepository;
+import com.project.stockexchangeappbackend.repository.TransactionRepository.TransactionPrice;
+import com.project.stockexchangeappbackend.util.PriceTicks;
+import com.project.stockexchangeappbackend.util.pricing.PriceWindow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PriceWindowServiceImpl implements PriceWindowService {
+
+    private static final int SEED_PAGE_SIZE = 100;
+
+    private final TransactionRepository transactionRepository;
+    private final ConcurrentMap<Long, PriceWindow> priceWindows = new ConcurrentHashMap<>();
+
+    @Override
+    public void addTransaction(Long stockId, long unitPriceTicks, int amount, OffsetDateTime date) {
+        priceWindows.computeIfPresent(stockId, (id, priceWindow) -> {
+            priceWindow.add(unitPriceTicks, amount, date);
+            return priceWindow;
+        });
+    }
+
+    @Override
+    public Optional<BigDecimal> getPrice(Stock stock) {
+        PriceWindow priceWindow = priceWindows.get(stock.getId());
+        if (priceWindow == null || priceWindow.getRequiredAmount() != stock.getAmount()) {
+            PriceWindow createdPriceWindow = new PriceWindow(stock.getAmount());
+            priceWindow = priceWindows.compute(stock.getId(), (id, current) ->
+                    current == null || current.getRequiredAmount() != stock.getAmount() ?
+                            createdPriceWindow : current);
+            if (priceWindow == createdPriceWindow) {
+                seed(stock.getId(), priceWindow);
+            }
+        }
+        return priceWindow.getPrice();
+    }
+
+    @Override
+    public void removeStock(Long stockId) {
+        priceWindows.remove(stockId);
+    }
+
+    private void seed(Long stockId, PriceWindow priceWindow) {
+        List<TransactionPrice> transactions = transactionRepository.getTransactionPricesByStockId(stockId,
+                PageRequest.of(0, SEED_PAGE_SIZE));
+        int page = 0;
+        while (!transactions.isEmpty()) {
+            for (TransactionPrice transaction : transactions) {
+                if (priceWindow.isFull()) {
+                    break;
+                }
+                priceWindow.seedOldest(PriceTicks.toTicks(transaction.getUnitPrice()), transaction.getAmount(),
+                        transaction.getDate());
+            }
+            if (priceWindow.isFull() || transactions.size() < SEED_PAGE_SIZE) {
+                break;
+            }
+            transactions = transactionRepository.getTransactionPricesByStockId(stockId,
+                    PageRequest.of(++page, SEED_PAGE_SIZE));
+        }
+        log.info("Price window of stock with id " + stockId + " seeded from database.");
+    }
+
+}
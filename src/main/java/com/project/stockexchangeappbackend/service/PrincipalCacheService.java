@@ -0,0 +1,12 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.util.AuthenticatedUser;
+
+import java.util.Optional;
+
+public interface PrincipalCacheService {
+
+    Optional<AuthenticatedUser> getPrincipal(String username);
+    void evict(String username);
+
+}
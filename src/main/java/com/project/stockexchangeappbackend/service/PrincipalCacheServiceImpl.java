@@ -0,0 +1,111 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.repository.UserRepository;
+import com.project.stockexchangeappbackend.util.AuthenticatedUser;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class PrincipalCacheServiceImpl implements PrincipalCacheService {
+
+    private static final int DEFAULT_CAPACITY = 10000;
+    private static final int DEFAULT_TTL = 30000;
+
+    private final UserRepository userRepository;
+    private final int capacity;
+    private final long ttlNanos;
+    private final Map<String, CachedPrincipal> principals;
+    private long generation;
+
+    public PrincipalCacheServiceImpl(UserRepository userRepository,
+                                     StockIndexTimeProperties stockIndexTimeProperties) {
+        this.userRepository = userRepository;
+        this.capacity = Optional.ofNullable(stockIndexTimeProperties.getPrincipalCacheSize())
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_CAPACITY);
+        this.ttlNanos = Optional.ofNullable(stockIndexTimeProperties.getPrincipalCacheTtl())
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_TTL) * 1000000L;
+        this.principals = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    @LogicBusinessMeasureTime
+    @Transactional(readOnly = true)
+    public Optional<AuthenticatedUser> getPrincipal(String username) {
+        String key = username.toUpperCase();
+        long loadGeneration;
+        synchronized (this) {
+            CachedPrincipal cachedPrincipal = principals.get(key);
+            if (cachedPrincipal != null) {
+                if (System.nanoTime() - cachedPrincipal.loadedAt < ttlNanos) {
+                    return Optional.of(cachedPrincipal.principal);
+                }
+                principals.remove(key);
+            }
+            loadGeneration = generation;
+        }
+        return userRepository.findByEmailIgnoreCase(username)
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(),
+                        user.getTag().getName()))
+                .map(principal -> put(key, principal, loadGeneration));
+    }
+
+    @Override
+    public void evict(String username) {
+        String key = username.toUpperCase();
+        remove(key);
+        afterCommit(() -> remove(key));
+    }
+
+    private synchronized AuthenticatedUser put(String key, AuthenticatedUser principal, long loadGeneration) {
+        if (loadGeneration == generation) {
+            principals.put(key, new CachedPrincipal(principal, System.nanoTime()));
+        }
+        return principal;
+    }
+
+    private synchronized void remove(String key) {
+        generation++;
+        principals.remove(key);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static class CachedPrincipal {
+
+        private final AuthenticatedUser principal;
+        private final long loadedAt;
+
+        private CachedPrincipal(AuthenticatedUser principal, long loadedAt) {
+            this.principal = principal;
+            this.loadedAt = loadedAt;
+        }
+
+    }
+
+}
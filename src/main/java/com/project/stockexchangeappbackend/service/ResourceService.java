@@ -14,5 +14,6 @@ public interface ResourceService {
     Page<ResourceDTO> getUsersResources(Pageable pageable, Specification<Resource> specification, Long userId);
     Page<OwnerDTO> getStockOwners(Pageable pageable, Specification<Resource> specification, Long stockId);
     void moveStock(Long stockId, MoveStockDTO moveStock);
+    void verifyReservedAmounts();
 
 }
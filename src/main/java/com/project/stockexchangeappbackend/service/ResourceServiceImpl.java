@@ -3,17 +3,15 @@ package com.project.stockexchangeappbackend.service;
 import com.project.stockexchangeappbackend.dto.MoveStockDTO;
 import com.project.stockexchangeappbackend.dto.OwnerDTO;
 import com.project.stockexchangeappbackend.dto.ResourceDTO;
-import com.project.stockexchangeappbackend.dto.UserDTO;
 import com.project.stockexchangeappbackend.entity.*;
 import com.project.stockexchangeappbackend.exception.InvalidInputDataException;
-import com.project.stockexchangeappbackend.repository.OrderRepository;
 import com.project.stockexchangeappbackend.repository.ResourceRepository;
 import com.project.stockexchangeappbackend.repository.StockRepository;
 import com.project.stockexchangeappbackend.repository.UserRepository;
+import com.project.stockexchangeappbackend.util.EntityMapper;
 import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -23,8 +21,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.criteria.Join;
-import java.time.OffsetDateTime;
-import java.time.ZoneId;
 import java.util.*;
 
 @Service
@@ -33,10 +29,9 @@ import java.util.*;
 public class ResourceServiceImpl implements ResourceService {
 
     private final ResourceRepository resourceRepository;
-    private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final StockRepository stockRepository;
-    private final ModelMapper modelMapper;
+    private final StockCacheService stockCacheService;
 
     @Override
     @LogicBusinessMeasureTime
@@ -59,16 +54,13 @@ public class ResourceServiceImpl implements ResourceService {
     @LogicBusinessMeasureTime
     @Transactional(readOnly = true)
     public Page<OwnerDTO> getStockOwners(Pageable pageable, Specification<Resource> specification, Long stockId) {
-        Stock stock = stockRepository.findByIdAndIsDeletedFalse(stockId)
+        Stock stock = stockCacheService.getStockById(stockId)
                 .orElseThrow(() -> new EntityNotFoundException("Stock not found"));
         Specification<Resource> byStock = (root, criteriaQuery, criteriaBuilder) -> {
             Join<Resource, Stock> stockJoin = root.join("stock");
             return criteriaBuilder.equal(stockJoin.get("id"), stock.getId());
         };
-        return resourceRepository.findAll(Specification.where(byStock).and(specification), pageable)
-                .map(resource -> OwnerDTO.builder()
-                        .user(modelMapper.map(resource.getUser(), UserDTO.class))
-                        .amount(resource.getAmount()).build());
+        return resourceRepository.findAllOwners(Specification.where(byStock).and(specification), pageable);
     }
 
     @Override
@@ -100,25 +92,25 @@ public class ResourceServiceImpl implements ResourceService {
                 destination.get().getEmail() + ".");
     }
 
+    @Override
+    @LogicBusinessMeasureTime
+    @Transactional
+    public void verifyReservedAmounts() {
+        List<Long> resourceIds = resourceRepository.lockResourcesWithInvalidReservedAmount();
+        if (!resourceIds.isEmpty()) {
+            resourceRepository.recalculateReservedAmounts(resourceIds);
+            log.warn("Reserved amounts of " + resourceIds.size() + " resources were inconsistent with active " +
+                    "selling orders and were recalculated.");
+        }
+    }
+
     private Page<ResourceDTO> findResources(Pageable pageable, Specification<Resource> specification, String username) {
         Specification<Resource> userIsPrincipal = (root, criteriaQuery, criteriaBuilder) -> {
             Join<Resource, User> owner = root.join("user");
             return criteriaBuilder.equal(owner.get("email"), username);
         };
         return resourceRepository.findAll(Specification.where(userIsPrincipal).and(specification), pageable)
-                .map(resource -> {
-                    ResourceDTO resourceDTO = modelMapper.map(resource, ResourceDTO.class);
-                    int sellingAmountOfStock =
-                            orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                                    resource.getStock(), resource.getUser(), OrderType.SELLING_ORDER,
-                                    OffsetDateTime.now(ZoneId.systemDefault()))
-                                    .stream()
-                                    .mapToInt(Order::getRemainingAmount)
-                                    .sum();
-                    resourceDTO.setId(resource.getStock().getId());
-                    resourceDTO.setAmountAvailableForSale(resourceDTO.getAmount() - sellingAmountOfStock);
-                    return resourceDTO;
-                });
+                .map(EntityMapper::toResourceDTO);
     }
 
     private void validateMoveStock(MoveStockDTO moveStock, Stock stock, Optional<User> source,
@@ -142,13 +134,8 @@ public class ResourceServiceImpl implements ResourceService {
             if (!stock.getTag().equals(source.get().getTag()) || !stock.getTag().equals(destination.get().getTag())) {
                 errors.put("stock", List.of("Both users and stock must be tagged using the same tag."));
             }
-            int sellingAmountOfStock =
-                    orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                            stock, source.get(), OrderType.SELLING_ORDER, OffsetDateTime.now(ZoneId.systemDefault()))
-                            .stream()
-                            .mapToInt(Order::getRemainingAmount)
-                            .sum();
-            if (resource.isEmpty() || resource.get().getAmount() - sellingAmountOfStock < moveStock.getAmount()) {
+            if (resource.isEmpty()
+                    || resource.get().getAmount() - resource.get().getReservedAmount() < moveStock.getAmount()) {
                 errors.put("amount", List.of("Source user doesn't possess enough free amount of stock."));
             }
         }
@@ -0,0 +1,14 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.SchedulerCycleDTO;
+import com.project.stockexchangeappbackend.util.SchedulerCycle;
+import com.project.stockexchangeappbackend.util.SchedulerType;
+
+import java.util.List;
+
+public interface SchedulerCycleService {
+
+    void record(SchedulerCycle cycle);
+    List<SchedulerCycleDTO> getCycles(SchedulerType scheduler);
+
+}
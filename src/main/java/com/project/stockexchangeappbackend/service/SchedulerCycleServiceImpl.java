@@ -0,0 +1,85 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.SchedulerCycleDTO;
+import com.project.stockexchangeappbackend.util.SchedulerCycle;
+import com.project.stockexchangeappbackend.util.SchedulerType;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Slf4j
+public class SchedulerCycleServiceImpl implements SchedulerCycleService {
+
+    private static final int DEFAULT_CAPACITY = 1000;
+    private static final double NANOS_PER_MILLI = 1000000.;
+
+    private final StockIndexTimeProperties stockIndexTimeProperties;
+    private final SchedulerCycleDTO[] cycles;
+    private int next;
+    private int size;
+
+    public SchedulerCycleServiceImpl(StockIndexTimeProperties stockIndexTimeProperties) {
+        this.stockIndexTimeProperties = stockIndexTimeProperties;
+        this.cycles = new SchedulerCycleDTO[Optional.ofNullable(stockIndexTimeProperties.getSchedulerCycleHistory())
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_CAPACITY)];
+    }
+
+    @Override
+    public void record(SchedulerCycle cycle) {
+        Integer interval = getInterval(cycle.getType());
+        SchedulerCycleDTO sample = SchedulerCycleDTO.builder()
+                .scheduler(cycle.getType())
+                .timestamp(cycle.getStartTimestamp())
+                .executionTime(cycle.getExecutionTime() / NANOS_PER_MILLI)
+                .interval(interval)
+                .stocks(cycle.getStocks().get())
+                .ordersScanned(cycle.getOrdersScanned().get())
+                .fills(cycle.getFills().get())
+                .retries(cycle.getRetries().get())
+                .databaseTime(cycle.getDatabaseTime().get() / NANOS_PER_MILLI)
+                .build();
+        if (interval != null && sample.getExecutionTime() > interval * 0.8) {
+            log.warn("Cycle of " + cycle.getType() + " took " + sample.getExecutionTime().longValue() + " ms, " +
+                    "which is close to or over its " + interval + " ms interval.");
+        }
+        synchronized (cycles) {
+            cycles[next] = sample;
+            next = (next + 1) % cycles.length;
+            size = Math.min(size + 1, cycles.length);
+        }
+    }
+
+    @Override
+    public List<SchedulerCycleDTO> getCycles(SchedulerType scheduler) {
+        List<SchedulerCycleDTO> samples = new ArrayList<>();
+        synchronized (cycles) {
+            for (int offset = size; offset > 0; offset--) {
+                SchedulerCycleDTO sample = cycles[Math.floorMod(next - offset, cycles.length)];
+                if (scheduler == null || sample.getScheduler() == scheduler) {
+                    samples.add(sample);
+                }
+            }
+        }
+        return samples;
+    }
+
+    private Integer getInterval(SchedulerType scheduler) {
+        switch (scheduler) {
+            case STOCK_EXCHANGE_ALGORITHM:
+                return stockIndexTimeProperties.getAlgorithmCycle();
+            case STOCK_PRICE_FIXING:
+                return stockIndexTimeProperties.getFixingPriceCycle();
+            case STOCK_PRICE_CHANGE_RATIO:
+                return stockIndexTimeProperties.getStockPriceChangeRatioPeriod();
+            default:
+                return null;
+        }
+    }
+
+}
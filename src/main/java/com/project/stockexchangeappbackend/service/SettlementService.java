@@ -0,0 +1,13 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.SettlementStatisticsDTO;
+import com.project.stockexchangeappbackend.util.orderbook.Fill;
+
+import java.util.List;
+
+public interface SettlementService {
+
+    void settle(Long stockId, List<Fill> fills);
+    SettlementStatisticsDTO getStatistics();
+
+}
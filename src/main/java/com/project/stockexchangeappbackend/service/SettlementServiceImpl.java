@@ -0,0 +1,156 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.SettlementStatisticsDTO;
+import com.project.stockexchangeappbackend.entity.Order;
+import com.project.stockexchangeappbackend.util.PriceTicks;
+import com.project.stockexchangeappbackend.util.orderbook.Fill;
+import com.project.stockexchangeappbackend.util.timemeasuring.DBQueryMeasureTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SettlementServiceImpl implements SettlementService {
+
+    private static final String UPSERT_ARCHIVED_ORDER =
+            "INSERT INTO ARCHIVED_ORDERS (ID, USER_ID, STOCK_ID, AMOUNT, REMAINING_AMOUNT, TYPE, PRICE_TYPE, PRICE, " +
+            "DATE_CREATION, DATE_EXPIRATION, DATE_CLOSING) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (ID) DO UPDATE SET REMAINING_AMOUNT = EXCLUDED.REMAINING_AMOUNT, " +
+            "DATE_CLOSING = EXCLUDED.DATE_CLOSING";
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO TRANSACTIONS (DATE, UNIT_PRICE, AMOUNT, BUYING_ORDER_ID, SELLING_ORDER_ID) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_ORDER = "UPDATE ORDERS SET REMAINING_AMOUNT = ? WHERE ID = ?";
+    private static final String DELETE_ORDER = "DELETE FROM ORDERS WHERE ID = ?";
+    private static final String UPSERT_RESOURCE =
+            "INSERT INTO RESOURCES (USER_ID, STOCK_ID, AMOUNT) VALUES (?, ?, ?) " +
+            "ON CONFLICT (USER_ID, STOCK_ID) DO UPDATE SET AMOUNT = RESOURCES.AMOUNT + EXCLUDED.AMOUNT, " +
+            "RESERVED_AMOUNT = GREATEST(RESOURCES.RESERVED_AMOUNT - ?, 0)";
+    private static final String DELETE_EMPTY_RESOURCES = "DELETE FROM RESOURCES WHERE STOCK_ID = ? AND AMOUNT = 0";
+    private static final String UPDATE_USER_MONEY =
+            "UPDATE USERS SET MONEY = MONEY + ?, VERSION = VERSION + 1 WHERE ID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PriceWindowService priceWindowService;
+
+    private final AtomicLong settledBatches = new AtomicLong();
+    private final AtomicLong settledFills = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong settlementTime = new AtomicLong();
+
+    @Override
+    @DBQueryMeasureTime
+    @Transactional
+    public void settle(Long stockId, List<Fill> fills) {
+        long start = System.nanoTime();
+        try {
+            Map<Long, Order> orders = new TreeMap<>();
+            Map<Long, Integer> resourceChanges = new TreeMap<>();
+            Map<Long, Integer> reservedChanges = new HashMap<>();
+            Map<Long, Long> moneyChanges = new TreeMap<>();
+            fills.forEach(fill -> {
+                orders.putIfAbsent(fill.getBuyingOrder().getId(), fill.getBuyingOrder());
+                orders.putIfAbsent(fill.getSellingOrder().getId(), fill.getSellingOrder());
+                long value = Math.multiplyExact(fill.getUnitPriceTicks(), fill.getAmount());
+                Long buyerId = fill.getBuyingOrder().getUser().getId();
+                Long sellerId = fill.getSellingOrder().getUser().getId();
+                resourceChanges.merge(buyerId, fill.getAmount(), Integer::sum);
+                resourceChanges.merge(sellerId, -fill.getAmount(), Integer::sum);
+                reservedChanges.merge(sellerId, fill.getAmount(), Integer::sum);
+                moneyChanges.merge(buyerId, -value, Long::sum);
+                moneyChanges.merge(sellerId, value, Long::sum);
+            });
+
+            jdbcTemplate.batchUpdate(UPSERT_ARCHIVED_ORDER, orders.values().stream()
+                    .map(order -> new Object[]{order.getId(), order.getUser().getId(), order.getStock().getId(),
+                            order.getAmount(), order.getRemainingAmount(), order.getOrderType().name(),
+                            order.getPriceType().name(), order.getPrice(), toTimestamp(order.getDateCreation()),
+                            toTimestamp(order.getDateExpiration()), toTimestamp(order.getDateClosing())})
+                    .collect(Collectors.toList()));
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION, fills.stream()
+                    .map(fill -> new Object[]{toTimestamp(fill.getDate()),
+                            PriceTicks.toBigDecimal(fill.getUnitPriceTicks()), fill.getAmount(),
+                            fill.getBuyingOrder().getId(), fill.getSellingOrder().getId()})
+                    .collect(Collectors.toList()));
+            checkOrdersUpdated(jdbcTemplate.batchUpdate(DELETE_ORDER, orders.values().stream()
+                    .filter(order -> order.getRemainingAmount() == 0)
+                    .map(order -> new Object[]{order.getId()})
+                    .collect(Collectors.toList())));
+            checkOrdersUpdated(jdbcTemplate.batchUpdate(UPDATE_ORDER, orders.values().stream()
+                    .filter(order -> order.getRemainingAmount() > 0)
+                    .map(order -> new Object[]{order.getRemainingAmount(), order.getId()})
+                    .collect(Collectors.toList())));
+            jdbcTemplate.batchUpdate(UPSERT_RESOURCE, resourceChanges.entrySet().stream()
+                    .filter(change -> change.getValue() != 0 || reservedChanges.containsKey(change.getKey()))
+                    .map(change -> new Object[]{change.getKey(), stockId, change.getValue(),
+                            reservedChanges.getOrDefault(change.getKey(), 0)})
+                    .collect(Collectors.toList()));
+            jdbcTemplate.update(DELETE_EMPTY_RESOURCES, stockId);
+            jdbcTemplate.batchUpdate(UPDATE_USER_MONEY, moneyChanges.entrySet().stream()
+                    .filter(change -> change.getValue() != 0)
+                    .map(change -> new Object[]{PriceTicks.toBigDecimal(change.getValue()), change.getKey()})
+                    .collect(Collectors.toList()));
+        } catch (RuntimeException exc) {
+            failedBatches.incrementAndGet();
+            throw exc;
+        }
+        afterCommit(() -> fills.forEach(fill -> priceWindowService.addTransaction(stockId,
+                fill.getUnitPriceTicks(), fill.getAmount(), fill.getDate())));
+        long executionTime = System.nanoTime() - start;
+        settledBatches.incrementAndGet();
+        settledFills.addAndGet(fills.size());
+        settlementTime.addAndGet(executionTime);
+        log.info("Settlement of " + fills.size() + " transactions of stock with id " + stockId + " finished. " +
+                "Execution time: " + executionTime / 1000000 + " ms.");
+    }
+
+    @Override
+    public SettlementStatisticsDTO getStatistics() {
+        long fills = settledFills.get();
+        long time = settlementTime.get();
+        return SettlementStatisticsDTO.builder()
+                .batches(settledBatches.get())
+                .fills(fills)
+                .failedBatches(failedBatches.get())
+                .executionTime(time / 1000000)
+                .fillsPerSecond(time == 0 ? 0. : fills * 1e9 / time)
+                .build();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void checkOrdersUpdated(int[] updateCounts) {
+        if (Arrays.stream(updateCounts).anyMatch(count -> count == 0)) {
+            throw new OptimisticLockingFailureException("Order was modified or deleted by another transaction.");
+        }
+    }
+
+    private Timestamp toTimestamp(OffsetDateTime dateTime) {
+        return dateTime == null ? null : Timestamp.from(dateTime.toInstant());
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.StockCacheStatisticsDTO;
+import com.project.stockexchangeappbackend.entity.Stock;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface StockCacheService {
+
+    Optional<Stock> getStockById(Long id);
+    Optional<Stock> getStockByAbbreviation(String abbreviation);
+    void refreshPrices(Collection<Stock> stocks);
+    void evict(Long stockId);
+    StockCacheStatisticsDTO getStatistics();
+
+}
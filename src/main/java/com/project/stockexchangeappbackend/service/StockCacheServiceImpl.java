@@ -0,0 +1,164 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.StockCacheStatisticsDTO;
+import com.project.stockexchangeappbackend.entity.Stock;
+import com.project.stockexchangeappbackend.repository.StockRepository;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class StockCacheServiceImpl implements StockCacheService {
+
+    private static final int DEFAULT_CAPACITY = 1000;
+
+    private final StockRepository stockRepository;
+    private final int capacity;
+    private final Map<Long, Stock> stocks;
+    private final Map<String, Long> abbreviations = new HashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long generation;
+
+    public StockCacheServiceImpl(StockRepository stockRepository, StockIndexTimeProperties stockIndexTimeProperties) {
+        this.stockRepository = stockRepository;
+        this.capacity = Optional.ofNullable(stockIndexTimeProperties.getStockCacheSize())
+                .filter(value -> value > 0)
+                .orElse(DEFAULT_CAPACITY);
+        this.stocks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Stock> eldest) {
+                if (size() > capacity) {
+                    abbreviations.remove(eldest.getValue().getAbbreviation().toUpperCase());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    @LogicBusinessMeasureTime
+    @Transactional(readOnly = true)
+    public Optional<Stock> getStockById(Long id) {
+        long loadGeneration;
+        synchronized (this) {
+            Stock stock = stocks.get(id);
+            if (stock != null) {
+                hits.incrementAndGet();
+                return Optional.of(copy(stock));
+            }
+            loadGeneration = generation;
+        }
+        misses.incrementAndGet();
+        return stockRepository.findByIdAndIsDeletedFalse(id).map(stock -> put(stock, loadGeneration));
+    }
+
+    @Override
+    @LogicBusinessMeasureTime
+    @Transactional(readOnly = true)
+    public Optional<Stock> getStockByAbbreviation(String abbreviation) {
+        long loadGeneration;
+        synchronized (this) {
+            Long id = abbreviations.get(abbreviation.toUpperCase());
+            if (id != null) {
+                hits.incrementAndGet();
+                return Optional.of(copy(stocks.get(id)));
+            }
+            loadGeneration = generation;
+        }
+        misses.incrementAndGet();
+        return stockRepository.findByAbbreviationIgnoreCaseAndIsDeletedFalse(abbreviation)
+                .map(stock -> put(stock, loadGeneration));
+    }
+
+    @Override
+    public void refreshPrices(Collection<Stock> updatedStocks) {
+        afterCommit(() -> {
+            synchronized (this) {
+                updatedStocks.forEach(updatedStock -> {
+                    Stock stock = stocks.get(updatedStock.getId());
+                    if (stock != null) {
+                        stock.setCurrentPrice(updatedStock.getCurrentPrice());
+                        stock.setPriceChangeRatio(updatedStock.getPriceChangeRatio());
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public void evict(Long stockId) {
+        remove(stockId);
+        afterCommit(() -> remove(stockId));
+    }
+
+    @Override
+    public synchronized StockCacheStatisticsDTO getStatistics() {
+        long cacheHits = hits.get();
+        long cacheMisses = misses.get();
+        return StockCacheStatisticsDTO.builder()
+                .size(stocks.size())
+                .capacity(capacity)
+                .hits(cacheHits)
+                .misses(cacheMisses)
+                .hitRatio(cacheHits + cacheMisses == 0 ? 0. : (double) cacheHits / (cacheHits + cacheMisses))
+                .build();
+    }
+
+    private synchronized Stock put(Stock stock, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return stock;
+        }
+        Stock cachedStock = copy(stock);
+        Stock previous = stocks.put(cachedStock.getId(), cachedStock);
+        if (previous != null) {
+            abbreviations.remove(previous.getAbbreviation().toUpperCase());
+        }
+        abbreviations.put(cachedStock.getAbbreviation().toUpperCase(), cachedStock.getId());
+        return stock;
+    }
+
+    private synchronized void remove(Long stockId) {
+        generation++;
+        Stock stock = stocks.remove(stockId);
+        if (stock != null) {
+            abbreviations.remove(stock.getAbbreviation().toUpperCase());
+        }
+    }
+
+    private Stock copy(Stock stock) {
+        return Stock.builder()
+                .id(stock.getId())
+                .name(stock.getName())
+                .abbreviation(stock.getAbbreviation())
+                .currentPrice(stock.getCurrentPrice())
+                .amount(stock.getAmount())
+                .priceChangeRatio(stock.getPriceChangeRatio())
+                .isDeleted(stock.getIsDeleted())
+                .tag(stock.getTag())
+                .build();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+}
@@ -3,8 +3,8 @@ package com.project.stockexchangeappbackend.service;
 import com.project.stockexchangeappbackend.dto.StockIndexValueDTO;
 import com.project.stockexchangeappbackend.entity.Stock;
 import com.project.stockexchangeappbackend.entity.StockIndexValue;
-import org.springframework.data.jpa.domain.Specification;
 
+import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -12,7 +12,7 @@ import java.util.Optional;
 public interface StockIndexValueService {
 
     void appendValues(Collection<StockIndexValue> stockIndexValues);
-    List<StockIndexValueDTO> getStockIndexValues(Long stockId, Specification<StockIndexValue> specification, Integer interval);
+    List<StockIndexValueDTO> getStockIndexValues(Long stockId, OffsetDateTime from, OffsetDateTime to, Integer interval);
     Optional<StockIndexValue> getFirstStockIndexValueBeforeMinutesAgo(Stock stock, Integer minutes);
 
 }
@@ -4,36 +4,47 @@ import com.project.stockexchangeappbackend.dto.StockIndexValueDTO;
 import com.project.stockexchangeappbackend.entity.Stock;
 import com.project.stockexchangeappbackend.entity.StockIndexValue;
 import com.project.stockexchangeappbackend.repository.StockIndexValueRepository;
-import com.project.stockexchangeappbackend.repository.StockRepository;
+import com.project.stockexchangeappbackend.util.PriceTicks;
 import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.candle.Candle;
+import com.project.stockexchangeappbackend.util.candle.CandleResolution;
+import com.project.stockexchangeappbackend.util.candle.StockCandles;
 import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Service
 @AllArgsConstructor
 @Slf4j
 public class StockIndexValueServiceImpl implements StockIndexValueService {
 
-    private final StockRepository stockRepository;
+    private final StockCacheService stockCacheService;
     private final StockIndexValueRepository stockIndexValueRepository;
     private final StockIndexTimeProperties stockIndexTimeProperties;
+    private final ConcurrentMap<Long, StockCandles> stockCandles = new ConcurrentHashMap<>();
 
     @Override
     @LogicBusinessMeasureTime
     @Transactional
     public void appendValues(Collection<StockIndexValue> stockIndexValues) {
         stockIndexValueRepository.saveAll(stockIndexValues);
+        afterCommit(() -> stockIndexValues.forEach(stockIndexValue -> {
+            StockCandles candles = stockCandles.get(stockIndexValue.getStock().getId());
+            if (candles != null) {
+                candles.add(stockIndexValue.getTimestamp(), PriceTicks.toTicks(stockIndexValue.getValue()));
+            }
+        }));
 
         int stockPriceRefreshCycle = stockIndexTimeProperties.getFixingPriceCycle()/1000;
         int maxPriceHistoryPeriod = stockIndexTimeProperties.getMaxPriceHistoryPeriod()*3600;
@@ -50,33 +61,40 @@ public class StockIndexValueServiceImpl implements StockIndexValueService {
     @Override
     @LogicBusinessMeasureTime
     @Transactional(readOnly = true)
-    public List<StockIndexValueDTO> getStockIndexValues(Long stockId, Specification<StockIndexValue> specification,
+    public List<StockIndexValueDTO> getStockIndexValues(Long stockId, OffsetDateTime from, OffsetDateTime to,
                                                      Integer interval) {
-        Stock stock = stockRepository.findByIdAndIsDeletedFalse(stockId)
+        Stock stock = stockCacheService.getStockById(stockId)
                 .orElseThrow(() -> new EntityNotFoundException("Stock not found"));
-        List<List<StockIndexValue>> results = new ArrayList<>();
-        results.add(new ArrayList<>());
-
-        List<StockIndexValue> stockIndexValues = stockIndexValueRepository.findAll(
-                getSpecificationById(stock.getId()).and(specification), Sort.by("timestamp").descending());
-
-        if (stockIndexValues.isEmpty()){
+        CandleResolution resolution = CandleResolution.coarsestFitting(interval);
+        List<Candle> candles = getStockCandles(stock.getId()).getCandles(resolution, from, to);
+        if (candles.isEmpty()) {
             return Collections.emptyList();
         }
 
-        stockIndexValues.forEach(stockIndexValue -> {
-            results.get(results.size()-1).add(stockIndexValue);
-            if (stockIndexValue.getTimestamp().isBefore(
-                    results.get(results.size()-1).get(0).getTimestamp().minusMinutes(interval))) {
-                results.add(new ArrayList<>());
-                results.get(results.size()-1).add(stockIndexValue);
+        long bucketMillis = resolution.getMinutes() * 60000L;
+        long intervalMillis = interval * 60000L;
+        List<StockIndexValueDTO> results = new ArrayList<>();
+        long group = Math.floorDiv(candles.get(0).getBucket() * bucketMillis, intervalMillis);
+        Candle first = candles.get(0);
+        long min = first.getMin();
+        long max = first.getMax();
+        Candle last = first;
+        for (Candle candle : candles.subList(1, candles.size())) {
+            long candleGroup = Math.floorDiv(candle.getBucket() * bucketMillis, intervalMillis);
+            if (candleGroup != group) {
+                results.add(createStockIndexValueDTO(first, last, min, max));
+                group = candleGroup;
+                first = candle;
+                min = candle.getMin();
+                max = candle.getMax();
+            } else {
+                min = Math.min(min, candle.getMin());
+                max = Math.max(max, candle.getMax());
             }
-        });
-
-        Collections.reverse(results);
-        return results.parallelStream()
-                .map(StockIndexValueDTO::new)
-                .collect(Collectors.toList());
+            last = candle;
+        }
+        results.add(createStockIndexValueDTO(first, last, min, max));
+        return results;
     }
 
     @Override
@@ -87,9 +105,45 @@ public class StockIndexValueServiceImpl implements StockIndexValueService {
                 stock, OffsetDateTime.now(ZoneId.systemDefault()).minusMinutes(minutes));
     }
 
-    private Specification<StockIndexValue> getSpecificationById(Long stockId) {
-        return  (root, criteriaQuery, criteriaBuilder) ->
-                criteriaBuilder.equal(root.join("stock").get("id"), stockId);
+    private StockCandles getStockCandles(Long stockId) {
+        StockCandles candles = stockCandles.get(stockId);
+        if (candles != null) {
+            return candles;
+        }
+        StockCandles createdCandles = new StockCandles(stockIndexTimeProperties.getMaxPriceHistoryPeriod() * 60);
+        candles = stockCandles.putIfAbsent(stockId, createdCandles);
+        if (candles != null) {
+            return candles;
+        }
+        try {
+            stockIndexValueRepository.findByStockIdOrderByTimestampAsc(stockId).forEach(stockIndexValue ->
+                    createdCandles.addLoaded(stockIndexValue.getTimestamp(),
+                            PriceTicks.toTicks(stockIndexValue.getValue())));
+        } catch (RuntimeException exc) {
+            stockCandles.remove(stockId, createdCandles);
+            createdCandles.failLoading();
+            throw exc;
+        }
+        createdCandles.finishLoading();
+        return createdCandles;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private StockIndexValueDTO createStockIndexValueDTO(Candle first, Candle last, long min, long max) {
+        return new StockIndexValueDTO(last.getCloseTime(), PriceTicks.toBigDecimal(first.getOpen()),
+                PriceTicks.toBigDecimal(min), PriceTicks.toBigDecimal(max), PriceTicks.toBigDecimal(last.getClose()));
     }
 
 }
@@ -7,6 +7,7 @@ import com.project.stockexchangeappbackend.dto.UpdateStockAmountDTO;
 import com.project.stockexchangeappbackend.entity.*;
 import com.project.stockexchangeappbackend.exception.InvalidInputDataException;
 import com.project.stockexchangeappbackend.repository.*;
+import com.project.stockexchangeappbackend.util.EntityMapper;
 import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,13 +38,16 @@ public class StockServiceImpl implements StockService {
     private final ResourceRepository resourceRepository;
     private final StockIndexValueRepository stockIndexValueRepository;
     private final TagService tagService;
+    private final OrderBookService orderBookService;
+    private final PriceWindowService priceWindowService;
+    private final StockCacheService stockCacheService;
     private final ModelMapper modelMapper;
 
     @Override
     @LogicBusinessMeasureTime
     @Transactional(readOnly = true)
     public Stock getStockById(Long id) {
-        return stockRepository.findByIdAndIsDeletedFalse(id)
+        return stockCacheService.getStockById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Stock Not Found"));
     }
 
@@ -60,7 +64,7 @@ public class StockServiceImpl implements StockService {
     @LogicBusinessMeasureTime
     @Transactional(readOnly = true)
     public Stock getStockByAbbreviation(String abbreviation) {
-        return stockRepository.findByAbbreviationIgnoreCaseAndIsDeletedFalse(abbreviation)
+        return stockCacheService.getStockByAbbreviation(abbreviation)
                 .orElseThrow(() -> new EntityNotFoundException("Stock Not Found"));
     }
 
@@ -78,6 +82,7 @@ public class StockServiceImpl implements StockService {
     @Transactional
     public Stock updateStock(Stock stock) {
         Stock updatedStock = stockRepository.save(stock);
+        stockCacheService.evict(updatedStock.getId());
         log.info("Stock with id " + updatedStock.getId() + " was successfully updated");
         return updatedStock;
     }
@@ -88,13 +93,14 @@ public class StockServiceImpl implements StockService {
     public void updateStocks(Collection<Stock> stocks) {
         stockRepository.saveAll(stocks)
                 .forEach(stock -> log.info("Stock with id " + stock.getId() + " was successfully updated"));
+        stockCacheService.refreshPrices(stocks);
     }
 
     @Override
     @Transactional
     @LogicBusinessMeasureTime
     public void updateStock(EditStockNameDTO stockDTO, String id) {
-        Stock stock = getStockByIdOrAbbreviation(id);
+        Stock stock = findStockByIdOrAbbreviation(id);
         Optional<Stock> stockByAbbreviation = stockRepository.findByAbbreviationIgnoreCase(stockDTO.getAbbreviation().trim());
         if (stockByAbbreviation.isPresent() && !stock.getId().equals(stockByAbbreviation.get().getId())) {
             throw new EntityExistsException("Stock with given abbreviation already exists");
@@ -106,6 +112,7 @@ public class StockServiceImpl implements StockService {
         stock.setAbbreviation(stockDTO.getAbbreviation().trim());
         stock.setName(stockDTO.getName().trim());
         stockRepository.save(stock);
+        stockCacheService.evict(stock.getId());
         log.info("Stock " + stockDTO.getAbbreviation() + " was successfully updated.");
     }
 
@@ -132,6 +139,7 @@ public class StockServiceImpl implements StockService {
                     return res.get(0);
                 }).collect(Collectors.toList()));
         stockRepository.save(stock);
+        stockCacheService.evict(stock.getId());
         log.info("Stock " + stock.getAbbreviation() + " was successfully created.");
     }
 
@@ -146,15 +154,18 @@ public class StockServiceImpl implements StockService {
         stock.setCurrentPrice(BigDecimal.ZERO);
         List<Order> orders = orderRepository.findByStock(stock);
         orderRepository.deleteAll(orders);
+        orderBookService.removeStock(stock.getId());
+        priceWindowService.removeStock(stock.getId());
         archivedOrderRepository.saveAll(orders.stream()
                 .map(order -> {
                     order.setDateClosing(OffsetDateTime.now(ZoneId.systemDefault()));
-                    return modelMapper.map(order, ArchivedOrder.class);
+                    return EntityMapper.toArchivedOrder(order);
                 }).collect(Collectors.toList()));
         resourceRepository.deleteByStock(stock);
         stockIndexValueRepository.deleteByStock(stock);
         stock.getResources().clear();
         stockRepository.save(stock);
+        stockCacheService.evict(stock.getId());
         log.info("Stock " + stock.getAbbreviation() + " was successfully deleted.");
     }
 
@@ -187,10 +198,21 @@ public class StockServiceImpl implements StockService {
                     stock.getResources().remove(resource);
                 });
         stockRepository.save(stock);
+        stockCacheService.evict(stock.getId());
         log.info("Stock " + stock.getAbbreviation() + "'s amount was successfully updated to new value " +
                 stock.getAmount() + ".");
     }
 
+    private Stock findStockByIdOrAbbreviation(String id) {
+        Optional<Stock> stock;
+        try {
+            stock = stockRepository.findByIdAndIsDeletedFalse(Long.valueOf(id));
+        } catch (NumberFormatException e) {
+            stock = stockRepository.findByAbbreviationIgnoreCaseAndIsDeletedFalse(id);
+        }
+        return stock.orElseThrow(() -> new EntityNotFoundException("Stock Not Found"));
+    }
+
     private Stock validateCreateStockDTO(CreateStockDTO stockDTO, String tag) {
         Map<String, List<String>> errors = new HashMap<>();
         Optional<Stock> stockInDBName = stockRepository.findByNameIgnoreCase(stockDTO.getName().trim());
@@ -1,13 +1,14 @@
 package com.project.stockexchangeappbackend.service;
 
 import com.project.stockexchangeappbackend.entity.SystemResourcesMonitor;
-import org.springframework.data.jpa.domain.Specification;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public interface SystemResourcesMonitorService {
 
     void addSystemResources();
-    List<SystemResourcesMonitor> getInfo(Specification<SystemResourcesMonitor> specification);
+    void flushSystemResources();
+    List<SystemResourcesMonitor> getInfo(OffsetDateTime from, OffsetDateTime to);
 
 }
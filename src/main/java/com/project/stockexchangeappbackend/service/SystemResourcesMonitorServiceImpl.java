@@ -3,52 +3,255 @@ package com.project.stockexchangeappbackend.service;
 import com.project.stockexchangeappbackend.entity.SystemResourcesMonitor;
 import com.project.stockexchangeappbackend.repository.SystemResourcesMonitorRepository;
 import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.monitoring.RuntimeResourcesProbe;
 import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import oshi.hardware.GlobalMemory;
 
+import javax.annotation.PostConstruct;
 import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+
+import static com.project.stockexchangeappbackend.util.monitoring.RuntimeResourcesProbe.UNAVAILABLE;
 
 @Service
-@AllArgsConstructor
 @Slf4j
-public class SystemResourcesMonitorServiceImpl implements SystemResourcesMonitorService{
+public class SystemResourcesMonitorServiceImpl implements SystemResourcesMonitorService {
+
+    private static final String INSERT_SYSTEM_RESOURCES =
+            "INSERT INTO SYSTEM_RESOURCES_MONITOR (TIMESTAMP, CPU_USAGE, MEMORY_USAGE, MEMORY_USED, GC_COUNT, " +
+            "GC_TIME, ALLOCATED_BYTES, THREAD_COUNT, PEAK_THREAD_COUNT, DB_ACTIVE_CONNECTIONS, DB_IDLE_CONNECTIONS, " +
+            "DB_PENDING_THREADS, SERVER_BUSY_THREADS) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_OUTDATED_SYSTEM_RESOURCES =
+            "DELETE FROM SYSTEM_RESOURCES_MONITOR WHERE TIMESTAMP < ?";
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
 
     private final SystemResourcesMonitorRepository systemResourcesMonitorRepository;
+    private final JdbcTemplate jdbcTemplate;
     private final GlobalMemory globalMemory;
+    private final RuntimeResourcesProbe runtimeResourcesProbe;
     private final StockIndexTimeProperties stockIndexTimeProperties;
 
+    private final int capacity;
+    private final long[] timestamps;
+    private final double[] cpuUsages;
+    private final double[] memoryUsages;
+    private final long[] memoryUsed;
+    private final long[] gcCounts;
+    private final long[] gcTimes;
+    private final long[] allocatedBytes;
+    private final int[] threadCounts;
+    private final int[] peakThreadCounts;
+    private final int[] dbActiveConnections;
+    private final int[] dbIdleConnections;
+    private final int[] dbPendingThreads;
+    private final int[] serverBusyThreads;
+    private long written;
+    private long flushed;
+    private long previousGcCount;
+    private long previousGcTime;
+    private long previousAllocatedBytes;
+
+    public SystemResourcesMonitorServiceImpl(SystemResourcesMonitorRepository systemResourcesMonitorRepository,
+                                             JdbcTemplate jdbcTemplate, GlobalMemory globalMemory,
+                                             RuntimeResourcesProbe runtimeResourcesProbe,
+                                             StockIndexTimeProperties stockIndexTimeProperties) {
+        this.systemResourcesMonitorRepository = systemResourcesMonitorRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.globalMemory = globalMemory;
+        this.runtimeResourcesProbe = runtimeResourcesProbe;
+        this.stockIndexTimeProperties = stockIndexTimeProperties;
+        this.capacity = getCapacity(stockIndexTimeProperties);
+        this.timestamps = new long[capacity];
+        this.cpuUsages = new double[capacity];
+        this.memoryUsages = new double[capacity];
+        this.memoryUsed = new long[capacity];
+        this.gcCounts = new long[capacity];
+        this.gcTimes = new long[capacity];
+        this.allocatedBytes = new long[capacity];
+        this.threadCounts = new int[capacity];
+        this.peakThreadCounts = new int[capacity];
+        this.dbActiveConnections = new int[capacity];
+        this.dbIdleConnections = new int[capacity];
+        this.dbPendingThreads = new int[capacity];
+        this.serverBusyThreads = new int[capacity];
+        this.previousGcCount = runtimeResourcesProbe.getGcCount();
+        this.previousGcTime = runtimeResourcesProbe.getGcTime();
+        this.previousAllocatedBytes = runtimeResourcesProbe.getAllocatedBytes();
+    }
+
+    private static int getCapacity(StockIndexTimeProperties stockIndexTimeProperties) {
+        long interval = stockIndexTimeProperties.getSystemResourcesMonitorInterval();
+        if (interval <= 0) {
+            throw new IllegalArgumentException("System resources monitor interval must be positive, was " +
+                    interval + " ms.");
+        }
+        long capacity = Math.max(1, stockIndexTimeProperties.getSystemResourcesMonitorHistory() * 3600000L / interval);
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("System resources monitor history of " +
+                    stockIndexTimeProperties.getSystemResourcesMonitorHistory() + " h sampled every " + interval +
+                    " ms needs " + capacity + " samples, more than " + MAX_CAPACITY + ".");
+        }
+        return (int) capacity;
+    }
+
+    @PostConstruct
+    public void loadSystemResources() {
+        if (!isFlushEnabled()) {
+            return;
+        }
+        List<SystemResourcesMonitor> systemResources = systemResourcesMonitorRepository
+                .findByTimestampGreaterThanEqualOrderByTimestampAsc(getHistoryStart());
+        synchronized (this) {
+            systemResources.forEach(info -> {
+                int index = next(info.getTimestamp().toInstant().toEpochMilli(), info.getCpuUsage(),
+                        info.getMemoryUsage(), info.getMemoryUsed());
+                gcCounts[index] = Optional.ofNullable(info.getGcCount()).orElse((long) UNAVAILABLE);
+                gcTimes[index] = Optional.ofNullable(info.getGcTime()).orElse((long) UNAVAILABLE);
+                allocatedBytes[index] = Optional.ofNullable(info.getAllocatedBytes()).orElse((long) UNAVAILABLE);
+                threadCounts[index] = Optional.ofNullable(info.getThreadCount()).orElse(UNAVAILABLE);
+                peakThreadCounts[index] = Optional.ofNullable(info.getPeakThreadCount()).orElse(UNAVAILABLE);
+                dbActiveConnections[index] = Optional.ofNullable(info.getDbActiveConnections()).orElse(UNAVAILABLE);
+                dbIdleConnections[index] = Optional.ofNullable(info.getDbIdleConnections()).orElse(UNAVAILABLE);
+                dbPendingThreads[index] = Optional.ofNullable(info.getDbPendingThreads()).orElse(UNAVAILABLE);
+                serverBusyThreads[index] = Optional.ofNullable(info.getServerBusyThreads()).orElse(UNAVAILABLE);
+            });
+            flushed = written;
+        }
+        log.info("Loaded " + systemResources.size() + " system resources' records.");
+    }
+
     @Override
-    @Transactional
     public void addSystemResources() {
-        long memoryUsed = (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
-        systemResourcesMonitorRepository.save(SystemResourcesMonitor.builder()
-                .timestamp(OffsetDateTime.now(ZoneId.systemDefault()))
-                .cpuUsage(ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage())
-                .memoryUsage((double)memoryUsed/(globalMemory.getTotal())*100)
-                .memoryUsed(memoryUsed)
-                .build());
+        long used = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        double cpuUsage = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+        double memoryUsage = (double) used / globalMemory.getTotal() * 100;
+        long gcCount = runtimeResourcesProbe.getGcCount();
+        long gcTime = runtimeResourcesProbe.getGcTime();
+        long allocated = runtimeResourcesProbe.getAllocatedBytes();
+        int threadCount = runtimeResourcesProbe.getThreadCount();
+        int peakThreadCount = runtimeResourcesProbe.getPeakThreadCount();
+        int activeConnections = runtimeResourcesProbe.getActiveConnections();
+        int idleConnections = runtimeResourcesProbe.getIdleConnections();
+        int pendingThreads = runtimeResourcesProbe.getPendingConnectionThreads();
+        int busyThreads = runtimeResourcesProbe.getBusyServerThreads();
+        synchronized (this) {
+            int index = next(System.currentTimeMillis(), cpuUsage, memoryUsage, used);
+            gcCounts[index] = gcCount - previousGcCount;
+            gcTimes[index] = gcTime - previousGcTime;
+            allocatedBytes[index] = allocated == UNAVAILABLE || previousAllocatedBytes == UNAVAILABLE ?
+                    UNAVAILABLE : Math.max(0, allocated - previousAllocatedBytes);
+            threadCounts[index] = threadCount;
+            peakThreadCounts[index] = peakThreadCount;
+            dbActiveConnections[index] = activeConnections;
+            dbIdleConnections[index] = idleConnections;
+            dbPendingThreads[index] = pendingThreads;
+            serverBusyThreads[index] = busyThreads;
+            previousGcCount = gcCount;
+            previousGcTime = gcTime;
+            previousAllocatedBytes = allocated;
+        }
+    }
 
-        int records = stockIndexTimeProperties.getSystemResourcesMonitorHistory()*3600000/
-                stockIndexTimeProperties.getSystemResourcesMonitorInterval();
-        if (systemResourcesMonitorRepository.count() > records) {
-            systemResourcesMonitorRepository.delete(systemResourcesMonitorRepository.findFirstByOrderByTimestampAsc());
+    @Override
+    public void flushSystemResources() {
+        if (!isFlushEnabled()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        long flushedUpTo;
+        synchronized (this) {
+            flushed = Math.max(flushed, written - capacity);
+            for (long sequence = flushed; sequence < written; sequence++) {
+                int index = (int) (sequence % capacity);
+                batch.add(new Object[]{new Timestamp(timestamps[index]), cpuUsages[index], memoryUsages[index],
+                        memoryUsed[index], toNullable(gcCounts[index]), toNullable(gcTimes[index]),
+                        toNullable(allocatedBytes[index]), toNullable(threadCounts[index]),
+                        toNullable(peakThreadCounts[index]), toNullable(dbActiveConnections[index]),
+                        toNullable(dbIdleConnections[index]), toNullable(dbPendingThreads[index]),
+                        toNullable(serverBusyThreads[index])});
+            }
+            flushedUpTo = written;
+        }
+        try {
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SYSTEM_RESOURCES, batch);
+            }
+            jdbcTemplate.update(DELETE_OUTDATED_SYSTEM_RESOURCES, Timestamp.from(getHistoryStart().toInstant()));
+        } catch (DataAccessException exc) {
+            log.error("Cannot flush " + batch.size() + " system resources' records.", exc);
+            return;
+        }
+        synchronized (this) {
+            flushed = Math.max(flushed, flushedUpTo);
         }
     }
 
     @Override
-    @Transactional(readOnly = true)
     @LogicBusinessMeasureTime
-    public List<SystemResourcesMonitor> getInfo(Specification<SystemResourcesMonitor> specification) {
-        return systemResourcesMonitorRepository.findAll(specification, Sort.by("timestamp").ascending());
+    public synchronized List<SystemResourcesMonitor> getInfo(OffsetDateTime from, OffsetDateTime to) {
+        long fromMillis = from == null ? Long.MIN_VALUE : from.toInstant().toEpochMilli();
+        long toMillis = to == null ? Long.MAX_VALUE : to.toInstant().toEpochMilli();
+        List<SystemResourcesMonitor> systemResources = new ArrayList<>();
+        for (long sequence = Math.max(0, written - capacity); sequence < written; sequence++) {
+            int index = (int) (sequence % capacity);
+            if (timestamps[index] >= fromMillis && timestamps[index] <= toMillis) {
+                systemResources.add(SystemResourcesMonitor.builder()
+                        .id(sequence + 1)
+                        .timestamp(OffsetDateTime.ofInstant(Instant.ofEpochMilli(timestamps[index]),
+                                ZoneId.systemDefault()))
+                        .cpuUsage(cpuUsages[index])
+                        .memoryUsage(memoryUsages[index])
+                        .memoryUsed(memoryUsed[index])
+                        .gcCount(toNullable(gcCounts[index]))
+                        .gcTime(toNullable(gcTimes[index]))
+                        .allocatedBytes(toNullable(allocatedBytes[index]))
+                        .threadCount(toNullable(threadCounts[index]))
+                        .peakThreadCount(toNullable(peakThreadCounts[index]))
+                        .dbActiveConnections(toNullable(dbActiveConnections[index]))
+                        .dbIdleConnections(toNullable(dbIdleConnections[index]))
+                        .dbPendingThreads(toNullable(dbPendingThreads[index]))
+                        .serverBusyThreads(toNullable(serverBusyThreads[index]))
+                        .build());
+            }
+        }
+        return systemResources;
+    }
+
+    private int next(long timestamp, double cpuUsage, double memoryUsage, long used) {
+        int index = (int) (written % capacity);
+        timestamps[index] = timestamp;
+        cpuUsages[index] = cpuUsage;
+        memoryUsages[index] = memoryUsage;
+        memoryUsed[index] = used;
+        written++;
+        return index;
+    }
+
+    private Long toNullable(long value) {
+        return value == UNAVAILABLE ? null : value;
+    }
+
+    private Integer toNullable(int value) {
+        return value == UNAVAILABLE ? null : value;
+    }
+
+    private boolean isFlushEnabled() {
+        return Boolean.TRUE.equals(stockIndexTimeProperties.getSystemResourcesMonitorFlush());
+    }
+
+    private OffsetDateTime getHistoryStart() {
+        return OffsetDateTime.now(ZoneId.systemDefault())
+                .minusHours(stockIndexTimeProperties.getSystemResourcesMonitorHistory());
     }
 
 }
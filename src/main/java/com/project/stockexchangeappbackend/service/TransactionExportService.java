@@ -0,0 +1,13 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.util.TransactionExportFormat;
+
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+
+public interface TransactionExportService {
+
+    void exportTransactions(OffsetDateTime from, OffsetDateTime to, Long userId, TransactionExportFormat format,
+                            OutputStream outputStream);
+
+}
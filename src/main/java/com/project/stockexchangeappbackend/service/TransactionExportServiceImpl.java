@@ -0,0 +1,191 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.project.stockexchangeappbackend.util.TransactionExportFormat;
+import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String CSV_HEADER = "id,date,amount,unitPrice,stockId,abbreviation," +
+            "buyingOrderId,sellingOrderId,buyerId,sellerId";
+    private static final String SELECT_TRANSACTIONS =
+            "SELECT T.ID, T.DATE, T.AMOUNT, T.UNIT_PRICE, S.ID AS STOCK_ID, S.ABBREVIATION, " +
+            "T.BUYING_ORDER_ID, T.SELLING_ORDER_ID, B.USER_ID AS BUYER_ID, SO.USER_ID AS SELLER_ID " +
+            "FROM TRANSACTIONS T " +
+            "JOIN ARCHIVED_ORDERS B ON B.ID = T.BUYING_ORDER_ID " +
+            "JOIN ARCHIVED_ORDERS SO ON SO.ID = T.SELLING_ORDER_ID " +
+            "JOIN STOCKS S ON S.ID = B.STOCK_ID";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @LogicBusinessMeasureTime
+    @Transactional(readOnly = true)
+    public void exportTransactions(OffsetDateTime from, OffsetDateTime to, Long userId,
+                                   TransactionExportFormat format, OutputStream outputStream) {
+        StringBuilder sql = new StringBuilder(SELECT_TRANSACTIONS).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND T.DATE >= ?");
+            args.add(Timestamp.from(from.toInstant()));
+        }
+        if (to != null) {
+            sql.append(" AND T.DATE <= ?");
+            args.add(Timestamp.from(to.toInstant()));
+        }
+        if (userId != null) {
+            sql.append(" AND (B.USER_ID = ? OR SO.USER_ID = ?)");
+            args.add(userId);
+            args.add(userId);
+        }
+        sql.append(" ORDER BY T.DATE, T.ID");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try {
+            RowWriter rowWriter = format == TransactionExportFormat.CSV ?
+                    new CsvRowWriter(writer) : new JsonRowWriter(writer);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                for (int i = 0; i < args.size(); i++) {
+                    statement.setObject(i + 1, args.get(i));
+                }
+                return statement;
+            }, rowWriter);
+            rowWriter.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Transactions export in format " + format + " finished.");
+    }
+
+    private abstract static class RowWriter implements RowCallbackHandler {
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            try {
+                writeRow(resultSet);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        protected OffsetDateTime getDate(ResultSet resultSet) throws SQLException {
+            return resultSet.getTimestamp("DATE").toInstant().atZone(ZoneId.systemDefault()).toOffsetDateTime();
+        }
+
+        protected abstract void writeRow(ResultSet resultSet) throws SQLException, IOException;
+
+        protected abstract void flush() throws IOException;
+
+    }
+
+    private static class JsonRowWriter extends RowWriter {
+
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        JsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = JSON_FACTORY.createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        protected void writeRow(ResultSet resultSet) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", resultSet.getLong("ID"));
+            generator.writeStringField("date", getDate(resultSet).toString());
+            generator.writeNumberField("amount", resultSet.getInt("AMOUNT"));
+            generator.writeNumberField("unitPrice", resultSet.getBigDecimal("UNIT_PRICE"));
+            generator.writeNumberField("stockId", resultSet.getLong("STOCK_ID"));
+            generator.writeStringField("abbreviation", resultSet.getString("ABBREVIATION"));
+            generator.writeNumberField("buyingOrderId", resultSet.getLong("BUYING_ORDER_ID"));
+            generator.writeNumberField("sellingOrderId", resultSet.getLong("SELLING_ORDER_ID"));
+            generator.writeNumberField("buyerId", resultSet.getLong("BUYER_ID"));
+            generator.writeNumberField("sellerId", resultSet.getLong("SELLER_ID"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            generator.flush();
+            writer.flush();
+        }
+
+    }
+
+    private static class CsvRowWriter extends RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.writer.write(CSV_HEADER);
+            this.writer.write('\n');
+        }
+
+        @Override
+        protected void writeRow(ResultSet resultSet) throws SQLException, IOException {
+            writer.write(String.valueOf(resultSet.getLong("ID")));
+            writer.write(',');
+            writer.write(getDate(resultSet).toString());
+            writer.write(',');
+            writer.write(String.valueOf(resultSet.getInt("AMOUNT")));
+            writer.write(',');
+            writer.write(resultSet.getBigDecimal("UNIT_PRICE").toPlainString());
+            writer.write(',');
+            writer.write(String.valueOf(resultSet.getLong("STOCK_ID")));
+            writer.write(',');
+            writer.write(escape(resultSet.getString("ABBREVIATION")));
+            writer.write(',');
+            writer.write(String.valueOf(resultSet.getLong("BUYING_ORDER_ID")));
+            writer.write(',');
+            writer.write(String.valueOf(resultSet.getLong("SELLING_ORDER_ID")));
+            writer.write(',');
+            writer.write(String.valueOf(resultSet.getLong("BUYER_ID")));
+            writer.write(',');
+            writer.write(String.valueOf(resultSet.getLong("SELLER_ID")));
+            writer.write('\n');
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            writer.flush();
+        }
+
+        private String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+    }
+
+}
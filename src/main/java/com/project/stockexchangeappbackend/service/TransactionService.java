@@ -1,31 +1,37 @@
 package com.project.stockexchangeappbackend.service;
 
-import com.project.stockexchangeappbackend.entity.Order;
+import com.project.stockexchangeappbackend.dto.TransactionDTO;
 import com.project.stockexchangeappbackend.entity.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.math.BigDecimal;
-import java.util.List;
+import java.time.OffsetDateTime;
 
 public interface TransactionService {
 
     Transaction findTransactionById(Long id);
 
-    void makeTransaction(Order buyingOrder, Order sellingOrder, int amount, BigDecimal pricePerUnit);
+    Page<TransactionDTO> findAllTransactions(Pageable pageable, Specification<Transaction> specification);
 
-    Page<Transaction> findAllTransactions(Pageable pageable, Specification<Transaction> specification);
+    Slice<TransactionDTO> findAllTransactionsAfter(Specification<Transaction> specification, OffsetDateTime afterDate,
+                                                   Long afterId, int size);
 
-    Page<Transaction> getOwnedTransactions(Pageable pageable, Specification<Transaction> specification,
-                                           boolean isSeller, boolean isBuyer);
+    Page<TransactionDTO> getOwnedTransactions(Pageable pageable, Specification<Transaction> specification,
+                                              boolean isSeller, boolean isBuyer);
 
-    Page<Transaction> getTransactionsByOrder(Pageable pageable, Specification<Transaction> specification,
-                                             Long orderId);
+    Slice<TransactionDTO> getOwnedTransactionsAfter(Specification<Transaction> specification, boolean isSeller,
+                                                    boolean isBuyer, OffsetDateTime afterDate, Long afterId, int size);
 
-    List<Transaction> getTransactionsByStockIdForPricing(Long stockId, Integer amount);
+    Page<TransactionDTO> getTransactionsByOrder(Pageable pageable, Specification<Transaction> specification,
+                                                Long orderId);
 
-    Page<Transaction> getUserTransactions(Pageable pageable, Specification<Transaction> specification, Long userId,
-                                          boolean isSeller, boolean isBuyer);
+    Page<TransactionDTO> getUserTransactions(Pageable pageable, Specification<Transaction> specification,
+                                             Long userId, boolean isSeller, boolean isBuyer);
+
+    Slice<TransactionDTO> getUserTransactionsAfter(Specification<Transaction> specification, Long userId,
+                                                   boolean isSeller, boolean isBuyer, OffsetDateTime afterDate,
+                                                   Long afterId, int size);
 
 }
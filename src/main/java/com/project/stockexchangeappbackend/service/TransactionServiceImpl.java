@@ -1,22 +1,26 @@
 package com.project.stockexchangeappbackend.service;
 
+import com.project.stockexchangeappbackend.dto.TransactionDTO;
 import com.project.stockexchangeappbackend.entity.*;
+import com.project.stockexchangeappbackend.exception.InvalidInputDataException;
 import com.project.stockexchangeappbackend.repository.*;
 import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
-import java.math.BigDecimal;
-import java.util.List;
-import java.util.Optional;
+import java.time.OffsetDateTime;
+import java.util.*;
 
 @Service
 @Slf4j
@@ -24,12 +28,8 @@ import java.util.Optional;
 public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
-    private final ArchivedOrderRepository archivedOrderRepository;
-    private final OrderRepository orderRepository;
     private final AllOrdersRepository allOrdersRepository;
-    private final ResourceRepository resourceRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
 
     @Override
     @LogicBusinessMeasureTime
@@ -46,81 +46,50 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    @Transactional
-    public void makeTransaction(Order buyingOrder, Order sellingOrder, int amount, BigDecimal pricePerUnit) {
-        ArchivedOrder archivedBuyingOrder = archivedOrderRepository.findById(buyingOrder.getId())
-                .orElseGet(() -> modelMapper.map(buyingOrder, ArchivedOrder.class));
-        ArchivedOrder archivedSellingOrder = archivedOrderRepository.findById(sellingOrder.getId())
-                .orElseGet(() -> modelMapper.map(sellingOrder, ArchivedOrder.class));
-        archivedBuyingOrder.setRemainingAmount(buyingOrder.getRemainingAmount());
-        archivedBuyingOrder.setDateClosing(buyingOrder.getDateClosing());
-        archivedSellingOrder.setRemainingAmount(sellingOrder.getRemainingAmount());
-        archivedSellingOrder.setDateClosing(sellingOrder.getDateClosing());
-        transactionRepository.save(Transaction.builder()
-                .date(Optional.ofNullable(buyingOrder.getDateClosing())
-                        .orElseGet(sellingOrder::getDateClosing))
-                .amount(amount)
-                .unitPrice(pricePerUnit)
-                .buyingOrder(archivedBuyingOrder)
-                .sellingOrder(archivedSellingOrder)
-                .build());
-        updateOrder(buyingOrder);
-        updateOrder(sellingOrder);
-        exchangeMoneyAndStocks(buyingOrder, sellingOrder, amount, pricePerUnit);
-        log.info("Transaction with stock " + archivedBuyingOrder.getStock().getAbbreviation() + " between " +
-                archivedBuyingOrder.getUser().getEmail() + " and " +
-                archivedSellingOrder.getUser().getEmail() + " was successfully created.");
+    @LogicBusinessMeasureTime
+    @Transactional(readOnly = true)
+    public Page<TransactionDTO> findAllTransactions(Pageable pageable, Specification<Transaction> specification) {
+        return transactionRepository.findAllDTOs(specification, pageable, isAdmin());
     }
 
     @Override
     @LogicBusinessMeasureTime
     @Transactional(readOnly = true)
-    public Page<Transaction> findAllTransactions(Pageable pageable, Specification<Transaction> specification) {
-        Page<Transaction> transactions = transactionRepository.findAll(specification, pageable);
-        if (SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
-                .noneMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"))) {
-            transactions.forEach(transaction -> {
-                transaction.getBuyingOrder().setUser(null);
-                transaction.getSellingOrder().setUser(null);
-            });
-        }
-        return transactions;
+    public Slice<TransactionDTO> findAllTransactionsAfter(Specification<Transaction> specification,
+                                                          OffsetDateTime afterDate, Long afterId, int size) {
+        return getTransactionsAfter(specification, afterDate, afterId, size, isAdmin());
     }
 
     @Override
     @LogicBusinessMeasureTime
     @Transactional(readOnly = true)
-    public Page<Transaction> getOwnedTransactions(Pageable pageable, Specification<Transaction> specification,
-                                                  boolean isSeller, boolean isBuyer) {
+    public Page<TransactionDTO> getOwnedTransactions(Pageable pageable, Specification<Transaction> specification,
+                                                     boolean isSeller, boolean isBuyer) {
         String principal = SecurityContextHolder.getContext().getAuthentication().getName();
-        Specification<Transaction> userIsBuyer = (root, criteriaQuery, criteriaBuilder) ->
-                criteriaBuilder.equal(root
-                        .join("buyingOrder")
-                        .join("user")
-                        .get("email"), principal);
-
-        Specification<Transaction> userIsSeller = (root, criteriaQuery, criteriaBuilder) ->
-                criteriaBuilder.equal(root
-                        .join("sellingOrder")
-                        .join("user")
-                        .get("email"), principal);
-        Page<Transaction> transactions =
-                getTransactions(pageable, specification, isSeller, isBuyer, userIsBuyer, userIsSeller);
-
-        transactions.forEach(transaction -> {
-            transaction.getBuyingOrder().setUser(null);
-            transaction.getSellingOrder().setUser(null);
-        });
-
-        return transactions;
+        return getTransactions(pageable, specification, isSeller, isBuyer,
+                userIsBuyer(principal), userIsSeller(principal), false);
     }
 
+    @Override
+    @LogicBusinessMeasureTime
+    @Transactional(readOnly = true)
+    public Slice<TransactionDTO> getOwnedTransactionsAfter(Specification<Transaction> specification,
+                                                           boolean isSeller, boolean isBuyer,
+                                                           OffsetDateTime afterDate, Long afterId, int size) {
+        String principal = SecurityContextHolder.getContext().getAuthentication().getName();
+        Specification<Transaction> ownedSpecification = getTransactionsSpecification(specification, isSeller, isBuyer,
+                userIsBuyer(principal), userIsSeller(principal));
+        if (ownedSpecification == null) {
+            return new SliceImpl<>(Collections.emptyList());
+        }
+        return getTransactionsAfter(ownedSpecification, afterDate, afterId, size, false);
+    }
 
     @Override
     @LogicBusinessMeasureTime
     @Transactional(readOnly = true)
-    public Page<Transaction> getTransactionsByOrder(Pageable pageable, Specification<Transaction> specification,
-                                                    Long orderId) {
+    public Page<TransactionDTO> getTransactionsByOrder(Pageable pageable, Specification<Transaction> specification,
+                                                       Long orderId) {
         AllOrders order = allOrdersRepository.findById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found"));
         Specification<Transaction> withBuyingOrder = (root, criteriaQuery, criteriaBuilder) ->
@@ -135,107 +104,122 @@ public class TransactionServiceImpl implements TransactionService {
         Specification<Transaction> spec1 = Specification.where(withBuyingOrder).and(specification);
         Specification<Transaction> spec2 = Specification.where(withSellingOrder).and(specification);
 
-        Page<Transaction> transactions = transactionRepository.findAll(Specification.where(spec1).or(spec2), pageable);
-        if (SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
-                .noneMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"))) {
-            transactions.forEach(transaction -> {
-                transaction.getBuyingOrder().setUser(null);
-                transaction.getSellingOrder().setUser(null);
-            });
-        }
-        return transactions;
+        return transactionRepository.findAllDTOs(Specification.where(spec1).or(spec2), pageable, isAdmin());
     }
 
     @Override
     @LogicBusinessMeasureTime
     @Transactional(readOnly = true)
-    public List<Transaction> getTransactionsByStockIdForPricing(Long stockId, Integer amount) {
-        List<Transaction> transactions = transactionRepository.getTransactionsByStockId(stockId);
-        int sumOfAmount = amount;
-        for (int i = 0; i < transactions.size(); i++) {
-            if (sumOfAmount <= 0) {
-                transactions.remove(i);
-                i--;
-            } else {
-                sumOfAmount -= transactions.get(i).getAmount();
-            }
-        }
-        return transactions;
+    public Page<TransactionDTO> getUserTransactions(Pageable pageable, Specification<Transaction> specification,
+                                                    Long userId, boolean isSeller, boolean isBuyer) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User not found"));
+        return getTransactions(pageable, specification, isSeller, isBuyer,
+                userWithIdIsBuyer(user.getId()), userWithIdIsSeller(user.getId()), true);
     }
 
     @Override
     @LogicBusinessMeasureTime
     @Transactional(readOnly = true)
-    public Page<Transaction> getUserTransactions(Pageable pageable, Specification<Transaction> specification,
-                                                 Long userId, boolean isSeller, boolean isBuyer) {
+    public Slice<TransactionDTO> getUserTransactionsAfter(Specification<Transaction> specification, Long userId,
+                                                          boolean isSeller, boolean isBuyer,
+                                                          OffsetDateTime afterDate, Long afterId, int size) {
         User user = userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User not found"));
-        Specification<Transaction> withBuyingOrder = (root, criteriaQuery, criteriaBuilder) ->
-                criteriaBuilder.equal(root
-                        .join("buyingOrder")
-                        .join("user")
-                        .get("id"), user.getId());
-
-        Specification<Transaction> withSellingOrder = (root, criteriaQuery, criteriaBuilder) ->
-                criteriaBuilder.equal(root
-                        .join("sellingOrder")
-                        .join("user")
-                        .get("id"), user.getId());
-
-        return getTransactions(pageable, specification, isSeller, isBuyer, withBuyingOrder, withSellingOrder);
-    }
-
-    private void updateOrder(Order order) {
-        Order ord = orderRepository.findById(order.getId())
-                .orElseThrow(() -> new EntityNotFoundException("Order not found"));
-        if (order.getRemainingAmount() == 0) {
-            orderRepository.delete(ord);
-        } else {
-            orderRepository.save(order);
+        Specification<Transaction> userSpecification = getTransactionsSpecification(specification, isSeller, isBuyer,
+                userWithIdIsBuyer(user.getId()), userWithIdIsSeller(user.getId()));
+        if (userSpecification == null) {
+            return new SliceImpl<>(Collections.emptyList());
         }
+        return getTransactionsAfter(userSpecification, afterDate, afterId, size, true);
     }
 
-    private void exchangeMoneyAndStocks(Order buyingOrder, Order sellingOrder, int amount, BigDecimal pricePerUnit) {
-        Resource sellerResource = resourceRepository.findByUserAndStock(sellingOrder.getUser(), sellingOrder.getStock())
-                .orElseThrow(() -> new EntityNotFoundException("Data in database not consistent."));
-
-        Resource buyerResource = resourceRepository.findByUserAndStock(buyingOrder.getUser(), buyingOrder.getStock())
-                .orElseGet(() -> Resource.builder()
-                        .amount(0)
-                        .stock(buyingOrder.getStock())
-                        .user(buyingOrder.getUser())
-                        .build());
-        sellerResource.setAmount(sellerResource.getAmount() - amount);
-        sellerResource.getUser().setMoney(sellerResource.getUser().getMoney()
-                .add(pricePerUnit.multiply(BigDecimal.valueOf(amount))));
-        buyerResource.setAmount(buyerResource.getAmount() + amount);
-        buyerResource.getUser().setMoney(buyerResource.getUser().getMoney()
-                .subtract(pricePerUnit.multiply(BigDecimal.valueOf(amount))));
-        if (sellerResource.getAmount() == 0) {
-            resourceRepository.delete(sellerResource);
-            User seller = sellerResource.getUser();
-            seller.getUserStocks().remove(sellerResource);
-            userRepository.save(seller);
-        } else {
-            resourceRepository.save(sellerResource);
-        }
-        resourceRepository.save(buyerResource);
+    private Page<TransactionDTO> getTransactions(Pageable pageable, Specification<Transaction> specification,
+                                                 boolean isSeller, boolean isBuyer,
+                                                 Specification<Transaction> userIsBuyer,
+                                                 Specification<Transaction> userIsSeller, boolean includeUsers) {
+        Specification<Transaction> userSpecification =
+                getTransactionsSpecification(specification, isSeller, isBuyer, userIsBuyer, userIsSeller);
+        return userSpecification == null ? Page.empty() :
+                transactionRepository.findAllDTOs(userSpecification, pageable, includeUsers);
     }
 
-    private Page<Transaction> getTransactions(Pageable pageable, Specification<Transaction> specification,
-                                              boolean isSeller, boolean isBuyer, Specification<Transaction> userIsBuyer,
-                                              Specification<Transaction> userIsSeller) {
+    private Specification<Transaction> getTransactionsSpecification(Specification<Transaction> specification,
+                                                                    boolean isSeller, boolean isBuyer,
+                                                                    Specification<Transaction> userIsBuyer,
+                                                                    Specification<Transaction> userIsSeller) {
         Specification<Transaction> spec1 = Specification.where(userIsBuyer).and(specification);
         Specification<Transaction> spec2 = Specification.where(userIsSeller).and(specification);
 
         if (isBuyer && isSeller) {
-            return transactionRepository.findAll(Specification.where(spec1).or(spec2), pageable);
+            return Specification.where(spec1).or(spec2);
         } else if (isBuyer) {
-            return transactionRepository.findAll(Specification.where(spec1), pageable);
+            return Specification.where(spec1);
         } else if (isSeller) {
-            return transactionRepository.findAll(Specification.where(spec2), pageable);
+            return Specification.where(spec2);
         } else {
-            return Page.empty();
+            return null;
         }
     }
 
+    private Slice<TransactionDTO> getTransactionsAfter(Specification<Transaction> specification,
+                                                       OffsetDateTime afterDate, Long afterId, int size,
+                                                       boolean includeUsers) {
+        Specification<Transaction> after;
+        if (afterDate == null && afterId == null) {
+            after = null;
+        } else if (afterDate == null || afterId == null) {
+            throw new InvalidInputDataException("Data validation",
+                    Map.of("afterDate", "Parameters afterDate and afterId must be given together."));
+        } else {
+            after = (root, criteriaQuery, criteriaBuilder) -> criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(root.get("date"), afterDate),
+                    criteriaBuilder.and(criteriaBuilder.equal(root.get("date"), afterDate),
+                            criteriaBuilder.greaterThan(root.get("id"), afterId)));
+        }
+        Sort sort = Sort.by("date", "id");
+        List<TransactionDTO> transactions = new ArrayList<>(transactionRepository.findAllDTOs(
+                Specification.where(specification).and(after), sort, size + 1, includeUsers));
+        boolean hasNext = transactions.size() > size;
+        if (hasNext) {
+            transactions.remove(size);
+        }
+        return new SliceImpl<>(transactions, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    private boolean isAdmin() {
+        return SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    private Specification<Transaction> userIsBuyer(String principal) {
+        return (root, criteriaQuery, criteriaBuilder) ->
+                criteriaBuilder.equal(root
+                        .join("buyingOrder")
+                        .join("user")
+                        .get("email"), principal);
+    }
+
+    private Specification<Transaction> userIsSeller(String principal) {
+        return (root, criteriaQuery, criteriaBuilder) ->
+                criteriaBuilder.equal(root
+                        .join("sellingOrder")
+                        .join("user")
+                        .get("email"), principal);
+    }
+
+    private Specification<Transaction> userWithIdIsBuyer(Long userId) {
+        return (root, criteriaQuery, criteriaBuilder) ->
+                criteriaBuilder.equal(root
+                        .join("buyingOrder")
+                        .join("user")
+                        .get("id"), userId);
+    }
+
+    private Specification<Transaction> userWithIdIsSeller(Long userId) {
+        return (root, criteriaQuery, criteriaBuilder) ->
+                criteriaBuilder.equal(root
+                        .join("sellingOrder")
+                        .join("user")
+                        .get("id"), userId);
+    }
+
 }
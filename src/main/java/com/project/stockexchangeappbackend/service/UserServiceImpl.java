@@ -11,7 +11,6 @@ import com.project.stockexchangeappbackend.exception.InvalidInputDataException;
 import com.project.stockexchangeappbackend.repository.AllOrdersRepository;
 import com.project.stockexchangeappbackend.repository.ResourceRepository;
 import com.project.stockexchangeappbackend.repository.UserRepository;
-import com.project.stockexchangeappbackend.security.BannedAccessTokens;
 import com.project.stockexchangeappbackend.util.timemeasuring.LogicBusinessMeasureTime;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,7 +41,8 @@ public class UserServiceImpl implements UserService {
     private final ResourceRepository resourceRepository;
     private final PasswordEncoder passwordEncoder;
     private final TagService tagService;
-    private final BannedAccessTokens bannedAccessTokens;
+    private final BannedUserService bannedUserService;
+    private final PrincipalCacheService principalCacheService;
 
     @Override
     @Transactional
@@ -132,7 +132,7 @@ public class UserServiceImpl implements UserService {
             if (!editUserDetailsDTO.getIsActive()) {
                 errors.put("isActive", List.of("Admin cannot be blocked."));
             }
-            if (!allOrdersRepository.countByUser(user).equals(0L)) {
+            if (allOrdersRepository.existsByUser(user)) {
                 errors.putIfAbsent("role", new ArrayList<>());
                 errors.get("role").add("Admin cannot possess any orders.");
             }
@@ -145,13 +145,14 @@ public class UserServiceImpl implements UserService {
             throw new InvalidInputDataException("Input Validation.", errors);
         }
         if (!editUserDetailsDTO.getIsActive() || !editUserDetailsDTO.getRole().equals(user.getRole())) {
-            bannedAccessTokens.addUser(user.getEmail());
+            bannedUserService.banUser(user.getEmail());
         }
         user.setFirstName(editUserDetailsDTO.getFirstName().trim());
         user.setLastName(editUserDetailsDTO.getLastName().trim());
         user.setRole(editUserDetailsDTO.getRole());
         user.setIsActive(editUserDetailsDTO.getIsActive());
         userRepository.save(user);
+        principalCacheService.evict(user.getEmail());
         log.info("User " + user.getEmail() + " was successfully updated.");
     }
 
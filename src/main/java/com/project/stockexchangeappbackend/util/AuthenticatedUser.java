@@ -0,0 +1,16 @@
+package com.project.stockexchangeappbackend.util;
+
+import com.project.stockexchangeappbackend.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser {
+
+    private final Long id;
+    private final String email;
+    private final Role role;
+    private final String tagName;
+
+}
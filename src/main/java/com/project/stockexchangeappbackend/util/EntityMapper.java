@@ -0,0 +1,95 @@
+package com.project.stockexchangeappbackend.util;
+
+import com.project.stockexchangeappbackend.dto.*;
+import com.project.stockexchangeappbackend.entity.*;
+
+public final class EntityMapper {
+
+    private EntityMapper() {
+    }
+
+    public static StockDTO toStockDTO(Stock stock) {
+        return StockDTO.builder()
+                .id(stock.getId())
+                .name(stock.getName())
+                .abbreviation(stock.getAbbreviation())
+                .currentPrice(stock.getCurrentPrice())
+                .amount(stock.getAmount())
+                .priceChangeRatio(stock.getPriceChangeRatio())
+                .tag(getTagName(stock.getTag()))
+                .build();
+    }
+
+    public static ResourceDTO toResourceDTO(Resource resource) {
+        Stock stock = resource.getStock();
+        return ResourceDTO.builder()
+                .id(stock.getId())
+                .name(stock.getName())
+                .abbreviation(stock.getAbbreviation())
+                .amount(resource.getAmount())
+                .amountAvailableForSale(resource.getAmount() - resource.getReservedAmount())
+                .currentPrice(stock.getCurrentPrice())
+                .build();
+    }
+
+    public static UserDTO toUserDTO(User user) {
+        return UserDTO.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .money(user.getMoney())
+                .tag(getTagName(user.getTag()))
+                .isActive(user.getIsActive())
+                .build();
+    }
+
+    public static OrderDTO toOrderDTO(ArchivedOrder order) {
+        return OrderDTO.builder()
+                .id(order.getId())
+                .amount(order.getAmount())
+                .remainingAmount(order.getRemainingAmount())
+                .orderType(order.getOrderType())
+                .priceType(order.getPriceType())
+                .price(order.getPrice())
+                .dateCreation(order.getDateCreation())
+                .dateExpiration(order.getDateExpiration())
+                .dateClosing(order.getDateClosing())
+                .stock(order.getStock() == null ? null : toStockDTO(order.getStock()))
+                .user(order.getUser() == null ? null : toUserDTO(order.getUser()))
+                .build();
+    }
+
+    public static TransactionDTO toTransactionDTO(Transaction transaction) {
+        return TransactionDTO.builder()
+                .id(transaction.getId())
+                .date(transaction.getDate())
+                .amount(transaction.getAmount())
+                .unitPrice(transaction.getUnitPrice())
+                .buyingOrder(transaction.getBuyingOrder() == null ? null : toOrderDTO(transaction.getBuyingOrder()))
+                .sellingOrder(transaction.getSellingOrder() == null ? null : toOrderDTO(transaction.getSellingOrder()))
+                .build();
+    }
+
+    public static ArchivedOrder toArchivedOrder(Order order) {
+        return ArchivedOrder.builder()
+                .id(order.getId())
+                .user(order.getUser())
+                .stock(order.getStock())
+                .amount(order.getAmount())
+                .remainingAmount(order.getRemainingAmount())
+                .orderType(order.getOrderType())
+                .priceType(order.getPriceType())
+                .price(order.getPrice())
+                .dateCreation(order.getDateCreation())
+                .dateExpiration(order.getDateExpiration())
+                .dateClosing(order.getDateClosing())
+                .build();
+    }
+
+    private static String getTagName(Tag tag) {
+        return tag == null ? null : tag.getName();
+    }
+
+}
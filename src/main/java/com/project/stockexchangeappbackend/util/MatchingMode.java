@@ -0,0 +1,6 @@
+package com.project.stockexchangeappbackend.util;
+
+public enum MatchingMode {
+    BATCH,
+    CONTINUOUS
+}
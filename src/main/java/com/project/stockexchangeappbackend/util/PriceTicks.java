@@ -0,0 +1,25 @@
+package com.project.stockexchangeappbackend.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class PriceTicks {
+
+    public static final int SCALE = 2;
+
+    private PriceTicks() {
+    }
+
+    public static long toTicks(BigDecimal price) {
+        return price.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long ticks) {
+        return BigDecimal.valueOf(ticks, SCALE);
+    }
+
+    public static long midpoint(long first, long second) {
+        return (first >> 1) + (second >> 1) + (((first & 1) + (second & 1) + 1) >> 1);
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.project.stockexchangeappbackend.util;
+
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class SchedulerCycle {
+
+    private static final ThreadLocal<SchedulerCycle> CURRENT = new ThreadLocal<>();
+
+    private final SchedulerType type;
+    private final OffsetDateTime startTimestamp;
+    private final long start;
+    private long executionTime;
+    private final AtomicInteger stocks = new AtomicInteger();
+    private final AtomicLong ordersScanned = new AtomicLong();
+    private final AtomicLong fills = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong databaseTime = new AtomicLong();
+
+    private SchedulerCycle(SchedulerType type) {
+        this.type = type;
+        this.startTimestamp = OffsetDateTime.now(ZoneId.systemDefault());
+        this.start = System.nanoTime();
+    }
+
+    public static SchedulerCycle start(SchedulerType type) {
+        SchedulerCycle cycle = new SchedulerCycle(type);
+        CURRENT.set(cycle);
+        return cycle;
+    }
+
+    public static SchedulerCycle current() {
+        return CURRENT.get();
+    }
+
+    public static SchedulerCycle bind(SchedulerCycle cycle) {
+        SchedulerCycle previous = CURRENT.get();
+        if (cycle == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(cycle);
+        }
+        return previous;
+    }
+
+    public static void recordStocks(int count) {
+        SchedulerCycle cycle = CURRENT.get();
+        if (cycle != null) {
+            cycle.stocks.addAndGet(count);
+        }
+    }
+
+    public static void recordOrdersScanned(int count) {
+        SchedulerCycle cycle = CURRENT.get();
+        if (cycle != null) {
+            cycle.ordersScanned.addAndGet(count);
+        }
+    }
+
+    public static void recordFills(int count) {
+        SchedulerCycle cycle = CURRENT.get();
+        if (cycle != null) {
+            cycle.fills.addAndGet(count);
+        }
+    }
+
+    public static void recordRetry() {
+        SchedulerCycle cycle = CURRENT.get();
+        if (cycle != null) {
+            cycle.retries.incrementAndGet();
+        }
+    }
+
+    public static void recordDatabaseTime(long time) {
+        SchedulerCycle cycle = CURRENT.get();
+        if (cycle != null) {
+            cycle.databaseTime.addAndGet(time);
+        }
+    }
+
+    public SchedulerCycle finish() {
+        executionTime = System.nanoTime() - start;
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        return this;
+    }
+
+}
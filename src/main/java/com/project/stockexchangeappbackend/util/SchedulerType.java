@@ -0,0 +1,5 @@
+package com.project.stockexchangeappbackend.util;
+
+public enum SchedulerType {
+    STOCK_EXCHANGE_ALGORITHM, STOCK_PRICE_FIXING, STOCK_PRICE_CHANGE_RATIO
+}
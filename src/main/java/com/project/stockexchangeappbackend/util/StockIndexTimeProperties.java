@@ -7,10 +7,26 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @Data
 public class StockIndexTimeProperties {
 
+    private Integer algorithmCycle;
     private Integer maxPriceHistoryPeriod;
     private Integer fixingPriceCycle;
     private Integer stockPriceChangeRatioPeriod;
+    private Integer reservedAmountVerificationInterval;
     private Integer systemResourcesMonitorInterval;
     private Integer systemResourcesMonitorHistory;
+    private Boolean systemResourcesMonitorFlush;
+    private Integer systemResourcesMonitorFlushInterval;
+    private MatchingMode matchingMode;
+    private Integer executorThreads;
+    private Integer stockCacheSize;
+    private Integer schedulerCycleHistory;
+    private Integer orderExpiryTick;
+    private Integer inactiveOrdersSweepInterval;
+    private Integer partitionMaintenanceInterval;
+    private Integer partitionsAhead;
+    private Integer banSynchronizationInterval;
+    private Integer principalCacheSize;
+    private Integer principalCacheTtl;
+    private Integer exportRequestTimeout;
 
 }
@@ -0,0 +1,19 @@
+package com.project.stockexchangeappbackend.util;
+
+import org.springframework.http.MediaType;
+
+public enum TransactionExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    private final MediaType mediaType;
+
+    TransactionExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.project.stockexchangeappbackend.util.candle;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@AllArgsConstructor
+public class Candle {
+
+    private final long bucket;
+    private final long open;
+    private final long min;
+    private final long max;
+    private final long close;
+    private final OffsetDateTime closeTime;
+
+}
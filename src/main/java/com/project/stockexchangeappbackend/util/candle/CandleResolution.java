@@ -0,0 +1,30 @@
+package com.project.stockexchangeappbackend.util.candle;
+
+public enum CandleResolution {
+
+    ONE_MINUTE(1),
+    FIVE_MINUTES(5),
+    ONE_HOUR(60),
+    ONE_DAY(1440);
+
+    private final int minutes;
+
+    CandleResolution(int minutes) {
+        this.minutes = minutes;
+    }
+
+    public int getMinutes() {
+        return minutes;
+    }
+
+    public static CandleResolution coarsestFitting(int intervalMinutes) {
+        CandleResolution result = ONE_MINUTE;
+        for (CandleResolution resolution : values()) {
+            if (intervalMinutes % resolution.minutes == 0) {
+                result = resolution;
+            }
+        }
+        return result;
+    }
+
+}
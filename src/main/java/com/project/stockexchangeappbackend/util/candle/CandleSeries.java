@@ -0,0 +1,82 @@
+package com.project.stockexchangeappbackend.util.candle;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CandleSeries {
+
+    private final long bucketMillis;
+    private final long[] buckets;
+    private final long[] opens;
+    private final long[] mins;
+    private final long[] maxes;
+    private final long[] closes;
+    private final OffsetDateTime[] closeTimes;
+    private int head;
+    private int size;
+
+    public CandleSeries(CandleResolution resolution, int capacity) {
+        this.bucketMillis = resolution.getMinutes() * 60000L;
+        this.buckets = new long[capacity];
+        this.opens = new long[capacity];
+        this.mins = new long[capacity];
+        this.maxes = new long[capacity];
+        this.closes = new long[capacity];
+        this.closeTimes = new OffsetDateTime[capacity];
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    public void add(OffsetDateTime timestamp, long priceTicks) {
+        long bucket = Math.floorDiv(timestamp.toInstant().toEpochMilli(), bucketMillis);
+        if (size > 0) {
+            int newest = index(size - 1);
+            if (bucket < buckets[newest]) {
+                return;
+            }
+            if (bucket == buckets[newest]) {
+                mins[newest] = Math.min(mins[newest], priceTicks);
+                maxes[newest] = Math.max(maxes[newest], priceTicks);
+                closes[newest] = priceTicks;
+                closeTimes[newest] = timestamp;
+                return;
+            }
+        }
+        if (size == buckets.length) {
+            closeTimes[head] = null;
+            head = (head + 1) % buckets.length;
+            size--;
+        }
+        int slot = index(size);
+        buckets[slot] = bucket;
+        opens[slot] = priceTicks;
+        mins[slot] = priceTicks;
+        maxes[slot] = priceTicks;
+        closes[slot] = priceTicks;
+        closeTimes[slot] = timestamp;
+        size++;
+    }
+
+    public List<Candle> getCandles(OffsetDateTime from, OffsetDateTime to) {
+        long fromBucket = from == null ? Long.MIN_VALUE :
+                Math.floorDiv(from.toInstant().toEpochMilli(), bucketMillis);
+        long toBucket = to == null ? Long.MAX_VALUE : Math.floorDiv(to.toInstant().toEpochMilli(), bucketMillis);
+        List<Candle> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int slot = index(i);
+            if (buckets[slot] >= fromBucket && buckets[slot] <= toBucket) {
+                result.add(new Candle(buckets[slot], opens[slot], mins[slot], maxes[slot], closes[slot],
+                        closeTimes[slot]));
+            }
+        }
+        return result;
+    }
+
+    private int index(int offset) {
+        return (head + offset) % buckets.length;
+    }
+
+}
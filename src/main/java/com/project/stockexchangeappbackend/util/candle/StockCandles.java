@@ -0,0 +1,76 @@
+package com.project.stockexchangeappbackend.util.candle;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class StockCandles {
+
+    private final Map<CandleResolution, CandleSeries> series = new EnumMap<>(CandleResolution.class);
+    private List<PendingValue> pendingValues = new ArrayList<>();
+    private boolean failed;
+
+    public StockCandles(int historyMinutes) {
+        for (CandleResolution resolution : CandleResolution.values()) {
+            series.put(resolution, new CandleSeries(resolution, historyMinutes / resolution.getMinutes() + 2));
+        }
+    }
+
+    public synchronized void add(OffsetDateTime timestamp, long priceTicks) {
+        if (pendingValues != null) {
+            pendingValues.add(new PendingValue(timestamp, priceTicks));
+        } else {
+            addToSeries(timestamp, priceTicks);
+        }
+    }
+
+    public synchronized void addLoaded(OffsetDateTime timestamp, long priceTicks) {
+        addToSeries(timestamp, priceTicks);
+    }
+
+    public synchronized void finishLoading() {
+        pendingValues.forEach(value -> addToSeries(value.timestamp, value.priceTicks));
+        pendingValues = null;
+        notifyAll();
+    }
+
+    public synchronized void failLoading() {
+        failed = true;
+        notifyAll();
+    }
+
+    public synchronized List<Candle> getCandles(CandleResolution resolution, OffsetDateTime from,
+                                                OffsetDateTime to) {
+        while (pendingValues != null) {
+            if (failed) {
+                throw new IllegalStateException("Candles of stock could not be loaded.");
+            }
+            try {
+                wait();
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Waiting for candles of stock was interrupted.", exc);
+            }
+        }
+        return series.get(resolution).getCandles(from, to);
+    }
+
+    private void addToSeries(OffsetDateTime timestamp, long priceTicks) {
+        series.values().forEach(candleSeries -> candleSeries.add(timestamp, priceTicks));
+    }
+
+    private static class PendingValue {
+
+        private final OffsetDateTime timestamp;
+        private final long priceTicks;
+
+        private PendingValue(OffsetDateTime timestamp, long priceTicks) {
+            this.timestamp = timestamp;
+            this.priceTicks = priceTicks;
+        }
+
+    }
+
+}
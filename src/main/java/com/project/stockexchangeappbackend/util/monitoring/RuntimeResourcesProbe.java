@@ -0,0 +1,121 @@
+package com.project.stockexchangeappbackend.util.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Component
+@RequiredArgsConstructor
+public class RuntimeResourcesProbe {
+
+    public static final int UNAVAILABLE = -1;
+
+    private final DataSource dataSource;
+    private final ApplicationContext applicationContext;
+    // Bytes allocated by threads that died since the last sample stay in the total, so it never drops.
+    private Map<Long, Long> threadAllocatedBytes = new HashMap<>();
+    private long allocatedBytes;
+
+    public long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, garbageCollector.getCollectionCount());
+        }
+        return count;
+    }
+
+    public long getGcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, garbageCollector.getCollectionTime());
+        }
+        return time;
+    }
+
+    public synchronized long getAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return UNAVAILABLE;
+        }
+        com.sun.management.ThreadMXBean allocationThreads = (com.sun.management.ThreadMXBean) threads;
+        if (!allocationThreads.isThreadAllocatedMemorySupported()
+                || !allocationThreads.isThreadAllocatedMemoryEnabled()) {
+            return UNAVAILABLE;
+        }
+        long[] threadIds = threads.getAllThreadIds();
+        long[] currentAllocatedBytes = allocationThreads.getThreadAllocatedBytes(threadIds);
+        Map<Long, Long> currentThreadAllocatedBytes = new HashMap<>();
+        for (int i = 0; i < threadIds.length; i++) {
+            if (currentAllocatedBytes[i] < 0) {
+                continue;
+            }
+            long previousAllocatedBytes = threadAllocatedBytes.getOrDefault(threadIds[i], 0L);
+            allocatedBytes += Math.max(0, currentAllocatedBytes[i] - previousAllocatedBytes);
+            currentThreadAllocatedBytes.put(threadIds[i], currentAllocatedBytes[i]);
+        }
+        threadAllocatedBytes = currentThreadAllocatedBytes;
+        return allocatedBytes;
+    }
+
+    public int getThreadCount() {
+        return ManagementFactory.getThreadMXBean().getThreadCount();
+    }
+
+    public int getPeakThreadCount() {
+        return ManagementFactory.getThreadMXBean().getPeakThreadCount();
+    }
+
+    public int getActiveConnections() {
+        HikariPoolMXBean pool = getConnectionPool();
+        return pool == null ? UNAVAILABLE : pool.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        HikariPoolMXBean pool = getConnectionPool();
+        return pool == null ? UNAVAILABLE : pool.getIdleConnections();
+    }
+
+    public int getPendingConnectionThreads() {
+        HikariPoolMXBean pool = getConnectionPool();
+        return pool == null ? UNAVAILABLE : pool.getThreadsAwaitingConnection();
+    }
+
+    public int getBusyServerThreads() {
+        if (!(applicationContext instanceof ServletWebServerApplicationContext)) {
+            return UNAVAILABLE;
+        }
+        WebServer webServer = ((ServletWebServerApplicationContext) applicationContext).getWebServer();
+        if (!(webServer instanceof TomcatWebServer)) {
+            return UNAVAILABLE;
+        }
+        Executor executor = ((TomcatWebServer) webServer).getTomcat().getConnector().getProtocolHandler()
+                .getExecutor();
+        return executor instanceof ThreadPoolExecutor ?
+                ((ThreadPoolExecutor) executor).getActiveCount() : UNAVAILABLE;
+    }
+
+    private HikariPoolMXBean getConnectionPool() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ?
+                    dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean() : null;
+        } catch (SQLException exc) {
+            return null;
+        }
+    }
+
+}
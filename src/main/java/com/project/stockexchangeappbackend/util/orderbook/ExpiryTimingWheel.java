@@ -0,0 +1,127 @@
+package com.project.stockexchangeappbackend.util.orderbook;
+
+import com.project.stockexchangeappbackend.entity.Order;
+
+import java.util.*;
+
+public class ExpiryTimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final List<List<List<Entry>>> wheels;
+    private final Map<Long, Entry> entries;
+    private final List<Entry> overdue;
+    private long currentTick;
+
+    public ExpiryTimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.wheels = new ArrayList<>(LEVELS);
+        for (int level = 0; level < LEVELS; level++) {
+            List<List<Entry>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new ArrayList<>());
+            }
+            wheels.add(slots);
+        }
+        this.entries = new HashMap<>();
+        this.overdue = new ArrayList<>();
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    public synchronized void add(Order order) {
+        long expirationMillis = order.getDateExpiration().toInstant().toEpochMilli();
+        Entry entry = new Entry(order, (expirationMillis + tickMillis - 1) / tickMillis);
+        entries.put(order.getId(), entry);
+        schedule(entry);
+    }
+
+    public synchronized void remove(Long orderId) {
+        entries.remove(orderId);
+    }
+
+    public synchronized void clear() {
+        wheels.forEach(slots -> slots.forEach(List::clear));
+        entries.clear();
+        overdue.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized List<Order> advance(long nowMillis) {
+        List<Order> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    List<Entry> slot = wheels.get(level).get((int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                    List<Entry> cascaded = new ArrayList<>(slot);
+                    slot.clear();
+                    cascaded.stream()
+                            .filter(entry -> entries.get(entry.getOrder().getId()) == entry)
+                            .forEach(this::schedule);
+                }
+            }
+            List<Entry> slot = wheels.get(0).get((int) currentTick & SLOT_MASK);
+            slot.forEach(entry -> expire(entry, expired));
+            slot.clear();
+        }
+        List<Entry> due = new ArrayList<>(overdue);
+        overdue.clear();
+        due.forEach(entry -> expire(entry, expired));
+        return expired;
+    }
+
+    private void schedule(Entry entry) {
+        long delay = entry.getExpirationTick() - currentTick;
+        if (delay <= 0) {
+            overdue.add(entry);
+            return;
+        }
+        long tick = delay < MAX_DELAY ? entry.getExpirationTick() : currentTick + MAX_DELAY - 1;
+        int level = 0;
+        while (tick - currentTick >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        wheels.get(level).get((int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK).add(entry);
+    }
+
+    private void expire(Entry entry, List<Order> expired) {
+        if (entries.get(entry.getOrder().getId()) == entry) {
+            if (entry.getExpirationTick() <= currentTick) {
+                entries.remove(entry.getOrder().getId());
+                expired.add(entry.getOrder());
+            } else {
+                schedule(entry);
+            }
+        }
+    }
+
+    private static class Entry {
+
+        private final Order order;
+        private final long expirationTick;
+
+        private Entry(Order order, long expirationTick) {
+            this.order = order;
+            this.expirationTick = expirationTick;
+        }
+
+        private Order getOrder() {
+            return order;
+        }
+
+        private long getExpirationTick() {
+            return expirationTick;
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.project.stockexchangeappbackend.util.orderbook;
+
+import com.project.stockexchangeappbackend.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@AllArgsConstructor
+public class Fill {
+
+    private final Order buyingOrder;
+    private final Order sellingOrder;
+    private final int amount;
+    private final long unitPriceTicks;
+    private final OffsetDateTime date;
+
+}
@@ -0,0 +1,84 @@
+package com.project.stockexchangeappbackend.util.orderbook;
+
+import com.project.stockexchangeappbackend.entity.Order;
+import com.project.stockexchangeappbackend.entity.OrderType;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+public class OrderBook {
+
+    private final Long stockId;
+    private final NavigableMap<Long, Map<Long, OrderBookEntry>> buyingOrders;
+    private final NavigableMap<Long, Map<Long, OrderBookEntry>> sellingOrders;
+    private final Map<Long, OrderBookEntry> orders;
+
+    public OrderBook(Long stockId) {
+        this.stockId = stockId;
+        this.buyingOrders = new TreeMap<>();
+        this.sellingOrders = new TreeMap<>();
+        this.orders = new HashMap<>();
+    }
+
+    public Long getStockId() {
+        return stockId;
+    }
+
+    public synchronized void add(Order order) {
+        remove(order.getId());
+        OrderBookEntry entry = new OrderBookEntry(order);
+        orders.put(order.getId(), entry);
+        getSide(order.getOrderType())
+                .computeIfAbsent(entry.getPriceTicks(), price -> new LinkedHashMap<>())
+                .put(order.getId(), entry);
+    }
+
+    public synchronized Optional<Order> remove(Long orderId) {
+        OrderBookEntry entry = orders.remove(orderId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        NavigableMap<Long, Map<Long, OrderBookEntry>> side = getSide(entry.getOrder().getOrderType());
+        Map<Long, OrderBookEntry> priceLevel = side.get(entry.getPriceTicks());
+        if (priceLevel != null) {
+            priceLevel.remove(orderId);
+            if (priceLevel.isEmpty()) {
+                side.remove(entry.getPriceTicks());
+            }
+        }
+        return Optional.of(entry.getOrder());
+    }
+
+    public synchronized List<OrderBookEntry> getActiveBuyingOrders(OffsetDateTime now) {
+        return collectActiveOrders(buyingOrders, now);
+    }
+
+    public synchronized List<OrderBookEntry> getActiveSellingOrdersByPriceLessThanEqual(long maximalPriceTicks,
+                                                                                       OffsetDateTime now) {
+        return collectActiveOrders(sellingOrders.headMap(maximalPriceTicks, true), now);
+    }
+
+    public synchronized boolean isEmpty() {
+        return orders.isEmpty();
+    }
+
+    public synchronized int size() {
+        return orders.size();
+    }
+
+    private NavigableMap<Long, Map<Long, OrderBookEntry>> getSide(OrderType orderType) {
+        return orderType == OrderType.BUYING_ORDER ? buyingOrders : sellingOrders;
+    }
+
+    private List<OrderBookEntry> collectActiveOrders(NavigableMap<Long, Map<Long, OrderBookEntry>> side,
+                                                     OffsetDateTime now) {
+        List<OrderBookEntry> result = new ArrayList<>();
+        side.values().forEach(priceLevel -> priceLevel.values().stream()
+                .filter(entry -> entry.getOrder().getDateClosing() == null
+                        && entry.getOrder().getRemainingAmount() > 0
+                        && entry.getOrder().getDateExpiration().isAfter(now))
+                .forEach(result::add));
+        return result;
+    }
+
+}
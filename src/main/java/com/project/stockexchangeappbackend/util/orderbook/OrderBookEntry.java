@@ -0,0 +1,18 @@
+package com.project.stockexchangeappbackend.util.orderbook;
+
+import com.project.stockexchangeappbackend.entity.Order;
+import com.project.stockexchangeappbackend.util.PriceTicks;
+import lombok.Getter;
+
+@Getter
+public class OrderBookEntry {
+
+    private final Order order;
+    private final long priceTicks;
+
+    public OrderBookEntry(Order order) {
+        this.order = order;
+        this.priceTicks = PriceTicks.toTicks(order.getPrice());
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.project.stockexchangeappbackend.util.orderbook;
+
+import com.project.stockexchangeappbackend.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderCreatedEvent {
+
+    private final Order order;
+
+}
@@ -0,0 +1,97 @@
+package com.project.stockexchangeappbackend.util.pricing;
+
+import com.project.stockexchangeappbackend.util.PriceTicks;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+public class PriceWindow {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int requiredAmount;
+    private OffsetDateTime oldestAdded;
+    private long[] prices;
+    private int[] amounts;
+    private int head;
+    private int size;
+    private long priceSum;
+    private long amountSum;
+
+    public PriceWindow(int requiredAmount) {
+        this.requiredAmount = requiredAmount;
+        this.prices = new long[INITIAL_CAPACITY];
+        this.amounts = new int[INITIAL_CAPACITY];
+    }
+
+    public int getRequiredAmount() {
+        return requiredAmount;
+    }
+
+    public synchronized void add(long priceTicks, int amount, OffsetDateTime date) {
+        if (oldestAdded == null) {
+            oldestAdded = date;
+        }
+        append(priceTicks, amount);
+    }
+
+    public synchronized void seedOldest(long priceTicks, int amount, OffsetDateTime date) {
+        if (oldestAdded != null && !date.isBefore(oldestAdded)) {
+            return;
+        }
+        if (size == prices.length) {
+            grow();
+        }
+        head = Math.floorMod(head - 1, prices.length);
+        prices[head] = priceTicks;
+        amounts[head] = amount;
+        size++;
+        priceSum += priceTicks;
+        amountSum += amount;
+    }
+
+    public synchronized boolean isFull() {
+        return amountSum >= requiredAmount;
+    }
+
+    public synchronized Optional<BigDecimal> getPrice() {
+        if (size == 0 || requiredAmount <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(PriceTicks.toBigDecimal(priceSum)
+                .divide(BigDecimal.valueOf(size), PriceTicks.SCALE, RoundingMode.HALF_UP));
+    }
+
+    private void append(long priceTicks, int amount) {
+        if (size == prices.length) {
+            grow();
+        }
+        int tail = (head + size) % prices.length;
+        prices[tail] = priceTicks;
+        amounts[tail] = amount;
+        size++;
+        priceSum += priceTicks;
+        amountSum += amount;
+        while (size > 1 && amountSum - amounts[head] >= requiredAmount) {
+            priceSum -= prices[head];
+            amountSum -= amounts[head];
+            head = (head + 1) % prices.length;
+            size--;
+        }
+    }
+
+    private void grow() {
+        long[] newPrices = new long[prices.length * 2];
+        int[] newAmounts = new int[amounts.length * 2];
+        for (int i = 0; i < size; i++) {
+            newPrices[i] = prices[(head + i) % prices.length];
+            newAmounts[i] = amounts[(head + i) % amounts.length];
+        }
+        prices = newPrices;
+        amounts = newAmounts;
+        head = 0;
+    }
+
+}
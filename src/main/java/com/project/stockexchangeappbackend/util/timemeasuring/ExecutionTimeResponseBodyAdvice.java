@@ -24,8 +24,8 @@ public class ExecutionTimeResponseBodyAdvice implements ResponseBodyAdvice<Objec
     @Override
     public Object beforeBodyWrite(Object obj, MethodParameter methodParameter, MediaType mediaType, Class aClass,
                                   ServerHttpRequest serverHttpRequest, ServerHttpResponse serverHttpResponse) {
-        serverHttpResponse.getHeaders().add(DB_QUERY_EXECUTION_TIME_HEADER, processingTime.getDatabaseOperationExecutionTime().toString());
-        serverHttpResponse.getHeaders().add(BUSINESS_LOGIN_EXECUTION_TIME_HEADER, processingTime.getBusinessLogicExecutionTime().toString());
+        serverHttpResponse.getHeaders().add(DB_QUERY_EXECUTION_TIME_HEADER, String.valueOf(processingTime.getDatabaseOperationExecutionTime()));
+        serverHttpResponse.getHeaders().add(BUSINESS_LOGIN_EXECUTION_TIME_HEADER, String.valueOf(processingTime.getBusinessLogicExecutionTime()));
         return obj;
     }
 
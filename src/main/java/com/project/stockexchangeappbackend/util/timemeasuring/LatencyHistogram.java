@@ -0,0 +1,82 @@
+package com.project.stockexchangeappbackend.util.timemeasuring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of nanosecond latencies. Values below 64 ns have their own buckets, every next power of two
+ * is split into 32 buckets, so recorded values are kept with a relative error below ~3%.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final long HIGHEST_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKET_COUNT = index(HIGHEST_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalValue = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    public void record(long value) {
+        long trackedValue = Math.min(Math.max(value, 0L), HIGHEST_TRACKABLE_VALUE);
+        counts.incrementAndGet(index(trackedValue));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(trackedValue);
+        maxValue.accumulateAndGet(trackedValue, Math::max);
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0. : (double) totalValue.get() / count;
+    }
+
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            snapshot[index] = counts.get(index);
+            count += snapshot[index];
+        }
+        if (count == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100 * count));
+        long cumulativeCount = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            cumulativeCount += snapshot[index];
+            if (cumulativeCount >= rank) {
+                return Math.min(highestEquivalentValue(index), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    static int index(long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = (index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
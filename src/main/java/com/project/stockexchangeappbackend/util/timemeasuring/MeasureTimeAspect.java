@@ -1,13 +1,15 @@
 package com.project.stockexchangeappbackend.util.timemeasuring;
 
+import com.project.stockexchangeappbackend.service.MetricsService;
+import com.project.stockexchangeappbackend.util.SchedulerCycle;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.springframework.beans.factory.BeanCreationException;
-import org.springframework.context.ApplicationContext;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Aspect
 @Slf4j
@@ -16,48 +18,37 @@ import org.springframework.stereotype.Component;
 public class MeasureTimeAspect {
 
     private final ProcessingTime processingTime;
-    private final ApplicationContext appContext;
+    private final MetricsService metricsService;
 
     @Around("@annotation(LogicBusinessMeasureTime)")
     public Object measureLogicBusinessExecutionTime (ProceedingJoinPoint joinPoint) throws Throwable {
         long start = System.nanoTime();
-        Object proceed = null;
         try {
-            proceed = joinPoint.proceed();
+            return joinPoint.proceed();
+        } finally {
             long executionTime = System.nanoTime() - start;
-            processingTime.setBusinessLogicExecutionTime(executionTime);
-            return proceed;
-        } catch (BeanCreationException | IllegalStateException exc) {
-            return proceed;
-        } catch (Throwable t) {
-            if (appContext.containsBean("processingTime")) {
-                long executionTime = System.nanoTime() - start;
+            metricsService.record(MeasureTimeType.BUSINESS_LOGIC,
+                    ((MethodSignature) joinPoint.getSignature()).getMethod(), executionTime);
+            if (RequestContextHolder.getRequestAttributes() != null) {
                 processingTime.setBusinessLogicExecutionTime(executionTime);
             }
-            throw t;
         }
-
     }
 
     @Around("@annotation(DBQueryMeasureTime)")
     public Object measureDBQueryExecutionTime (ProceedingJoinPoint joinPoint) throws Throwable {
         long start = System.nanoTime();
-        Object proceed = null;
         try {
-            proceed = joinPoint.proceed();
+            return joinPoint.proceed();
+        } finally {
             long executionTime = System.nanoTime() - start;
-            processingTime.setDatabaseOperationExecutionTime(
-                    processingTime.getDatabaseOperationExecutionTime() + executionTime);
-            return proceed;
-        } catch (BeanCreationException exc) {
-            return proceed;
-        } catch (Throwable t) {
-            if (appContext.containsBean("processingTime")) {
-                long executionTime = System.nanoTime() - start;
+            metricsService.record(MeasureTimeType.DB_QUERY,
+                    ((MethodSignature) joinPoint.getSignature()).getMethod(), executionTime);
+            SchedulerCycle.recordDatabaseTime(executionTime);
+            if (RequestContextHolder.getRequestAttributes() != null) {
                 processingTime.setDatabaseOperationExecutionTime(
                         processingTime.getDatabaseOperationExecutionTime() + executionTime);
             }
-            throw t;
         }
     }
 
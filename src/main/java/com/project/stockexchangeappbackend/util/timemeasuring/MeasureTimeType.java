@@ -0,0 +1,5 @@
+package com.project.stockexchangeappbackend.util.timemeasuring;
+
+public enum MeasureTimeType {
+    BUSINESS_LOGIC, DB_QUERY
+}
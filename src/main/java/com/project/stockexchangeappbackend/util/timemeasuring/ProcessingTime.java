@@ -5,12 +5,7 @@ import lombok.Data;
 @Data
 public class ProcessingTime {
 
-    private Long databaseOperationExecutionTime;
-    private Long businessLogicExecutionTime;
-
-    public ProcessingTime () {
-        this.databaseOperationExecutionTime = 0L;
-        this.businessLogicExecutionTime = 0L;
-    }
+    private long databaseOperationExecutionTime;
+    private long businessLogicExecutionTime;
 
 }
@@ -0,0 +1,5 @@
+ALTER TABLE RESOURCES ADD CONSTRAINT RESOURCES_USER_ID_STOCK_ID_KEY
+    UNIQUE (USER_ID, STOCK_ID);
+
+ALTER TABLE RESOURCES ADD CONSTRAINT RESOURCES_AMOUNT_CHECK
+    CHECK (AMOUNT >= 0);
@@ -0,0 +1 @@
+CREATE INDEX TRANSACTIONS_DATE_ID_INDEX ON TRANSACTIONS (DATE, ID);
@@ -0,0 +1,10 @@
+ALTER TABLE SYSTEM_RESOURCES_MONITOR
+    ADD COLUMN GC_COUNT                 bigint,
+    ADD COLUMN GC_TIME                  bigint,
+    ADD COLUMN ALLOCATED_BYTES          bigint,
+    ADD COLUMN THREAD_COUNT             integer,
+    ADD COLUMN PEAK_THREAD_COUNT        integer,
+    ADD COLUMN DB_ACTIVE_CONNECTIONS    integer,
+    ADD COLUMN DB_IDLE_CONNECTIONS      integer,
+    ADD COLUMN DB_PENDING_THREADS       integer,
+    ADD COLUMN SERVER_BUSY_THREADS      integer;
@@ -0,0 +1,5 @@
+ALTER TABLE RESOURCES ADD COLUMN RESERVED_AMOUNT INTEGER NOT NULL DEFAULT 0;
+
+UPDATE RESOURCES r SET RESERVED_AMOUNT = (
+    SELECT COALESCE(SUM(o.REMAINING_AMOUNT), 0) FROM ORDERS o
+    WHERE o.USER_ID = r.USER_ID AND o.STOCK_ID = r.STOCK_ID AND o.TYPE = 'SELLING_ORDER' AND o.DATE_CLOSING IS NULL);
@@ -0,0 +1,13 @@
+CREATE INDEX ORDERS_OPEN_STOCK_ID_TYPE_PRICE_INDEX ON ORDERS (STOCK_ID, TYPE, PRICE, DATE_EXPIRATION)
+    WHERE DATE_CLOSING IS NULL;
+
+CREATE INDEX ORDERS_DATE_EXPIRATION_INDEX ON ORDERS (DATE_EXPIRATION);
+
+CREATE INDEX ORDERS_CLOSED_INDEX ON ORDERS (ID)
+    WHERE REMAINING_AMOUNT = 0 OR DATE_CLOSING IS NOT NULL;
+
+CREATE INDEX ORDERS_USER_ID_STOCK_ID_INDEX ON ORDERS (USER_ID, STOCK_ID);
+
+CREATE INDEX ARCHIVED_ORDERS_STOCK_ID_INDEX ON ARCHIVED_ORDERS (STOCK_ID);
+
+CREATE INDEX ARCHIVED_ORDERS_USER_ID_INDEX ON ARCHIVED_ORDERS (USER_ID);
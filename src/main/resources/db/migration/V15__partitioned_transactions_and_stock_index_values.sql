@@ -0,0 +1,91 @@
+CREATE FUNCTION CREATE_MONTHLY_PARTITIONS(parent_table text, date_column text, date_from timestamp, date_to timestamp)
+    RETURNS integer AS
+$$
+DECLARE
+    month_start     timestamp := date_trunc('month', date_from);
+    month_end       timestamp;
+    partition_table text;
+    created         integer   := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(parent_table));
+    WHILE month_start < date_to
+        LOOP
+            month_end := month_start + interval '1 month';
+            partition_table := parent_table || '_' || to_char(month_start, 'YYYY_MM');
+            IF to_regclass(partition_table) IS NULL THEN
+                EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                               partition_table, parent_table);
+                EXECUTE format('WITH MOVED AS (DELETE FROM %I WHERE %I >= $1 AND %I < $2 RETURNING *) ' ||
+                               'INSERT INTO %I SELECT * FROM MOVED',
+                               parent_table || '_default', date_column, date_column, partition_table)
+                    USING month_start, month_end;
+                EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                               parent_table, partition_table, month_start, month_end);
+                created := created + 1;
+            END IF;
+            month_start := month_end;
+        END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP INDEX TRANSACTIONS_DATE_ID_INDEX;
+ALTER TABLE TRANSACTIONS RENAME TO TRANSACTIONS_UNPARTITIONED;
+ALTER INDEX TRANSACTIONS_PKEY RENAME TO TRANSACTIONS_UNPARTITIONED_PKEY;
+
+CREATE TABLE TRANSACTIONS
+(
+    ID               bigint DEFAULT NEXTVAL('TRANSACTION_SEQUENCE'),
+    DATE             timestamp NOT NULL,
+    UNIT_PRICE       decimal   NOT NULL,
+    AMOUNT           int       NOT NULL,
+    BUYING_ORDER_ID  bigint    NOT NULL,
+    SELLING_ORDER_ID bigint    NOT NULL,
+    PRIMARY KEY (ID, DATE),
+    FOREIGN KEY (BUYING_ORDER_ID)
+        REFERENCES ARCHIVED_ORDERS (ID) ON DELETE CASCADE,
+    FOREIGN KEY (SELLING_ORDER_ID)
+        REFERENCES ARCHIVED_ORDERS (ID) ON DELETE CASCADE
+) PARTITION BY RANGE (DATE);
+
+CREATE TABLE TRANSACTIONS_DEFAULT PARTITION OF TRANSACTIONS DEFAULT;
+
+CREATE INDEX TRANSACTIONS_DATE_ID_INDEX ON TRANSACTIONS (DATE, ID);
+CREATE INDEX TRANSACTIONS_BUYING_ORDER_ID_INDEX ON TRANSACTIONS (BUYING_ORDER_ID);
+CREATE INDEX TRANSACTIONS_SELLING_ORDER_ID_INDEX ON TRANSACTIONS (SELLING_ORDER_ID);
+
+SELECT CREATE_MONTHLY_PARTITIONS('transactions', 'date',
+                                 COALESCE((SELECT MIN(DATE) FROM TRANSACTIONS_UNPARTITIONED), now()::timestamp),
+                                 (now() + interval '3 months')::timestamp);
+
+INSERT INTO TRANSACTIONS (ID, DATE, UNIT_PRICE, AMOUNT, BUYING_ORDER_ID, SELLING_ORDER_ID)
+    SELECT ID, DATE, UNIT_PRICE, AMOUNT, BUYING_ORDER_ID, SELLING_ORDER_ID FROM TRANSACTIONS_UNPARTITIONED;
+
+DROP TABLE TRANSACTIONS_UNPARTITIONED;
+
+ALTER TABLE STOCK_INDEX_VALUES RENAME TO STOCK_INDEX_VALUES_UNPARTITIONED;
+ALTER INDEX STOCK_INDEX_VALUES_PKEY RENAME TO STOCK_INDEX_VALUES_UNPARTITIONED_PKEY;
+
+CREATE TABLE STOCK_INDEX_VALUES
+(
+    ID        bigint DEFAULT NEXTVAL('STOCK_INDEX_VALUES_SEQUENCE'),
+    TIMESTAMP timestamp NOT NULL,
+    VALUE     decimal   NOT NULL,
+    STOCK_ID  bigint    NOT NULL,
+    PRIMARY KEY (ID, TIMESTAMP),
+    FOREIGN KEY (STOCK_ID)
+        REFERENCES STOCKS (ID) ON DELETE CASCADE
+) PARTITION BY RANGE (TIMESTAMP);
+
+CREATE TABLE STOCK_INDEX_VALUES_DEFAULT PARTITION OF STOCK_INDEX_VALUES DEFAULT;
+
+CREATE INDEX STOCK_INDEX_VALUES_STOCK_ID_TIMESTAMP_INDEX ON STOCK_INDEX_VALUES (STOCK_ID, TIMESTAMP);
+
+SELECT CREATE_MONTHLY_PARTITIONS('stock_index_values', 'timestamp',
+                                 COALESCE((SELECT MIN(TIMESTAMP) FROM STOCK_INDEX_VALUES_UNPARTITIONED), now()::timestamp),
+                                 (now() + interval '3 months')::timestamp);
+
+INSERT INTO STOCK_INDEX_VALUES (ID, TIMESTAMP, VALUE, STOCK_ID)
+    SELECT ID, TIMESTAMP, VALUE, STOCK_ID FROM STOCK_INDEX_VALUES_UNPARTITIONED;
+
+DROP TABLE STOCK_INDEX_VALUES_UNPARTITIONED;
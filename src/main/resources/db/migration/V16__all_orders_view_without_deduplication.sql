@@ -0,0 +1,13 @@
+DROP VIEW ALL_ORDERS;
+
+CREATE VIEW ALL_ORDERS AS
+SELECT o.ID, o.USER_ID, o.STOCK_ID, o.AMOUNT, o.REMAINING_AMOUNT, o.TYPE, o.PRICE_TYPE, o.PRICE, o.DATE_CREATION,
+       o.DATE_EXPIRATION, o.DATE_CLOSING
+FROM ORDERS o
+UNION ALL
+SELECT a.ID, a.USER_ID, a.STOCK_ID, a.AMOUNT, a.REMAINING_AMOUNT, a.TYPE, a.PRICE_TYPE, a.PRICE, a.DATE_CREATION,
+       a.DATE_EXPIRATION, a.DATE_CLOSING
+FROM ARCHIVED_ORDERS a
+-- Settlement archives partially filled orders while they stay active in ORDERS, so the same ID can be in both
+-- tables. The anti-join keeps the active row only, without the sort UNION needs to deduplicate.
+WHERE NOT EXISTS(SELECT 1 FROM ORDERS o WHERE o.ID = a.ID);
@@ -0,0 +1,7 @@
+CREATE TABLE BANNED_USERS
+(
+    EMAIL       varchar(255) PRIMARY KEY,
+    DATE_BANNED timestamptz NOT NULL
+);
+
+CREATE INDEX BANNED_USERS_DATE_BANNED_INDEX ON BANNED_USERS (DATE_BANNED);
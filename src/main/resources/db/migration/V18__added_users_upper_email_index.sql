@@ -0,0 +1 @@
+CREATE INDEX USERS_UPPER_EMAIL_INDEX ON USERS (upper(EMAIL));
@@ -0,0 +1,175 @@
+package com.project.stockexchangeappbackend.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryPlanTest {
+
+    private static final Pattern TRANSACTIONS_PARTITION = Pattern.compile("transactions_\\d{4}_\\d{2}");
+    private static final Pattern STOCK_INDEX_VALUES_PARTITION = Pattern.compile("stock_index_values_\\d{4}_\\d{2}");
+
+    static EmbeddedPostgres postgres;
+    static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        jdbcTemplate.update("INSERT INTO USERS (FIRST_NAME, LAST_NAME, EMAIL, PASSWORD, ROLE, MONEY) " +
+                "SELECT 'User', 'User', 'user' || i || '@test.pl', 'password', 'USER', 1000 " +
+                "FROM generate_series(1, 100) i");
+        jdbcTemplate.update("INSERT INTO STOCKS (NAME, ABBREVIATION, CURRENT_PRICE, AMOUNT) " +
+                "SELECT 'Stock' || i, lpad(i::text, 3, '0'), 10, 1000000 FROM generate_series(1, 100) i");
+        jdbcTemplate.update("INSERT INTO ORDERS (USER_ID, STOCK_ID, AMOUNT, REMAINING_AMOUNT, TYPE, PRICE_TYPE, " +
+                "PRICE, DATE_CREATION, DATE_EXPIRATION) " +
+                "SELECT 1 + i % 100, 1 + i / 2000, 10, 10, " +
+                "CASE WHEN i % 2 = 0 THEN 'BUYING_ORDER' ELSE 'SELLING_ORDER' END, 'EQUAL', 1 + i % 1000 / 10.0, " +
+                "now(), now() + interval '1 day' FROM generate_series(0, 199999) i");
+        jdbcTemplate.update("INSERT INTO ARCHIVED_ORDERS (ID, USER_ID, STOCK_ID, AMOUNT, REMAINING_AMOUNT, TYPE, " +
+                "PRICE_TYPE, PRICE, DATE_CREATION, DATE_EXPIRATION, DATE_CLOSING) " +
+                "SELECT 1000000 + i, 1 + i % 100, 1 + i / 2000, 10, 0, " +
+                "CASE WHEN i % 2 = 0 THEN 'BUYING_ORDER' ELSE 'SELLING_ORDER' END, 'EQUAL', 10, " +
+                "now() - interval '1 year', now(), now() FROM generate_series(0, 199999) i");
+        jdbcTemplate.update("INSERT INTO ARCHIVED_ORDERS SELECT * FROM ORDERS WHERE ID = 1");
+        jdbcTemplate.update("INSERT INTO TRANSACTIONS (DATE, UNIT_PRICE, AMOUNT, BUYING_ORDER_ID, SELLING_ORDER_ID) " +
+                "SELECT now() - (i % 365) * interval '1 day', 10, 10, 1000000 + i - i % 2, 1000001 + i - i % 2 " +
+                "FROM generate_series(0, 199999) i");
+        jdbcTemplate.update("INSERT INTO STOCK_INDEX_VALUES (TIMESTAMP, VALUE, STOCK_ID) " +
+                "SELECT now() - (i % 365) * interval '1 day', 10, 1 + i % 100 FROM generate_series(0, 199999) i");
+        jdbcTemplate.queryForObject("SELECT CREATE_MONTHLY_PARTITIONS('transactions', 'date', " +
+                "(now() - interval '1 year')::timestamp, now()::timestamp)", Integer.class);
+        jdbcTemplate.queryForObject("SELECT CREATE_MONTHLY_PARTITIONS('stock_index_values', 'timestamp', " +
+                "(now() - interval '1 year')::timestamp, now()::timestamp)", Integer.class);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("Moving rows from default partitions to created monthly partitions")
+    void shouldMoveRowsToMonthlyPartitions() {
+        assertAll(() -> assertEquals(0, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM TRANSACTIONS_DEFAULT", Integer.class)),
+                () -> assertEquals(0, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM STOCK_INDEX_VALUES_DEFAULT", Integer.class)),
+                () -> assertEquals(200000, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM TRANSACTIONS", Integer.class)),
+                () -> assertEquals(200000, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM STOCK_INDEX_VALUES", Integer.class)));
+    }
+
+    @Test
+    @DisplayName("Getting active orders of stock using index of open orders")
+    void shouldUseOpenOrdersIndexForActiveOrders() {
+        String plan = explain("SELECT * FROM ORDERS WHERE STOCK_ID = 1 AND TYPE = 'SELLING_ORDER' AND PRICE <= 5 " +
+                "AND DATE_EXPIRATION > now() AND DATE_CLOSING IS NULL ORDER BY PRICE");
+        assertAll(() -> assertTrue(plan.contains("orders_open_stock_id_type_price_index"), plan),
+                () -> assertFalse(plan.contains("Seq Scan"), plan));
+    }
+
+    @Test
+    @DisplayName("Getting inactive orders without sequential scan")
+    void shouldNotScanAllOrdersForInactiveOrders() {
+        String plan = explain("SELECT ID FROM ORDERS WHERE DATE_EXPIRATION < now() OR REMAINING_AMOUNT = 0 " +
+                "OR DATE_CLOSING IS NOT NULL");
+        assertAll(() -> assertTrue(plan.contains("orders_date_expiration_index"), plan),
+                () -> assertTrue(plan.contains("orders_closed_index"), plan),
+                () -> assertFalse(plan.contains("Seq Scan"), plan));
+    }
+
+    @Test
+    @DisplayName("Getting transactions of stock using indexes of orders' stock and transactions' orders")
+    void shouldUseIndexesForTransactionsOfStock() {
+        String plan = explain("SELECT t.* FROM TRANSACTIONS t JOIN ARCHIVED_ORDERS o ON o.ID = t.BUYING_ORDER_ID " +
+                "WHERE o.STOCK_ID = 1 ORDER BY t.DATE DESC");
+        assertAll(() -> assertTrue(plan.contains("archived_orders_stock_id_index"), plan),
+                () -> assertFalse(plan.contains("Seq Scan on archived_orders"), plan));
+    }
+
+    @Test
+    @DisplayName("Getting transactions of order using index of buying orders")
+    void shouldUseBuyingOrderIndexForTransactionsOfOrder() {
+        String plan = explain("SELECT * FROM TRANSACTIONS WHERE BUYING_ORDER_ID = 1000030 AND DATE >= " +
+                daysAgo(40) + " AND DATE < " + daysAgo(20));
+        assertAll(() -> assertTrue(plan.contains("buying_order_id_idx"), plan),
+                () -> assertFalse(plan.contains("Seq Scan"), plan));
+    }
+
+    @Test
+    @DisplayName("Getting transactions only from partitions of the given time range")
+    void shouldPruneTransactionsPartitions() {
+        String plan = explain("SELECT * FROM TRANSACTIONS WHERE DATE >= " + daysAgo(40) + " AND DATE < " +
+                daysAgo(20) + " ORDER BY DATE, ID LIMIT 50");
+        assertAll(() -> assertTrue(countPartitions(TRANSACTIONS_PARTITION, plan) <= 2, plan),
+                () -> assertFalse(plan.contains("transactions_default"), plan));
+    }
+
+    @Test
+    @DisplayName("Getting index values of stock using stock and timestamp index of partitions in time range")
+    void shouldUseStockTimestampIndexForIndexValues() {
+        String plan = explain("SELECT * FROM STOCK_INDEX_VALUES WHERE STOCK_ID = 1 AND TIMESTAMP >= " +
+                daysAgo(40) + " AND TIMESTAMP < " + daysAgo(20) + " ORDER BY TIMESTAMP");
+        assertAll(() -> assertTrue(plan.contains("stock_id_timestamp_idx"), plan),
+                () -> assertTrue(countPartitions(STOCK_INDEX_VALUES_PARTITION, plan) <= 2, plan),
+                () -> assertFalse(plan.contains("stock_index_values_default"), plan),
+                () -> assertFalse(plan.contains("Seq Scan"), plan));
+    }
+
+    @Test
+    @DisplayName("Getting order by id from all orders once using primary keys")
+    void shouldGetOrderByIdFromAllOrdersUsingPrimaryKeys() {
+        String plan = explain("SELECT * FROM ALL_ORDERS WHERE ID = 1");
+        assertAll(() -> assertEquals(1, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM ALL_ORDERS WHERE ID = 1", Integer.class)),
+                () -> assertTrue(plan.contains("orders_pkey"), plan),
+                () -> assertTrue(plan.contains("archived_orders_pkey"), plan),
+                () -> assertFalse(plan.contains("Seq Scan"), plan),
+                () -> assertFalse(plan.contains("Unique"), plan));
+    }
+
+    @Test
+    @DisplayName("Getting orders of user from all orders using indexes of both tables")
+    void shouldGetOrdersOfUserFromAllOrdersUsingIndexes() {
+        String plan = explain("SELECT * FROM ALL_ORDERS WHERE USER_ID = 1");
+        assertAll(() -> assertTrue(plan.contains("orders_user_id_stock_id_index"), plan),
+                () -> assertTrue(plan.contains("archived_orders_user_id_index"), plan),
+                () -> assertFalse(plan.contains("Unique"), plan),
+                () -> assertFalse(plan.contains("HashAggregate"), plan));
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    private String daysAgo(int days) {
+        return "'" + Timestamp.valueOf(LocalDateTime.now().minusDays(days)) + "'";
+    }
+
+    private long countPartitions(Pattern pattern, String plan) {
+        Matcher matcher = pattern.matcher(plan);
+        return matcher.results().map(MatchResult::group).distinct().count();
+    }
+
+}
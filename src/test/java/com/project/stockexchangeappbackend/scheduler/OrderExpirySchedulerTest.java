@@ -0,0 +1,90 @@
+package com.project.stockexchangeappbackend.scheduler;
+
+import com.project.stockexchangeappbackend.entity.Order;
+import com.project.stockexchangeappbackend.entity.Role;
+import com.project.stockexchangeappbackend.entity.Stock;
+import com.project.stockexchangeappbackend.entity.Tag;
+import com.project.stockexchangeappbackend.entity.User;
+import com.project.stockexchangeappbackend.service.OrderBookService;
+import com.project.stockexchangeappbackend.service.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.createBuyingOrder;
+import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.createSellingOrder;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExpirySchedulerTest {
+
+    @InjectMocks
+    OrderExpiryScheduler orderExpiryScheduler;
+
+    @Mock
+    OrderService orderService;
+
+    @Mock
+    OrderBookService orderBookService;
+
+    @Test
+    @DisplayName("Archiving orders expired in order books")
+    void testExpireOrders() {
+        Stock stock = createStock(1L);
+        List<Order> orders = List.of(
+                createBuyingOrder(1L, 10, BigDecimal.ONE, OffsetDateTime.now(), createUser(1L), stock),
+                createSellingOrder(2L, 10, BigDecimal.ONE, OffsetDateTime.now(), createUser(2L), stock));
+
+        when(orderBookService.removeExpiredOrders(any(OffsetDateTime.class))).thenReturn(orders);
+        orderExpiryScheduler.expireOrders();
+        verify(orderService).archiveExpiredOrders(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Archiving orders expired in order books when no order expired")
+    void testExpireOrdersWhenNoOrderExpired() {
+        when(orderBookService.removeExpiredOrders(any(OffsetDateTime.class))).thenReturn(Collections.emptyList());
+        orderExpiryScheduler.expireOrders();
+        verify(orderService, never()).archiveExpiredOrders(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Archiving all inactive orders")
+    void testRemoveInactiveOrders() {
+        orderExpiryScheduler.removeInactiveOrders();
+        verify(orderService).moveInactiveOrders();
+    }
+
+    private static Stock createStock(Long id) {
+        return Stock.builder()
+                .id(id).name("WiG" + id).abbreviation("W" + id).amount(10000).currentPrice(BigDecimal.ZERO)
+                .tag(createTag()).isDeleted(Boolean.FALSE).resources(new ArrayList<>())
+                .build();
+    }
+
+    private static User createUser(Long id) {
+        return User.builder()
+                .id(id).email("user" + id + "@test").firstName("John").lastName("Kowal").password("password")
+                .money(BigDecimal.TEN).role(Role.USER).isActive(true).tag(createTag())
+                .userStocks(new ArrayList<>())
+                .build();
+    }
+
+    private static Tag createTag() {
+        return Tag.builder().id(1L).name("DEFAULT").build();
+    }
+
+}
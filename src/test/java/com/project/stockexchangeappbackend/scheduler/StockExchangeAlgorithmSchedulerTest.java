@@ -4,22 +4,33 @@ import com.google.common.collect.Lists;
 import com.project.stockexchangeappbackend.entity.Order;
 import com.project.stockexchangeappbackend.entity.PriceType;
 import com.project.stockexchangeappbackend.entity.Stock;
-import com.project.stockexchangeappbackend.service.OrderService;
-import com.project.stockexchangeappbackend.service.TransactionService;
+import com.project.stockexchangeappbackend.service.OrderBookService;
+import com.project.stockexchangeappbackend.service.SchedulerCycleService;
+import com.project.stockexchangeappbackend.service.SettlementService;
+import com.project.stockexchangeappbackend.util.MatchingMode;
+import com.project.stockexchangeappbackend.util.SchedulerCycle;
+import com.project.stockexchangeappbackend.util.SchedulerType;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.orderbook.OrderBookEntry;
+import com.project.stockexchangeappbackend.util.orderbook.OrderCreatedEvent;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 import org.springframework.dao.DataIntegrityViolationException;
 
-import javax.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.createBuyingOrder;
@@ -27,9 +38,18 @@ import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.c
 import static com.project.stockexchangeappbackend.service.StockServiceImplTest.getStocksList;
 import static com.project.stockexchangeappbackend.service.UserServiceImplTest.getUsersList;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,10 +59,19 @@ class StockExchangeAlgorithmSchedulerTest {
     StockExchangeAlgorithmScheduler stockExchangeAlgorithmScheduler;
 
     @Mock
-    OrderService orderService;
+    OrderBookService orderBookService;
 
     @Mock
-    TransactionService transactionService;
+    SettlementService settlementService;
+
+    @Spy
+    StockTaskExecutor stockTaskExecutor = new StockTaskExecutor(new StockIndexTimeProperties());
+
+    @Mock
+    StockIndexTimeProperties stockIndexTimeProperties;
+
+    @Mock
+    SchedulerCycleService schedulerCycleService;
 
     @Test
     @DisplayName("Exchange algorithm")
@@ -57,12 +86,23 @@ class StockExchangeAlgorithmSchedulerTest {
                                 getUsersList().get(2), order.getStock()))))
                 .collect(Collectors.toList());
 
-        when(orderService.getActiveBuyingOrders()).thenReturn(activeBuyingOrders);
-        when(orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(eq(stockList.get(0)), any(BigDecimal.class)))
-                .thenReturn(activeSellingOrders.get(0));
-        when(orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(eq(stockList.get(1)), any(BigDecimal.class)))
-                .thenReturn(activeSellingOrders.get(1));
+        when(orderBookService.getStockIds()).thenReturn(Set.of(stockList.get(0).getId(), stockList.get(1).getId()));
+        when(orderBookService.getActiveBuyingOrders(stockList.get(0).getId()))
+                .thenReturn(getOrdersByStock(activeBuyingOrders, stockList.get(0)));
+        when(orderBookService.getActiveBuyingOrders(stockList.get(1).getId()))
+                .thenReturn(getOrdersByStock(activeBuyingOrders, stockList.get(1)));
+        when(orderBookService.getActiveSellingOrdersByPriceLessThanEqual(eq(stockList.get(0).getId()), anyLong()))
+                .thenReturn(toEntries(activeSellingOrders.get(0)));
+        when(orderBookService.getActiveSellingOrdersByPriceLessThanEqual(eq(stockList.get(1).getId()), anyLong()))
+                .thenReturn(toEntries(activeSellingOrders.get(1)));
         assertAll(() -> stockExchangeAlgorithmScheduler.run());
+        ArgumentCaptor<SchedulerCycle> cycle = ArgumentCaptor.forClass(SchedulerCycle.class);
+        verify(schedulerCycleService).record(cycle.capture());
+        assertAll(() -> assertEquals(SchedulerType.STOCK_EXCHANGE_ALGORITHM, cycle.getValue().getType()),
+                () -> assertEquals(2, cycle.getValue().getStocks().get()),
+                () -> assertEquals(4L, cycle.getValue().getOrdersScanned().get()),
+                () -> assertEquals(2L, cycle.getValue().getFills().get()),
+                () -> assertEquals(0L, cycle.getValue().getRetries().get()));
     }
 
     @Test
@@ -81,11 +121,15 @@ class StockExchangeAlgorithmSchedulerTest {
                 createBuyingOrder(1L, stockList.get(0).getAmount(), BigDecimal.ONE,
                         OffsetDateTime.now().plusHours(1), getUsersList().get(2), stockList.get(0)));
 
-        when(orderService.getActiveBuyingOrders()).thenReturn(activeBuyingOrders);
-        when(orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(eq(stockList.get(0)), any(BigDecimal.class)))
-                .thenReturn(activeSellingOrders.get(0));
-        when(orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(eq(stockList.get(1)), any(BigDecimal.class)))
-                .thenReturn(activeSellingOrders.get(1));
+        when(orderBookService.getStockIds()).thenReturn(Set.of(stockList.get(0).getId(), stockList.get(1).getId()));
+        when(orderBookService.getActiveBuyingOrders(stockList.get(0).getId()))
+                .thenReturn(getOrdersByStock(activeBuyingOrders, stockList.get(0)));
+        when(orderBookService.getActiveBuyingOrders(stockList.get(1).getId()))
+                .thenReturn(getOrdersByStock(activeBuyingOrders, stockList.get(1)));
+        when(orderBookService.getActiveSellingOrdersByPriceLessThanEqual(eq(stockList.get(0).getId()), anyLong()))
+                .thenReturn(toEntries(activeSellingOrders.get(0)));
+        when(orderBookService.getActiveSellingOrdersByPriceLessThanEqual(eq(stockList.get(1).getId()), anyLong()))
+                .thenReturn(toEntries(activeSellingOrders.get(1)));
         assertAll(() -> stockExchangeAlgorithmScheduler.run());
     }
 
@@ -106,11 +150,15 @@ class StockExchangeAlgorithmSchedulerTest {
                         OffsetDateTime.now().plusHours(1), getUsersList().get(0), stockList.get(0)));
         activeSellingOrders.set(0, Lists.reverse(activeSellingOrders.get(0)));
 
-        when(orderService.getActiveBuyingOrders()).thenReturn(activeBuyingOrders);
-        when(orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(eq(stockList.get(0)), any(BigDecimal.class)))
-                .thenReturn(activeSellingOrders.get(0));
-        when(orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(eq(stockList.get(1)), any(BigDecimal.class)))
-                .thenReturn(activeSellingOrders.get(1));
+        when(orderBookService.getStockIds()).thenReturn(Set.of(stockList.get(0).getId(), stockList.get(1).getId()));
+        when(orderBookService.getActiveBuyingOrders(stockList.get(0).getId()))
+                .thenReturn(getOrdersByStock(activeBuyingOrders, stockList.get(0)));
+        when(orderBookService.getActiveBuyingOrders(stockList.get(1).getId()))
+                .thenReturn(getOrdersByStock(activeBuyingOrders, stockList.get(1)));
+        when(orderBookService.getActiveSellingOrdersByPriceLessThanEqual(eq(stockList.get(0).getId()), anyLong()))
+                .thenReturn(toEntries(activeSellingOrders.get(0)));
+        when(orderBookService.getActiveSellingOrdersByPriceLessThanEqual(eq(stockList.get(1).getId()), anyLong()))
+                .thenReturn(toEntries(activeSellingOrders.get(1)));
         assertAll(() -> stockExchangeAlgorithmScheduler.run());
     }
 
@@ -134,11 +182,15 @@ class StockExchangeAlgorithmSchedulerTest {
                 createBuyingOrder(1L, stockList.get(0).getAmount(), BigDecimal.ONE,
                         OffsetDateTime.now().plusHours(1), getUsersList().get(0), stockList.get(0)));
 
-        when(orderService.getActiveBuyingOrders()).thenReturn(activeBuyingOrders);
-        when(orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(eq(stockList.get(0)), any(BigDecimal.class)))
-                .thenReturn(activeSellingOrders.get(0));
-        when(orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(eq(stockList.get(1)), any(BigDecimal.class)))
-                .thenReturn(activeSellingOrders.get(1));
+        when(orderBookService.getStockIds()).thenReturn(Set.of(stockList.get(0).getId(), stockList.get(1).getId()));
+        when(orderBookService.getActiveBuyingOrders(stockList.get(0).getId()))
+                .thenReturn(getOrdersByStock(activeBuyingOrders, stockList.get(0)));
+        when(orderBookService.getActiveBuyingOrders(stockList.get(1).getId()))
+                .thenReturn(getOrdersByStock(activeBuyingOrders, stockList.get(1)));
+        when(orderBookService.getActiveSellingOrdersByPriceLessThanEqual(eq(stockList.get(0).getId()), anyLong()))
+                .thenReturn(toEntries(activeSellingOrders.get(0)));
+        when(orderBookService.getActiveSellingOrdersByPriceLessThanEqual(eq(stockList.get(1).getId()), anyLong()))
+                .thenReturn(toEntries(activeSellingOrders.get(1)));
         assertAll(() -> stockExchangeAlgorithmScheduler.run());
     }
 
@@ -155,15 +207,138 @@ class StockExchangeAlgorithmSchedulerTest {
                                 getUsersList().get(2), order.getStock()))))
                 .collect(Collectors.toList());
 
-        when(orderService.getActiveBuyingOrders()).thenReturn(activeBuyingOrders);
-        when(orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(eq(stockList.get(0)), any(BigDecimal.class)))
-                .thenReturn(activeSellingOrders.get(0));
-        when(orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(eq(stockList.get(1)), any(BigDecimal.class)))
-                .thenReturn(activeSellingOrders.get(1));
-        doThrow(new EntityNotFoundException())
-                .when(transactionService)
-                        .makeTransaction(any(Order.class), any(Order.class), any(Integer.class), any(BigDecimal.class));
+        when(orderBookService.getStockIds()).thenReturn(Set.of(stockList.get(0).getId(), stockList.get(1).getId()));
+        when(orderBookService.getActiveBuyingOrders(stockList.get(0).getId()))
+                .thenAnswer(invocation -> getOrdersByStock(activeBuyingOrders, stockList.get(0)));
+        when(orderBookService.getActiveBuyingOrders(stockList.get(1).getId()))
+                .thenAnswer(invocation -> getOrdersByStock(activeBuyingOrders, stockList.get(1)));
+        when(orderBookService.getActiveSellingOrdersByPriceLessThanEqual(eq(stockList.get(0).getId()), anyLong()))
+                .thenAnswer(invocation -> toEntries(activeSellingOrders.get(0)));
+        when(orderBookService.getActiveSellingOrdersByPriceLessThanEqual(eq(stockList.get(1).getId()), anyLong()))
+                .thenAnswer(invocation -> toEntries(activeSellingOrders.get(1)));
+        doAnswer(reloadOrders(activeBuyingOrders.get(0), activeSellingOrders.get(0).get(0)))
+                .when(orderBookService).reloadStock(stockList.get(0).getId());
+        doAnswer(reloadOrders(activeBuyingOrders.get(1), activeSellingOrders.get(1).get(0)))
+                .when(orderBookService).reloadStock(stockList.get(1).getId());
+        doThrow(new DataIntegrityViolationException(""))
+                .when(settlementService).settle(any(Long.class), any());
+        assertAll(() -> stockExchangeAlgorithmScheduler.run());
+        verify(orderBookService).reloadStock(stockList.get(0).getId());
+        verify(orderBookService).reloadStock(stockList.get(1).getId());
+        verify(orderBookService, never()).removeOrder(any(Order.class));
+        for (int i = 0; i < 2; i++) {
+            Order buyingOrder = activeBuyingOrders.get(i);
+            verify(settlementService, times(2)).settle(eq(stockList.get(i).getId()), argThat(fills ->
+                    fills.size() == 1 && fills.get(0).getAmount() == buyingOrder.getAmount()));
+            assertAll(() -> assertEquals(buyingOrder.getAmount(), buyingOrder.getRemainingAmount()),
+                    () -> assertNull(buyingOrder.getDateClosing()));
+        }
+        ArgumentCaptor<SchedulerCycle> cycle = ArgumentCaptor.forClass(SchedulerCycle.class);
+        verify(schedulerCycleService).record(cycle.capture());
+        assertAll(() -> assertEquals(4L, cycle.getValue().getRetries().get()),
+                () -> assertEquals(0L, cycle.getValue().getFills().get()));
+    }
+
+    @Test
+    @DisplayName("Exchange algorithm - omit order expired during cycle")
+    void testSchedulerOmitExpiredOrder() {
+        Stock stock = getStocksList().get(0);
+        Order buyingOrder = createBuyingOrder(1L, stock.getAmount(), stock.getCurrentPrice(),
+                OffsetDateTime.now().minusSeconds(1), getUsersList().get(0), stock);
+        Order sellingOrder = createSellingOrder(2L, stock.getAmount(), stock.getCurrentPrice(),
+                OffsetDateTime.now().plusHours(1), getUsersList().get(2), stock);
+
+        when(orderBookService.getStockIds()).thenReturn(Set.of(stock.getId()));
+        when(orderBookService.getActiveBuyingOrders(stock.getId()))
+                .thenReturn(toEntries(List.of(buyingOrder)));
+        when(orderBookService.getActiveSellingOrdersByPriceLessThanEqual(eq(stock.getId()), anyLong()))
+                .thenReturn(toEntries(List.of(sellingOrder)));
         assertAll(() -> stockExchangeAlgorithmScheduler.run());
+        verify(settlementService, never()).settle(any(Long.class), any());
+        assertAll(() -> assertEquals(stock.getAmount(), buyingOrder.getRemainingAmount()),
+                () -> assertEquals(stock.getAmount(), sellingOrder.getRemainingAmount()));
+    }
+
+    @Test
+    @DisplayName("Exchange algorithm - continuous mode does not match in cycle")
+    void testSchedulerInContinuousMode() {
+        when(stockIndexTimeProperties.getMatchingMode()).thenReturn(MatchingMode.CONTINUOUS);
+        stockExchangeAlgorithmScheduler.run();
+        verify(orderBookService, never()).getStockIds();
+        verify(schedulerCycleService, never()).record(any(SchedulerCycle.class));
+    }
+
+    @Test
+    @DisplayName("Exchange algorithm - matching stock after order creation in continuous mode")
+    void testOrderCreatedInContinuousMode() {
+        Stock stock = getStocksList().get(0);
+        Order order = createBuyingOrder(1L, stock.getAmount(), stock.getCurrentPrice(),
+                OffsetDateTime.now().plusHours(1), getUsersList().get(0), stock);
+
+        when(stockIndexTimeProperties.getMatchingMode()).thenReturn(MatchingMode.CONTINUOUS);
+        stockExchangeAlgorithmScheduler.handleOrderCreated(new OrderCreatedEvent(order));
+        verify(stockTaskExecutor).submit(eq(stock.getId()), any(Runnable.class));
+        verify(schedulerCycleService, timeout(1000)).record(argThat(cycle ->
+                cycle.getType() == SchedulerType.STOCK_EXCHANGE_ALGORITHM && cycle.getStocks().get() == 1));
+    }
+
+    @Test
+    @DisplayName("Exchange algorithm - matching loaded order books at startup in continuous mode")
+    void testLoadedOrderBooksInContinuousMode() {
+        List<Stock> stockList = getStocksList();
+
+        when(stockIndexTimeProperties.getMatchingMode()).thenReturn(MatchingMode.CONTINUOUS);
+        when(orderBookService.getStockIds()).thenReturn(Set.of(stockList.get(0).getId(), stockList.get(1).getId()));
+        stockExchangeAlgorithmScheduler.matchLoadedOrderBooks();
+        verify(stockTaskExecutor).submit(eq(stockList.get(0).getId()), any(Runnable.class));
+        verify(stockTaskExecutor).submit(eq(stockList.get(1).getId()), any(Runnable.class));
+        verify(orderBookService, timeout(1000)).getActiveBuyingOrders(stockList.get(0).getId());
+        verify(orderBookService, timeout(1000)).getActiveBuyingOrders(stockList.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Exchange algorithm - no matching of loaded order books at startup in batch mode")
+    void testLoadedOrderBooksInBatchMode() {
+        when(stockIndexTimeProperties.getMatchingMode()).thenReturn(MatchingMode.BATCH);
+        stockExchangeAlgorithmScheduler.matchLoadedOrderBooks();
+        verify(orderBookService, never()).getStockIds();
+        verify(stockTaskExecutor, never()).submit(any(Long.class), any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Exchange algorithm - no matching after order creation in batch mode")
+    void testOrderCreatedInBatchMode() {
+        Stock stock = getStocksList().get(0);
+        Order order = createBuyingOrder(1L, stock.getAmount(), stock.getCurrentPrice(),
+                OffsetDateTime.now().plusHours(1), getUsersList().get(0), stock);
+
+        when(stockIndexTimeProperties.getMatchingMode()).thenReturn(MatchingMode.BATCH);
+        stockExchangeAlgorithmScheduler.handleOrderCreated(new OrderCreatedEvent(order));
+        verify(stockTaskExecutor, never()).submit(any(Long.class), any(Runnable.class));
+    }
+
+    private static List<OrderBookEntry> getOrdersByStock(List<Order> orders, Stock stock) {
+        return orders.stream()
+                .filter(order -> order.getStock().getId().equals(stock.getId()))
+                .sorted(Comparator.comparing(Order::getPrice))
+                .map(OrderBookEntry::new)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static Answer<Void> reloadOrders(Order... orders) {
+        return invocation -> {
+            for (Order order : orders) {
+                order.setRemainingAmount(order.getAmount());
+                order.setDateClosing(null);
+            }
+            return null;
+        };
+    }
+
+    private static List<OrderBookEntry> toEntries(List<Order> orders) {
+        return orders.stream()
+                .map(OrderBookEntry::new)
+                .collect(Collectors.toCollection(ArrayList::new));
     }
 
-}
\ No newline at end of file
+}
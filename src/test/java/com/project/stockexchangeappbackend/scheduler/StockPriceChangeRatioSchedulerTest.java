@@ -2,6 +2,7 @@ package com.project.stockexchangeappbackend.scheduler;
 
 import com.project.stockexchangeappbackend.entity.Stock;
 import com.project.stockexchangeappbackend.entity.StockIndexValue;
+import com.project.stockexchangeappbackend.service.SchedulerCycleService;
 import com.project.stockexchangeappbackend.service.StockIndexValueService;
 import com.project.stockexchangeappbackend.service.StockService;
 import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 
@@ -40,6 +42,12 @@ class StockPriceChangeRatioSchedulerTest {
     @Mock
     StockIndexTimeProperties stockIndexTimeProperties;
 
+    @Spy
+    StockTaskExecutor stockTaskExecutor = new StockTaskExecutor(new StockIndexTimeProperties());
+
+    @Mock
+    SchedulerCycleService schedulerCycleService;
+
 
     @Test
     @DisplayName("Fixing stock price change ratio")
@@ -1,33 +1,32 @@
 package com.project.stockexchangeappbackend.scheduler;
 
-import com.project.stockexchangeappbackend.entity.ArchivedOrder;
 import com.project.stockexchangeappbackend.entity.Stock;
-import com.project.stockexchangeappbackend.entity.Transaction;
-import com.project.stockexchangeappbackend.entity.User;
+import com.project.stockexchangeappbackend.service.PriceWindowService;
+import com.project.stockexchangeappbackend.service.SchedulerCycleService;
 import com.project.stockexchangeappbackend.service.StockIndexValueService;
 import com.project.stockexchangeappbackend.service.StockService;
-import com.project.stockexchangeappbackend.service.TransactionService;
+import com.project.stockexchangeappbackend.util.SchedulerCycle;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
-import java.time.OffsetDateTime;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
-import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.createBuyingArchivedOrder;
-import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.createSellingArchivedOrder;
 import static com.project.stockexchangeappbackend.service.StockServiceImplTest.getStocksList;
-import static com.project.stockexchangeappbackend.service.UserServiceImplTest.getUsersList;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,65 +39,47 @@ class StockPriceFixingSchedulerTest {
     StockService stockService;
 
     @Mock
-    TransactionService transactionService;
+    PriceWindowService priceWindowService;
 
     @Mock
     StockIndexValueService stockIndexValueService;
 
+    @Spy
+    StockTaskExecutor stockTaskExecutor = new StockTaskExecutor(new StockIndexTimeProperties());
+
+    @Mock
+    SchedulerCycleService schedulerCycleService;
+
 
     @Test
     @DisplayName("Fixing stock price")
     void testScheduler() {
         List<Stock> stockList = getStocksList();
-        List<List<Transaction>> stockTransactions = stockList.stream()
-                .map(stock -> {
-                    User user1 = getUsersList().get(0);
-                    User user2 = getUsersList().get(2);
-                    ArchivedOrder o1 = createBuyingArchivedOrder(2*stock.getId() + 1L, 100,  BigDecimal.ONE,
-                            OffsetDateTime.now(), user1, stock);
-                    ArchivedOrder o2 = createSellingArchivedOrder(2*stock.getId() + 2L, 100,  BigDecimal.ONE,
-                            OffsetDateTime.now(), user2, stock);
-                    return Collections.singletonList(
-                            new Transaction(1L, OffsetDateTime.now(), o1.getAmount(), o1.getPrice(), o1, o2)
-                    );
-                })
-                .collect(Collectors.toList());
+        BigDecimal oldPrice = stockList.get(1).getCurrentPrice();
 
         when(stockService.getAllStocks()).thenReturn(stockList);
-        when(transactionService.getTransactionsByStockIdForPricing(stockList.get(0).getId(), stockList.get(0).getAmount()))
-                .thenReturn(stockTransactions.get(0));
-        when(transactionService.getTransactionsByStockIdForPricing(stockList.get(1).getId(), stockList.get(1).getAmount()))
-                .thenReturn(stockTransactions.get(1));
-        assertAll(() -> stockPriceFixingScheduler.run());
+        when(priceWindowService.getPrice(stockList.get(0))).thenReturn(Optional.of(BigDecimal.ONE));
+        when(priceWindowService.getPrice(stockList.get(1))).thenReturn(Optional.empty());
+        stockPriceFixingScheduler.run();
+        assertAll(() -> assertEquals(BigDecimal.ONE, stockList.get(0).getCurrentPrice()),
+                () -> assertEquals(oldPrice, stockList.get(1).getCurrentPrice()));
+        ArgumentCaptor<SchedulerCycle> cycle = ArgumentCaptor.forClass(SchedulerCycle.class);
+        verify(schedulerCycleService).record(cycle.capture());
+        assertEquals(2, cycle.getValue().getStocks().get());
     }
 
     @Test
     @DisplayName("Fixing stock price when cannot perform database operation")
     void testSchedulerWhenCannotPerformDatabaseOperation() {
         List<Stock> stockList = getStocksList();
-        List<List<Transaction>> stockTransactions = stockList.stream()
-                .map(stock -> {
-                    User user1 = getUsersList().get(0);
-                    User user2 = getUsersList().get(2);
-                    ArchivedOrder o1 = createBuyingArchivedOrder(2*stock.getId() + 1L, 100,  BigDecimal.ONE,
-                            OffsetDateTime.now(), user1, stock);
-                    ArchivedOrder o2 = createSellingArchivedOrder(2*stock.getId() + 2L, 100,  BigDecimal.ONE,
-                            OffsetDateTime.now(), user2, stock);
-                    return Collections.singletonList(
-                            new Transaction(1L, OffsetDateTime.now(), o1.getAmount(), o1.getPrice(), o1, o2)
-                    );
-                })
-                .collect(Collectors.toList());
 
         when(stockService.getAllStocks()).thenReturn(stockList);
-        when(transactionService.getTransactionsByStockIdForPricing(stockList.get(0).getId(), stockList.get(0).getAmount()))
-                .thenReturn(stockTransactions.get(0));
-        when(transactionService.getTransactionsByStockIdForPricing(stockList.get(1).getId(), stockList.get(1).getAmount()))
-                .thenReturn(stockTransactions.get(1));
+        when(priceWindowService.getPrice(stockList.get(0))).thenReturn(Optional.of(BigDecimal.ONE));
+        when(priceWindowService.getPrice(stockList.get(1))).thenReturn(Optional.of(BigDecimal.TEN));
         doThrow(new DataIntegrityViolationException("Database error"))
                 .when(stockService)
                 .updateStocks(any(List.class));
         assertAll(() -> stockPriceFixingScheduler.run());
     }
 
-}
\ No newline at end of file
+}
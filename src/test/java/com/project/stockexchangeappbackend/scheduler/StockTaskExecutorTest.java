@@ -0,0 +1,156 @@
+package com.project.stockexchangeappbackend.scheduler;
+
+import com.project.stockexchangeappbackend.dto.ExecutorShardDTO;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockTaskExecutorTest {
+
+    StockTaskExecutor stockTaskExecutor;
+
+    @BeforeEach
+    void setUp() {
+        StockIndexTimeProperties stockIndexTimeProperties = new StockIndexTimeProperties();
+        stockIndexTimeProperties.setExecutorThreads(2);
+        stockTaskExecutor = new StockTaskExecutor(stockIndexTimeProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockTaskExecutor.destroy();
+    }
+
+    @Test
+    @DisplayName("Invoking tasks of all stocks")
+    void shouldInvokeAllTasksAndKeepOrderOfResults() throws InterruptedException {
+        List<Long> stockIds = LongStream.rangeClosed(1, 100).boxed().collect(Collectors.toList());
+        List<Long> results = stockTaskExecutor.invokeAll(stockIds, Function.identity(), stockId -> stockId * 2);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stockTaskExecutor.getStatistics().stream().mapToLong(ExecutorShardDTO::getCompletedTasks).sum() < 100
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        List<ExecutorShardDTO> statistics = stockTaskExecutor.getStatistics();
+        assertAll(() -> assertEquals(stockIds.stream().map(stockId -> stockId * 2).collect(Collectors.toList()),
+                        results),
+                () -> assertEquals(2, statistics.size()),
+                () -> assertEquals(100L, statistics.stream().mapToLong(ExecutorShardDTO::getCompletedTasks).sum()),
+                () -> assertEquals(0, statistics.stream().mapToInt(ExecutorShardDTO::getQueueDepth).sum()));
+    }
+
+    @Test
+    @DisplayName("Invoking tasks of all stocks when one of them fails")
+    void shouldRethrowExceptionOfFailedTask() {
+        AtomicInteger executedTasks = new AtomicInteger();
+        assertThrows(IllegalArgumentException.class, () -> stockTaskExecutor.invokeAll(List.of(1L, 2L, 3L),
+                stockId -> {
+                    executedTasks.incrementAndGet();
+                    if (stockId == 2L) {
+                        throw new IllegalArgumentException();
+                    }
+                }));
+        assertEquals(3, executedTasks.get());
+    }
+
+    @Test
+    @DisplayName("Submitting task of stock which is already running")
+    void shouldRunTasksOfTheSameStockExclusively() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Runnable task = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            finished.countDown();
+        };
+
+        stockTaskExecutor.submit(1L, task);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        stockTaskExecutor.submit(1L, task);
+        stockTaskExecutor.submit(1L, task);
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    @DisplayName("Invoking task of stock which is already running")
+    void shouldInvokeTaskAfterSubmittedTaskOfTheSameStock() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Runnable task = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        };
+        Thread caller = new Thread(() -> stockTaskExecutor.invokeAll(List.of(1L), stockId -> task.run()));
+
+        stockTaskExecutor.submit(1L, task);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        caller.start();
+        Thread.sleep(100);
+        release.countDown();
+        caller.join(5000);
+        assertAll(() -> assertFalse(caller.isAlive()),
+                () -> assertEquals(1, maxRunning.get()));
+    }
+
+    @Test
+    @DisplayName("Cancelling queued tasks of all stocks when shutting down")
+    void shouldCancelQueuedTasksOnDestroy() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                stockTaskExecutor.invokeAll(List.of(1L, 2L, 3L, 4L), stockId -> {
+                    started.countDown();
+                    try {
+                        new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException exc) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (RuntimeException exc) {
+                failure.set(exc);
+            }
+        });
+
+        caller.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        stockTaskExecutor.destroy();
+        caller.join(5000);
+        assertAll(() -> assertFalse(caller.isAlive()),
+                () -> assertTrue(failure.get() instanceof CancellationException));
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.project.stockexchangeappbackend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationDetails;
+
+import javax.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomFilterSecurityInterceptorTest {
+
+    static final long ACCESS_TOKEN_VALIDITY = 3600;
+
+    CustomFilterSecurityInterceptor customFilterSecurityInterceptor;
+
+    BannedAccessTokens bannedAccessTokens;
+
+    ObjectMapper objectMapper;
+
+    @Mock
+    FilterChain filterChain;
+
+    MockHttpServletRequest request;
+
+    MockHttpServletResponse response;
+
+    @BeforeEach
+    void setup() {
+        bannedAccessTokens = new BannedAccessTokens(ACCESS_TOKEN_VALIDITY);
+        objectMapper = spy(new ObjectMapper());
+        customFilterSecurityInterceptor =
+                new CustomFilterSecurityInterceptor(bannedAccessTokens, objectMapper, ACCESS_TOKEN_VALIDITY);
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Passing request of not banned user without parsing access token")
+    void shouldPassRequestOfNotBannedUserWithoutParsingToken() throws Exception {
+        authenticate("user@test.pl", getAccessToken(Instant.now().getEpochSecond() + ACCESS_TOKEN_VALIDITY));
+        customFilterSecurityInterceptor.doFilter(request, response, filterChain);
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(objectMapper);
+    }
+
+    @Test
+    @DisplayName("Rejecting request with access token issued before ban")
+    void shouldRejectRequestWithTokenIssuedBeforeBan() throws Exception {
+        authenticate("user@test.pl", getAccessToken(Instant.now().getEpochSecond() + ACCESS_TOKEN_VALIDITY - 60));
+        bannedAccessTokens.addUser("user@test.pl");
+        assertThrows(AccessDeniedException.class,
+                () -> customFilterSecurityInterceptor.doFilter(request, response, filterChain));
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("Passing request with access token issued after ban and parsing the token once")
+    void shouldPassRequestWithTokenIssuedAfterBan() throws Exception {
+        bannedAccessTokens.addUser("user@test.pl");
+        authenticate("user@test.pl", getAccessToken(Instant.now().getEpochSecond() + ACCESS_TOKEN_VALIDITY + 60));
+        customFilterSecurityInterceptor.doFilter(request, response, filterChain);
+        customFilterSecurityInterceptor.doFilter(request, response, filterChain);
+        verify(filterChain, times(2)).doFilter(request, response);
+        verify(objectMapper, times(1)).readTree(any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Rejecting request of banned user with malformed access token")
+    void shouldRejectRequestWithMalformedToken() {
+        bannedAccessTokens.addUser("user@test.pl");
+        authenticate("user@test.pl", "malformed");
+        assertThrows(AccessDeniedException.class,
+                () -> customFilterSecurityInterceptor.doFilter(request, response, filterChain));
+    }
+
+    private void authenticate(String username, String accessToken) {
+        MockHttpServletRequest authenticationRequest = new MockHttpServletRequest();
+        authenticationRequest.setAttribute(OAuth2AuthenticationDetails.ACCESS_TOKEN_VALUE, accessToken);
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(username, null, List.of());
+        authentication.setDetails(new OAuth2AuthenticationDetails(authenticationRequest));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    private String getAccessToken(long expiration) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8)) + "." +
+                encoder.encodeToString(("{\"exp\":" + expiration + ",\"user_name\":\"user@test.pl\"}")
+                        .getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.security.BannedAccessTokens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BannedUserServiceImplTest {
+
+    BannedUserServiceImpl bannedUserService;
+
+    BannedAccessTokens bannedAccessTokens;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    ResultSet resultSet;
+
+    @Mock
+    PrincipalCacheService principalCacheService;
+
+    @BeforeEach
+    void setup() {
+        bannedAccessTokens = new BannedAccessTokens(3600);
+        bannedUserService = new BannedUserServiceImpl(jdbcTemplate, bannedAccessTokens, principalCacheService);
+    }
+
+    @Test
+    @DisplayName("Banning user locally and in database")
+    void shouldBanUser() {
+        bannedUserService.banUser("user@test.pl");
+        assertTrue(bannedAccessTokens.contains("user@test.pl"));
+        verify(jdbcTemplate).update(anyString(), eq("user@test.pl"),
+                argThat((OffsetDateTime date) -> ZoneOffset.UTC.equals(date.getOffset())));
+        verify(principalCacheService).evict("user@test.pl");
+    }
+
+    @Test
+    @DisplayName("Loading bans saved by other instances and removing expired bans")
+    void shouldSynchronizeBans() throws Exception {
+        when(resultSet.getString("EMAIL")).thenReturn("user@test.pl");
+        when(resultSet.getObject("DATE_BANNED", OffsetDateTime.class)).thenReturn(OffsetDateTime.now(ZoneOffset.UTC));
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(OffsetDateTime.class));
+        bannedUserService.synchronizeBans();
+        assertAll(() -> assertTrue(bannedAccessTokens.contains("user@test.pl")),
+                () -> assertFalse(bannedAccessTokens.contains("other@test.pl")));
+        verify(jdbcTemplate).update(anyString(), any(OffsetDateTime.class));
+        verify(principalCacheService).evict("user@test.pl");
+    }
+
+    @Test
+    @DisplayName("Not evicting principals of bans already synchronized")
+    void shouldNotEvictKnownBansOnSynchronization() throws Exception {
+        when(resultSet.getString("EMAIL")).thenReturn("user@test.pl");
+        when(resultSet.getObject("DATE_BANNED", OffsetDateTime.class)).thenReturn(OffsetDateTime.now(ZoneOffset.UTC));
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(OffsetDateTime.class));
+        bannedUserService.synchronizeBans();
+        bannedUserService.synchronizeBans();
+        assertTrue(bannedAccessTokens.contains("user@test.pl"));
+        verify(principalCacheService, times(1)).evict("user@test.pl");
+    }
+
+    @Test
+    @DisplayName("Ignoring bans older than access token validity")
+    void shouldIgnoreExpiredBans() {
+        bannedAccessTokens.addUser("user@test.pl", OffsetDateTime.now(ZoneId.systemDefault()).minusHours(2));
+        assertAll(() -> assertFalse(bannedAccessTokens.contains("user@test.pl")),
+                () -> assertEquals(0, bannedAccessTokens.size()));
+    }
+
+    @Test
+    @DisplayName("Keeping the latest ban of user")
+    void shouldKeepLatestBan() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneId.systemDefault());
+        assertAll(() -> assertTrue(bannedAccessTokens.addUser("user@test.pl", now)),
+                () -> assertFalse(bannedAccessTokens.addUser("user@test.pl", now.minusMinutes(10))));
+        assertAll(() -> assertTrue(bannedAccessTokens.isBanned("user@test.pl", now.minusMinutes(5))),
+                () -> assertFalse(bannedAccessTokens.isBanned("user@test.pl", now.plusMinutes(5))));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.MethodMetricsDTO;
+import com.project.stockexchangeappbackend.util.timemeasuring.MeasureTimeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsServiceImplTest {
+
+    @InjectMocks
+    MetricsServiceImpl metricsService;
+
+    @Test
+    @DisplayName("Getting metrics when nothing was recorded")
+    void shouldReturnEmptyMetrics() {
+        assertTrue(metricsService.getMetrics().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Getting percentiles of recorded execution times")
+    void shouldReturnPercentilesOfRecordedExecutionTimes() throws NoSuchMethodException {
+        Method method = StockService.class.getMethod("getStockById", Long.class);
+
+        LongStream.rangeClosed(1, 100)
+                .forEach(millis -> metricsService.record(MeasureTimeType.BUSINESS_LOGIC, method, millis * 1000000));
+        List<MethodMetricsDTO> metrics = metricsService.getMetrics();
+        assertEquals(1, metrics.size());
+        MethodMetricsDTO output = metrics.get(0);
+        assertAll(() -> assertEquals(MeasureTimeType.BUSINESS_LOGIC, output.getType()),
+                () -> assertEquals("StockService.getStockById", output.getMethod()),
+                () -> assertEquals(100L, output.getCount()),
+                () -> assertEquals(50.5, output.getMean(), 0.001),
+                () -> assertEquals(50., output.getP50(), 50 * 0.04),
+                () -> assertEquals(95., output.getP95(), 95 * 0.04),
+                () -> assertEquals(99., output.getP99(), 99 * 0.04),
+                () -> assertEquals(100., output.getMax(), 0.001));
+    }
+
+    @Test
+    @DisplayName("Getting metrics of the same method recorded with different types")
+    void shouldSeparateMetricsByType() throws NoSuchMethodException {
+        Method method = StockService.class.getMethod("getStockById", Long.class);
+
+        metricsService.record(MeasureTimeType.DB_QUERY, method, 1000);
+        metricsService.record(MeasureTimeType.BUSINESS_LOGIC, method, 2000);
+        List<MethodMetricsDTO> metrics = metricsService.getMetrics();
+        assertAll(() -> assertEquals(2, metrics.size()),
+                () -> assertEquals(MeasureTimeType.BUSINESS_LOGIC, metrics.get(0).getType()),
+                () -> assertEquals(MeasureTimeType.DB_QUERY, metrics.get(1).getType()),
+                () -> assertEquals(0.001, metrics.get(1).getMax(), 0.000001));
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.entity.Order;
+import com.project.stockexchangeappbackend.entity.Role;
+import com.project.stockexchangeappbackend.entity.Stock;
+import com.project.stockexchangeappbackend.entity.Tag;
+import com.project.stockexchangeappbackend.entity.User;
+import com.project.stockexchangeappbackend.repository.OrderRepository;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.orderbook.OrderBookEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.createBuyingOrder;
+import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.createSellingOrder;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBookServiceImplTest {
+
+    @InjectMocks
+    OrderBookServiceImpl orderBookService;
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    StockIndexTimeProperties stockIndexTimeProperties;
+
+    @Test
+    @DisplayName("Loading order books from database")
+    void shouldLoadOrderBooks() {
+        List<Stock> stocks = List.of(createStock(1L), createStock(2L));
+        User user = createUser(1L);
+        List<Order> orders = List.of(
+                createBuyingOrder(1L, 10, BigDecimal.ONE, OffsetDateTime.now().plusHours(1), user, stocks.get(0)),
+                createSellingOrder(2L, 10, BigDecimal.ONE, OffsetDateTime.now().plusHours(1), user, stocks.get(1)));
+
+        when(orderRepository.findByDateExpirationIsAfterAndDateClosingIsNullAndRemainingAmountGreaterThan(
+                any(OffsetDateTime.class), eq(0))).thenReturn(orders);
+        orderBookService.loadOrderBooks();
+        assertAll(() -> assertEquals(Set.of(stocks.get(0).getId(), stocks.get(1).getId()), orderBookService.getStockIds()),
+                () -> assertEquals(1, orderBookService.getActiveBuyingOrders(stocks.get(0).getId()).size()),
+                () -> assertTrue(orderBookService.getActiveBuyingOrders(stocks.get(1).getId()).isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Getting active buying orders sorted by price")
+    void shouldReturnBuyingOrdersSortedByPrice() {
+        Stock stock = createStock(1L);
+        User user = createUser(1L);
+        Order expensive = createBuyingOrder(1L, 10, BigDecimal.TEN, OffsetDateTime.now().plusHours(1), user, stock);
+        Order cheap = createBuyingOrder(2L, 10, BigDecimal.ONE, OffsetDateTime.now().plusHours(1), user, stock);
+        Order expired = createBuyingOrder(3L, 10, BigDecimal.ONE, OffsetDateTime.now().minusHours(1), user, stock);
+
+        orderBookService.addOrder(expensive);
+        orderBookService.addOrder(cheap);
+        orderBookService.addOrder(expired);
+        List<OrderBookEntry> orders = orderBookService.getActiveBuyingOrders(stock.getId());
+        assertAll(() -> assertEquals(2, orders.size()),
+                () -> assertEquals(cheap.getId(), orders.get(0).getOrder().getId()),
+                () -> assertEquals(100L, orders.get(0).getPriceTicks()),
+                () -> assertEquals(expensive.getId(), orders.get(1).getOrder().getId()));
+    }
+
+    @Test
+    @DisplayName("Getting active selling orders with price less than or equal")
+    void shouldReturnSellingOrdersWithPriceLessThanEqual() {
+        Stock stock = createStock(1L);
+        User user = createUser(1L);
+        Order expensive = createSellingOrder(1L, 10, BigDecimal.TEN, OffsetDateTime.now().plusHours(1), user, stock);
+        Order cheap = createSellingOrder(2L, 10, BigDecimal.ONE, OffsetDateTime.now().plusHours(1), user, stock);
+
+        orderBookService.addOrder(expensive);
+        orderBookService.addOrder(cheap);
+        List<OrderBookEntry> orders = orderBookService.getActiveSellingOrdersByPriceLessThanEqual(stock.getId(), 500L);
+        assertAll(() -> assertEquals(1, orders.size()),
+                () -> assertEquals(cheap.getId(), orders.get(0).getOrder().getId()));
+    }
+
+    @Test
+    @DisplayName("Removing order from order book")
+    void shouldRemoveOrder() {
+        Stock stock = createStock(1L);
+        User user = createUser(1L);
+        Order order = createBuyingOrder(1L, 10, BigDecimal.ONE, OffsetDateTime.now().plusHours(1), user, stock);
+
+        orderBookService.addOrder(order);
+        orderBookService.removeOrder(order);
+        assertTrue(orderBookService.getActiveBuyingOrders(stock.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Removing stock's order book")
+    void shouldRemoveStock() {
+        Stock stock = createStock(1L);
+        User user = createUser(1L);
+        Order order = createBuyingOrder(1L, 10, BigDecimal.ONE, OffsetDateTime.now().plusHours(1), user, stock);
+
+        orderBookService.addOrder(order);
+        orderBookService.removeStock(stock.getId());
+        assertTrue(orderBookService.getStockIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Removing expired orders from order book")
+    void shouldRemoveExpiredOrders() {
+        Stock stock = createStock(1L);
+        User user = createUser(1L);
+        Order shortTerm = createBuyingOrder(1L, 10, BigDecimal.ONE, OffsetDateTime.now().plusMinutes(5), user, stock);
+        Order longTerm = createSellingOrder(2L, 10, BigDecimal.ONE, OffsetDateTime.now().plusHours(5), user, stock);
+
+        orderBookService.addOrder(shortTerm);
+        orderBookService.addOrder(longTerm);
+        assertTrue(orderBookService.removeExpiredOrders(OffsetDateTime.now().plusMinutes(4)).isEmpty());
+        List<Order> expired = orderBookService.removeExpiredOrders(OffsetDateTime.now().plusHours(1));
+        assertAll(() -> assertEquals(List.of(shortTerm), expired),
+                () -> assertTrue(orderBookService.getActiveBuyingOrders(stock.getId()).isEmpty()),
+                () -> assertEquals(1, orderBookService
+                        .getActiveSellingOrdersByPriceLessThanEqual(stock.getId(), 100L).size()));
+        assertEquals(List.of(longTerm), orderBookService.removeExpiredOrders(OffsetDateTime.now().plusHours(6)));
+    }
+
+    @Test
+    @DisplayName("Removing expired orders when orders already removed from order book")
+    void shouldNotRemoveExpiredOrdersAlreadyRemoved() {
+        Stock stock = createStock(1L);
+        User user = createUser(1L);
+        Order removed = createBuyingOrder(1L, 10, BigDecimal.ONE, OffsetDateTime.now().plusMinutes(5), user, stock);
+        Order withoutOrderBook = createBuyingOrder(2L, 10, BigDecimal.ONE, OffsetDateTime.now().plusMinutes(5),
+                user, createStock(2L));
+
+        orderBookService.addOrder(removed);
+        orderBookService.addOrder(withoutOrderBook);
+        orderBookService.removeOrder(removed);
+        orderBookService.removeStock(withoutOrderBook.getStock().getId());
+        assertTrue(orderBookService.removeExpiredOrders(OffsetDateTime.now().plusHours(1)).isEmpty());
+    }
+
+    private static Stock createStock(Long id) {
+        return Stock.builder()
+                .id(id).name("WiG" + id).abbreviation("W" + id).amount(10000).currentPrice(BigDecimal.ZERO)
+                .tag(createTag()).isDeleted(Boolean.FALSE).resources(new ArrayList<>())
+                .build();
+    }
+
+    private static User createUser(Long id) {
+        return User.builder()
+                .id(id).email("user" + id + "@test").firstName("John").lastName("Kowal").password("password")
+                .money(BigDecimal.TEN).role(Role.USER).isActive(true).tag(createTag())
+                .userStocks(new ArrayList<>())
+                .build();
+    }
+
+    private static Tag createTag() {
+        return Tag.builder().id(1L).name("DEFAULT").build();
+    }
+
+}
@@ -5,19 +5,22 @@ import com.project.stockexchangeappbackend.dto.StockDTO;
 import com.project.stockexchangeappbackend.entity.*;
 import com.project.stockexchangeappbackend.exception.InvalidInputDataException;
 import com.project.stockexchangeappbackend.repository.*;
+import com.project.stockexchangeappbackend.util.AuthenticatedUser;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -26,8 +29,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import javax.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static com.project.stockexchangeappbackend.service.StockServiceImplTest.assertStock;
 import static com.project.stockexchangeappbackend.service.StockServiceImplTest.getStocksList;
@@ -36,7 +42,10 @@ import static com.project.stockexchangeappbackend.service.UserServiceImplTest.as
 import static com.project.stockexchangeappbackend.service.UserServiceImplTest.getUsersList;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,7 +67,10 @@ public class OrderServiceImplTest {
     AllOrdersRepository allOrdersRepository;
 
     @Mock
-    StockRepository stockRepository;
+    StockCacheService stockCacheService;
+
+    @Mock
+    PrincipalCacheService principalCacheService;
 
     @Mock
     UserRepository userRepository;
@@ -66,6 +78,15 @@ public class OrderServiceImplTest {
     @Mock
     ResourceRepository resourceRepository;
 
+    @Mock
+    OrderBookService orderBookService;
+
+    @Mock
+    ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
     @Test
     @DisplayName("Getting order by id as admin")
     void shouldReturnOrderAsAdmin(@Mock SecurityContext securityContext, @Mock Authentication authentication) {
@@ -123,19 +144,43 @@ public class OrderServiceImplTest {
         Resource resource = Resource.builder().id(1L).stock(stock).user(user).amount(stock.getAmount()).build();
         SecurityContextHolder.setContext(securityContext);
 
-        when(stockRepository.findByIdAndIsDeletedFalse(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockById(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user.getEmail());
-        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        when(principalCacheService.getPrincipal(user.getEmail())).thenReturn(Optional.of(getPrincipal(user)));
+        when(userRepository.getOne(user.getId())).thenReturn(user);
         when(resourceRepository.findByUserAndStock(user, stock)).thenReturn(Optional.of(resource));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                eq(stock), eq(user), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class)))
-                .thenReturn(Collections.emptyList());
         when(modelMapper.map(orderDTO, Order.class)).thenReturn(order);
+        when(resourceRepository.reserveAmount(user.getId(), stock.getId(), orderDTO.getAmount())).thenReturn(1);
         when(orderRepository.save(order)).thenReturn(order);
         assertAll(() -> orderService.createOrder(orderDTO));
     }
 
+    @Test
+    @DisplayName("Creating new order when available stock reserved by another order in the meantime")
+    void shouldThrowInvalidInputDataExceptionWhenCreatingNewOrderAndReservingStockFailed(
+            @Mock SecurityContext securityContext, @Mock Authentication authentication) {
+        Stock stock = getStocksList().get(0);
+        User user = getUsersList().get(0);
+        CreateOrderDTO orderDTO = createSellingOrderDTO(stock.getAmount(), OffsetDateTime.now().plusHours(1),
+                BigDecimal.ONE, stock.getId());
+        Order order = createSellingOrder(1L, orderDTO.getAmount(), orderDTO.getPrice(),
+                orderDTO.getDateExpiration(), user, stock);
+        Resource resource = Resource.builder().id(1L).stock(stock).user(user).amount(stock.getAmount()).build();
+        SecurityContextHolder.setContext(securityContext);
+
+        when(stockCacheService.getStockById(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(user.getEmail());
+        when(principalCacheService.getPrincipal(user.getEmail())).thenReturn(Optional.of(getPrincipal(user)));
+        when(userRepository.getOne(user.getId())).thenReturn(user);
+        when(resourceRepository.findByUserAndStock(user, stock)).thenReturn(Optional.of(resource));
+        when(modelMapper.map(orderDTO, Order.class)).thenReturn(order);
+        when(resourceRepository.reserveAmount(user.getId(), stock.getId(), orderDTO.getAmount())).thenReturn(0);
+        assertThrows(InvalidInputDataException.class, () -> orderService.createOrder(orderDTO));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     @DisplayName("Creating new order when user not having enough stock")
     void shouldThrowInvalidInputDataExceptionWhenCreatingNewOrderAndUserNotHavingStock(
@@ -147,14 +192,12 @@ public class OrderServiceImplTest {
         Resource resource = Resource.builder().id(1L).stock(stock).user(user).amount(stock.getAmount() - 1).build();
         SecurityContextHolder.setContext(securityContext);
 
-        when(stockRepository.findByIdAndIsDeletedFalse(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockById(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user.getEmail());
-        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        when(principalCacheService.getPrincipal(user.getEmail())).thenReturn(Optional.of(getPrincipal(user)));
+        when(userRepository.getOne(user.getId())).thenReturn(user);
         when(resourceRepository.findByUserAndStock(user, stock)).thenReturn(Optional.of(resource));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                eq(stock), eq(user), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class)))
-                .thenReturn(Collections.emptyList());
         assertThrows(InvalidInputDataException.class, () -> orderService.createOrder(orderDTO));
     }
 
@@ -169,17 +212,16 @@ public class OrderServiceImplTest {
         SecurityContextHolder.setContext(securityContext);
         Order order = createSellingOrder(1L, orderDTO.getAmount(), orderDTO.getPrice(),
                 orderDTO.getDateExpiration(), user, stock);
-        Resource resource = Resource.builder().id(1L).stock(stock).user(user).amount(order.getAmount()/2).build();
+        Resource resource = Resource.builder().id(1L).stock(stock).user(user)
+                .amount(order.getAmount()).reservedAmount(order.getAmount()/2).build();
         SecurityContextHolder.setContext(securityContext);
 
-        when(stockRepository.findByIdAndIsDeletedFalse(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockById(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user.getEmail());
-        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        when(principalCacheService.getPrincipal(user.getEmail())).thenReturn(Optional.of(getPrincipal(user)));
+        when(userRepository.getOne(user.getId())).thenReturn(user);
         when(resourceRepository.findByUserAndStock(user, stock)).thenReturn(Optional.of(resource));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                eq(stock), eq(user), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class)))
-                .thenReturn(Collections.singletonList(order));
         assertThrows(InvalidInputDataException.class, () -> orderService.createOrder(orderDTO));
     }
 
@@ -195,14 +237,12 @@ public class OrderServiceImplTest {
         Resource resource = Resource.builder().id(1L).stock(stock).user(user).amount(stock.getAmount()).build();
         SecurityContextHolder.setContext(securityContext);
 
-        when(stockRepository.findByIdAndIsDeletedFalse(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockById(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user.getEmail());
-        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        when(principalCacheService.getPrincipal(user.getEmail())).thenReturn(Optional.of(getPrincipal(user)));
+        when(userRepository.getOne(user.getId())).thenReturn(user);
         when(resourceRepository.findByUserAndStock(user, stock)).thenReturn(Optional.of(resource));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                eq(stock), eq(user), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class)))
-                .thenReturn(Collections.emptyList());
         assertThrows(InvalidInputDataException.class, () -> orderService.createOrder(orderDTO));
     }
 
@@ -216,10 +256,11 @@ public class OrderServiceImplTest {
                 BigDecimal.ONE, stock.getId());
         SecurityContextHolder.setContext(securityContext);
 
-        when(stockRepository.findByIdAndIsDeletedFalse(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockById(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user.getEmail());
-        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        when(principalCacheService.getPrincipal(user.getEmail())).thenReturn(Optional.of(getPrincipal(user)));
+        when(userRepository.getOne(user.getId())).thenReturn(user);
         assertThrows(InvalidInputDataException.class, () -> orderService.createOrder(orderDTO));
     }
 
@@ -234,10 +275,11 @@ public class OrderServiceImplTest {
         orderDTO.setPriceType(PriceType.GREATER_OR_EQUAL);
         SecurityContextHolder.setContext(securityContext);
 
-        when(stockRepository.findByIdAndIsDeletedFalse(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockById(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user.getEmail());
-        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        when(principalCacheService.getPrincipal(user.getEmail())).thenReturn(Optional.of(getPrincipal(user)));
+        when(userRepository.getOne(user.getId())).thenReturn(user);
         assertThrows(InvalidInputDataException.class, () -> orderService.createOrder(orderDTO));
     }
 
@@ -253,14 +295,12 @@ public class OrderServiceImplTest {
         Resource resource = Resource.builder().id(1L).stock(stock).user(user).amount(stock.getAmount()).build();
         SecurityContextHolder.setContext(securityContext);
 
-        when(stockRepository.findByIdAndIsDeletedFalse(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockById(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user.getEmail());
-        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        when(principalCacheService.getPrincipal(user.getEmail())).thenReturn(Optional.of(getPrincipal(user)));
+        when(userRepository.getOne(user.getId())).thenReturn(user);
         when(resourceRepository.findByUserAndStock(user, stock)).thenReturn(Optional.of(resource));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull
-                (Mockito.eq(stock), Mockito.eq(user), Mockito.eq(OrderType.SELLING_ORDER), Mockito.any(OffsetDateTime.class)))
-                .thenReturn(Collections.emptyList());
         assertThrows(InvalidInputDataException.class, () -> orderService.createOrder(orderDTO));
         user.setTag(getTagsList().get(0));
     }
@@ -275,10 +315,10 @@ public class OrderServiceImplTest {
                 BigDecimal.ONE, stock.getId());
         SecurityContextHolder.setContext(securityContext);
 
-        when(stockRepository.findByIdAndIsDeletedFalse(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockById(orderDTO.getStock().getId())).thenReturn(Optional.of(stock));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(username);
-        when(userRepository.findByEmailIgnoreCase(username)).thenReturn(Optional.empty());
+        when(principalCacheService.getPrincipal(username)).thenReturn(Optional.empty());
         assertThrows(AccessDeniedException.class, () -> orderService.createOrder(orderDTO));
     }
 
@@ -289,7 +329,7 @@ public class OrderServiceImplTest {
         CreateOrderDTO orderDTO = createSellingOrderDTO(stock.getAmount(), OffsetDateTime.now().plusHours(1),
                 BigDecimal.ONE, stock.getId());
 
-        when(stockRepository.findByIdAndIsDeletedFalse(orderDTO.getStock().getId())).thenReturn(Optional.empty());
+        when(stockCacheService.getStockById(orderDTO.getStock().getId())).thenReturn(Optional.empty());
         assertThrows(InvalidInputDataException.class, () -> orderService.createOrder(orderDTO));
     }
 
@@ -360,11 +400,12 @@ public class OrderServiceImplTest {
         SecurityContextHolder.setContext(securityContext);
 
         when(orderRepository.findById(id)).thenReturn(Optional.of(order));
-        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        when(principalCacheService.getPrincipal(user.getEmail())).thenReturn(Optional.of(getPrincipal(user)));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user.getEmail());
         when(archivedOrderRepository.findById(id)).thenReturn(Optional.of(archivedOrder));
         assertAll(() -> orderService.deactivateOrder(id));
+        verify(resourceRepository).releaseAmount(user.getId(), stock.getId(), order.getRemainingAmount());
     }
 
     @Test
@@ -375,16 +416,14 @@ public class OrderServiceImplTest {
         User user = getUsersList().get(0);
         Order order = createSellingOrder(1L, stock.getAmount(), BigDecimal.ONE,
                 OffsetDateTime.now().plusHours(1), user, stock);
-        ArchivedOrder archivedOrder = convertOrder(order);
         Long id = stock.getId();
         SecurityContextHolder.setContext(securityContext);
 
         when(orderRepository.findById(id)).thenReturn(Optional.of(order));
-        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        when(principalCacheService.getPrincipal(user.getEmail())).thenReturn(Optional.of(getPrincipal(user)));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user.getEmail());
         when(archivedOrderRepository.findById(id)).thenReturn(Optional.empty());
-        when(modelMapper.map(order, ArchivedOrder.class)).thenReturn(archivedOrder);
         assertAll(() -> orderService.deactivateOrder(id));
     }
 
@@ -402,7 +441,7 @@ public class OrderServiceImplTest {
         SecurityContextHolder.setContext(securityContext);
 
         when(orderRepository.findById(id)).thenReturn(Optional.of(order));
-        when(userRepository.findByEmailIgnoreCase(user2.getEmail())).thenReturn(Optional.of(user2));
+        when(principalCacheService.getPrincipal(user2.getEmail())).thenReturn(Optional.of(getPrincipal(user2)));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(user2.getEmail());
         assertThrows(AccessDeniedException.class, () -> orderService.deactivateOrder(id));
@@ -455,57 +494,46 @@ public class OrderServiceImplTest {
     }
 
     @Test
-    @DisplayName("Listing active buying orders")
-    void shouldListActiveBuyingOrders() {
+    @DisplayName("Archiving inactive orders")
+    void shouldMoveInactiveOrders() {
         Stock stock = getStocksList().get(0);
-        User user = getUsersList().get(0);
-        List<Order> orders = Collections.singletonList(
-                createBuyingOrder(1L, 100, BigDecimal.ONE, OffsetDateTime.now().plusHours(2), user, stock)
-        );
+        List<Order> orders = Collections.singletonList(Order.builder()
+                .id(1L).stock(Stock.builder().id(stock.getId()).build())
+                .build());
 
-        when(orderRepository.findByOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                eq(OrderType.BUYING_ORDER), any(OffsetDateTime.class)))
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Timestamp.class), any(Timestamp.class)))
                 .thenReturn(orders);
-        List<Order> output = orderService.getActiveBuyingOrders();
-        assertEquals(orders.size(), output.size());
-        for (int i=0; i<output.size(); i++) {
-            assertOrder(output.get(i), orders.get(i));
-        }
+        assertAll(() -> orderService.moveInactiveOrders());
+        verify(orderBookService).removeOrders(orders);
     }
 
     @Test
-    @DisplayName("Listing active selling orders")
-    void shouldListActiveSellingOrdersByStock() {
-        Stock stock = getStocksList().get(0);
-        User user = getUsersList().get(0);
-        List<Order> orders = Collections.singletonList(
-                createSellingOrder(1L, 100, BigDecimal.ONE, OffsetDateTime.now().plusHours(2), user, stock)
-        );
-
-        when(orderRepository.findByStockAndOrderTypeAndPriceIsLessThanEqualAndDateExpirationIsAfterAndDateClosingIsNullOrderByPrice(
-                eq(stock), eq(OrderType.SELLING_ORDER), eq(BigDecimal.TEN), any(OffsetDateTime.class)))
-                .thenReturn(orders);
-        List<Order> output = orderService.getActiveSellingOrdersByStockAndPriceLessThanEqual(stock, BigDecimal.TEN);
-        assertEquals(orders.size(), output.size());
-        for (int i=0; i<output.size(); i++) {
-            assertOrder(output.get(i), orders.get(i));
-        }
+    @DisplayName("Archiving inactive orders when there are no inactive orders")
+    void shouldMoveInactiveOrdersWhenNoInactiveOrders() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Timestamp.class), any(Timestamp.class)))
+                .thenReturn(Collections.emptyList());
+        assertAll(() -> orderService.moveInactiveOrders());
+        verify(orderBookService).removeOrders(Collections.emptyList());
     }
 
     @Test
-    @DisplayName("Archiving expired orders")
-    void shouldMoveInactiveOrders() {
-        Stock stock = getStocksList().get(0);
-        User user = getUsersList().get(0);
-        List<Order> orders = Collections.singletonList(
-                createSellingOrder(1L, 100, BigDecimal.ONE, OffsetDateTime.now().plusHours(2), user, stock)
-        );
-        orders.get(0).setRemainingAmount(0);
+    @DisplayName("Archiving expired orders in batches")
+    void shouldArchiveExpiredOrders() {
+        List<Long> ids = LongStream.rangeClosed(1, 1500).boxed().collect(Collectors.toList());
 
-        when(orderRepository.findByDateExpirationIsBeforeOrRemainingAmountOrDateClosingIsNotNull(
-                any(OffsetDateTime.class), eq(0)))
-                .thenReturn(orders);
-        assertAll(() -> orderService.moveInactiveOrders());
+        List<Object[]> batches = new ArrayList<>();
+
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any()))
+                .thenAnswer(invocation -> {
+                    batches.add(Arrays.copyOfRange(invocation.getArguments(), 2, invocation.getArguments().length));
+                    return Collections.emptyList();
+                });
+        assertAll(() -> orderService.archiveExpiredOrders(ids));
+        assertAll(() -> assertEquals(2, batches.size()),
+                () -> assertEquals(1002, batches.get(0).length),
+                () -> assertEquals(1L, batches.get(0)[0]),
+                () -> assertEquals(502, batches.get(1).length),
+                () -> assertEquals(1001L, batches.get(1)[0]));
     }
 
     @Test
@@ -533,25 +561,6 @@ public class OrderServiceImplTest {
         }
     }
 
-    @Test
-    @DisplayName("Refreshing state of active order by id")
-    void shouldRefreshStateOfOrder() {
-        Stock stock = getStocksList().get(0);
-        User user = getUsersList().get(0);
-        Order order = createSellingOrder(1L, 100, BigDecimal.ONE, OffsetDateTime.now(), user, stock);
-        Long id = order.getId();
-        when(orderRepository.findById(id)).thenReturn(Optional.of(order));
-        assertOrder(orderService.refreshObjectById(id).get(), order);
-    }
-
-    @Test
-    @DisplayName("Refreshing state of active order by id when order not found")
-    void shouldRefreshStateOfOrderWhenOrderNotFound() {
-        Long id = 1L;
-        when(orderRepository.findById(id)).thenReturn(Optional.empty());
-        assertTrue(orderService.refreshObjectById(id).isEmpty());
-    }
-
     public static void assertOrder(Order output, Order expected) {
         assertAll(() -> assertEquals(expected.getId(), output.getId()),
                 () -> assertEquals(expected.getAmount(), output.getAmount()),
@@ -672,6 +681,10 @@ public class OrderServiceImplTest {
                 .build();
     }
 
+    public static AuthenticatedUser getPrincipal(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), user.getTag().getName());
+    }
+
     public static ArchivedOrder convertOrder(Order order){
         return ArchivedOrder.builder()
                 .id(order.getId())
@@ -0,0 +1,68 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionServiceImplTest {
+
+    PartitionServiceImpl partitionService;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    StockIndexTimeProperties stockIndexTimeProperties;
+
+    @BeforeEach
+    void setup() {
+        stockIndexTimeProperties = new StockIndexTimeProperties();
+        partitionService = new PartitionServiceImpl(jdbcTemplate, stockIndexTimeProperties);
+    }
+
+    @Test
+    @DisplayName("Creating partitions of transactions and stock index values")
+    void shouldCreatePartitions() {
+        stockIndexTimeProperties.setPartitionsAhead(6);
+
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    LocalDateTime from = invocation.getArgument(4);
+                    LocalDateTime to = invocation.getArgument(5);
+                    assertEquals(6, ChronoUnit.MONTHS.between(from, to));
+                    return 1;
+                });
+        partitionService.createPartitions();
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Integer.class), eq("transactions"), eq("date"),
+                any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Integer.class), eq("stock_index_values"),
+                eq("timestamp"), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Creating partitions for default number of months when not configured")
+    void shouldCreatePartitionsForDefaultNumberOfMonths() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    LocalDateTime from = invocation.getArgument(4);
+                    LocalDateTime to = invocation.getArgument(5);
+                    assertEquals(3, ChronoUnit.MONTHS.between(from, to));
+                    return 0;
+                });
+        partitionService.createPartitions();
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Integer.class), any(), any(), any(), any());
+    }
+
+}
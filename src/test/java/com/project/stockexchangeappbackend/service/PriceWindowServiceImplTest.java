@@ -0,0 +1,134 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.entity.Stock;
+import com.project.stockexchangeappbackend.entity.Tag;
+import com.project.stockexchangeappbackend.repository.TransactionRepository;
+import com.project.stockexchangeappbackend.repository.TransactionRepository.TransactionPrice;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PriceWindowServiceImplTest {
+
+    @InjectMocks
+    PriceWindowServiceImpl priceWindowService;
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Getting price of stock without transactions")
+    void shouldReturnEmptyPriceWhenThereAreNoTransactions() {
+        Stock stock = createStock(1L);
+
+        when(transactionRepository.getTransactionPricesByStockId(eq(stock.getId()), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+        assertEquals(Optional.empty(), priceWindowService.getPrice(stock));
+    }
+
+    @Test
+    @DisplayName("Getting price of stock seeded from newest transactions covering stock's amount")
+    void shouldSeedPriceWindowFromNewestTransactions() {
+        Stock stock = createStock(1L);
+        stock.setAmount(100);
+        OffsetDateTime now = OffsetDateTime.now();
+        List<TransactionPrice> transactions = List.of(
+                createTransactionPrice(now, "2.00", 60),
+                createTransactionPrice(now.minusMinutes(1), "4.00", 40),
+                createTransactionPrice(now.minusMinutes(2), "100.00", 10));
+
+        when(transactionRepository.getTransactionPricesByStockId(eq(stock.getId()), any(Pageable.class)))
+                .thenReturn(transactions);
+        assertEquals(Optional.of(new BigDecimal("3.00")), priceWindowService.getPrice(stock));
+        assertEquals(Optional.of(new BigDecimal("3.00")), priceWindowService.getPrice(stock));
+        verify(transactionRepository, times(1)).getTransactionPricesByStockId(eq(stock.getId()), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Getting price of stock after new transactions")
+    void shouldSlideWindowWhenTransactionsAreAdded() {
+        Stock stock = createStock(1L);
+        stock.setAmount(100);
+        OffsetDateTime now = OffsetDateTime.now();
+        List<TransactionPrice> transactions = List.of(
+                createTransactionPrice(now, "2.00", 60),
+                createTransactionPrice(now.minusMinutes(1), "4.00", 40));
+
+        when(transactionRepository.getTransactionPricesByStockId(eq(stock.getId()), any(Pageable.class)))
+                .thenReturn(transactions);
+        priceWindowService.getPrice(stock);
+        priceWindowService.addTransaction(stock.getId(), 300L, 10, now.plusSeconds(1));
+        priceWindowService.addTransaction(stock.getId(), 500L, 50, now.plusSeconds(2));
+        assertEquals(Optional.of(new BigDecimal("3.33")), priceWindowService.getPrice(stock));
+    }
+
+    @Test
+    @DisplayName("Getting price of stock when transactions are settled during seeding")
+    void shouldNotCountTransactionsSettledDuringSeedingTwice() {
+        Stock stock = createStock(1L);
+        stock.setAmount(100);
+        OffsetDateTime now = OffsetDateTime.now();
+        List<TransactionPrice> transactions = List.of(
+                createTransactionPrice(now, "6.00", 60),
+                createTransactionPrice(now, "6.00", 10),
+                createTransactionPrice(now.minusMinutes(1), "2.00", 40));
+
+        when(transactionRepository.getTransactionPricesByStockId(eq(stock.getId()), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    priceWindowService.addTransaction(stock.getId(), 600L, 60, now);
+                    priceWindowService.addTransaction(stock.getId(), 600L, 10, now);
+                    return transactions;
+                });
+        assertEquals(Optional.of(new BigDecimal("4.67")), priceWindowService.getPrice(stock));
+    }
+
+    private static TransactionPrice createTransactionPrice(OffsetDateTime date, String unitPrice, int amount) {
+        return new TransactionPrice() {
+            @Override
+            public OffsetDateTime getDate() {
+                return date;
+            }
+
+            @Override
+            public BigDecimal getUnitPrice() {
+                return new BigDecimal(unitPrice);
+            }
+
+            @Override
+            public Integer getAmount() {
+                return amount;
+            }
+        };
+    }
+
+    private static Stock createStock(Long id) {
+        return Stock.builder()
+                .id(id).name("WiG" + id).abbreviation("W" + id).amount(10000).currentPrice(BigDecimal.ZERO)
+                .tag(createTag()).isDeleted(Boolean.FALSE).resources(new ArrayList<>())
+                .build();
+    }
+
+    private static Tag createTag() {
+        return Tag.builder().id(1L).name("DEFAULT").build();
+    }
+
+}
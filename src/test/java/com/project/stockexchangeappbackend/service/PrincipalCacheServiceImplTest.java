@@ -0,0 +1,115 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.entity.Role;
+import com.project.stockexchangeappbackend.entity.Tag;
+import com.project.stockexchangeappbackend.entity.User;
+import com.project.stockexchangeappbackend.repository.UserRepository;
+import com.project.stockexchangeappbackend.util.AuthenticatedUser;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheServiceImplTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    @Test
+    @DisplayName("Getting principal from cache after first lookup ignoring case")
+    void shouldReturnCachedPrincipal() {
+        PrincipalCacheServiceImpl principalCacheService = createPrincipalCacheService(1, 60000);
+        User user = createUser(1L);
+
+        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        principalCacheService.getPrincipal(user.getEmail());
+        AuthenticatedUser principal = principalCacheService.getPrincipal(user.getEmail().toUpperCase()).orElseThrow();
+        assertAll(() -> assertEquals(user.getId(), principal.getId()),
+                () -> assertEquals(user.getEmail(), principal.getEmail()),
+                () -> assertEquals(user.getRole(), principal.getRole()),
+                () -> assertEquals(user.getTag().getName(), principal.getTagName()));
+        verify(userRepository, times(1)).findByEmailIgnoreCase(anyString());
+    }
+
+    @Test
+    @DisplayName("Getting principal of not existing user")
+    void shouldNotCacheNotExistingUser() {
+        PrincipalCacheServiceImpl principalCacheService = createPrincipalCacheService(1, 60000);
+
+        when(userRepository.findByEmailIgnoreCase("none")).thenReturn(Optional.empty());
+        assertTrue(principalCacheService.getPrincipal("none").isEmpty());
+        assertTrue(principalCacheService.getPrincipal("none").isEmpty());
+        verify(userRepository, times(2)).findByEmailIgnoreCase("none");
+    }
+
+    @Test
+    @DisplayName("Getting principal after eviction")
+    void shouldReloadPrincipalAfterEviction() {
+        PrincipalCacheServiceImpl principalCacheService = createPrincipalCacheService(1, 60000);
+        User user = createUser(1L);
+
+        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        principalCacheService.getPrincipal(user.getEmail());
+        principalCacheService.evict(user.getEmail());
+        principalCacheService.getPrincipal(user.getEmail());
+        verify(userRepository, times(2)).findByEmailIgnoreCase(user.getEmail());
+    }
+
+    @Test
+    @DisplayName("Getting principal after time to live passed")
+    void shouldReloadExpiredPrincipal() throws InterruptedException {
+        PrincipalCacheServiceImpl principalCacheService = createPrincipalCacheService(1, 1);
+        User user = createUser(1L);
+
+        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+        principalCacheService.getPrincipal(user.getEmail());
+        Thread.sleep(5);
+        principalCacheService.getPrincipal(user.getEmail());
+        verify(userRepository, times(2)).findByEmailIgnoreCase(user.getEmail());
+    }
+
+    @Test
+    @DisplayName("Evicting least recently used principal when cache is full")
+    void shouldEvictLeastRecentlyUsedPrincipal() {
+        PrincipalCacheServiceImpl principalCacheService = createPrincipalCacheService(1, 60000);
+        User first = createUser(1L);
+        User second = createUser(2L);
+
+        when(userRepository.findByEmailIgnoreCase(first.getEmail())).thenReturn(Optional.of(first));
+        when(userRepository.findByEmailIgnoreCase(second.getEmail())).thenReturn(Optional.of(second));
+        principalCacheService.getPrincipal(first.getEmail());
+        principalCacheService.getPrincipal(second.getEmail());
+        principalCacheService.getPrincipal(first.getEmail());
+        verify(userRepository, times(2)).findByEmailIgnoreCase(first.getEmail());
+    }
+
+    private PrincipalCacheServiceImpl createPrincipalCacheService(int size, int ttl) {
+        StockIndexTimeProperties stockIndexTimeProperties = new StockIndexTimeProperties();
+        stockIndexTimeProperties.setPrincipalCacheSize(size);
+        stockIndexTimeProperties.setPrincipalCacheTtl(ttl);
+        return new PrincipalCacheServiceImpl(userRepository, stockIndexTimeProperties);
+    }
+
+    private static User createUser(Long id) {
+        return User.builder()
+                .id(id).email("user" + id + "@test").firstName("John").lastName("Kowal").password("password")
+                .money(BigDecimal.TEN).role(Role.USER).isActive(true).tag(createTag())
+                .userStocks(new ArrayList<>())
+                .build();
+    }
+
+    private static Tag createTag() {
+        return Tag.builder().id(1L).name("DEFAULT").build();
+    }
+
+}
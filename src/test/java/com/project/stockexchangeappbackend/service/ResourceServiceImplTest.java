@@ -6,7 +6,6 @@ import com.project.stockexchangeappbackend.dto.ResourceDTO;
 import com.project.stockexchangeappbackend.dto.UserDTO;
 import com.project.stockexchangeappbackend.entity.*;
 import com.project.stockexchangeappbackend.exception.InvalidInputDataException;
-import com.project.stockexchangeappbackend.repository.OrderRepository;
 import com.project.stockexchangeappbackend.repository.ResourceRepository;
 import com.project.stockexchangeappbackend.repository.StockRepository;
 import com.project.stockexchangeappbackend.repository.UserRepository;
@@ -16,7 +15,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -29,7 +27,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import javax.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -40,8 +37,9 @@ import static com.project.stockexchangeappbackend.service.TagServiceImplTest.get
 import static com.project.stockexchangeappbackend.service.UserServiceImplTest.getUsersList;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ResourceServiceImplTest {
@@ -55,14 +53,11 @@ class ResourceServiceImplTest {
     @Mock
     UserRepository userRepository;
 
-    @Mock
-    OrderRepository orderRepository;
-
     @Mock
     StockRepository stockRepository;
 
     @Mock
-    ModelMapper modelMapper;
+    StockCacheService stockCacheService;
 
     @Test
     @DisplayName("Paging and filtering logged in user's stocks")
@@ -83,12 +78,6 @@ class ResourceServiceImplTest {
         when(authentication.getPrincipal()).thenReturn(user.getEmail());
         when(resourceRepository.findAll(any(Specification.class), eq(pageable)))
                 .thenReturn(new PageImpl<>(resources, pageable, resources.size()));
-        when(modelMapper.map(any(Resource.class), eq(ResourceDTO.class)))
-                .thenReturn(resourcesDTO.get(0))
-                .thenReturn(resourcesDTO.get(1));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                any(Stock.class), eq(user), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class)))
-                .thenReturn(Collections.emptyList());
         Page<ResourceDTO> output = resourceService.getOwnedResources(pageable, resourceSpecification);
         assertEquals(resourcesDTO.size(), output.getNumberOfElements());
         for (int i=0; i<resources.size(); i++) {
@@ -114,12 +103,6 @@ class ResourceServiceImplTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(resourceRepository.findAll(any(Specification.class), eq(pageable)))
                 .thenReturn(new PageImpl<>(resources, pageable, resources.size()));
-        when(modelMapper.map(any(Resource.class), eq(ResourceDTO.class)))
-                .thenReturn(resourcesDTO.get(0))
-                .thenReturn(resourcesDTO.get(1));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                any(Stock.class), eq(user), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class)))
-                .thenReturn(Collections.emptyList());
         Page<ResourceDTO> output = resourceService.getUsersResources(pageable, resourceSpecification, userId);
         assertEquals(resourcesDTO.size(), output.getNumberOfElements());
         for (int i=0; i<resources.size(); i++) {
@@ -156,14 +139,10 @@ class ResourceServiceImplTest {
         Specification<Resource> resourceSpecification =
                 (root, criteriaQuery, criteriaBuilder) -> criteriaBuilder.equal(root.get("email"), "user");
 
-        when(stockRepository.findByIdAndIsDeletedFalse(stockId))
+        when(stockCacheService.getStockById(stockId))
                 .thenReturn(Optional.of(stock));
-        when(resourceRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(resources, pageable, resources.size()));
-        when(modelMapper.map(any(User.class), eq(UserDTO.class)))
-                .thenReturn(ownersDTO.get(0).getUser())
-                .thenReturn(ownersDTO.get(1).getUser())
-                .thenReturn(ownersDTO.get(2).getUser());
+        when(resourceRepository.findAllOwners(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(ownersDTO, pageable, ownersDTO.size()));
         Page<OwnerDTO> output = resourceService.getStockOwners(pageable, resourceSpecification, stockId);
         assertEquals(ownersDTO.size(), output.getNumberOfElements());
         for (int i=0; i<ownersDTO.size(); i++) {
@@ -179,7 +158,7 @@ class ResourceServiceImplTest {
         Specification<Resource> resourceSpecification =
                 (root, criteriaQuery, criteriaBuilder) -> criteriaBuilder.equal(root.get("email"), "test");
 
-        when(stockRepository.findByIdAndIsDeletedFalse(stockId))
+        when(stockCacheService.getStockById(stockId))
                 .thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class,
                 () -> resourceService.getStockOwners(pageable, resourceSpecification, stockId));
@@ -200,9 +179,6 @@ class ResourceServiceImplTest {
         when(userRepository.findById(moveStock.getUserSource().getId())).thenReturn(Optional.of(users.get(0)));
         when(userRepository.findById(moveStock.getUserDestination().getId())).thenReturn(Optional.of(users.get(1)));
         when(resourceRepository.findByUserAndStock(users.get(0), stock)).thenReturn(Optional.of(resource));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                any(Stock.class), any(User.class), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class)
-        )).thenReturn(Collections.emptyList());
         when(resourceRepository.findByUserAndStock(users.get(1),stock)).thenReturn(Optional.empty());
         assertAll(() -> resourceService.moveStock(stockId, moveStock));
         users.get(0).setRole(Role.USER);
@@ -223,9 +199,6 @@ class ResourceServiceImplTest {
         when(userRepository.findById(moveStock.getUserSource().getId())).thenReturn(Optional.of(users.get(0)));
         when(userRepository.findById(moveStock.getUserDestination().getId())).thenReturn(Optional.of(users.get(1)));
         when(resourceRepository.findByUserAndStock(users.get(0), stock)).thenReturn(Optional.of(resource));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                any(Stock.class), any(User.class), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class)
-        )).thenReturn(Collections.emptyList());
         when(resourceRepository.findByUserAndStock(users.get(1),stock)).thenReturn(Optional.empty());
         assertAll(() -> resourceService.moveStock(stockId, moveStock));
         users.get(0).setRole(Role.USER);
@@ -248,9 +221,7 @@ class ResourceServiceImplTest {
         when(userRepository.findById(moveStock.getUserSource().getId())).thenReturn(Optional.of(users.get(0)));
         when(userRepository.findById(moveStock.getUserDestination().getId())).thenReturn(Optional.of(users.get(1)));
         when(resourceRepository.findByUserAndStock(users.get(0), stock)).thenReturn(Optional.of(resource));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                eq(stock), eq(users.get(0)), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class)))
-                .thenReturn(Collections.singletonList(order));
+        resource.setReservedAmount(order.getRemainingAmount());
         assertThrows(InvalidInputDataException.class, () -> resourceService.moveStock(stockId, moveStock));
         users.get(1).setRole(Role.ADMIN);
     }
@@ -269,9 +240,6 @@ class ResourceServiceImplTest {
         when(userRepository.findById(moveStock.getUserSource().getId())).thenReturn(Optional.of(users.get(0)));
         when(userRepository.findById(moveStock.getUserDestination().getId())).thenReturn(Optional.of(users.get(1)));
         when(resourceRepository.findByUserAndStock(users.get(0), stock)).thenReturn(Optional.of(resource));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                eq(stock), eq(users.get(0)), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class)))
-                .thenReturn(Collections.emptyList());
         assertThrows(InvalidInputDataException.class, () -> resourceService.moveStock(stockId, moveStock));
     }
 
@@ -291,9 +259,6 @@ class ResourceServiceImplTest {
         when(userRepository.findById(moveStock.getUserSource().getId())).thenReturn(Optional.of(users.get(0)));
         when(userRepository.findById(moveStock.getUserDestination().getId())).thenReturn(Optional.of(users.get(1)));
         when(resourceRepository.findByUserAndStock(users.get(0), stock)).thenReturn(Optional.of(resource));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                eq(stock), eq(users.get(0)), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class))).
-                thenReturn(Collections.emptyList());
         assertThrows(InvalidInputDataException.class, () -> resourceService.moveStock(stockId, moveStock));
         users.get(1).setRole(Role.ADMIN);
         users.get(1).setTag(getTagsList().get(0));
@@ -313,9 +278,6 @@ class ResourceServiceImplTest {
         when(userRepository.findById(moveStock.getUserSource().getId())).thenReturn(Optional.of(user));
         when(userRepository.findById(moveStock.getUserDestination().getId())).thenReturn(Optional.of(user));
         when(resourceRepository.findByUserAndStock(user, stock)).thenReturn(Optional.of(resource));
-        when(orderRepository.findByStockAndUserAndOrderTypeAndDateExpirationIsAfterAndDateClosingIsNull(
-                eq(stock), eq(user), eq(OrderType.SELLING_ORDER), any(OffsetDateTime.class)))
-                .thenReturn(Collections.emptyList());
         assertThrows(InvalidInputDataException.class, () -> resourceService.moveStock(stockId, moveStock));
     }
 
@@ -359,6 +321,25 @@ class ResourceServiceImplTest {
         assertThrows(EntityNotFoundException.class, () -> resourceService.moveStock(stockId, moveStock));
     }
 
+    @Test
+    @DisplayName("Verifying reserved amounts of stocks")
+    void shouldRecalculateInvalidReservedAmounts() {
+        List<Long> resourceIds = List.of(1L, 2L);
+
+        when(resourceRepository.lockResourcesWithInvalidReservedAmount()).thenReturn(resourceIds);
+        when(resourceRepository.recalculateReservedAmounts(resourceIds)).thenReturn(resourceIds.size());
+        assertAll(() -> resourceService.verifyReservedAmounts());
+        verify(resourceRepository).recalculateReservedAmounts(resourceIds);
+    }
+
+    @Test
+    @DisplayName("Verifying reserved amounts of stocks when all are valid")
+    void shouldNotRecalculateValidReservedAmounts() {
+        when(resourceRepository.lockResourcesWithInvalidReservedAmount()).thenReturn(List.of());
+        assertAll(() -> resourceService.verifyReservedAmounts());
+        verify(resourceRepository, never()).recalculateReservedAmounts(anyCollection());
+    }
+
     public static void assertResourceDTO(ResourceDTO output, ResourceDTO expected) {
         assertAll(() -> assertEquals(expected.getId(), output.getId()),
                 () -> assertEquals(expected.getAmount(), output.getAmount()),
@@ -0,0 +1,70 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.SchedulerCycleDTO;
+import com.project.stockexchangeappbackend.util.SchedulerCycle;
+import com.project.stockexchangeappbackend.util.SchedulerType;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulerCycleServiceImplTest {
+
+    SchedulerCycleServiceImpl schedulerCycleService;
+
+    @BeforeEach
+    void setup() {
+        StockIndexTimeProperties stockIndexTimeProperties = new StockIndexTimeProperties();
+        stockIndexTimeProperties.setSchedulerCycleHistory(2);
+        stockIndexTimeProperties.setAlgorithmCycle(15000);
+        schedulerCycleService = new SchedulerCycleServiceImpl(stockIndexTimeProperties);
+    }
+
+    @Test
+    @DisplayName("Recording scheduler's cycle sample")
+    void shouldRecordCycle() {
+        SchedulerCycle cycle = SchedulerCycle.start(SchedulerType.STOCK_EXCHANGE_ALGORITHM);
+        SchedulerCycle.recordStocks(2);
+        SchedulerCycle.recordOrdersScanned(10);
+        SchedulerCycle.recordFills(3);
+        SchedulerCycle.recordRetry();
+        schedulerCycleService.record(cycle.finish());
+        List<SchedulerCycleDTO> cycles = schedulerCycleService.getCycles(null);
+        assertEquals(1, cycles.size());
+        SchedulerCycleDTO output = cycles.get(0);
+        assertAll(() -> assertEquals(SchedulerType.STOCK_EXCHANGE_ALGORITHM, output.getScheduler()),
+                () -> assertEquals(15000, output.getInterval()),
+                () -> assertEquals(2, output.getStocks()),
+                () -> assertEquals(10L, output.getOrdersScanned()),
+                () -> assertEquals(3L, output.getFills()),
+                () -> assertEquals(1L, output.getRetries()),
+                () -> assertNull(SchedulerCycle.current()));
+    }
+
+    @Test
+    @DisplayName("Keeping only the latest cycle samples")
+    void shouldKeepLatestCycles() {
+        schedulerCycleService.record(SchedulerCycle.start(SchedulerType.STOCK_PRICE_FIXING).finish());
+        schedulerCycleService.record(SchedulerCycle.start(SchedulerType.STOCK_EXCHANGE_ALGORITHM).finish());
+        schedulerCycleService.record(SchedulerCycle.start(SchedulerType.STOCK_PRICE_CHANGE_RATIO).finish());
+        List<SchedulerCycleDTO> cycles = schedulerCycleService.getCycles(null);
+        assertAll(() -> assertEquals(2, cycles.size()),
+                () -> assertEquals(SchedulerType.STOCK_EXCHANGE_ALGORITHM, cycles.get(0).getScheduler()),
+                () -> assertEquals(SchedulerType.STOCK_PRICE_CHANGE_RATIO, cycles.get(1).getScheduler()));
+    }
+
+    @Test
+    @DisplayName("Getting cycle samples of given scheduler")
+    void shouldFilterCyclesByScheduler() {
+        schedulerCycleService.record(SchedulerCycle.start(SchedulerType.STOCK_PRICE_FIXING).finish());
+        schedulerCycleService.record(SchedulerCycle.start(SchedulerType.STOCK_EXCHANGE_ALGORITHM).finish());
+        List<SchedulerCycleDTO> cycles = schedulerCycleService.getCycles(SchedulerType.STOCK_PRICE_FIXING);
+        assertAll(() -> assertEquals(1, cycles.size()),
+                () -> assertEquals(SchedulerType.STOCK_PRICE_FIXING, cycles.get(0).getScheduler()));
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.SettlementStatisticsDTO;
+import com.project.stockexchangeappbackend.entity.Order;
+import com.project.stockexchangeappbackend.entity.Role;
+import com.project.stockexchangeappbackend.entity.Stock;
+import com.project.stockexchangeappbackend.entity.Tag;
+import com.project.stockexchangeappbackend.entity.User;
+import com.project.stockexchangeappbackend.util.orderbook.Fill;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.createBuyingOrder;
+import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.createSellingOrder;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementServiceImplTest {
+
+    @InjectMocks
+    SettlementServiceImpl settlementService;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    PriceWindowService priceWindowService;
+
+    @Test
+    @DisplayName("Settling batch of fills")
+    void shouldSettleFills() {
+        Stock stock = createStock(1L);
+        List<Fill> fills = createFills(stock);
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1});
+        settlementService.settle(stock.getId(), fills);
+        SettlementStatisticsDTO statistics = settlementService.getStatistics();
+        verify(jdbcTemplate, times(6)).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate).update(anyString(), eq(stock.getId()));
+        verify(priceWindowService, times(2)).addTransaction(eq(stock.getId()), eq(1000L), eq(4),
+                any(OffsetDateTime.class));
+        assertAll(() -> assertEquals(1L, statistics.getBatches()),
+                () -> assertEquals((long) fills.size(), statistics.getFills()),
+                () -> assertEquals(0L, statistics.getFailedBatches()));
+    }
+
+    @Test
+    @DisplayName("Settling batch of fills when order was modified")
+    void shouldThrowOptimisticLockingFailureWhenOrderWasModified() {
+        Stock stock = createStock(1L);
+        List<Fill> fills = createFills(stock);
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0});
+        assertThrows(OptimisticLockingFailureException.class, () -> settlementService.settle(stock.getId(), fills));
+        SettlementStatisticsDTO statistics = settlementService.getStatistics();
+        assertAll(() -> assertEquals(0L, statistics.getBatches()),
+                () -> assertEquals(0L, statistics.getFills()),
+                () -> assertEquals(1L, statistics.getFailedBatches()));
+    }
+
+    @Test
+    @DisplayName("Settling changes in order of ids")
+    void shouldSettleChangesInOrderOfIds() {
+        OffsetDateTime now = OffsetDateTime.now();
+        Stock stock = Stock.builder().id(1L).build();
+        Order buyingOrder = createBuyingOrder(8L, 4, BigDecimal.TEN, now.plusHours(1),
+                User.builder().id(9L).build(), stock);
+        Order sellingOrder = createSellingOrder(5L, 4, BigDecimal.TEN, now.plusHours(1),
+                User.builder().id(3L).build(), stock);
+        buyingOrder.setRemainingAmount(0);
+        sellingOrder.setRemainingAmount(0);
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1});
+        settlementService.settle(stock.getId(), List.of(new Fill(buyingOrder, sellingOrder, 4, 1000L, now)));
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO ARCHIVED_ORDERS"),
+                argThat((List<Object[]> batch) -> batch.get(0)[0].equals(5L) && batch.get(1)[0].equals(8L)));
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO RESOURCES"),
+                argThat((List<Object[]> batch) -> batch.get(0)[0].equals(3L) && batch.get(1)[0].equals(9L)));
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE USERS"),
+                argThat((List<Object[]> batch) -> batch.get(0)[1].equals(3L) && batch.get(1)[1].equals(9L)));
+    }
+
+    private static List<Fill> createFills(Stock stock) {
+        OffsetDateTime now = OffsetDateTime.now();
+        Order buyingOrder = createBuyingOrder(1L, 10, BigDecimal.TEN, now.plusHours(1), createUser(1L), stock);
+        Order firstSellingOrder = createSellingOrder(2L, 4, BigDecimal.TEN, now.plusHours(1),
+                createUser(3L), stock);
+        Order secondSellingOrder = createSellingOrder(3L, 4, BigDecimal.TEN, now.plusHours(1),
+                createUser(3L), stock);
+        buyingOrder.setRemainingAmount(2);
+        firstSellingOrder.setRemainingAmount(0);
+        firstSellingOrder.setDateClosing(now);
+        secondSellingOrder.setRemainingAmount(0);
+        secondSellingOrder.setDateClosing(now);
+        return List.of(new Fill(buyingOrder, firstSellingOrder, 4, 1000L, now),
+                new Fill(buyingOrder, secondSellingOrder, 4, 1000L, now));
+    }
+
+    private static Stock createStock(Long id) {
+        return Stock.builder()
+                .id(id).name("WiG" + id).abbreviation("W" + id).amount(10000).currentPrice(BigDecimal.ZERO)
+                .tag(createTag()).isDeleted(Boolean.FALSE).resources(new ArrayList<>())
+                .build();
+    }
+
+    private static User createUser(Long id) {
+        return User.builder()
+                .id(id).email("user" + id + "@test").firstName("John").lastName("Kowal").password("password")
+                .money(BigDecimal.TEN).role(Role.USER).isActive(true).tag(createTag())
+                .userStocks(new ArrayList<>())
+                .build();
+    }
+
+    private static Tag createTag() {
+        return Tag.builder().id(1L).name("DEFAULT").build();
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.dto.StockCacheStatisticsDTO;
+import com.project.stockexchangeappbackend.entity.Stock;
+import com.project.stockexchangeappbackend.entity.Tag;
+import com.project.stockexchangeappbackend.repository.StockRepository;
+import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.project.stockexchangeappbackend.service.StockServiceImplTest.assertStock;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockCacheServiceImplTest {
+
+    StockCacheServiceImpl stockCacheService;
+
+    @Mock
+    StockRepository stockRepository;
+
+    @BeforeEach
+    void setup() {
+        StockIndexTimeProperties stockIndexTimeProperties = new StockIndexTimeProperties();
+        stockIndexTimeProperties.setStockCacheSize(1);
+        stockCacheService = new StockCacheServiceImpl(stockRepository, stockIndexTimeProperties);
+    }
+
+    @Test
+    @DisplayName("Getting stock by id from cache after first lookup")
+    void shouldReturnCachedStockById() {
+        Stock stock = createStock(1L);
+
+        when(stockRepository.findByIdAndIsDeletedFalse(stock.getId())).thenReturn(Optional.of(stock));
+        assertStock(stockCacheService.getStockById(stock.getId()).orElseThrow(), stock);
+        assertStock(stockCacheService.getStockById(stock.getId()).orElseThrow(), stock);
+        verify(stockRepository, times(1)).findByIdAndIsDeletedFalse(stock.getId());
+    }
+
+    @Test
+    @DisplayName("Getting stock by abbreviation from cache ignoring case")
+    void shouldReturnCachedStockByAbbreviation() {
+        Stock stock = createStock(1L);
+
+        when(stockRepository.findByIdAndIsDeletedFalse(stock.getId())).thenReturn(Optional.of(stock));
+        stockCacheService.getStockById(stock.getId());
+        assertStock(stockCacheService.getStockByAbbreviation(stock.getAbbreviation().toLowerCase()).orElseThrow(), stock);
+        verify(stockRepository, never()).findByAbbreviationIgnoreCaseAndIsDeletedFalse(anyString());
+    }
+
+    @Test
+    @DisplayName("Getting stock by id after eviction")
+    void shouldReloadStockAfterEviction() {
+        Stock stock = createStock(1L);
+
+        when(stockRepository.findByIdAndIsDeletedFalse(stock.getId())).thenReturn(Optional.of(stock));
+        stockCacheService.getStockById(stock.getId());
+        stockCacheService.evict(stock.getId());
+        stockCacheService.getStockById(stock.getId());
+        verify(stockRepository, times(2)).findByIdAndIsDeletedFalse(stock.getId());
+    }
+
+    @Test
+    @DisplayName("Evicting least recently used stock when cache is full")
+    void shouldEvictLeastRecentlyUsedStock() {
+        Stock first = createStock(1L);
+        Stock second = createStock(2L);
+
+        when(stockRepository.findByIdAndIsDeletedFalse(first.getId())).thenReturn(Optional.of(first));
+        when(stockRepository.findByIdAndIsDeletedFalse(second.getId())).thenReturn(Optional.of(second));
+        stockCacheService.getStockById(first.getId());
+        stockCacheService.getStockById(second.getId());
+        stockCacheService.getStockById(first.getId());
+        assertEquals(1, stockCacheService.getStatistics().getSize());
+        verify(stockRepository, times(2)).findByIdAndIsDeletedFalse(first.getId());
+    }
+
+    @Test
+    @DisplayName("Refreshing prices of cached stocks")
+    void shouldRefreshPricesOfCachedStocks() {
+        Stock stock = createStock(1L);
+        BigDecimal currentPrice = stock.getCurrentPrice();
+        Stock updatedStock = Stock.builder()
+                .id(stock.getId()).currentPrice(BigDecimal.TEN).priceChangeRatio(0.5)
+                .build();
+
+        when(stockRepository.findByIdAndIsDeletedFalse(stock.getId())).thenReturn(Optional.of(stock));
+        stockCacheService.getStockById(stock.getId());
+        stockCacheService.refreshPrices(List.of(updatedStock));
+        Stock output = stockCacheService.getStockById(stock.getId()).orElseThrow();
+        assertAll(() -> assertEquals(BigDecimal.TEN, output.getCurrentPrice()),
+                () -> assertEquals(0.5, output.getPriceChangeRatio()),
+                () -> assertEquals(currentPrice, stock.getCurrentPrice()));
+    }
+
+    @Test
+    @DisplayName("Getting cache statistics")
+    void shouldReturnStatistics() {
+        Stock stock = createStock(1L);
+
+        when(stockRepository.findByIdAndIsDeletedFalse(stock.getId())).thenReturn(Optional.of(stock));
+        stockCacheService.getStockById(stock.getId());
+        stockCacheService.getStockById(stock.getId());
+        stockCacheService.getStockById(stock.getId());
+        stockCacheService.getStockById(stock.getId());
+        StockCacheStatisticsDTO statistics = stockCacheService.getStatistics();
+        assertAll(() -> assertEquals(1, statistics.getSize()),
+                () -> assertEquals(1, statistics.getCapacity()),
+                () -> assertEquals(3L, statistics.getHits()),
+                () -> assertEquals(1L, statistics.getMisses()),
+                () -> assertEquals(0.75, statistics.getHitRatio()));
+    }
+
+    private static Stock createStock(Long id) {
+        return Stock.builder()
+                .id(id).name("WiG" + id).abbreviation("W" + id).amount(10000).currentPrice(BigDecimal.ZERO)
+                .tag(createTag()).isDeleted(Boolean.FALSE).resources(new ArrayList<>())
+                .build();
+    }
+
+    private static Tag createTag() {
+        return Tag.builder().id(1L).name("DEFAULT").build();
+    }
+
+}
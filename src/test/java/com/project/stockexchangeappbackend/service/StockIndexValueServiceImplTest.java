@@ -4,21 +4,20 @@ import com.project.stockexchangeappbackend.dto.StockIndexValueDTO;
 import com.project.stockexchangeappbackend.entity.Stock;
 import com.project.stockexchangeappbackend.entity.StockIndexValue;
 import com.project.stockexchangeappbackend.repository.StockIndexValueRepository;
-import com.project.stockexchangeappbackend.repository.StockRepository;
 import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -38,7 +37,7 @@ class StockIndexValueServiceImplTest {
     StockIndexValueServiceImpl stockIndexValueService;
 
     @Mock
-    StockRepository stockRepository;
+    StockCacheService stockCacheService;
 
     @Mock
     StockIndexValueRepository stockIndexValueRepository;
@@ -85,30 +84,99 @@ class StockIndexValueServiceImplTest {
         Integer interval = 1;
         Stock stock = getStocksList().get(0);
         Long stockId = stock.getId();
-        OffsetDateTime now = OffsetDateTime.now();
-        List<StockIndexValue> results = new ArrayList<>(List.of(
-            createCustomStockIndexValue(stock, stock.getCurrentPrice().add(BigDecimal.ZERO), now),
-            createCustomStockIndexValue(stock, stock.getCurrentPrice().add(BigDecimal.ONE), now.minusSeconds(15)),
-            createCustomStockIndexValue(stock, stock.getCurrentPrice().add(BigDecimal.TEN), now.minusSeconds(2*15)),
-            createCustomStockIndexValue(stock, stock.getCurrentPrice().add(BigDecimal.ONE), now.minusSeconds(3*15)),
-            createCustomStockIndexValue(stock, stock.getCurrentPrice().add(BigDecimal.ZERO), now.minusSeconds(4*15)),
-            createCustomStockIndexValue(stock, stock.getCurrentPrice().add(BigDecimal.ONE), now.minusSeconds(5*15)),
-            createCustomStockIndexValue(stock, stock.getCurrentPrice().add(BigDecimal.TEN), now.minusSeconds(6*15)),
-            createCustomStockIndexValue(stock, stock.getCurrentPrice().add(BigDecimal.ONE), now.minusSeconds(7*15))));
+        OffsetDateTime start = OffsetDateTime.of(2020, 11, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        List<StockIndexValue> results = createStockIndexValues(stock, start);
         List<StockIndexValueDTO> expected = List.of(
-                new StockIndexValueDTO(results.subList(5, 8)),
-                new StockIndexValueDTO(results.subList(0, 6)));
+                new StockIndexValueDTO(start.plusSeconds(3*15), new BigDecimal("100.00"),
+                        new BigDecimal("100.00"), new BigDecimal("110.00"), new BigDecimal("101.00")),
+                new StockIndexValueDTO(start.plusSeconds(7*15), new BigDecimal("100.00"),
+                        new BigDecimal("99.00"), new BigDecimal("110.00"), new BigDecimal("99.00")));
 
-        when(stockRepository.findByIdAndIsDeletedFalse(stockId)).thenReturn(Optional.of(stock));
-        when(stockIndexValueRepository.findAll(any(Specification.class), any(Sort.class)))
-                .thenReturn(results);
-        List<StockIndexValueDTO> output = stockIndexValueService.getStockIndexValues(stockId, null, interval);
+        when(stockCacheService.getStockById(stockId)).thenReturn(Optional.of(stock));
+        when(stockIndexTimeProperties.getMaxPriceHistoryPeriod()).thenReturn(24);
+        when(stockIndexValueRepository.findByStockIdOrderByTimestampAsc(stockId)).thenReturn(results);
+        List<StockIndexValueDTO> output = stockIndexValueService.getStockIndexValues(stockId, null, null, interval);
         assertEquals(expected.size(), output.size());
         for (int i=0; i<expected.size(); i++) {
             assertStockIndexValueDTO(expected.get(i), output.get(i));
         }
     }
 
+    @Test
+    @DisplayName("Getting stock price in OHLC format merged from pre-aggregated candles")
+    void shouldReturnStockIndexValuesMergedToInterval() {
+        Integer interval = 2;
+        Stock stock = getStocksList().get(0);
+        Long stockId = stock.getId();
+        OffsetDateTime start = OffsetDateTime.of(2020, 11, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        List<StockIndexValue> results = createStockIndexValues(stock, start);
+        StockIndexValueDTO expected = new StockIndexValueDTO(start.plusSeconds(7*15), new BigDecimal("100.00"),
+                new BigDecimal("99.00"), new BigDecimal("110.00"), new BigDecimal("99.00"));
+
+        when(stockCacheService.getStockById(stockId)).thenReturn(Optional.of(stock));
+        when(stockIndexTimeProperties.getMaxPriceHistoryPeriod()).thenReturn(24);
+        when(stockIndexValueRepository.findByStockIdOrderByTimestampAsc(stockId)).thenReturn(results);
+        List<StockIndexValueDTO> output = stockIndexValueService.getStockIndexValues(stockId, null, null, interval);
+        assertEquals(1, output.size());
+        assertStockIndexValueDTO(expected, output.get(0));
+    }
+
+    @Test
+    @DisplayName("Getting stock price in OHLC format including appended values and time range")
+    void shouldReturnStockIndexValuesWithAppendedValues() {
+        Integer interval = 1;
+        Stock stock = getStocksList().get(0);
+        Long stockId = stock.getId();
+        OffsetDateTime start = OffsetDateTime.of(2020, 11, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        List<StockIndexValue> results = createStockIndexValues(stock, start);
+        StockIndexValue appended = createCustomStockIndexValue(stock, new BigDecimal("120"), start.plusMinutes(2));
+        StockIndexValueDTO expected = new StockIndexValueDTO(appended.getTimestamp(), new BigDecimal("120.00"),
+                new BigDecimal("120.00"), new BigDecimal("120.00"), new BigDecimal("120.00"));
+
+        when(stockCacheService.getStockById(stockId)).thenReturn(Optional.of(stock));
+        when(stockIndexTimeProperties.getFixingPriceCycle()).thenReturn(30000);
+        when(stockIndexTimeProperties.getMaxPriceHistoryPeriod()).thenReturn(24);
+        when(stockIndexValueRepository.findByStockIdOrderByTimestampAsc(stockId)).thenReturn(results);
+        when(stockIndexValueRepository.findStockWithExceedHistory(any(Integer.class)))
+                .thenReturn(Collections.emptyList());
+        stockIndexValueService.getStockIndexValues(stockId, null, null, interval);
+        stockIndexValueService.appendValues(List.of(appended));
+        List<StockIndexValueDTO> output = stockIndexValueService.getStockIndexValues(stockId,
+                start.plusMinutes(2), null, interval);
+        assertEquals(1, output.size());
+        assertStockIndexValueDTO(expected, output.get(0));
+    }
+
+    @Test
+    @DisplayName("Getting stock price in OHLC format including only committed appended values")
+    void shouldReturnStockIndexValuesWithCommittedAppendedValuesOnly() {
+        Integer interval = 1;
+        Stock stock = getStocksList().get(0);
+        Long stockId = stock.getId();
+        OffsetDateTime start = OffsetDateTime.of(2020, 11, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        List<StockIndexValue> results = createStockIndexValues(stock, start);
+        StockIndexValue appended = createCustomStockIndexValue(stock, new BigDecimal("120"), start.plusMinutes(2));
+
+        when(stockCacheService.getStockById(stockId)).thenReturn(Optional.of(stock));
+        when(stockIndexTimeProperties.getFixingPriceCycle()).thenReturn(30000);
+        when(stockIndexTimeProperties.getMaxPriceHistoryPeriod()).thenReturn(24);
+        when(stockIndexValueRepository.findByStockIdOrderByTimestampAsc(stockId)).thenReturn(results);
+        when(stockIndexValueRepository.findStockWithExceedHistory(any(Integer.class)))
+                .thenReturn(Collections.emptyList());
+        stockIndexValueService.getStockIndexValues(stockId, null, null, interval);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stockIndexValueService.appendValues(List.of(appended));
+            assertEquals(0, stockIndexValueService.getStockIndexValues(stockId,
+                    start.plusMinutes(2), null, interval).size());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, stockIndexValueService.getStockIndexValues(stockId, start.plusMinutes(2), null, interval)
+                .size());
+    }
+
     @Test
     @DisplayName("Getting stock price in OHLC format when history data not found")
     void shouldReturnStockIndexValuesEmptyList() {
@@ -116,10 +184,11 @@ class StockIndexValueServiceImplTest {
         Stock stock = getStocksList().get(0);
         Long stockId = stock.getId();
 
-        when(stockRepository.findByIdAndIsDeletedFalse(stockId)).thenReturn(Optional.of(stock));
-        when(stockIndexValueRepository.findAll(any(Specification.class), any(Sort.class)))
+        when(stockCacheService.getStockById(stockId)).thenReturn(Optional.of(stock));
+        when(stockIndexTimeProperties.getMaxPriceHistoryPeriod()).thenReturn(24);
+        when(stockIndexValueRepository.findByStockIdOrderByTimestampAsc(stockId))
                 .thenReturn(Collections.emptyList());
-        assertEquals(0, stockIndexValueService.getStockIndexValues(stockId, null, interval).size());
+        assertEquals(0, stockIndexValueService.getStockIndexValues(stockId, null, null, interval).size());
     }
 
     @Test
@@ -127,9 +196,9 @@ class StockIndexValueServiceImplTest {
     void shouldThrowExceptionNotFoundWhenGettingStockIndexHistory() {
         Long stockId = 1L;
         Integer interval = 1;
-        when(stockRepository.findByIdAndIsDeletedFalse(stockId)).thenReturn(Optional.empty());
+        when(stockCacheService.getStockById(stockId)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class,
-                () -> stockIndexValueService.getStockIndexValues(stockId, null, interval));
+                () -> stockIndexValueService.getStockIndexValues(stockId, null, null, interval));
     }
 
     @Test
@@ -162,6 +231,17 @@ class StockIndexValueServiceImplTest {
                 () -> assertEquals(expected.getId(), output.getId()));
     }
 
+    public List<StockIndexValue> createStockIndexValues(Stock stock, OffsetDateTime start) {
+        List<BigDecimal> values = List.of(new BigDecimal("100"), new BigDecimal("110"), new BigDecimal("100"),
+                new BigDecimal("101"), new BigDecimal("100"), new BigDecimal("110"), new BigDecimal("100"),
+                new BigDecimal("99"));
+        List<StockIndexValue> stockIndexValues = new ArrayList<>();
+        for (int i=0; i<values.size(); i++) {
+            stockIndexValues.add(createCustomStockIndexValue(stock, values.get(i), start.plusSeconds(i*15)));
+        }
+        return stockIndexValues;
+    }
+
     public StockIndexValue createCustomStockIndexValue(Stock stock, BigDecimal value, OffsetDateTime timestamp) {
         return StockIndexValue.builder()
                 .stock(stock)
@@ -24,7 +24,6 @@ import javax.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.createCustomOrder;
 import static com.project.stockexchangeappbackend.service.TagServiceImplTest.assertTag;
@@ -60,6 +59,15 @@ public class StockServiceImplTest {
     @Mock
     TagService tagService;
 
+    @Mock
+    OrderBookService orderBookService;
+
+    @Mock
+    PriceWindowService priceWindowService;
+
+    @Mock
+    StockCacheService stockCacheService;
+
     @Mock
     ModelMapper modelMapper;
 
@@ -73,7 +81,7 @@ public class StockServiceImplTest {
     void shouldReturnStockById() {
         Stock stock = getStocksList().get(0);
         Long id = stock.getId();
-        when(stockRepository.findByIdAndIsDeletedFalse(id)).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockById(id)).thenReturn(Optional.of(stock));
         assertStock(stockService.getStockById(id), stock);
     }
 
@@ -81,7 +89,7 @@ public class StockServiceImplTest {
     @DisplayName("Getting stock by id when stock not found")
     void shouldThrowEntityNotFoundWhenGettingStockById() {
         Long id = 1L;
-        when(stockRepository.findByIdAndIsDeletedFalse(id)).thenReturn(Optional.empty());
+        when(stockCacheService.getStockById(id)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> stockService.getStockById(id));
     }
 
@@ -107,7 +115,7 @@ public class StockServiceImplTest {
     void shouldReturnStockByAbbreviation() {
         Stock stock = getStocksList().get(0);
         String abbreviation = stock.getAbbreviation();
-        when(stockRepository.findByAbbreviationIgnoreCaseAndIsDeletedFalse(abbreviation)).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockByAbbreviation(abbreviation)).thenReturn(Optional.of(stock));
         assertStock(stockService.getStockByAbbreviation(abbreviation), stock);
     }
 
@@ -115,7 +123,7 @@ public class StockServiceImplTest {
     @DisplayName("Getting stock by abbreviation when stock not found")
     void shouldThrowEntityNotFoundWhenGettingStockByAbbreviation() {
         String abbreviation = "non";
-        when(stockRepository.findByAbbreviationIgnoreCaseAndIsDeletedFalse(abbreviation)).thenReturn(Optional.empty());
+        when(stockCacheService.getStockByAbbreviation(abbreviation)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> stockService.getStockByAbbreviation(abbreviation));
     }
 
@@ -193,7 +201,7 @@ public class StockServiceImplTest {
     void shouldReturnStockByIdOrAbbreviation() {
         Stock stock = getStocksList().get(0);
         String id = stock.getId().toString();
-        when(stockRepository.findByIdAndIsDeletedFalse(Long.valueOf(id))).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockById(Long.valueOf(id))).thenReturn(Optional.of(stock));
         assertStock(stockService.getStockByIdOrAbbreviation(id), stock);
     }
 
@@ -202,7 +210,7 @@ public class StockServiceImplTest {
     void shouldReturnStockByIdOrAbbreviation2() {
         Stock stock = getStocksList().get(0);
         String id = stock.getName();
-        when(stockRepository.findByAbbreviationIgnoreCaseAndIsDeletedFalse(id)).thenReturn(Optional.of(stock));
+        when(stockCacheService.getStockByAbbreviation(id)).thenReturn(Optional.of(stock));
         assertStock(stockService.getStockByIdOrAbbreviation(id), stock);
     }
 
@@ -211,7 +219,7 @@ public class StockServiceImplTest {
     void shouldThrowEntityNotFoundExceptionWhenGettingStockByIdOrAbbreviation() {
         Stock stock = getStocksList().get(0);
         String id = stock.getId().toString();
-        when(stockRepository.findByIdAndIsDeletedFalse(Long.valueOf(id))).thenReturn(Optional.empty());
+        when(stockCacheService.getStockById(Long.valueOf(id))).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> stockService.getStockByIdOrAbbreviation(id));
     }
 
@@ -220,7 +228,7 @@ public class StockServiceImplTest {
     void shouldThrowEntityNotFoundExceptionWhenGettingStockByIdOrAbbreviation2() {
         Stock stock = getStocksList().get(0);
         String id = stock.getName();
-        when(stockRepository.findByAbbreviationIgnoreCaseAndIsDeletedFalse(id)).thenReturn(Optional.empty());
+        when(stockCacheService.getStockByAbbreviation(id)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> stockService.getStockByIdOrAbbreviation(id));
     }
 
@@ -425,14 +433,9 @@ public class StockServiceImplTest {
         List<Order> stocksOrders = List.of(createCustomOrder(1L, 100, 100,
                 OrderType.SELLING_ORDER, PriceType.EQUAL, BigDecimal.TEN, OffsetDateTime.now().minusDays(1),
                 OffsetDateTime.now().plusHours(1), null, user, stock));
-        List<ArchivedOrder> archivedOrders = stocksOrders.stream()
-                .map(OrderServiceImplTest::convertOrder)
-                .collect(Collectors.toList());
 
         when(stockRepository.findByIdAndIsDeletedFalse(stockId)).thenReturn(Optional.of(stock));
         when(orderRepository.findByStock(stock)).thenReturn(stocksOrders);
-        when(modelMapper.map(Mockito.any(Order.class), Mockito.eq(ArchivedOrder.class)))
-                .thenReturn(archivedOrders.get(0));
         assertAll(() -> stockService.deleteStock(stockId));
         stock.getResources().clear();
     }
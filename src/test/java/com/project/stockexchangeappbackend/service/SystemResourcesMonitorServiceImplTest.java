@@ -3,89 +3,194 @@ package com.project.stockexchangeappbackend.service;
 import com.project.stockexchangeappbackend.entity.SystemResourcesMonitor;
 import com.project.stockexchangeappbackend.repository.SystemResourcesMonitorRepository;
 import com.project.stockexchangeappbackend.util.StockIndexTimeProperties;
+import com.project.stockexchangeappbackend.util.monitoring.RuntimeResourcesProbe;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import oshi.hardware.GlobalMemory;
 
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertAll;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class SystemResourcesMonitorServiceImplTest {
 
-    @InjectMocks
     SystemResourcesMonitorServiceImpl systemResourcesMonitorService;
 
     @Mock
     SystemResourcesMonitorRepository systemResourcesMonitorRepository;
 
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
     @Mock
     GlobalMemory globalMemory;
 
     @Mock
+    RuntimeResourcesProbe runtimeResourcesProbe;
+
     StockIndexTimeProperties stockIndexTimeProperties;
 
+    @BeforeEach
+    void setup() {
+        stockIndexTimeProperties = new StockIndexTimeProperties();
+        stockIndexTimeProperties.setSystemResourcesMonitorHistory(1);
+        stockIndexTimeProperties.setSystemResourcesMonitorInterval(1800000);
+        stockIndexTimeProperties.setSystemResourcesMonitorFlush(true);
+        systemResourcesMonitorService = new SystemResourcesMonitorServiceImpl(systemResourcesMonitorRepository,
+                jdbcTemplate, globalMemory, runtimeResourcesProbe, stockIndexTimeProperties);
+    }
+
     @Test
     @DisplayName("Saving system resource info")
     void shouldAddNewSystemResourcesMonitor() {
+        when(globalMemory.getTotal()).thenReturn(Runtime.getRuntime().maxMemory());
+        systemResourcesMonitorService.addSystemResources();
+        List<SystemResourcesMonitor> output = systemResourcesMonitorService.getInfo(null, null);
+        assertAll(() -> assertEquals(1, output.size()),
+                () -> assertTrue(output.get(0).getMemoryUsed() > 0),
+                () -> assertTrue(output.get(0).getMemoryUsage() > 0));
+        verifyNoInteractions(systemResourcesMonitorRepository, jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Saving runtime resource info as differences from previous info")
+    void shouldAddRuntimeResourcesDifferences() {
         when(globalMemory.getTotal()).thenReturn(1024L);
-        when(systemResourcesMonitorRepository.count()).thenReturn(10L);
-        when(stockIndexTimeProperties.getSystemResourcesMonitorHistory()).thenReturn(1);
-        when(stockIndexTimeProperties.getSystemResourcesMonitorInterval()).thenReturn(500);
-        assertAll(() -> systemResourcesMonitorService.addSystemResources());
+        when(runtimeResourcesProbe.getGcCount()).thenReturn(3L, 5L);
+        when(runtimeResourcesProbe.getGcTime()).thenReturn(20L, 35L);
+        when(runtimeResourcesProbe.getAllocatedBytes()).thenReturn(1000L, 800L);
+        when(runtimeResourcesProbe.getThreadCount()).thenReturn(30);
+        when(runtimeResourcesProbe.getActiveConnections()).thenReturn(2);
+        when(runtimeResourcesProbe.getBusyServerThreads()).thenReturn(RuntimeResourcesProbe.UNAVAILABLE);
+        systemResourcesMonitorService = new SystemResourcesMonitorServiceImpl(systemResourcesMonitorRepository,
+                jdbcTemplate, globalMemory, runtimeResourcesProbe, stockIndexTimeProperties);
+        systemResourcesMonitorService.addSystemResources();
+        SystemResourcesMonitor output = systemResourcesMonitorService.getInfo(null, null).get(0);
+        assertAll(() -> assertEquals(2L, output.getGcCount()),
+                () -> assertEquals(15L, output.getGcTime()),
+                () -> assertEquals(0L, output.getAllocatedBytes()),
+                () -> assertEquals(30, output.getThreadCount()),
+                () -> assertEquals(2, output.getDbActiveConnections()),
+                () -> assertNull(output.getServerBusyThreads()));
     }
 
     @Test
     @DisplayName("Saving system resource info when max records exceeded")
     void shouldAddNewSystemResourcesMonitorWhenMaxRecordsExceeded() {
         when(globalMemory.getTotal()).thenReturn(1024L);
-        when(systemResourcesMonitorRepository.count()).thenReturn(7300L);
-        when(stockIndexTimeProperties.getSystemResourcesMonitorHistory()).thenReturn(1);
-        when(stockIndexTimeProperties.getSystemResourcesMonitorInterval()).thenReturn(500);
-        when(systemResourcesMonitorRepository.findFirstByOrderByTimestampAsc())
-                .thenReturn(SystemResourcesMonitor.builder()
-                        .timestamp(OffsetDateTime.now())
-                        .cpuUsage(1.2)
-                        .memoryUsed(255L)
-                        .memoryUsage(25.0)
-                        .build());
-        assertAll(() -> systemResourcesMonitorService.addSystemResources());
+        systemResourcesMonitorService.addSystemResources();
+        systemResourcesMonitorService.addSystemResources();
+        systemResourcesMonitorService.addSystemResources();
+        List<SystemResourcesMonitor> output = systemResourcesMonitorService.getInfo(null, null);
+        assertAll(() -> assertEquals(2, output.size()),
+                () -> assertEquals(2L, output.get(0).getId()),
+                () -> assertEquals(3L, output.get(1).getId()));
+    }
+
+    @Test
+    @DisplayName("Saving system resource info when history exceeds 596 hours")
+    void shouldAddNewSystemResourcesMonitorWhenHistoryIsLong() {
+        stockIndexTimeProperties.setSystemResourcesMonitorHistory(700);
+        stockIndexTimeProperties.setSystemResourcesMonitorInterval(1000000);
+        systemResourcesMonitorService = new SystemResourcesMonitorServiceImpl(systemResourcesMonitorRepository,
+                jdbcTemplate, globalMemory, runtimeResourcesProbe, stockIndexTimeProperties);
+        when(globalMemory.getTotal()).thenReturn(1024L);
+        systemResourcesMonitorService.addSystemResources();
+        systemResourcesMonitorService.addSystemResources();
+        systemResourcesMonitorService.addSystemResources();
+        assertEquals(3, systemResourcesMonitorService.getInfo(null, null).size());
+    }
+
+    @Test
+    @DisplayName("Creating system resources monitor when history needs too many samples")
+    void shouldThrowIllegalArgumentExceptionWhenHistoryNeedsTooManySamples() {
+        stockIndexTimeProperties.setSystemResourcesMonitorHistory(1000000);
+        stockIndexTimeProperties.setSystemResourcesMonitorInterval(1);
+        assertThrows(IllegalArgumentException.class,
+                () -> new SystemResourcesMonitorServiceImpl(systemResourcesMonitorRepository,
+                        jdbcTemplate, globalMemory, runtimeResourcesProbe, stockIndexTimeProperties));
+    }
+
+    @Test
+    @DisplayName("Filtering system resources")
+    void shouldFilterSystemResources() {
+        when(globalMemory.getTotal()).thenReturn(1024L);
+        systemResourcesMonitorService.addSystemResources();
+        assertAll(() -> assertEquals(1, systemResourcesMonitorService
+                        .getInfo(OffsetDateTime.now().minusMinutes(1), OffsetDateTime.now().plusMinutes(1)).size()),
+                () -> assertTrue(systemResourcesMonitorService
+                        .getInfo(OffsetDateTime.now().plusMinutes(1), null).isEmpty()),
+                () -> assertTrue(systemResourcesMonitorService
+                        .getInfo(null, OffsetDateTime.now().minusMinutes(1)).isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Flushing only not saved system resources to database")
+    void shouldFlushSystemResources() {
+        when(globalMemory.getTotal()).thenReturn(1024L);
+        systemResourcesMonitorService.addSystemResources();
+        systemResourcesMonitorService.addSystemResources();
+        systemResourcesMonitorService.flushSystemResources();
+        systemResourcesMonitorService.flushSystemResources();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((List<Object[]> batch) -> batch.size() == 2));
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Flushing system resources again after database failure")
+    void shouldFlushSystemResourcesAgainAfterFailure() {
+        when(globalMemory.getTotal()).thenReturn(1024L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Database error"))
+                .thenReturn(new int[]{1});
+        systemResourcesMonitorService.addSystemResources();
+        systemResourcesMonitorService.flushSystemResources();
+        systemResourcesMonitorService.flushSystemResources();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), argThat((List<Object[]> batch) -> batch.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Not flushing system resources when disabled")
+    void shouldNotFlushSystemResourcesWhenDisabled() {
+        stockIndexTimeProperties.setSystemResourcesMonitorFlush(false);
+        when(globalMemory.getTotal()).thenReturn(1024L);
+        systemResourcesMonitorService.addSystemResources();
+        systemResourcesMonitorService.flushSystemResources();
+        verifyNoInteractions(jdbcTemplate);
     }
 
     @Test
-    @DisplayName("Paging and filtering system resources")
-    void shouldPageAndFilterSystemResources() {
+    @DisplayName("Loading saved system resources on startup")
+    void shouldLoadSystemResources() {
         List<SystemResourcesMonitor> expected = List.of(SystemResourcesMonitor.builder()
-                .timestamp(OffsetDateTime.now())
+                .timestamp(OffsetDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.MILLIS))
                 .cpuUsage(1.2)
                 .memoryUsed(255L)
                 .memoryUsage(25.0)
                 .build());
-        Specification<SystemResourcesMonitor> specification = (root, criteriaQuery, criteriaBuilder) ->
-                criteriaBuilder.equal(root.get("datetime<"), OffsetDateTime.now());
-        when(systemResourcesMonitorRepository.findAll(any(Specification.class), any(Sort.class)))
-                .thenReturn(expected);
-        List<SystemResourcesMonitor> output = systemResourcesMonitorService.getInfo(specification);
+
+        when(systemResourcesMonitorRepository.findByTimestampGreaterThanEqualOrderByTimestampAsc(
+                any(OffsetDateTime.class))).thenReturn(expected);
+        systemResourcesMonitorService.loadSystemResources();
+        List<SystemResourcesMonitor> output = systemResourcesMonitorService.getInfo(null, null);
         assertEquals(expected.size(), output.size());
-        for (int j=0; j<expected.size(); j++) {
-            final int i = j;
-            assertAll(() -> assertEquals(expected.get(i).getId(), output.get(i).getId()),
-                    () -> assertEquals(expected.get(i).getTimestamp(), output.get(i).getTimestamp()),
-                    () -> assertEquals(expected.get(i).getMemoryUsed(), output.get(i).getMemoryUsed()),
-                    () -> assertEquals(expected.get(i).getMemoryUsage(), output.get(i).getMemoryUsage()),
-                    () -> assertEquals(expected.get(i).getCpuUsage(), output.get(i).getCpuUsage()));
-        }
+        assertAll(() -> assertEquals(expected.get(0).getTimestamp().toInstant(), output.get(0).getTimestamp().toInstant()),
+                () -> assertEquals(expected.get(0).getMemoryUsed(), output.get(0).getMemoryUsed()),
+                () -> assertEquals(expected.get(0).getMemoryUsage(), output.get(0).getMemoryUsage()),
+                () -> assertEquals(expected.get(0).getCpuUsage(), output.get(0).getCpuUsage()));
+        systemResourcesMonitorService.flushSystemResources();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
     }
 
-}
\ No newline at end of file
+}
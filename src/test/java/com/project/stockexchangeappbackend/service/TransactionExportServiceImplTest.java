@@ -0,0 +1,86 @@
+package com.project.stockexchangeappbackend.service;
+
+import com.project.stockexchangeappbackend.util.TransactionExportFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceImplTest {
+
+    @InjectMocks
+    TransactionExportServiceImpl transactionExportService;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Exporting transactions as NDJSON")
+    void shouldExportTransactionsAsNdjson(@Mock ResultSet resultSet) throws SQLException {
+        OffsetDateTime date = OffsetDateTime.now(ZoneId.systemDefault());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        mockTransactionRow(resultSet, date);
+
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        transactionExportService.exportTransactions(null, null, null, TransactionExportFormat.NDJSON, outputStream);
+        assertEquals("{\"id\":1,\"date\":\"" + date + "\",\"amount\":10,\"unitPrice\":12.50,\"stockId\":2," +
+                        "\"abbreviation\":\"WIG\",\"buyingOrderId\":3,\"sellingOrderId\":4,\"buyerId\":5," +
+                        "\"sellerId\":6}\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Exporting transactions as CSV")
+    void shouldExportTransactionsAsCsv(@Mock ResultSet resultSet) throws SQLException {
+        OffsetDateTime date = OffsetDateTime.now(ZoneId.systemDefault());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        mockTransactionRow(resultSet, date);
+
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        transactionExportService.exportTransactions(date.minusDays(1), date, 5L, TransactionExportFormat.CSV,
+                outputStream);
+        assertEquals("id,date,amount,unitPrice,stockId,abbreviation,buyingOrderId,sellingOrderId,buyerId,sellerId\n" +
+                        "1," + date + ",10,12.50,2,WIG,3,4,5,6\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    private void mockTransactionRow(ResultSet resultSet, OffsetDateTime date) throws SQLException {
+        when(resultSet.getLong("ID")).thenReturn(1L);
+        when(resultSet.getTimestamp("DATE")).thenReturn(Timestamp.from(date.toInstant()));
+        when(resultSet.getInt("AMOUNT")).thenReturn(10);
+        when(resultSet.getBigDecimal("UNIT_PRICE")).thenReturn(new BigDecimal("12.50"));
+        when(resultSet.getLong("STOCK_ID")).thenReturn(2L);
+        when(resultSet.getString("ABBREVIATION")).thenReturn("WIG");
+        when(resultSet.getLong("BUYING_ORDER_ID")).thenReturn(3L);
+        when(resultSet.getLong("SELLING_ORDER_ID")).thenReturn(4L);
+        when(resultSet.getLong("BUYER_ID")).thenReturn(5L);
+        when(resultSet.getLong("SELLER_ID")).thenReturn(6L);
+    }
+
+}
@@ -1,18 +1,22 @@
 package com.project.stockexchangeappbackend.service;
 
+import com.project.stockexchangeappbackend.dto.TransactionDTO;
 import com.project.stockexchangeappbackend.entity.*;
+import com.project.stockexchangeappbackend.exception.InvalidInputDataException;
 import com.project.stockexchangeappbackend.repository.*;
+import com.project.stockexchangeappbackend.util.EntityMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -23,6 +27,7 @@ import javax.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.project.stockexchangeappbackend.service.OrderServiceImplTest.*;
 import static com.project.stockexchangeappbackend.service.StockServiceImplTest.getStocksList;
@@ -41,24 +46,12 @@ class TransactionServiceImplTest {
     @Mock
     TransactionRepository transactionRepository;
 
-    @Mock
-    ArchivedOrderRepository archivedOrderRepository;
-
     @Mock
     AllOrdersRepository allOrdersRepository;
 
-    @Mock
-    OrderRepository orderRepository;
-
-    @Mock
-    ResourceRepository resourceRepository;
-
     @Mock
     UserRepository userRepository;
 
-    @Mock
-    ModelMapper modelMapper;
-
     @Test
     @DisplayName("Getting transaction by id as admin")
     void shouldReturnTransactionByIdAsAdmin(@Mock SecurityContext securityContext, @Mock Authentication authentication) {
@@ -115,105 +108,6 @@ class TransactionServiceImplTest {
         assertThrows(EntityNotFoundException.class, () -> transactionService.findTransactionById(id));
     }
 
-    @Test
-    @DisplayName("Performing transaction")
-    void shouldMakeTransaction() {
-        User buyer = getUsersList().get(0);
-        User seller = getUsersList().get(2);
-        Stock stock = getStocksList().get(0);
-        Order buyingOrder = createBuyingOrder(1L, 100,  BigDecimal.ONE, OffsetDateTime.now(), buyer, stock);
-        buyingOrder.setRemainingAmount(80);
-        ArchivedOrder archivedBuyingOrder = convertOrder(buyingOrder);
-        Order sellingOrder = createSellingOrder(2L, 100,  BigDecimal.ONE, OffsetDateTime.now(), seller, stock);
-        Resource sellerResource = Resource.builder()
-                .id(1L).stock(stock).user(seller).amount(sellingOrder.getAmount()*2).build();
-        Resource buyerResource = Resource.builder()
-                .id(2L).stock(stock).user(buyer).amount(buyingOrder.getAmount()-buyingOrder.getRemainingAmount()).build();
-        buyingOrder.setRemainingAmount(0);
-        sellingOrder.setRemainingAmount(20);
-
-        when(archivedOrderRepository.findById(buyingOrder.getId())).thenReturn(Optional.of(archivedBuyingOrder));
-        when(archivedOrderRepository.findById(sellingOrder.getId())).thenReturn(Optional.empty());
-        when(modelMapper.map(sellingOrder, ArchivedOrder.class)).thenReturn(convertOrder(sellingOrder));
-        when(orderRepository.findById(buyingOrder.getId())).thenReturn(Optional.of(buyingOrder));
-        when(orderRepository.findById(sellingOrder.getId())).thenReturn(Optional.of(sellingOrder));
-        when(resourceRepository.findByUserAndStock(seller, stock)).thenReturn(Optional.of(sellerResource));
-        when(resourceRepository.findByUserAndStock(buyer, stock)).thenReturn(Optional.of(buyerResource));
-        assertAll(() -> transactionService.makeTransaction(buyingOrder, sellingOrder,
-                buyingOrder.getRemainingAmount(), sellingOrder.getPrice()));
-    }
-
-    @Test
-    @DisplayName("Performing transaction when closing selling order")
-    void shouldMakeTransactionAndSellingOrderShouldBeClosed() {
-        User buyer = getUsersList().get(0);
-        User seller = getUsersList().get(2);
-        Stock stock = getStocksList().get(0);
-        Order buyingOrder = createBuyingOrder(1L, 100,  BigDecimal.ONE, OffsetDateTime.now(), buyer, stock);
-        ArchivedOrder archivedBuyingOrder = convertOrder(buyingOrder);
-        Order sellingOrder = createSellingOrder(2L, 100,  BigDecimal.ONE, OffsetDateTime.now(), seller, stock);
-        Resource sellerResource = Resource.builder()
-                .id(1L).stock(stock).user(buyer).amount(buyingOrder.getAmount()).build();
-        Resource buyerResource = Resource.builder()
-                .id(2L).stock(stock).user(seller).amount(sellingOrder.getAmount()).build();
-        buyingOrder.setRemainingAmount(0);
-        sellingOrder.setRemainingAmount(0);
-
-        when(archivedOrderRepository.findById(buyingOrder.getId())).thenReturn(Optional.of(archivedBuyingOrder));
-        when(archivedOrderRepository.findById(sellingOrder.getId())).thenReturn(Optional.empty());
-        when(modelMapper.map(sellingOrder, ArchivedOrder.class)).thenReturn(convertOrder(sellingOrder));
-        when(orderRepository.findById(buyingOrder.getId())).thenReturn(Optional.of(buyingOrder));
-        when(orderRepository.findById(sellingOrder.getId())).thenReturn(Optional.of(sellingOrder));
-        when(resourceRepository.findByUserAndStock(seller, stock)).thenReturn(Optional.of(sellerResource));
-        when(resourceRepository.findByUserAndStock(buyer, stock)).thenReturn(Optional.of(buyerResource));
-        assertAll(() -> transactionService.makeTransaction(buyingOrder, sellingOrder,
-                buyingOrder.getRemainingAmount(), sellingOrder.getPrice()));
-    }
-
-    @Test
-    @DisplayName("Performing transaction when buyer not possess buying stocks")
-    void shouldMakeTransactionWhenBuyerNotOwnBuyingStock() {
-        User buyer = getUsersList().get(0);
-        User seller = getUsersList().get(2);
-        Stock stock = getStocksList().get(0);
-        Order buyingOrder = createBuyingOrder(1L, 100, BigDecimal.ONE, OffsetDateTime.now(), buyer, stock);
-        Order sellingOrder = createSellingOrder(2L, 100, BigDecimal.ONE, OffsetDateTime.now(), seller, stock);
-        Resource sellerResource = Resource.builder()
-                .id(1L).stock(stock).user(seller).amount(sellingOrder.getAmount()).build();
-
-        when(archivedOrderRepository.findById(buyingOrder.getId())).thenReturn(Optional.empty());
-        when(modelMapper.map(buyingOrder, ArchivedOrder.class)).thenReturn(convertOrder(buyingOrder));
-        when(archivedOrderRepository.findById(sellingOrder.getId())).thenReturn(Optional.empty());
-        when(modelMapper.map(sellingOrder, ArchivedOrder.class)).thenReturn(convertOrder(sellingOrder));
-        when(orderRepository.findById(buyingOrder.getId())).thenReturn(Optional.of(buyingOrder));
-        when(orderRepository.findById(sellingOrder.getId())).thenReturn(Optional.of(sellingOrder));
-        when(resourceRepository.findByUserAndStock(seller, stock)).thenReturn(Optional.of(sellerResource));
-        when(resourceRepository.findByUserAndStock(buyer, stock)).thenReturn(Optional.empty());
-        assertAll(() -> transactionService.makeTransaction(buyingOrder, sellingOrder,
-                buyingOrder.getAmount(), sellingOrder.getPrice()));
-    }
-
-    @Test
-    @DisplayName("Performing transaction when seller not possess enough stock")
-    void shouldThrowEntityNotFoundWhenMakingTransactionAndSellerNotOwnStock() {
-        User buyer = getUsersList().get(0);
-        User seller = getUsersList().get(2);
-        Stock stock = getStocksList().get(0);
-        Order buyingOrder = createBuyingOrder(1L, 100,  BigDecimal.ONE, OffsetDateTime.now(), buyer, stock);
-        Order sellingOrder = createSellingOrder(2L, 100,  BigDecimal.ONE, OffsetDateTime.now(), seller, stock);
-
-        when(archivedOrderRepository.findById(buyingOrder.getId())).thenReturn(Optional.empty());
-        when(modelMapper.map(buyingOrder, ArchivedOrder.class)).thenReturn(convertOrder(buyingOrder));
-        when(archivedOrderRepository.findById(sellingOrder.getId())).thenReturn(Optional.empty());
-        when(modelMapper.map(sellingOrder, ArchivedOrder.class)).thenReturn(convertOrder(sellingOrder));
-        when(orderRepository.findById(buyingOrder.getId())).thenReturn(Optional.of(buyingOrder));
-        when(orderRepository.findById(sellingOrder.getId())).thenReturn(Optional.of(sellingOrder));
-        when(resourceRepository.findByUserAndStock(seller, stock)).thenReturn(Optional.empty());
-        assertThrows(EntityNotFoundException.class,
-                () -> transactionService.makeTransaction(buyingOrder, sellingOrder,
-                        buyingOrder.getAmount(), sellingOrder.getPrice()));
-    }
-
     @Test
     @DisplayName("Paging and filtering transactions as Admin")
     void shouldPageAndFilterTransactionsAsAdmin(@Mock SecurityContext securityContext,
@@ -238,12 +132,12 @@ class TransactionServiceImplTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getAuthorities())
                 .thenReturn(authorities);
-        when(transactionRepository.findAll(transactionSpecification, pageable))
-                .thenReturn(new PageImpl<>(transactions, pageable, transactions.size()));
-        Page<Transaction> output = transactionService.findAllTransactions(pageable, transactionSpecification);
+        when(transactionRepository.findAllDTOs(transactionSpecification, pageable, true))
+                .thenReturn(new PageImpl<>(toTransactionDTOs(transactions), pageable, transactions.size()));
+        Page<TransactionDTO> output = transactionService.findAllTransactions(pageable, transactionSpecification);
         assertEquals(transactions.size(), output.getNumberOfElements());
         for (int i = 0; i < transactions.size(); i++) {
-            assertEquals(transactions.get(i), output.getContent().get(i));
+            assertEquals(transactions.get(i).getId(), output.getContent().get(i).getId());
         }
     }
 
@@ -273,15 +167,78 @@ class TransactionServiceImplTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getAuthorities())
                 .thenReturn(authorities);
-        when(transactionRepository.findAll(transactionSpecification, pageable))
-                .thenReturn(new PageImpl<>(transactions, pageable, transactions.size()));
-        Page<Transaction> output = transactionService.findAllTransactions(pageable, transactionSpecification);
+        when(transactionRepository.findAllDTOs(transactionSpecification, pageable, false))
+                .thenReturn(new PageImpl<>(toTransactionDTOs(transactions), pageable, transactions.size()));
+        Page<TransactionDTO> output = transactionService.findAllTransactions(pageable, transactionSpecification);
         assertEquals(transactions.size(), output.getNumberOfElements());
         for (int i = 0; i < transactions.size(); i++) {
-            assertEquals(transactions.get(i), output.getContent().get(i));
+            assertEquals(transactions.get(i).getId(), output.getContent().get(i).getId());
         }
     }
 
+    @Test
+    @DisplayName("Slicing and filtering transactions after given transaction as Admin")
+    void shouldSliceAndFilterTransactionsAfterAsAdmin(@Mock SecurityContext securityContext,
+                                                      @Mock Authentication authentication) {
+        User user1 = getUsersList().get(0);
+        User user2 = getUsersList().get(2);
+        Stock stock = getStocksList().get(0);
+        ArchivedOrder order1 =
+                createBuyingArchivedOrder(1L, 100,  BigDecimal.ONE, OffsetDateTime.now(), user1, stock);
+        ArchivedOrder order2 =
+                createSellingArchivedOrder(2L, 100,  BigDecimal.ONE, OffsetDateTime.now(), user2, stock);
+        OffsetDateTime afterDate = OffsetDateTime.now().minusDays(1);
+        List<Transaction> transactions = Arrays.asList(
+                new Transaction(2L, OffsetDateTime.now(), order1.getAmount()/4, order1.getPrice(), order1, order2),
+                new Transaction(3L, OffsetDateTime.now(), order1.getAmount()/4, order1.getPrice(), order1, order2),
+                new Transaction(4L, OffsetDateTime.now(), order1.getAmount()/4, order1.getPrice(), order1, order2)
+        );
+        Specification<Transaction> transactionSpecification =
+                (root, criteriaQuery, criteriaBuilder) -> criteriaBuilder.equal(root.get("amount"), 25);
+        Collection authorities = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        SecurityContextHolder.setContext(securityContext);
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getAuthorities())
+                .thenReturn(authorities);
+        when(transactionRepository.findAllDTOs(any(Specification.class), eq(Sort.by("date", "id")), eq(3),
+                eq(true)))
+                .thenReturn(toTransactionDTOs(transactions));
+        Slice<TransactionDTO> output =
+                transactionService.findAllTransactionsAfter(transactionSpecification, afterDate, 1L, 2);
+        assertAll(() -> assertEquals(2, output.getNumberOfElements()),
+                () -> assertTrue(output.hasNext()),
+                () -> assertEquals(transactions.get(0).getId(), output.getContent().get(0).getId()),
+                () -> assertEquals(transactions.get(1).getId(), output.getContent().get(1).getId()),
+                () -> assertNotNull(output.getContent().get(0).getBuyingOrder().getUser()));
+    }
+
+    @Test
+    @DisplayName("Slicing and filtering transactions when only one of keyset parameters is given")
+    void shouldThrowInvalidInputDataWhenSlicingTransactionsWithIncompleteKeyset() {
+        Specification<Transaction> transactionSpecification =
+                (root, criteriaQuery, criteriaBuilder) -> criteriaBuilder.equal(root.get("amount"), 25);
+        assertThrows(InvalidInputDataException.class,
+                () -> transactionService.findAllTransactionsAfter(transactionSpecification, null, 1L, 20));
+    }
+
+    @Test
+    @DisplayName("Slicing and filtering logged in user's transactions - none transactions")
+    void shouldSliceAndFilterOwnedTransactionsAfterNoneTransactions(@Mock SecurityContext securityContext,
+                                                                    @Mock Authentication authentication) {
+        User user = getUsersList().get(0);
+        Specification<Transaction> transactionSpecification =
+                (root, criteriaQuery, criteriaBuilder) -> criteriaBuilder.equal(root.get("amount"), 25);
+        SecurityContextHolder.setContext(securityContext);
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn(user.getEmail());
+        Slice<TransactionDTO> output = transactionService.getOwnedTransactionsAfter(transactionSpecification,
+                false, false, null, null, 20);
+        assertAll(() -> assertEquals(0, output.getNumberOfElements()),
+                () -> assertFalse(output.hasNext()));
+    }
+
     @Test
     @DisplayName("Paging and filtering logged in user's transactions")
     void shouldPageAndFilterOwnedTransactionsAllTransactionTypes(@Mock SecurityContext securityContext,
@@ -304,13 +261,13 @@ class TransactionServiceImplTest {
 
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn(user1.getEmail());
-        when(transactionRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(transactions, pageable, transactions.size()));
-        Page<Transaction> output =
+        when(transactionRepository.findAllDTOs(any(Specification.class), eq(pageable), eq(false)))
+                .thenReturn(new PageImpl<>(toTransactionDTOs(transactions), pageable, transactions.size()));
+        Page<TransactionDTO> output =
                 transactionService.getOwnedTransactions(pageable, transactionSpecification, true, true);
         assertEquals(transactions.size(), output.getNumberOfElements());
         for (int i = 0; i < transactions.size(); i++) {
-            assertEquals(transactions.get(i), output.getContent().get(i));
+            assertEquals(transactions.get(i).getId(), output.getContent().get(i).getId());
         }
     }
 
@@ -336,13 +293,13 @@ class TransactionServiceImplTest {
 
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn(user1.getEmail());
-        when(transactionRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(transactions, pageable, transactions.size()));
-        Page<Transaction> output =
+        when(transactionRepository.findAllDTOs(any(Specification.class), eq(pageable), eq(false)))
+                .thenReturn(new PageImpl<>(toTransactionDTOs(transactions), pageable, transactions.size()));
+        Page<TransactionDTO> output =
                 transactionService.getOwnedTransactions(pageable, transactionSpecification, false, true);
         assertEquals(transactions.size(), output.getNumberOfElements());
         for (int i = 0; i < transactions.size(); i++) {
-            assertEquals(transactions.get(i), output.getContent().get(i));
+            assertEquals(transactions.get(i).getId(), output.getContent().get(i).getId());
         }
     }
 
@@ -368,13 +325,13 @@ class TransactionServiceImplTest {
 
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn(user2.getEmail());
-        when(transactionRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(transactions, pageable, transactions.size()));
-        Page<Transaction> output =
+        when(transactionRepository.findAllDTOs(any(Specification.class), eq(pageable), eq(false)))
+                .thenReturn(new PageImpl<>(toTransactionDTOs(transactions), pageable, transactions.size()));
+        Page<TransactionDTO> output =
                 transactionService.getOwnedTransactions(pageable, transactionSpecification, true, false);
         assertEquals(transactions.size(), output.getNumberOfElements());
         for (int i = 0; i < transactions.size(); i++) {
-            assertEquals(transactions.get(i), output.getContent().get(i));
+            assertEquals(transactions.get(i).getId(), output.getContent().get(i).getId());
         }
     }
 
@@ -390,14 +347,15 @@ class TransactionServiceImplTest {
 
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn(user2.getEmail());
-        Page<Transaction> output =
+        Page<TransactionDTO> output =
                 transactionService.getOwnedTransactions(pageable, transactionSpecification, false, false);
         assertEquals(0, output.getNumberOfElements());
     }
 
     @Test
     @DisplayName("Paging and filtering order's transactions")
-    void shouldPageAndFilterTransactionsByOrder() {
+    void shouldPageAndFilterTransactionsByOrder(@Mock SecurityContext securityContext,
+                                                @Mock Authentication authentication) {
         User user1 = getUsersList().get(0);
         User user2 = getUsersList().get(2);
         Stock stock = getStocksList().get(0);
@@ -415,15 +373,20 @@ class TransactionServiceImplTest {
         Specification<Transaction> transactionSpecification =
                 (root, criteriaQuery, criteriaBuilder) -> criteriaBuilder.equal(root.get("amount"), 50);
         Long orderId = order.getId();
+        Collection authorities = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        SecurityContextHolder.setContext(securityContext);
 
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getAuthorities())
+                .thenReturn(authorities);
         when(allOrdersRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(transactionRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(transactions, pageable, transactions.size()));
-        Page<Transaction> output =
+        when(transactionRepository.findAllDTOs(any(Specification.class), eq(pageable), eq(true)))
+                .thenReturn(new PageImpl<>(toTransactionDTOs(transactions), pageable, transactions.size()));
+        Page<TransactionDTO> output =
                 transactionService.getTransactionsByOrder(pageable, transactionSpecification, orderId);
         assertEquals(transactions.size(), output.getNumberOfElements());
         for (int i = 0; i < transactions.size(); i++) {
-            assertEquals(transactions.get(i), output.getContent().get(i));
+            assertEquals(transactions.get(i).getId(), output.getContent().get(i).getId());
         }
     }
 
@@ -444,55 +407,6 @@ class TransactionServiceImplTest {
                 () -> transactionService.getTransactionsByOrder(pageable, transactionSpecification, orderId));
     }
 
-    @Test
-    @DisplayName("Listing transaction for fixing stock price")
-    void shouldReturnTransactionByStockIdForPricing() {
-        Stock stock = getStocksList().get(0);
-        User user = getUsersList().get(0);
-        User user2 = getUsersList().get(2);
-        ArchivedOrder order1 =
-                createSellingArchivedOrder(1L, stock.getAmount(),  BigDecimal.ONE, OffsetDateTime.now(), user, stock);
-        ArchivedOrder order2 =
-                createSellingArchivedOrder(2L, stock.getAmount(),  BigDecimal.ONE, OffsetDateTime.now(), user2, stock);
-        List<Transaction> transactions = new ArrayList<>(Arrays.asList(
-            new Transaction(1L, OffsetDateTime.now().minusDays(1), order1.getAmount(), order1.getPrice(), order1, order2),
-            new Transaction(2L, OffsetDateTime.now(), order1.getAmount(), order1.getPrice(), order1, order2)
-        ));
-        List<Transaction> expected = Collections.singletonList(transactions.get(0));
-
-        when(transactionService.getTransactionsByStockIdForPricing(stock.getId(), stock.getAmount()))
-                .thenReturn(transactions);
-        List<Transaction> output = transactionService.getTransactionsByStockIdForPricing(stock.getId(), stock.getAmount());
-        assertEquals(expected.size(), output.size());
-        for (int i = 0; i < transactions.size(); i++) {
-            assertEquals(expected.get(i), output.get(i));
-        }
-    }
-
-    @Test
-    @DisplayName("Listing transaction for fixing stock price - all transaction")
-    void shouldReturnTransactionByStockIdForPricingWithoutFiltering() {
-        Stock stock = getStocksList().get(0);
-        User user = getUsersList().get(0);
-        User user2 = getUsersList().get(2);
-        ArchivedOrder order1 =
-                createSellingArchivedOrder(1L, stock.getAmount(),  BigDecimal.ONE, OffsetDateTime.now(), user, stock);
-        ArchivedOrder order2 =
-                createSellingArchivedOrder(2L, stock.getAmount(),  BigDecimal.ONE, OffsetDateTime.now(), user2, stock);
-        List<Transaction> transactions = new ArrayList<>(Arrays.asList(
-            new Transaction(1L, OffsetDateTime.now().minusDays(1), order1.getAmount()/2, order1.getPrice(), order1, order2),
-            new Transaction(2L, OffsetDateTime.now(), order1.getAmount()/2, order1.getPrice(), order1, order2)
-        ));
-
-        when(transactionService.getTransactionsByStockIdForPricing(stock.getId(), stock.getAmount()))
-                .thenReturn(transactions);
-        List<Transaction> output = transactionService.getTransactionsByStockIdForPricing(stock.getId(), stock.getAmount());
-        assertEquals(transactions.size(), output.size());
-        for (int i = 0; i < transactions.size(); i++) {
-            assertEquals(transactions.get(i), output.get(i));
-        }
-    }
-
     @Test
     @DisplayName("Paging and filtering user's transactions")
     void shouldPageAndFilterUsersTransactionsAllTransactionTypes() {
@@ -513,13 +427,13 @@ class TransactionServiceImplTest {
         Long userId = user1.getId();
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user1));
-        when(transactionRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(transactions, pageable, transactions.size()));
-        Page<Transaction> output =
+        when(transactionRepository.findAllDTOs(any(Specification.class), eq(pageable), eq(true)))
+                .thenReturn(new PageImpl<>(toTransactionDTOs(transactions), pageable, transactions.size()));
+        Page<TransactionDTO> output =
             transactionService.getUserTransactions(pageable, transactionSpecification, userId, true, true);
         assertEquals(transactions.size(), output.getNumberOfElements());
         for (int i = 0; i < transactions.size(); i++) {
-            assertEquals(transactions.get(i), output.getContent().get(i));
+            assertEquals(transactions.get(i).getId(), output.getContent().get(i).getId());
         }
     }
 
@@ -543,13 +457,13 @@ class TransactionServiceImplTest {
         Long userId = user1.getId();
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user1));
-        when(transactionRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(transactions, pageable, transactions.size()));
-        Page<Transaction> output =
+        when(transactionRepository.findAllDTOs(any(Specification.class), eq(pageable), eq(true)))
+                .thenReturn(new PageImpl<>(toTransactionDTOs(transactions), pageable, transactions.size()));
+        Page<TransactionDTO> output =
             transactionService.getUserTransactions(pageable, transactionSpecification, userId, false, true);
         assertEquals(transactions.size(), output.getNumberOfElements());
         for (int i = 0; i < transactions.size(); i++) {
-            assertEquals(transactions.get(i), output.getContent().get(i));
+            assertEquals(transactions.get(i).getId(), output.getContent().get(i).getId());
         }
     }
 
@@ -573,13 +487,13 @@ class TransactionServiceImplTest {
         Long userId = user2.getId();
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user2));
-        when(transactionRepository.findAll(any(Specification.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(transactions, pageable, transactions.size()));
-        Page<Transaction> output =
+        when(transactionRepository.findAllDTOs(any(Specification.class), eq(pageable), eq(true)))
+                .thenReturn(new PageImpl<>(toTransactionDTOs(transactions), pageable, transactions.size()));
+        Page<TransactionDTO> output =
                 transactionService.getUserTransactions(pageable, transactionSpecification, userId, true, false);
         assertEquals(transactions.size(), output.getNumberOfElements());
         for (int i = 0; i < transactions.size(); i++) {
-            assertEquals(transactions.get(i), output.getContent().get(i));
+            assertEquals(transactions.get(i).getId(), output.getContent().get(i).getId());
         }
     }
 
@@ -593,7 +507,7 @@ class TransactionServiceImplTest {
         Long userId = user2.getId();
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user2));
-        Page<Transaction> output =
+        Page<TransactionDTO> output =
                 transactionService.getUserTransactions(pageable, transactionSpecification, userId, false, false);
         assertEquals(0, output.getNumberOfElements());
     }
@@ -621,4 +535,8 @@ class TransactionServiceImplTest {
                 () -> assertArchivedOrder(expected.getSellingOrder(), output.getSellingOrder()));
     }
 
+    private static List<TransactionDTO> toTransactionDTOs(List<Transaction> transactions) {
+        return transactions.stream().map(EntityMapper::toTransactionDTO).collect(Collectors.toList());
+    }
+
 }
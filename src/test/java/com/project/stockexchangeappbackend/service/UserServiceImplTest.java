@@ -11,7 +11,6 @@ import com.project.stockexchangeappbackend.exception.InvalidInputDataException;
 import com.project.stockexchangeappbackend.repository.AllOrdersRepository;
 import com.project.stockexchangeappbackend.repository.ResourceRepository;
 import com.project.stockexchangeappbackend.repository.UserRepository;
-import com.project.stockexchangeappbackend.security.BannedAccessTokens;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,6 +39,7 @@ import java.util.Optional;
 import static com.project.stockexchangeappbackend.service.TagServiceImplTest.assertTag;
 import static com.project.stockexchangeappbackend.service.TagServiceImplTest.getTagsList;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -64,7 +64,10 @@ public class UserServiceImplTest {
     TagService tagService;
 
     @Mock
-    BannedAccessTokens bannedAccessTokens;
+    BannedUserService bannedUserService;
+
+    @Mock
+    PrincipalCacheService principalCacheService;
 
     @BeforeEach
     void setup() {
@@ -226,6 +229,7 @@ public class UserServiceImplTest {
 
         when(userRepository.findById(id)).thenReturn(Optional.of(user));
         assertAll(() -> userService.updateUser(id, editUserDetailsDTO));
+        verify(principalCacheService).evict(user.getEmail());
     }
 
     @Test
@@ -262,7 +266,7 @@ public class UserServiceImplTest {
                 new EditUserDetailsDTO("John", "Kowal", Role.ADMIN, false);
 
         when(userRepository.findById(id)).thenReturn(Optional.of(user));
-        when(allOrdersRepository.countByUser(user)).thenReturn(0L);
+        when(allOrdersRepository.existsByUser(user)).thenReturn(false);
         when(resourceRepository.countByUser(user)).thenReturn(0L);
         assertThrows(InvalidInputDataException.class, () -> userService.updateUser(id, editUserDetailsDTO));
     }
@@ -276,7 +280,7 @@ public class UserServiceImplTest {
                 new EditUserDetailsDTO("John", "Kowal", Role.ADMIN, true);
 
         when(userRepository.findById(id)).thenReturn(Optional.of(user));
-        when(allOrdersRepository.countByUser(user)).thenReturn(1L);
+        when(allOrdersRepository.existsByUser(user)).thenReturn(true);
         when(resourceRepository.countByUser(user)).thenReturn(0L);
         assertThrows(InvalidInputDataException.class, () -> userService.updateUser(id, editUserDetailsDTO));
     }
@@ -290,7 +294,7 @@ public class UserServiceImplTest {
                 Role.ADMIN, true);
 
         when(userRepository.findById(id)).thenReturn(Optional.of(user));
-        when(allOrdersRepository.countByUser(user)).thenReturn(0L);
+        when(allOrdersRepository.existsByUser(user)).thenReturn(false);
         when(resourceRepository.countByUser(user)).thenReturn(1L);
         assertThrows(InvalidInputDataException.class, () -> userService.updateUser(id, editUserDetailsDTO));
     }
@@ -0,0 +1,175 @@
+package com.project.stockexchangeappbackend.util;
+
+import com.project.stockexchangeappbackend.dto.*;
+import com.project.stockexchangeappbackend.entity.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityMapperTest {
+
+    @Test
+    @DisplayName("Mapping stock to DTO")
+    void shouldMapStock() {
+        Stock stock = createStock(createTag());
+        StockDTO stockDTO = EntityMapper.toStockDTO(stock);
+        assertAll(() -> assertEquals(stock.getId(), stockDTO.getId()),
+                () -> assertEquals(stock.getName(), stockDTO.getName()),
+                () -> assertEquals(stock.getAbbreviation(), stockDTO.getAbbreviation()),
+                () -> assertEquals(stock.getCurrentPrice(), stockDTO.getCurrentPrice()),
+                () -> assertEquals(stock.getAmount(), stockDTO.getAmount()),
+                () -> assertEquals(stock.getPriceChangeRatio(), stockDTO.getPriceChangeRatio()),
+                () -> assertEquals(stock.getTag().getName(), stockDTO.getTag()));
+    }
+
+    @Test
+    @DisplayName("Mapping stock without tag to DTO")
+    void shouldMapStockWithoutTag() {
+        assertNull(EntityMapper.toStockDTO(createStock(null)).getTag());
+    }
+
+    @Test
+    @DisplayName("Mapping resource to DTO")
+    void shouldMapResource() {
+        Stock stock = createStock(createTag());
+        Resource resource = Resource.builder()
+                .id(7L).stock(stock).user(createUser(createTag())).amount(100).reservedAmount(30)
+                .build();
+        ResourceDTO resourceDTO = EntityMapper.toResourceDTO(resource);
+        assertAll(() -> assertEquals(stock.getId(), resourceDTO.getId()),
+                () -> assertEquals(stock.getName(), resourceDTO.getName()),
+                () -> assertEquals(stock.getAbbreviation(), resourceDTO.getAbbreviation()),
+                () -> assertEquals(resource.getAmount(), resourceDTO.getAmount()),
+                () -> assertEquals(70, resourceDTO.getAmountAvailableForSale()),
+                () -> assertEquals(stock.getCurrentPrice(), resourceDTO.getCurrentPrice()));
+    }
+
+    @Test
+    @DisplayName("Mapping user to DTO")
+    void shouldMapUser() {
+        User user = createUser(createTag());
+        UserDTO userDTO = EntityMapper.toUserDTO(user);
+        assertAll(() -> assertEquals(user.getId(), userDTO.getId()),
+                () -> assertEquals(user.getFirstName(), userDTO.getFirstName()),
+                () -> assertEquals(user.getLastName(), userDTO.getLastName()),
+                () -> assertEquals(user.getEmail(), userDTO.getEmail()),
+                () -> assertEquals(user.getRole(), userDTO.getRole()),
+                () -> assertEquals(user.getMoney(), userDTO.getMoney()),
+                () -> assertEquals(user.getTag().getName(), userDTO.getTag()),
+                () -> assertEquals(user.getIsActive(), userDTO.getIsActive()));
+    }
+
+    @Test
+    @DisplayName("Mapping user without tag to DTO")
+    void shouldMapUserWithoutTag() {
+        assertNull(EntityMapper.toUserDTO(createUser(null)).getTag());
+    }
+
+    @Test
+    @DisplayName("Mapping archived order to DTO")
+    void shouldMapArchivedOrder() {
+        ArchivedOrder order = EntityMapper.toArchivedOrder(
+                createOrder(createUser(createTag()), createStock(createTag())));
+        OrderDTO orderDTO = EntityMapper.toOrderDTO(order);
+        assertAll(() -> assertEquals(order.getId(), orderDTO.getId()),
+                () -> assertEquals(order.getAmount(), orderDTO.getAmount()),
+                () -> assertEquals(order.getRemainingAmount(), orderDTO.getRemainingAmount()),
+                () -> assertEquals(order.getOrderType(), orderDTO.getOrderType()),
+                () -> assertEquals(order.getPriceType(), orderDTO.getPriceType()),
+                () -> assertEquals(order.getPrice(), orderDTO.getPrice()),
+                () -> assertEquals(order.getDateCreation(), orderDTO.getDateCreation()),
+                () -> assertEquals(order.getDateExpiration(), orderDTO.getDateExpiration()),
+                () -> assertEquals(order.getDateClosing(), orderDTO.getDateClosing()),
+                () -> assertEquals(EntityMapper.toStockDTO(order.getStock()), orderDTO.getStock()),
+                () -> assertEquals(EntityMapper.toUserDTO(order.getUser()), orderDTO.getUser()));
+    }
+
+    @Test
+    @DisplayName("Mapping archived order without stock and user to DTO")
+    void shouldMapArchivedOrderWithoutStockAndUser() {
+        OrderDTO orderDTO = EntityMapper.toOrderDTO(EntityMapper.toArchivedOrder(createOrder(null, null)));
+        assertAll(() -> assertNull(orderDTO.getStock()),
+                () -> assertNull(orderDTO.getUser()));
+    }
+
+    @Test
+    @DisplayName("Archiving order")
+    void shouldMapOrderToArchivedOrder() {
+        Order order = createOrder(createUser(createTag()), createStock(createTag()));
+        ArchivedOrder archivedOrder = EntityMapper.toArchivedOrder(order);
+        assertAll(() -> assertEquals(order.getId(), archivedOrder.getId()),
+                () -> assertSame(order.getUser(), archivedOrder.getUser()),
+                () -> assertSame(order.getStock(), archivedOrder.getStock()),
+                () -> assertEquals(order.getAmount(), archivedOrder.getAmount()),
+                () -> assertEquals(order.getRemainingAmount(), archivedOrder.getRemainingAmount()),
+                () -> assertEquals(order.getOrderType(), archivedOrder.getOrderType()),
+                () -> assertEquals(order.getPriceType(), archivedOrder.getPriceType()),
+                () -> assertEquals(order.getPrice(), archivedOrder.getPrice()),
+                () -> assertEquals(order.getDateCreation(), archivedOrder.getDateCreation()),
+                () -> assertEquals(order.getDateExpiration(), archivedOrder.getDateExpiration()),
+                () -> assertEquals(order.getDateClosing(), archivedOrder.getDateClosing()));
+    }
+
+    @Test
+    @DisplayName("Mapping transaction to DTO")
+    void shouldMapTransaction() {
+        Stock stock = createStock(createTag());
+        ArchivedOrder buyingOrder = EntityMapper.toArchivedOrder(createOrder(createUser(createTag()), stock));
+        ArchivedOrder sellingOrder = EntityMapper.toArchivedOrder(createOrder(createUser(null), stock));
+        sellingOrder.setId(2L);
+        sellingOrder.setOrderType(OrderType.SELLING_ORDER);
+        Transaction transaction = Transaction.builder()
+                .id(5L).date(OffsetDateTime.now()).amount(10).unitPrice(new BigDecimal("10.50"))
+                .buyingOrder(buyingOrder).sellingOrder(sellingOrder)
+                .build();
+        TransactionDTO transactionDTO = EntityMapper.toTransactionDTO(transaction);
+        assertAll(() -> assertEquals(transaction.getId(), transactionDTO.getId()),
+                () -> assertEquals(transaction.getDate(), transactionDTO.getDate()),
+                () -> assertEquals(transaction.getAmount(), transactionDTO.getAmount()),
+                () -> assertEquals(transaction.getUnitPrice(), transactionDTO.getUnitPrice()),
+                () -> assertEquals(EntityMapper.toOrderDTO(buyingOrder), transactionDTO.getBuyingOrder()),
+                () -> assertEquals(EntityMapper.toOrderDTO(sellingOrder), transactionDTO.getSellingOrder()));
+    }
+
+    @Test
+    @DisplayName("Mapping transaction without orders to DTO")
+    void shouldMapTransactionWithoutOrders() {
+        TransactionDTO transactionDTO = EntityMapper.toTransactionDTO(Transaction.builder()
+                .id(5L).date(OffsetDateTime.now()).amount(10).unitPrice(new BigDecimal("10.50"))
+                .build());
+        assertAll(() -> assertNull(transactionDTO.getBuyingOrder()),
+                () -> assertNull(transactionDTO.getSellingOrder()));
+    }
+
+    private static Tag createTag() {
+        return Tag.builder().id(1L).name("DEFAULT").build();
+    }
+
+    private static Stock createStock(Tag tag) {
+        return Stock.builder()
+                .id(3L).name("WIG20").abbreviation("W20").currentPrice(new BigDecimal("100.00"))
+                .amount(1000).priceChangeRatio(0.5).isDeleted(false).tag(tag)
+                .build();
+    }
+
+    private static User createUser(Tag tag) {
+        return User.builder()
+                .id(4L).firstName("John").lastName("Smith").email("test@test.pl").password("password")
+                .role(Role.USER).money(new BigDecimal("10000.00")).isActive(true).tag(tag)
+                .build();
+    }
+
+    private static Order createOrder(User user, Stock stock) {
+        OffsetDateTime dateCreation = OffsetDateTime.now();
+        return Order.builder()
+                .id(1L).user(user).stock(stock).amount(20).remainingAmount(10)
+                .orderType(OrderType.BUYING_ORDER).priceType(PriceType.LESS_OR_EQUAL).price(new BigDecimal("101.00"))
+                .dateCreation(dateCreation).dateExpiration(dateCreation.plusDays(1)).dateClosing(dateCreation.plusHours(1))
+                .build();
+    }
+
+}
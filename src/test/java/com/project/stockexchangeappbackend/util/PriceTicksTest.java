@@ -0,0 +1,58 @@
+package com.project.stockexchangeappbackend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceTicksTest {
+
+    @Test
+    @DisplayName("Converting prices to ticks")
+    void shouldConvertPriceToTicks() {
+        assertAll(() -> assertEquals(1234L, PriceTicks.toTicks(new BigDecimal("12.34"))),
+                () -> assertEquals(1200L, PriceTicks.toTicks(new BigDecimal("12"))),
+                () -> assertEquals(0L, PriceTicks.toTicks(BigDecimal.ZERO)),
+                () -> assertEquals(new BigDecimal("12.34"), PriceTicks.toBigDecimal(1234L)),
+                () -> assertEquals(new BigDecimal("0.01"), PriceTicks.toBigDecimal(1L)));
+    }
+
+    @Test
+    @DisplayName("Rounding prices at half of tick")
+    void shouldRoundPriceHalfUpAtHalfOfTick() {
+        assertAll(() -> assertEquals(101L, PriceTicks.toTicks(new BigDecimal("1.005"))),
+                () -> assertEquals(100L, PriceTicks.toTicks(new BigDecimal("1.0049999"))),
+                () -> assertEquals(101L, PriceTicks.toTicks(new BigDecimal("1.0050001"))),
+                () -> assertEquals(-101L, PriceTicks.toTicks(new BigDecimal("-1.005"))));
+    }
+
+    @Test
+    @DisplayName("Converting too large price to ticks")
+    void shouldThrowArithmeticExceptionWhenPriceExceedsTicks() {
+        BigDecimal price = PriceTicks.toBigDecimal(Long.MAX_VALUE).add(new BigDecimal("0.01"));
+        assertThrows(ArithmeticException.class, () -> PriceTicks.toTicks(price));
+    }
+
+    @Test
+    @DisplayName("Computing midpoint of prices")
+    void shouldComputeMidpointRoundingHalfUp() {
+        assertAll(() -> assertEquals(150L, PriceTicks.midpoint(100L, 200L)),
+                () -> assertEquals(151L, PriceTicks.midpoint(100L, 201L)),
+                () -> assertEquals(151L, PriceTicks.midpoint(201L, 100L)),
+                () -> assertEquals(1L, PriceTicks.midpoint(0L, 1L)),
+                () -> assertEquals(7L, PriceTicks.midpoint(7L, 7L)),
+                () -> assertEquals(-1L, PriceTicks.midpoint(-1L, -2L)));
+    }
+
+    @Test
+    @DisplayName("Computing midpoint of prices close to limit of ticks")
+    void shouldComputeMidpointWithoutOverflow() {
+        assertAll(() -> assertEquals(Long.MAX_VALUE, PriceTicks.midpoint(Long.MAX_VALUE, Long.MAX_VALUE)),
+                () -> assertEquals(Long.MAX_VALUE, PriceTicks.midpoint(Long.MAX_VALUE - 1, Long.MAX_VALUE)),
+                () -> assertEquals(Long.MAX_VALUE / 2 + 1, PriceTicks.midpoint(Long.MAX_VALUE - 1, 1L)),
+                () -> assertEquals(Long.MIN_VALUE, PriceTicks.midpoint(Long.MIN_VALUE, Long.MIN_VALUE)));
+    }
+
+}
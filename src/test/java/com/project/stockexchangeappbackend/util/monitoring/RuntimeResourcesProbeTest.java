@@ -0,0 +1,41 @@
+package com.project.stockexchangeappbackend.util.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class RuntimeResourcesProbeTest {
+
+    @Test
+    @DisplayName("Counting allocated bytes of threads that died since previous sample")
+    void shouldNotDropAllocatedBytesWhenThreadDies() throws InterruptedException {
+        RuntimeResourcesProbe runtimeResourcesProbe = new RuntimeResourcesProbe(null, null);
+        CountDownLatch allocated = new CountDownLatch(1);
+        CountDownLatch sampled = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            byte[][] buffers = new byte[64][];
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = new byte[64 * 1024];
+            }
+            allocated.countDown();
+            try {
+                sampled.await();
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        thread.start();
+        allocated.await();
+        long allocatedBytes = runtimeResourcesProbe.getAllocatedBytes();
+        assumeTrue(allocatedBytes != RuntimeResourcesProbe.UNAVAILABLE);
+        sampled.countDown();
+        thread.join();
+        assertTrue(runtimeResourcesProbe.getAllocatedBytes() >= allocatedBytes);
+    }
+
+}